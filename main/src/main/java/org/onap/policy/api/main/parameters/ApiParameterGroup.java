@@ -32,9 +32,29 @@ import org.onap.policy.models.provider.PolicyModelsProviderParameters;
  */
 public class ApiParameterGroup implements ParameterGroup {
 
+    public static final int DEFAULT_PROVIDER_POOL_SIZE = 4;
+    public static final long DEFAULT_PROVIDER_LEASE_TIMEOUT = 5000L;
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_CACHE_TIME_TO_LIVE = 60000L;
+    public static final int DEFAULT_IMPORT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_IMPORT_BATCH_SIZE = 5000;
+    public static final long DEFAULT_DEPLOYED_POLICY_INDEX_REFRESH_INTERVAL = 10000L;
+    public static final long DEFAULT_READINESS_CHECK_INTERVAL = 5000L;
+
     private String name;
     private RestServerParameters restServerParameters;
     private PolicyModelsProviderParameters databaseProviderParameters;
+    private DatabasePoolParameters databasePoolParameters;
+    private int providerPoolSize;
+    private long providerLeaseTimeout;
+    private int cacheMaxEntries;
+    private long cacheTimeToLive;
+    private int importBatchSize;
+    private int maxImportBatchSize;
+    private long deployedPolicyIndexRefreshInterval;
+    private String snapshotFile;
+    private boolean fastStartup;
+    private long readinessCheckInterval;
 
     /**
      * Create the api parameter group.
@@ -86,6 +106,214 @@ public class ApiParameterGroup implements ParameterGroup {
         return databaseProviderParameters;
     }
 
+    /**
+     * Return the databasePoolParameters of this parameter group instance, the default pool parameters if not
+     * configured.
+     *
+     * @return the databasePoolParameters
+     */
+    public DatabasePoolParameters getDatabasePoolParameters() {
+        return (databasePoolParameters == null ? new DatabasePoolParameters() : databasePoolParameters);
+    }
+
+    /**
+     * Set the databasePoolParameters of this parameter group instance.
+     *
+     * @param databasePoolParameters the databasePoolParameters to set
+     */
+    public void setDatabasePoolParameters(final DatabasePoolParameters databasePoolParameters) {
+        this.databasePoolParameters = databasePoolParameters;
+    }
+
+    /**
+     * Return the number of pooled database providers, {@link #DEFAULT_PROVIDER_POOL_SIZE} if not configured.
+     *
+     * @return the providerPoolSize
+     */
+    public int getProviderPoolSize() {
+        return (providerPoolSize == 0 ? DEFAULT_PROVIDER_POOL_SIZE : providerPoolSize);
+    }
+
+    /**
+     * Set the number of pooled database providers.
+     *
+     * @param providerPoolSize the providerPoolSize to set
+     */
+    public void setProviderPoolSize(final int providerPoolSize) {
+        this.providerPoolSize = providerPoolSize;
+    }
+
+    /**
+     * Return the time in milliseconds a REST call waits for a free database provider,
+     * {@link #DEFAULT_PROVIDER_LEASE_TIMEOUT} if not configured.
+     *
+     * @return the providerLeaseTimeout
+     */
+    public long getProviderLeaseTimeout() {
+        return (providerLeaseTimeout == 0 ? DEFAULT_PROVIDER_LEASE_TIMEOUT : providerLeaseTimeout);
+    }
+
+    /**
+     * Set the time in milliseconds a REST call waits for a free database provider.
+     *
+     * @param providerLeaseTimeout the providerLeaseTimeout to set
+     */
+    public void setProviderLeaseTimeout(final long providerLeaseTimeout) {
+        this.providerLeaseTimeout = providerLeaseTimeout;
+    }
+
+    /**
+     * Return the maximum number of entries held by each in-memory cache, {@link #DEFAULT_CACHE_MAX_ENTRIES} if not
+     * configured.
+     *
+     * @return the cacheMaxEntries
+     */
+    public int getCacheMaxEntries() {
+        return (cacheMaxEntries == 0 ? DEFAULT_CACHE_MAX_ENTRIES : cacheMaxEntries);
+    }
+
+    /**
+     * Set the maximum number of entries held by each in-memory cache.
+     *
+     * @param cacheMaxEntries the cacheMaxEntries to set
+     */
+    public void setCacheMaxEntries(final int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    /**
+     * Return the time in milliseconds a cached entry stays valid, {@link #DEFAULT_CACHE_TIME_TO_LIVE} if not
+     * configured.
+     *
+     * @return the cacheTimeToLive
+     */
+    public long getCacheTimeToLive() {
+        return (cacheTimeToLive == 0 ? DEFAULT_CACHE_TIME_TO_LIVE : cacheTimeToLive);
+    }
+
+    /**
+     * Set the time in milliseconds a cached entry stays valid.
+     *
+     * @param cacheTimeToLive the cacheTimeToLive to set
+     */
+    public void setCacheTimeToLive(final long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    /**
+     * Return the number of policy types and policies written to the database in one transaction by an import,
+     * {@link #DEFAULT_IMPORT_BATCH_SIZE} if not configured.
+     *
+     * @return the importBatchSize
+     */
+    public int getImportBatchSize() {
+        return (importBatchSize == 0 ? DEFAULT_IMPORT_BATCH_SIZE : importBatchSize);
+    }
+
+    /**
+     * Set the number of policy types and policies written to the database in one transaction by an import.
+     *
+     * @param importBatchSize the importBatchSize to set
+     */
+    public void setImportBatchSize(final int importBatchSize) {
+        this.importBatchSize = importBatchSize;
+    }
+
+    /**
+     * Return the largest batch size an import request may ask for, {@link #DEFAULT_MAX_IMPORT_BATCH_SIZE} if not
+     * configured.
+     *
+     * @return the maxImportBatchSize
+     */
+    public int getMaxImportBatchSize() {
+        return (maxImportBatchSize == 0 ? DEFAULT_MAX_IMPORT_BATCH_SIZE : maxImportBatchSize);
+    }
+
+    /**
+     * Set the largest batch size an import request may ask for.
+     *
+     * @param maxImportBatchSize the maxImportBatchSize to set
+     */
+    public void setMaxImportBatchSize(final int maxImportBatchSize) {
+        this.maxImportBatchSize = maxImportBatchSize;
+    }
+
+    /**
+     * Return the time in milliseconds between rebuilds of the index of deployed policies,
+     * {@link #DEFAULT_DEPLOYED_POLICY_INDEX_REFRESH_INTERVAL} if not configured.
+     *
+     * @return the deployedPolicyIndexRefreshInterval
+     */
+    public long getDeployedPolicyIndexRefreshInterval() {
+        return (deployedPolicyIndexRefreshInterval == 0 ? DEFAULT_DEPLOYED_POLICY_INDEX_REFRESH_INTERVAL
+                : deployedPolicyIndexRefreshInterval);
+    }
+
+    /**
+     * Set the time in milliseconds between rebuilds of the index of deployed policies.
+     *
+     * @param deployedPolicyIndexRefreshInterval the deployedPolicyIndexRefreshInterval to set
+     */
+    public void setDeployedPolicyIndexRefreshInterval(final long deployedPolicyIndexRefreshInterval) {
+        this.deployedPolicyIndexRefreshInterval = deployedPolicyIndexRefreshInterval;
+    }
+
+    /**
+     * Return the file holding the snapshot of the caches and indexes across restarts, {@code null} if not
+     * configured.
+     *
+     * @return the snapshotFile
+     */
+    public String getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Set the file holding the snapshot of the caches and indexes across restarts.
+     *
+     * @param snapshotFile the snapshotFile to set
+     */
+    public void setSnapshotFile(final String snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Return whether the rest server is started first, the database and caches being loaded in the background.
+     *
+     * @return the fastStartup
+     */
+    public boolean isFastStartup() {
+        return fastStartup;
+    }
+
+    /**
+     * Set whether the rest server is started first, the database and caches being loaded in the background.
+     *
+     * @param fastStartup the fastStartup to set
+     */
+    public void setFastStartup(final boolean fastStartup) {
+        this.fastStartup = fastStartup;
+    }
+
+    /**
+     * Return the time in milliseconds between checks of the readiness of the service,
+     * {@link #DEFAULT_READINESS_CHECK_INTERVAL} if not configured.
+     *
+     * @return the readinessCheckInterval
+     */
+    public long getReadinessCheckInterval() {
+        return (readinessCheckInterval == 0 ? DEFAULT_READINESS_CHECK_INTERVAL : readinessCheckInterval);
+    }
+
+    /**
+     * Set the time in milliseconds between checks of the readiness of the service.
+     *
+     * @param readinessCheckInterval the readinessCheckInterval to set
+     */
+    public void setReadinessCheckInterval(final long readinessCheckInterval) {
+        this.readinessCheckInterval = readinessCheckInterval;
+    }
+
     /**
      * Validate the parameter group.
      *
@@ -109,6 +337,48 @@ public class ApiParameterGroup implements ParameterGroup {
         } else {
             validationResult.setResult("databaseProviderParameters", databaseProviderParameters.validate());
         }
+        if (databasePoolParameters != null) {
+            validationResult.setResult("databasePoolParameters", databasePoolParameters.validate());
+        }
+        if (providerPoolSize < 0) {
+            validationResult.setResult("providerPoolSize", ValidationStatus.INVALID,
+                    "must be a positive integer containing the number of pooled database providers");
+        }
+        if (providerLeaseTimeout < 0) {
+            validationResult.setResult("providerLeaseTimeout", ValidationStatus.INVALID,
+                    "must be a positive integer containing the provider lease timeout in milliseconds");
+        }
+        if (cacheMaxEntries < 0) {
+            validationResult.setResult("cacheMaxEntries", ValidationStatus.INVALID,
+                    "must be a positive integer containing the maximum number of cached entries");
+        }
+        if (cacheTimeToLive < 0) {
+            validationResult.setResult("cacheTimeToLive", ValidationStatus.INVALID,
+                    "must be a positive integer containing the cache time to live in milliseconds");
+        }
+        if (importBatchSize < 0) {
+            validationResult.setResult("importBatchSize", ValidationStatus.INVALID,
+                    "must be a positive integer containing the number of entities imported in one transaction");
+        }
+        if (maxImportBatchSize < 0) {
+            validationResult.setResult("maxImportBatchSize", ValidationStatus.INVALID,
+                    "must be a positive integer containing the largest batch size of an import");
+        } else if (getImportBatchSize() > getMaxImportBatchSize()) {
+            validationResult.setResult("importBatchSize", ValidationStatus.INVALID,
+                    "must not be greater than maxImportBatchSize");
+        }
+        if (deployedPolicyIndexRefreshInterval < 0) {
+            validationResult.setResult("deployedPolicyIndexRefreshInterval", ValidationStatus.INVALID,
+                    "must be a positive integer containing the deployed policy index refresh interval in milliseconds");
+        }
+        if (readinessCheckInterval < 0) {
+            validationResult.setResult("readinessCheckInterval", ValidationStatus.INVALID,
+                    "must be a positive integer containing the readiness check interval in milliseconds");
+        }
+        if (snapshotFile != null && !ParameterValidationUtils.validateStringParameter(snapshotFile)) {
+            validationResult.setResult("snapshotFile", ValidationStatus.INVALID,
+                    "must be a non-blank string containing the path of the snapshot file");
+        }
         return validationResult;
     }
 }
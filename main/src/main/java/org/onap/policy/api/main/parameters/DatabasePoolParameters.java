@@ -0,0 +1,204 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.parameters;
+
+import org.onap.policy.common.parameters.GroupValidationResult;
+import org.onap.policy.common.parameters.ParameterGroup;
+import org.onap.policy.common.parameters.ValidationStatus;
+import org.onap.policy.common.utils.validation.ParameterValidationUtils;
+
+/**
+ * Class to hold the parameters of the JDBC connection pools opened on the persistence unit of the database providers.
+ *
+ * <p>The sizes are per persistence session, not per service: maxPoolSize and minIdle are each split between the read
+ * and write connection pools of the session, the write pool taking the lower half.
+ */
+public class DatabasePoolParameters implements ParameterGroup {
+
+    public static final String DEFAULT_NAME = "DatabasePoolParameters";
+    public static final int DEFAULT_MAX_POOL_SIZE = 10;
+    public static final int DEFAULT_MIN_IDLE = 2;
+    public static final int MIN_IDLE_NOT_SET = -1;
+    public static final long DEFAULT_MAX_LIFETIME = 1800000L;
+
+    private String name = DEFAULT_NAME;
+    private int maxPoolSize;
+    private int minIdle = MIN_IDLE_NOT_SET;
+    private long maxLifetime;
+    private String validationQuery;
+    private long leakDetectionThreshold;
+
+    /**
+     * Return the name of this DatabasePoolParameters instance.
+     *
+     * @return name the name of this DatabasePoolParameters
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Set the name of this DatabasePoolParameters instance.
+     *
+     * @param name the name to set
+     */
+    @Override
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Return the maximum number of connections of a session, {@link #DEFAULT_MAX_POOL_SIZE} if not configured.
+     *
+     * @return the maxPoolSize
+     */
+    public int getMaxPoolSize() {
+        return (maxPoolSize == 0 ? DEFAULT_MAX_POOL_SIZE : maxPoolSize);
+    }
+
+    /**
+     * Set the maximum number of connections of a session, at least 2 as it is split between two pools.
+     *
+     * @param maxPoolSize the maxPoolSize to set
+     */
+    public void setMaxPoolSize(final int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * Return the number of connections a session keeps open when they are idle, {@link #DEFAULT_MIN_IDLE} if not
+     * configured. Zero lets the pools close all their idle connections.
+     *
+     * @return the minIdle
+     */
+    public int getMinIdle() {
+        return (minIdle == MIN_IDLE_NOT_SET ? DEFAULT_MIN_IDLE : minIdle);
+    }
+
+    /**
+     * Set the number of connections a session keeps open when they are idle, {@link #MIN_IDLE_NOT_SET} for the
+     * default.
+     *
+     * @param minIdle the minIdle to set
+     */
+    public void setMinIdle(final int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    /**
+     * Return the time in milliseconds after which a connection is replaced, {@link #DEFAULT_MAX_LIFETIME} if not
+     * configured.
+     *
+     * @return the maxLifetime
+     */
+    public long getMaxLifetime() {
+        return (maxLifetime == 0 ? DEFAULT_MAX_LIFETIME : maxLifetime);
+    }
+
+    /**
+     * Set the time in milliseconds after which a connection is replaced, it should be below the idle timeout of the
+     * database server.
+     *
+     * @param maxLifetime the maxLifetime to set
+     */
+    public void setMaxLifetime(final long maxLifetime) {
+        this.maxLifetime = maxLifetime;
+    }
+
+    /**
+     * Return the query checking a connection after a database error, {@code null} to use the query of the database
+     * platform.
+     *
+     * @return the validationQuery
+     */
+    public String getValidationQuery() {
+        return validationQuery;
+    }
+
+    /**
+     * Set the query checking a connection after a database error.
+     *
+     * @param validationQuery the validationQuery to set
+     */
+    public void setValidationQuery(final String validationQuery) {
+        this.validationQuery = validationQuery;
+    }
+
+    /**
+     * Return the time in milliseconds a connection can be held before it is logged as a possible leak, 0 if leak
+     * detection is disabled.
+     *
+     * @return the leakDetectionThreshold
+     */
+    public long getLeakDetectionThreshold() {
+        return leakDetectionThreshold;
+    }
+
+    /**
+     * Set the time in milliseconds a connection can be held before it is logged as a possible leak, 0 to disable
+     * leak detection.
+     *
+     * @param leakDetectionThreshold the leakDetectionThreshold to set
+     */
+    public void setLeakDetectionThreshold(final long leakDetectionThreshold) {
+        this.leakDetectionThreshold = leakDetectionThreshold;
+    }
+
+    /**
+     * Validate the database pool parameters.
+     *
+     * @return the result of the validation
+     */
+    @Override
+    public GroupValidationResult validate() {
+        final GroupValidationResult validationResult = new GroupValidationResult(this);
+        if (maxPoolSize < 0) {
+            validationResult.setResult("maxPoolSize", ValidationStatus.INVALID,
+                    "must be a positive integer containing the maximum number of connections of a session");
+        } else if (getMaxPoolSize() < 2) {
+            validationResult.setResult("maxPoolSize", ValidationStatus.INVALID,
+                    "must be at least 2, the connections are split between the read and write pools");
+        }
+        if (minIdle < MIN_IDLE_NOT_SET) {
+            validationResult.setResult("minIdle", ValidationStatus.INVALID,
+                    "must be zero or a positive integer containing the number of idle connections kept");
+        } else if (getMinIdle() > getMaxPoolSize()) {
+            validationResult.setResult("minIdle", ValidationStatus.INVALID, "must not be more than maxPoolSize");
+        }
+        if (maxLifetime < 0) {
+            validationResult.setResult("maxLifetime", ValidationStatus.INVALID,
+                    "must be a positive integer containing the connection lifetime in milliseconds");
+        }
+        if (validationQuery != null && !ParameterValidationUtils.validateStringParameter(validationQuery)) {
+            validationResult.setResult("validationQuery", ValidationStatus.INVALID,
+                    "must be a non-blank string containing the connection validation query");
+        }
+        if (leakDetectionThreshold < 0) {
+            validationResult.setResult("leakDetectionThreshold", ValidationStatus.INVALID,
+                    "must be a positive integer containing the leak detection threshold in milliseconds, "
+                            + "or zero to disable leak detection");
+        }
+        return validationResult;
+    }
+}
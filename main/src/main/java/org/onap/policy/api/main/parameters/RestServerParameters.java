@@ -33,6 +33,21 @@ import org.onap.policy.common.utils.validation.ParameterValidationUtils;
  *
  */
 public class RestServerParameters implements ParameterGroup {
+
+    /**
+     * Threads processing the requests.
+     */
+    public enum ExecutionMode {
+        /** A pool of platform threads, growing from the minimum to the maximum number of threads. */
+        PLATFORM,
+        /** A virtual thread per request, when the JDK provides them. */
+        VIRTUAL
+    }
+
+    public static final int DEFAULT_MIN_THREADS = 4;
+    public static final int DEFAULT_MAX_THREADS = 16;
+    public static final int DEFAULT_QUEUE_SIZE = 256;
+
     private String name;
     private String host;
     private int port;
@@ -40,6 +55,15 @@ public class RestServerParameters implements ParameterGroup {
     private String password;
     private boolean https; 
     private boolean aaf;
+    private ExecutionMode executionMode;
+    private int minThreads;
+    private int maxThreads;
+    private int queueSize;
+    private int readRateLimit;
+    private int readBurst;
+    private int writeRateLimit;
+    private int writeBurst;
+    private int maxConcurrentRequests;
     
     /**
      * Constructor for instantiating RestServerParameters.
@@ -142,6 +166,170 @@ public class RestServerParameters implements ParameterGroup {
         return aaf;
     } 
 
+    /**
+     * Return the threads processing the requests, {@link ExecutionMode#PLATFORM} if not configured.
+     *
+     * @return the executionMode
+     */
+    public ExecutionMode getExecutionMode() {
+        return (executionMode == null ? ExecutionMode.PLATFORM : executionMode);
+    }
+
+    /**
+     * Set the threads processing the requests.
+     *
+     * @param executionMode the executionMode to set
+     */
+    public void setExecutionMode(final ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Return the number of platform threads kept to process requests, {@link #DEFAULT_MIN_THREADS} if not
+     * configured.
+     *
+     * @return the minThreads
+     */
+    public int getMinThreads() {
+        return (minThreads == 0 ? DEFAULT_MIN_THREADS : minThreads);
+    }
+
+    /**
+     * Set the number of platform threads kept to process requests.
+     *
+     * @param minThreads the minThreads to set
+     */
+    public void setMinThreads(final int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Return the maximum number of requests processed at once, {@link #DEFAULT_MAX_THREADS} if not configured.
+     *
+     * @return the maxThreads
+     */
+    public int getMaxThreads() {
+        return (maxThreads == 0 ? DEFAULT_MAX_THREADS : maxThreads);
+    }
+
+    /**
+     * Set the maximum number of requests processed at once.
+     *
+     * @param maxThreads the maxThreads to set
+     */
+    public void setMaxThreads(final int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Return the number of requests waiting to be processed before new requests are rejected,
+     * {@link #DEFAULT_QUEUE_SIZE} if not configured.
+     *
+     * @return the queueSize
+     */
+    public int getQueueSize() {
+        return (queueSize == 0 ? DEFAULT_QUEUE_SIZE : queueSize);
+    }
+
+    /**
+     * Set the number of requests waiting to be processed before new requests are rejected.
+     *
+     * @param queueSize the queueSize to set
+     */
+    public void setQueueSize(final int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Return the read requests per second allowed to each user, {@code 0} if unlimited.
+     *
+     * @return the readRateLimit
+     */
+    public int getReadRateLimit() {
+        return readRateLimit;
+    }
+
+    /**
+     * Set the read requests per second allowed to each user.
+     *
+     * @param readRateLimit the readRateLimit to set
+     */
+    public void setReadRateLimit(final int readRateLimit) {
+        this.readRateLimit = readRateLimit;
+    }
+
+    /**
+     * Return the read requests a user may make at once, the read rate limit if not configured.
+     *
+     * @return the readBurst
+     */
+    public int getReadBurst() {
+        return (readBurst == 0 ? readRateLimit : readBurst);
+    }
+
+    /**
+     * Set the read requests a user may make at once.
+     *
+     * @param readBurst the readBurst to set
+     */
+    public void setReadBurst(final int readBurst) {
+        this.readBurst = readBurst;
+    }
+
+    /**
+     * Return the write requests per second allowed to each user, {@code 0} if unlimited.
+     *
+     * @return the writeRateLimit
+     */
+    public int getWriteRateLimit() {
+        return writeRateLimit;
+    }
+
+    /**
+     * Set the write requests per second allowed to each user.
+     *
+     * @param writeRateLimit the writeRateLimit to set
+     */
+    public void setWriteRateLimit(final int writeRateLimit) {
+        this.writeRateLimit = writeRateLimit;
+    }
+
+    /**
+     * Return the write requests a user may make at once, the write rate limit if not configured.
+     *
+     * @return the writeBurst
+     */
+    public int getWriteBurst() {
+        return (writeBurst == 0 ? writeRateLimit : writeBurst);
+    }
+
+    /**
+     * Set the write requests a user may make at once.
+     *
+     * @param writeBurst the writeBurst to set
+     */
+    public void setWriteBurst(final int writeBurst) {
+        this.writeBurst = writeBurst;
+    }
+
+    /**
+     * Return the maximum number of requests in progress, {@code 0} if unlimited.
+     *
+     * @return the maxConcurrentRequests
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Set the maximum number of requests in progress.
+     *
+     * @param maxConcurrentRequests the maxConcurrentRequests to set
+     */
+    public void setMaxConcurrentRequests(final int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
     /**
      * Set the name of this RestServerParameters instance.
      *
@@ -175,6 +363,41 @@ public class RestServerParameters implements ParameterGroup {
             validationResult.setResult("port", ValidationStatus.INVALID,
                     "must be a positive integer containing port of the api rest server");
         }
+        if (minThreads < 0) {
+            validationResult.setResult("minThreads", ValidationStatus.INVALID,
+                    "must be a positive integer containing the number of platform threads kept");
+        }
+        if (maxThreads < 0) {
+            validationResult.setResult("maxThreads", ValidationStatus.INVALID,
+                    "must be a positive integer containing the number of requests processed at once");
+        } else if (getMinThreads() > getMaxThreads()) {
+            validationResult.setResult("maxThreads", ValidationStatus.INVALID,
+                    "must not be less than minThreads");
+        }
+        if (queueSize < 0) {
+            validationResult.setResult("queueSize", ValidationStatus.INVALID,
+                    "must be a positive integer containing the number of queued requests");
+        }
+        validateLimit(validationResult, "readRateLimit", readRateLimit);
+        validateLimit(validationResult, "readBurst", readBurst);
+        validateLimit(validationResult, "writeRateLimit", writeRateLimit);
+        validateLimit(validationResult, "writeBurst", writeBurst);
+        validateLimit(validationResult, "maxConcurrentRequests", maxConcurrentRequests);
         return validationResult;
     }
+
+    /**
+     * Validate an admission limit, zero leaving it unlimited.
+     *
+     * @param validationResult the result of the validation
+     * @param parameterName the name of the limit
+     * @param limit the value of the limit
+     */
+    private static void validateLimit(final GroupValidationResult validationResult, final String parameterName,
+            final int limit) {
+        if (limit < 0) {
+            validationResult.setResult(parameterName, ValidationStatus.INVALID,
+                    "must be a positive integer, or zero for no limit");
+        }
+    }
 }
@@ -0,0 +1,228 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import org.onap.policy.api.main.rest.AdmissionController.RequestClass;
+import org.onap.policy.api.main.startstop.ApiActivator;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.models.errors.concepts.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to refuse requests beyond the limits of the {@link AdmissionController}, before they reach the REST
+ * controllers. Requests over the rate limit of their user are answered with 429 and a Retry-After header, requests
+ * beyond the cap on requests in progress with 503, as are requests made while the service is starting. Health checks,
+ * statistics, metrics and the API description are always admitted.
+ */
+public class AdmissionControlFilter implements Filter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    // Not defined by JAX-RS 2.0
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final String[] EXEMPT_PATHS = {"/policy/api/v1/healthcheck", "/policy/api/v1/statistics",
+        "/metrics", "/swagger.json"};
+
+    private final StandardCoder coder = new StandardCoder();
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+        // nothing to initialize
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest) || isExempt((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final HttpServletRequest httpRequest = (HttpServletRequest) request;
+        final HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        if (ApiActivator.isStarting()) {
+            // The database is not ready yet in fast startup mode
+            httpResponse.setHeader("Retry-After", "1");
+            reject(httpResponse, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "service is starting");
+            return;
+        }
+
+        final AdmissionController controller = ApiActivator.getAdmissionController();
+        if (controller == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final long wait = controller.tryAcquireRate(getUser(httpRequest), getRequestClass(httpRequest));
+        if (wait > 0) {
+            httpResponse.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait))));
+            reject(httpResponse, TOO_MANY_REQUESTS, "request rate limit exceeded");
+            return;
+        }
+
+        if (!controller.tryAcquireConcurrency()) {
+            reject(httpResponse, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "too many requests in progress");
+            return;
+        }
+
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The request completes on another thread
+                request.getAsyncContext().addListener(new ReleaseListener(controller));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                controller.releaseConcurrency();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to destroy
+    }
+
+    /**
+     * Checks whether a request is always admitted.
+     *
+     * @param request the request
+     *
+     * @return {@code true} if the request is exempt from admission control
+     */
+    private static boolean isExempt(final HttpServletRequest request) {
+        final String uri = request.getRequestURI();
+        if (uri == null) {
+            return false;
+        }
+        for (String path : EXEMPT_PATHS) {
+            if (uri.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the user making a request, the remote address if the request is not authenticated.
+     *
+     * @param request the request
+     *
+     * @return the user
+     */
+    private static String getUser(final HttpServletRequest request) {
+        final String user = request.getRemoteUser();
+        return (user != null ? user : request.getRemoteAddr());
+    }
+
+    /**
+     * Returns the class of a request.
+     *
+     * @param request the request
+     *
+     * @return {@link RequestClass#READ} for GET and HEAD requests, otherwise {@link RequestClass#WRITE}
+     */
+    private static RequestClass getRequestClass(final HttpServletRequest request) {
+        final String method = request.getMethod();
+        return ("GET".equals(method) || "HEAD".equals(method) ? RequestClass.READ : RequestClass.WRITE);
+    }
+
+    /**
+     * Answers a refused request.
+     *
+     * @param response the response
+     * @param status the HTTP status
+     * @param message the error message
+     *
+     * @throws IOException if the response cannot be written
+     */
+    private void reject(final HttpServletResponse response, final int status, final String message)
+            throws IOException {
+        final ErrorResponse error = new ErrorResponse();
+        error.setErrorMessage(message);
+
+        String body;
+        try {
+            body = coder.encode(error);
+        } catch (final CoderException exc) {
+            LOGGER.warn("cannot encode error response", exc);
+            body = "";
+        }
+
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(body);
+    }
+
+    /**
+     * Gives back the place of an asynchronous request once it completes.
+     */
+    private static class ReleaseListener implements AsyncListener {
+        private final AdmissionController controller;
+
+        ReleaseListener(final AdmissionController controller) {
+            this.controller = controller;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            controller.releaseConcurrency();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            // completion follows
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            // completion follows
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class to decide whether REST requests are admitted. Each user has a token bucket per request class, reads and
+ * writes, and the number of requests in progress is capped. A rate or a cap of zero leaves it unlimited.
+ */
+public class AdmissionController {
+
+    /**
+     * Classes of requests, each with its own rate limit.
+     */
+    public enum RequestClass {
+        READ, WRITE
+    }
+
+    // Number of buckets above which full buckets are dropped
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final int readRateLimit;
+    private final int readBurst;
+    private final int writeRateLimit;
+    private final int writeBurst;
+    private final int maxConcurrentRequests;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Semaphore concurrentRequests;
+
+    private final LongAdder readThrottledCount = new LongAdder();
+    private final LongAdder writeThrottledCount = new LongAdder();
+    private final LongAdder concurrencyRejectedCount = new LongAdder();
+
+    /**
+     * Constructs the object.
+     *
+     * @param readRateLimit the read requests per second allowed to each user
+     * @param readBurst the read requests a user may make at once
+     * @param writeRateLimit the write requests per second allowed to each user
+     * @param writeBurst the write requests a user may make at once
+     * @param maxConcurrentRequests the maximum number of requests in progress
+     */
+    public AdmissionController(final int readRateLimit, final int readBurst, final int writeRateLimit,
+            final int writeBurst, final int maxConcurrentRequests) {
+        this.readRateLimit = readRateLimit;
+        this.readBurst = Math.max(readBurst, 1);
+        this.writeRateLimit = writeRateLimit;
+        this.writeBurst = Math.max(writeBurst, 1);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.concurrentRequests = (maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests) : null);
+    }
+
+    /**
+     * Takes a token from the bucket of a user for a class of requests.
+     *
+     * @param user the user making the request
+     * @param requestClass the class of the request
+     *
+     * @return {@code 0} if the request is admitted, otherwise the time in nanoseconds after which it would be
+     */
+    public long tryAcquireRate(final String user, final RequestClass requestClass) {
+        final int rate = (requestClass == RequestClass.READ ? readRateLimit : writeRateLimit);
+        if (rate <= 0) {
+            return 0;
+        }
+
+        final long now = System.nanoTime();
+        final String key = requestClass + ":" + user;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= PRUNE_THRESHOLD) {
+                buckets.values().removeIf(existing -> existing.isFull(now));
+            }
+            final int burst = (requestClass == RequestClass.READ ? readBurst : writeBurst);
+            bucket = buckets.computeIfAbsent(key, unused -> new TokenBucket(rate, burst, now));
+        }
+
+        final long wait = bucket.tryTake(now);
+        if (wait > 0) {
+            (requestClass == RequestClass.READ ? readThrottledCount : writeThrottledCount).increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Takes one of the places for requests in progress.
+     *
+     * @return {@code true} if a place was taken, {@code false} if the cap is reached
+     */
+    public boolean tryAcquireConcurrency() {
+        if (concurrentRequests == null || concurrentRequests.tryAcquire()) {
+            return true;
+        }
+        concurrencyRejectedCount.increment();
+        return false;
+    }
+
+    /**
+     * Gives back a place taken by {@link #tryAcquireConcurrency()}.
+     */
+    public void releaseConcurrency() {
+        if (concurrentRequests != null) {
+            concurrentRequests.release();
+        }
+    }
+
+    /**
+     * Returns the maximum number of requests in progress.
+     *
+     * @return the maximum number of requests in progress, {@code 0} if unlimited
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Returns the number of requests in progress.
+     *
+     * @return the number of requests in progress
+     */
+    public int getConcurrentRequests() {
+        return (concurrentRequests == null ? 0 : maxConcurrentRequests - concurrentRequests.availablePermits());
+    }
+
+    /**
+     * Returns the number of token buckets held.
+     *
+     * @return the number of token buckets
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Returns the number of read requests refused by the rate limit.
+     *
+     * @return the number of throttled read requests
+     */
+    public long getReadThrottledCount() {
+        return readThrottledCount.sum();
+    }
+
+    /**
+     * Returns the number of write requests refused by the rate limit.
+     *
+     * @return the number of throttled write requests
+     */
+    public long getWriteThrottledCount() {
+        return writeThrottledCount.sum();
+    }
+
+    /**
+     * Returns the number of requests refused because too many requests were in progress.
+     *
+     * @return the number of requests refused by the concurrency cap
+     */
+    public long getConcurrencyRejectedCount() {
+        return concurrencyRejectedCount.sum();
+    }
+}
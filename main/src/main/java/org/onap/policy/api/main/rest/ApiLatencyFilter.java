@@ -0,0 +1,126 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+
+/**
+ * Class to time API requests, from the matching of the resource method to the end of the serialization of the
+ * response, and record them in {@link ApiLatencyStatistics}.
+ */
+@Provider
+public class ApiLatencyFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String ENDPOINT_PROPERTY = ApiLatencyFilter.class.getName() + ".endpoint";
+
+    // Endpoint names are built once per resource method
+    private static final ConcurrentMap<Method, String> ENDPOINT_NAMES = new ConcurrentHashMap<>();
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+
+        String endpoint = ENDPOINT_NAMES.get(method);
+        if (endpoint == null) {
+            endpoint = endpointName(requestContext.getMethod(), resourceInfo.getResourceClass(), method);
+            ENDPOINT_NAMES.putIfAbsent(method, endpoint);
+        }
+        requestContext.setProperty(ENDPOINT_PROPERTY, endpoint);
+        ApiLatencyStatistics.startRequest();
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        Object endpoint = requestContext.getProperty(ENDPOINT_PROPERTY);
+        if (endpoint != null && !responseContext.hasEntity()) {
+            // Nothing to serialize, the request is complete
+            ApiLatencyStatistics.finishRequest(endpoint.toString());
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        Object endpoint = context.getProperty(ENDPOINT_PROPERTY);
+        if (endpoint == null) {
+            context.proceed();
+            return;
+        }
+
+        // Streamed responses read the database and wait for the client while they are written, they record the
+        // time spent encoding themselves
+        boolean streamed = (context.getEntity() instanceof StreamingOutput);
+        long start = System.nanoTime();
+        try {
+            context.proceed();
+        } finally {
+            if (!streamed) {
+                ApiLatencyStatistics.addPhaseTime(Phase.SERIALIZATION, System.nanoTime() - start);
+            }
+            ApiLatencyStatistics.finishRequest(endpoint.toString());
+        }
+    }
+
+    /**
+     * Builds the name of an endpoint from its HTTP method and path template.
+     *
+     * @param httpMethod the HTTP method
+     * @param resourceClass the resource class
+     * @param resourceMethod the resource method
+     *
+     * @return the endpoint name, e.g. "GET /policy/api/v1/policytypes/{policyTypeId}"
+     */
+    private static String endpointName(final String httpMethod, final Class<?> resourceClass,
+            final Method resourceMethod) {
+        StringBuilder name = new StringBuilder(httpMethod).append(' ');
+        Path classPath = resourceClass.getAnnotation(Path.class);
+        if (classPath != null) {
+            name.append(classPath.value());
+        }
+        Path methodPath = resourceMethod.getAnnotation(Path.class);
+        if (methodPath != null) {
+            name.append(methodPath.value());
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,185 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to hold per-endpoint latency histograms for API access.
+ *
+ * <p>The total time of a request is split into the time spent in the database, in validating the request and in
+ * serializing the response. Phase times are accumulated per thread while the request is processed and recorded
+ * into the histograms of the endpoint when the response is written.
+ */
+public class ApiLatencyStatistics {
+
+    /**
+     * Part of the processing of a request.
+     */
+    public enum Phase {
+        TOTAL, DATABASE, VALIDATION, SERIALIZATION
+    }
+
+    private static final int PHASE_COUNT = Phase.values().length;
+
+    private static final ConcurrentMap<String, LatencyHistogram[]> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<RequestTimer> TIMERS = ThreadLocal.withInitial(RequestTimer::new);
+
+    private ApiLatencyStatistics() {
+        throw new IllegalStateException("Instantiation of the class is not allowed");
+    }
+
+    /**
+     * Starts timing a request on the current thread.
+     */
+    public static void startRequest() {
+        TIMERS.get().start(System.nanoTime());
+    }
+
+    /**
+     * Hands the request being timed on the current thread over to the thread that will run a task.
+     *
+     * @param task the task processing the request
+     *
+     * @return a task that times the request on the thread running it
+     */
+    public static Runnable handOverRequest(final Runnable task) {
+        final RequestTimer timer = TIMERS.get();
+        TIMERS.remove();
+        return () -> {
+            TIMERS.set(timer);
+            task.run();
+        };
+    }
+
+    /**
+     * Adds time spent in a phase to the request being timed on the current thread.
+     *
+     * @param phase the phase
+     * @param nanos the time in nanoseconds
+     */
+    public static void addPhaseTime(final Phase phase, final long nanos) {
+        TIMERS.get().phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Starts timing a validation, database time spent until {@link #stopValidation()} is not counted as validation.
+     */
+    public static void startValidation() {
+        RequestTimer timer = TIMERS.get();
+        timer.validationStart = System.nanoTime();
+        timer.validationDatabaseStart = timer.phaseNanos[Phase.DATABASE.ordinal()];
+    }
+
+    /**
+     * Stops timing a validation started with {@link #startValidation()}.
+     */
+    public static void stopValidation() {
+        RequestTimer timer = TIMERS.get();
+        long databaseNanos = timer.phaseNanos[Phase.DATABASE.ordinal()] - timer.validationDatabaseStart;
+        timer.phaseNanos[Phase.VALIDATION.ordinal()] +=
+                Math.max(0L, System.nanoTime() - timer.validationStart - databaseNanos);
+    }
+
+    /**
+     * Records the request being timed on the current thread into the histograms of an endpoint.
+     *
+     * @param endpoint the endpoint that served the request
+     */
+    public static void finishRequest(final String endpoint) {
+        RequestTimer timer = TIMERS.get();
+        if (!timer.active) {
+            return;
+        }
+        timer.active = false;
+        timer.phaseNanos[Phase.TOTAL.ordinal()] = System.nanoTime() - timer.startNanos;
+
+        LatencyHistogram[] histograms = ENDPOINTS.get(endpoint);
+        if (histograms == null) {
+            histograms = ENDPOINTS.computeIfAbsent(endpoint, key -> newHistograms());
+        }
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            histograms[i].record(TimeUnit.NANOSECONDS.toMicros(timer.phaseNanos[i]));
+        }
+    }
+
+    /**
+     * Takes a snapshot of the latency histograms of all endpoints.
+     *
+     * @param reset whether to clear the histograms while taking the snapshot
+     *
+     * @return the latency reports of each phase, by endpoint
+     */
+    public static Map<String, Map<String, LatencyReport>> getSnapshot(final boolean reset) {
+        Map<String, Map<String, LatencyReport>> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram[]> endpoint : ENDPOINTS.entrySet()) {
+            Map<String, LatencyReport> phases = new LinkedHashMap<>();
+            for (Phase phase : Phase.values()) {
+                phases.put(phase.name().toLowerCase(Locale.ROOT),
+                        endpoint.getValue()[phase.ordinal()].getSnapshot(reset));
+            }
+            snapshot.put(endpoint.getKey(), phases);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reset all the latency histograms.
+     */
+    public static void resetAllStatistics() {
+        ENDPOINTS.clear();
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[PHASE_COUNT];
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /**
+     * Phase times of the request being processed by a thread, reused across requests.
+     */
+    private static class RequestTimer {
+        private final long[] phaseNanos = new long[PHASE_COUNT];
+        private boolean active;
+        private long startNanos;
+        private long validationStart;
+        private long validationDatabaseStart;
+
+        private void start(final long nanos) {
+            active = true;
+            startNanos = nanos;
+            for (int i = 0; i < PHASE_COUNT; i++) {
+                phaseNanos[i] = 0L;
+            }
+        }
+    }
+}
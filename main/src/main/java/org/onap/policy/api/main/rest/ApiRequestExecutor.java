@@ -0,0 +1,276 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.onap.policy.api.main.parameters.RestServerParameters.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to process REST requests off the server threads, so that the server threads are not held while the
+ * database is queried.
+ *
+ * <p>In {@link ExecutionMode#PLATFORM} mode requests run on a pool of platform threads that grows from the minimum
+ * to the maximum number of threads before requests are queued. In {@link ExecutionMode#VIRTUAL} mode each request
+ * runs on its own virtual thread, up to the maximum number of threads plus the queue size at once; the mode falls
+ * back to platform threads on a JDK without virtual threads. Requests beyond those bounds are rejected, and are
+ * answered at once rather than waiting behind requests that are already late.
+ */
+public class ApiRequestExecutor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiRequestExecutor.class);
+
+    // Time given to running requests to complete when the executor is closed
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000L;
+
+    // Time after which platform threads above the minimum number of threads stop
+    private static final long KEEP_ALIVE_MS = 60000L;
+
+    private final ExecutionMode executionMode;
+    private final int maxThreads;
+    private final int queueSize;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    // Platform mode
+    private final ThreadPoolExecutor threadPool;
+
+    // Virtual mode, the permits bound the requests in progress
+    private final ExecutorService virtualThreads;
+    private final Semaphore permits;
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+
+    /**
+     * Constructs the object.
+     *
+     * @param executionMode the threads processing requests
+     * @param minThreads the number of platform threads kept
+     * @param maxThreads the maximum number of requests processed at once
+     * @param queueSize the number of requests waiting to be processed before new requests are rejected
+     */
+    public ApiRequestExecutor(final ExecutionMode executionMode, final int minThreads, final int maxThreads,
+            final int queueSize) {
+        this.maxThreads = maxThreads;
+        this.queueSize = queueSize;
+
+        ExecutorService virtualThreadExecutor =
+                (executionMode == ExecutionMode.VIRTUAL ? newVirtualThreadExecutor() : null);
+        if (virtualThreadExecutor != null) {
+            this.executionMode = ExecutionMode.VIRTUAL;
+            this.virtualThreads = virtualThreadExecutor;
+            this.permits = new Semaphore(maxThreads + queueSize);
+            this.threadPool = null;
+        } else {
+            this.executionMode = ExecutionMode.PLATFORM;
+            this.virtualThreads = null;
+            this.permits = null;
+            this.threadPool = newThreadPool(minThreads, maxThreads, queueSize);
+        }
+    }
+
+    /**
+     * Queues a request for processing.
+     *
+     * @param task the processing of the request
+     *
+     * @return {@code true} if the request is queued, {@code false} if it is rejected because too many requests are
+     *         waiting
+     */
+    public boolean submit(final Runnable task) {
+        try {
+            if (threadPool != null) {
+                threadPool.execute(ApiLatencyStatistics.handOverRequest(task));
+            } else {
+                submitToVirtualThread(task);
+            }
+            return true;
+        } catch (RejectedExecutionException exc) {
+            // Rejected requests are counted here rather than in the latency statistics
+            rejectedCount.incrementAndGet();
+            LOGGER.debug("request rejected, {} requests are queued", getQueueDepth(), exc);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the threads processing requests, it is {@link ExecutionMode#PLATFORM} if virtual threads were
+     * requested but are not available.
+     *
+     * @return the execution mode in use
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getThreadPoolSize() {
+        return (threadPool != null ? threadPool.getPoolSize() : activeCount.get());
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getQueueDepth() {
+        // Virtual threads are started at once, requests never wait for one
+        return (threadPool != null ? threadPool.getQueue().size() : 0);
+    }
+
+    public int getActiveCount() {
+        return (threadPool != null ? threadPool.getActiveCount() : activeCount.get());
+    }
+
+    public long getCompletedCount() {
+        return (threadPool != null ? threadPool.getCompletedTaskCount() : completedCount.get());
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Stops accepting requests and waits for the queued requests to complete.
+     */
+    @Override
+    public void close() {
+        ExecutorService executor = (threadPool != null ? threadPool : virtualThreads);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException exc) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a virtual thread for a request if the number of requests in progress allows it.
+     *
+     * @param task the processing of the request
+     */
+    private void submitToVirtualThread(final Runnable task) {
+        if (virtualThreads.isShutdown() || !permits.tryAcquire()) {
+            throw new RejectedExecutionException("too many requests in progress");
+        }
+
+        activeCount.incrementAndGet();
+        Runnable handedOverTask = ApiLatencyStatistics.handOverRequest(task);
+        try {
+            virtualThreads.execute(() -> {
+                try {
+                    handedOverTask.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                    completedCount.incrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException exc) {
+            activeCount.decrementAndGet();
+            permits.release();
+            throw exc;
+        }
+    }
+
+    /**
+     * Creates a pool of platform threads that starts new threads, up to the maximum, before queuing requests.
+     *
+     * @param minThreads the number of threads kept
+     * @param maxThreads the maximum number of threads
+     * @param queueSize the number of requests waiting for a thread
+     *
+     * @return the thread pool
+     */
+    private static ThreadPoolExecutor newThreadPool(final int minThreads, final int maxThreads, final int queueSize) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final RequestQueue queue = new RequestQueue(queueSize);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(minThreads, maxThreads, KEEP_ALIVE_MS, TimeUnit.MILLISECONDS,
+                queue, runnable -> {
+                    Thread thread = new Thread(runnable, "api-request-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> {
+                    // The pool reached its maximum size after the queue refused the request, queue it if there is room
+                    if (executor.isShutdown() || !queue.enqueue(runnable)) {
+                        throw new RejectedExecutionException("request queue is full");
+                    }
+                });
+        queue.threadPool = pool;
+        return pool;
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, through reflection so that the api still runs on a
+     * JDK without virtual threads.
+     *
+     * @return the executor, or {@code null} if virtual threads are not available
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException exc) {
+            LOGGER.warn("virtual threads are not available on this JDK, requests run on platform threads", exc);
+            return null;
+        }
+    }
+
+    /**
+     * Queue that refuses requests while the thread pool can still start threads, so that the pool grows to its
+     * maximum size before requests wait.
+     */
+    private static class RequestQueue extends LinkedBlockingQueue<Runnable> {
+        private static final long serialVersionUID = 1L;
+
+        private transient ThreadPoolExecutor threadPool;
+
+        RequestQueue(final int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        public boolean offer(final Runnable runnable) {
+            if (threadPool != null && threadPool.getPoolSize() < threadPool.getMaximumPoolSize()) {
+                return false;
+            }
+            return super.offer(runnable);
+        }
+
+        private boolean enqueue(final Runnable runnable) {
+            return super.offer(runnable);
+        }
+    }
+}
@@ -36,9 +36,18 @@ import io.swagger.annotations.Info;
 import io.swagger.annotations.ResponseHeader;
 import io.swagger.annotations.SecurityDefinition;
 import io.swagger.annotations.SwaggerDefinition;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -47,23 +56,43 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.HttpMethod;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.Result;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.Target;
+import org.onap.policy.api.main.rest.JsonResponseCache.CachedResponse;
+import org.onap.policy.api.main.rest.provider.ApiCache;
 import org.onap.policy.api.main.rest.provider.HealthCheckProvider;
+import org.onap.policy.api.main.rest.provider.PolicyDirectory;
+import org.onap.policy.api.main.rest.provider.PolicyExporter;
+import org.onap.policy.api.main.rest.provider.PolicyImporter;
 import org.onap.policy.api.main.rest.provider.PolicyProvider;
 import org.onap.policy.api.main.rest.provider.PolicyTypeProvider;
 import org.onap.policy.api.main.rest.provider.StatisticsProvider;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil.EventType;
+import org.onap.policy.common.parameters.ParameterService;
 import org.onap.policy.common.utils.coder.Coder;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.errors.concepts.ErrorResponse;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -99,6 +128,8 @@ public class ApiRestController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiRestController.class);
 
+    private static final String LATEST = "latest";
+
     private final Coder coder = new StandardCoder();
 
     /**
@@ -144,11 +175,110 @@ public class ApiRestController {
     public Response getHealthCheck(
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        updateApiStatisticsCounter(Target.OTHER, Result.SUCCESS, HttpMethod.GET);
+        ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.GET, Result.SUCCESS);
         return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
             .entity(new HealthCheckProvider().performHealthCheck()).build();
     }
 
+    /**
+     * Retrieves the liveness status of the API component.
+     *
+     * @return the Response object containing the results of the API operation
+     */
+    @GET
+    @Path("/healthcheck/liveness")
+    @ApiOperation(value = "Perform a liveness check",
+            notes = "Returns whether the Policy API component is running, 503 if it should be restarted",
+            response = HealthCheckReport.class,
+            responseHeaders = {
+                    @ResponseHeader(name = "X-MinorVersion",
+                                    description = "Used to request or communicate a MINOR version back from the client"
+                                                + " to the server, and from the server back to the client",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-PatchVersion",
+                                    description = "Used only to communicate a PATCH version in a response for"
+                                                + " troubleshooting purposes only, and will not be provided by"
+                                                + " the client on request",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-LatestVersion",
+                                    description = "Used only to communicate an API's latest version",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-ONAP-RequestID",
+                                    description = "Used to track REST transactions for logging purpose",
+                                    response = UUID.class)
+            },
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "HealthCheck", },
+            extensions = {
+                    @Extension(name = "interface info", properties = {
+                            @ExtensionProperty(name = "api-version", value = "1.0.0"),
+                            @ExtensionProperty(name = "last-mod-release", value = "Dublin")
+                    })
+            })
+    @ApiResponses(value = {
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
+        })
+    public Response getLiveness(
+            @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
+
+        // Probes are not counted as API calls so that they do not skew the request counters
+        final HealthCheckReport report = new HealthCheckProvider().performLivenessCheck();
+        return addLoggingHeaders(addVersionControlHeaders(Response.status(report.getCode())), requestId)
+            .entity(report).build();
+    }
+
+    /**
+     * Retrieves the readiness status of the API component, from the last background checks.
+     *
+     * @return the Response object containing the results of the API operation
+     */
+    @GET
+    @Path("/healthcheck/readiness")
+    @ApiOperation(value = "Perform a readiness check",
+            notes = "Returns whether the Policy API component can serve requests, from the results of periodic"
+                + " database, pool and cache checks, 503 with the failing checks if it cannot",
+            response = HealthCheckReport.class,
+            responseHeaders = {
+                    @ResponseHeader(name = "X-MinorVersion",
+                                    description = "Used to request or communicate a MINOR version back from the client"
+                                                + " to the server, and from the server back to the client",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-PatchVersion",
+                                    description = "Used only to communicate a PATCH version in a response for"
+                                                + " troubleshooting purposes only, and will not be provided by"
+                                                + " the client on request",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-LatestVersion",
+                                    description = "Used only to communicate an API's latest version",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-ONAP-RequestID",
+                                    description = "Used to track REST transactions for logging purpose",
+                                    response = UUID.class)
+            },
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "HealthCheck", },
+            extensions = {
+                    @Extension(name = "interface info", properties = {
+                            @ExtensionProperty(name = "api-version", value = "1.0.0"),
+                            @ExtensionProperty(name = "last-mod-release", value = "Dublin")
+                    })
+            })
+    @ApiResponses(value = {
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
+        })
+    public Response getReadiness(
+            @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
+
+        // Probes are not counted as API calls so that they do not skew the request counters
+        final HealthCheckReport report = new HealthCheckProvider().performReadinessCheck();
+        return addLoggingHeaders(addVersionControlHeaders(Response.status(report.getCode())), requestId)
+            .entity(report).build();
+    }
+
     /**
      * Retrieves the statistics report of the API component.
      *
@@ -157,7 +287,7 @@ public class ApiRestController {
     @GET
     @Path("/statistics")
     @ApiOperation(value = "Retrieve current statistics",
-            notes = "Returns current statistics including the counters of API invocation",
+            notes = "Returns current statistics including the counters and latency percentiles of API invocation",
             response = StatisticsReport.class,
             responseHeaders = {
                     @ResponseHeader(name = "X-MinorVersion",
@@ -190,22 +320,191 @@ public class ApiRestController {
             @ApiResponse(code = 500, message = "Internal Server Error")
         })
     public Response getStatistics(
+            @QueryParam("resetLatencies") @ApiParam("Clear the latency histograms once they are read")
+                boolean resetLatencies,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        updateApiStatisticsCounter(Target.OTHER, Result.SUCCESS, HttpMethod.GET);
+        ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.GET, Result.SUCCESS);
         return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-            .entity(new StatisticsProvider().fetchCurrentStatistics()).build();
+            .entity(new StatisticsProvider().fetchCurrentStatistics(resetLatencies)).build();
+    }
+
+    /**
+     * Exports all data types, policy types and policies.
+     *
+     * @param requestId request ID used in ONAP logging
+     * @param asyncResponse resumed with the Response object streaming the export
+     */
+    @GET
+    @Path("/export")
+    @Produces(PolicyExporter.NDJSON_TYPE)
+    @ApiOperation(value = "Export all data types, policy types and policies",
+            notes = "Streams every data type, then every policy type and then every policy as newline-delimited"
+                    + " JSON, each line holding a TOSCA service template with a single data type, policy type or"
+                    + " policy. If the export fails part way, its last line is an error response",
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "PolicyType", "Policy", },
+            responseHeaders = {
+                    @ResponseHeader(name = "X-MinorVersion",
+                                    description = "Used to request or communicate a MINOR version back from the client"
+                                                + " to the server, and from the server back to the client",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-PatchVersion",
+                                    description = "Used only to communicate a PATCH version in a response for"
+                                                + " troubleshooting purposes only, and will not be provided by"
+                                                + " the client on request",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-LatestVersion",
+                                    description = "Used only to communicate an API's latest version",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-ONAP-RequestID",
+                                    description = "Used to track REST transactions for logging purpose",
+                                    response = UUID.class)
+            },
+            extensions = {
+                    @Extension(name = "interface info", properties = {
+                            @ExtensionProperty(name = "api-version", value = "1.0.0"),
+                            @ExtensionProperty(name = "last-mod-release", value = "Dublin")
+                    })
+            })
+    @ApiResponses(value = {
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
+        })
+    public void exportPolicies(
+            @Suspended AsyncResponse asyncResponse,
+            @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
+
+        submit(asyncResponse, requestId, Target.OTHER, HttpMethod.GET, () -> {
+            StreamingOutput output = outputStream -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                try {
+                    PolicyExporter.exportAllPolicies(writer);
+                    ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.GET, Result.SUCCESS);
+                } catch (PfModelException | PfModelRuntimeException pfme) {
+                    LOGGER.error("GET /export", pfme);
+                    ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.GET, Result.FAILURE);
+                    // The status is sent with the first line, the error is the last line of the stream instead
+                    writer.write(toJson(pfme.getErrorResponse()));
+                    writer.write('\n');
+                }
+                writer.flush();
+            };
+            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                    .type(PolicyExporter.NDJSON_TYPE).entity(output).build();
+        });
+    }
+
+    /**
+     * Imports policy types and policies.
+     *
+     * @param batchSize the number of policy types and policies written in one transaction
+     * @param requestId request ID used in ONAP logging
+     * @param body the stream of TOSCA service templates, one per line
+     * @param asyncResponse resumed with the Response object holding the progress of the import
+     */
+    @POST
+    @Path("/import")
+    @Consumes(PolicyExporter.NDJSON_TYPE)
+    @Produces(PolicyExporter.NDJSON_TYPE)
+    @ApiOperation(value = "Import policy types and policies",
+            notes = "Client should provide newline-delimited JSON, each line holding a TOSCA service template, such"
+                    + " as the output of the export. Policy types and policies are written in batches and a"
+                    + " progress line is returned for each batch, the last one sums up the import. Data types are"
+                    + " written with the first batch of policy types",
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "PolicyType", "Policy", },
+            response = ImportProgress.class,
+            responseHeaders = {
+                    @ResponseHeader(name = "X-MinorVersion",
+                                    description = "Used to request or communicate a MINOR version back from the client"
+                                                + " to the server, and from the server back to the client",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-PatchVersion",
+                                    description = "Used only to communicate a PATCH version in a response for"
+                                                + " troubleshooting purposes only, and will not be provided by"
+                                                + " the client on request",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-LatestVersion",
+                                    description = "Used only to communicate an API's latest version",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-ONAP-RequestID",
+                                    description = "Used to track REST transactions for logging purpose",
+                                    response = UUID.class)
+            },
+            extensions = {
+                    @Extension(name = "interface info", properties = {
+                            @ExtensionProperty(name = "api-version", value = "1.0.0"),
+                            @ExtensionProperty(name = "last-mod-release", value = "Dublin")
+                    })
+            })
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid Body, some items could not be imported"),
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
+        })
+    public void importPolicies(
+            @Suspended AsyncResponse asyncResponse,
+            @QueryParam("batchSize") @ApiParam("Number of entities written in one transaction, at most the"
+                    + " configured maximum") Integer batchSize,
+            @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId,
+            @ApiParam(value = "Service templates, one per line", required = true) InputStream body) {
+
+        submit(asyncResponse, requestId, Target.OTHER, HttpMethod.POST, () -> {
+            ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
+            if (batchSize != null && (batchSize <= 0 || batchSize > parameterGroup.getMaxImportBatchSize())) {
+                ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.POST, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.BAD_REQUEST)),
+                        requestId).entity("batch size must be a positive integer not greater than "
+                                + parameterGroup.getMaxImportBatchSize()).type(MediaType.TEXT_PLAIN).build();
+            }
+            int importBatchSize = (batchSize != null ? batchSize : parameterGroup.getImportBatchSize());
+
+            // A batch is read only once the previous one is stored, its providers are leased only to write it
+            StringBuilder progressLines = new StringBuilder();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            ImportProgress progress;
+            try {
+                progress = new PolicyImporter(importBatchSize).importStream(reader, batchProgress -> {
+                    long start = System.nanoTime();
+                    progressLines.append(toJson(batchProgress)).append('\n');
+                    ApiLatencyStatistics.addPhaseTime(Phase.SERIALIZATION, System.nanoTime() - start);
+                });
+            } catch (IOException exc) {
+                LOGGER.error("POST /import", exc);
+                ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.POST, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.BAD_REQUEST)),
+                        requestId).entity("the import could not be read: " + exc.getMessage())
+                        .type(MediaType.TEXT_PLAIN).build();
+            }
+
+            // The progress lines tell which items failed
+            boolean imported = (progress.getItemsFailed() == 0);
+            ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.POST,
+                    (imported ? Result.SUCCESS : Result.FAILURE));
+            return addLoggingHeaders(addVersionControlHeaders(
+                    Response.status(imported ? Response.Status.OK : Response.Status.BAD_REQUEST)), requestId)
+                    .type(PolicyExporter.NDJSON_TYPE).entity(progressLines.toString()).build();
+        });
     }
 
     /**
      * Retrieves all available policy types.
      *
-     * @return the Response object containing the results of the API operation
+     * @param offset the number of policy types to skip
+     * @param limit the maximum number of policy types
+     * @param fields the comma separated fields of each policy type
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes")
     @ApiOperation(value = "Retrieve existing policy types",
-            notes = "Returns a list of existing policy types stored in Policy Framework",
+            notes = "Returns a list of existing policy types stored in Policy Framework, a page of it when an offset"
+                    + " or a limit is given and only the listed fields of each policy type when fields are given",
             response = ToscaServiceTemplate.class,
             responseHeaders = {
                     @ResponseHeader(name = "X-MinorVersion",
@@ -233,33 +532,53 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
+            @ApiResponse(code = 400, message = "Invalid Query"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getAllPolicyTypes(
+    public void getAllPolicyTypes(
+            @Suspended AsyncResponse asyncResponse,
+            @QueryParam("offset") @ApiParam("Number of policy types to skip") Integer offset,
+            @QueryParam("limit") @ApiParam("Maximum number of policy types") Integer limit,
+            @QueryParam("fields") @ApiParam("Comma separated fields of each policy type, among name, version,"
+                    + " derived_from and description") String fields,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyTypeProvider.fetchPolicyTypes(null, null);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes", pfme);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY_TYPE, HttpMethod.GET, () -> {
+            try {
+                String resourcePath = JsonResponseCache.pagedPath(JsonResponseCache.policyTypesPath(null, null),
+                        offset, limit, fields);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    if (offset != null || limit != null || fields != null) {
+                        try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+                            return policyDirectory.listPolicyTypes(offset, limit, fields);
+                        }
+                    }
+                    try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                        return policyTypeProvider.fetchPolicyTypes(null, null);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes", pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
      * Retrieves all versions of a particular policy type.
      *
      * @param policyTypeId the ID of specified policy type
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}")
@@ -292,27 +611,37 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getAllVersionsOfPolicyType(
+    public void getAllVersionsOfPolicyType(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyTypeProvider.fetchPolicyTypes(policyTypeId, null);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}", policyTypeId, pfme);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY_TYPE, HttpMethod.GET, () -> {
+            try {
+                String resourcePath = JsonResponseCache.policyTypesPath(policyTypeId, null);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                        return policyTypeProvider.fetchPolicyTypes(policyTypeId, null);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}", policyTypeId, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -320,8 +649,7 @@ public class ApiRestController {
      *
      * @param policyTypeId the ID of specified policy type
      * @param versionId the version of specified policy type
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/{versionId}")
@@ -354,36 +682,45 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getSpecificVersionOfPolicyType(
+    public void getSpecificVersionOfPolicyType(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("versionId") @ApiParam(value = "Version of policy type", required = true) String versionId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyTypeProvider.fetchPolicyTypes(policyTypeId, versionId);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}/versions/{}", policyTypeId, versionId, pfme);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY_TYPE, HttpMethod.GET, () -> {
+            try {
+                String resourcePath = JsonResponseCache.policyTypesPath(policyTypeId, versionId);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                        return policyTypeProvider.fetchPolicyTypes(policyTypeId, versionId);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}/versions/{}", policyTypeId, versionId, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
      * Retrieves latest version of a particular policy type.
      *
      * @param policyTypeId the ID of specified policy type
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/latest")
@@ -416,35 +753,44 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getLatestVersionOfPolicyType(
+    public void getLatestVersionOfPolicyType(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyTypeProvider.fetchLatestPolicyTypes(policyTypeId);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}/versions/latest", policyTypeId, pfme);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY_TYPE, HttpMethod.GET, () -> {
+            try {
+                String resourcePath = JsonResponseCache.policyTypesPath(policyTypeId, LATEST);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                        return policyTypeProvider.fetchLatestPolicyTypes(policyTypeId);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}/versions/latest", policyTypeId, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
      * Creates a new policy type.
      *
      * @param body the body of policy type following TOSCA definition
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @POST
     @Path("/policytypes")
@@ -480,28 +826,32 @@ public class ApiRestController {
             @ApiResponse(code = 400, message = "Invalid Body"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response createPolicyType(
+    public void createPolicyType(
+            @Suspended AsyncResponse asyncResponse,
             @ApiParam(value = "Entity body of policy type", required = true) ToscaServiceTemplate body,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        if (NetLoggerUtil.getNetworkLogger().isInfoEnabled()) {
-            NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST, "/policytypes", toJson(body));
-        }
+        submit(asyncResponse, requestId, Target.POLICY_TYPE, HttpMethod.POST, () -> {
+            if (NetLoggerUtil.getNetworkLogger().isInfoEnabled()) {
+                NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST, "/policytypes", toJson(body));
+            }
 
-        try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyTypeProvider.createPolicyType(body);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.SUCCESS, HttpMethod.POST);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("POST /policytypes", pfme);
-            updateApiStatisticsCounter(Target.POLICY_TYPE, Result.FAILURE, HttpMethod.POST);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+            try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                ToscaServiceTemplate serviceTemplate = policyTypeProvider.createPolicyType(body);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.POST, Result.SUCCESS);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(serviceTemplate).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("POST /policytypes", pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.POST, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -509,8 +859,7 @@ public class ApiRestController {
      *
      * @param policyTypeId the ID of specified policy type
      * @param versionId the version of specified policy type
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @DELETE
     @Path("/policytypes/{policyTypeId}/versions/{versionId}")
@@ -549,23 +898,29 @@ public class ApiRestController {
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
             @ApiResponse(code = 409, message = "Delete Conflict, Rule Violation"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response deleteSpecificVersionOfPolicyType(
+    public void deleteSpecificVersionOfPolicyType(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("versionId") @ApiParam(value = "Version of policy type", required = true) String versionId,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyTypeProvider.deletePolicyType(policyTypeId, versionId);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("DELETE /policytypes/{}/versions/{}", policyTypeId, versionId, pfme);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY_TYPE, HttpMethod.DELETE, () -> {
+            try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                ToscaServiceTemplate serviceTemplate = policyTypeProvider.deletePolicyType(policyTypeId, versionId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.DELETE, Result.SUCCESS);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(serviceTemplate).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("DELETE /policytypes/{}/versions/{}", policyTypeId, versionId, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.DELETE, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -573,13 +928,17 @@ public class ApiRestController {
      *
      * @param policyTypeId the ID of specified policy type
      * @param policyTypeVersion the version of specified policy type
-     *
-     * @return the Response object containing the results of the API operation
+     * @param offset the number of policies to skip
+     * @param limit the maximum number of policies
+     * @param fields the comma separated fields of each policy
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies")
     @ApiOperation(value = "Retrieve all versions of a policy created for a particular policy type version",
-            notes = "Returns a list of all versions of specified policy created for the specified policy type version",
+            notes = "Returns a list of all versions of specified policy created for the specified policy type version,"
+                    + " a page of it when an offset or a limit is given and only the listed fields of each policy when"
+                    + " fields are given. A page of an existing policy type past its last policy is empty",
             response = ToscaServiceTemplate.class,
             responseHeaders = {
                     @ResponseHeader(name = "X-MinorVersion",
@@ -607,30 +966,51 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
+            @ApiResponse(code = 400, message = "Invalid Query"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getAllPolicies(
+    public void getAllPolicies(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
+            @QueryParam("offset") @ApiParam("Number of policies to skip") Integer offset,
+            @QueryParam("limit") @ApiParam("Maximum number of policies") Integer limit,
+            @QueryParam("fields") @ApiParam("Comma separated fields of each policy, among name, version, type,"
+                    + " type_version and description") String fields,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            ToscaServiceTemplate serviceTemplate =
-                    policyProvider.fetchPolicies(policyTypeId, policyTypeVersion, null, null);
-            updateApiStatisticsCounter(Target.POLICY, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}/versions/{}/policies", policyTypeId, policyTypeVersion, pfme);
-            updateApiStatisticsCounter(Target.POLICY, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.GET, () -> {
+            try {
+                String resourcePath = JsonResponseCache.pagedPath(
+                        JsonResponseCache.policiesPath(policyTypeId, policyTypeVersion), offset, limit, fields);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    if (offset != null || limit != null || fields != null) {
+                        try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+                            return policyDirectory.listPolicies(policyTypeId, policyTypeVersion, offset, limit,
+                                    fields);
+                        }
+                    }
+                    try (PolicyProvider policyProvider = new PolicyProvider()) {
+                        return policyProvider.fetchPolicies(policyTypeId, policyTypeVersion, null, null);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}/versions/{}/policies", policyTypeId, policyTypeVersion, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -639,8 +1019,7 @@ public class ApiRestController {
      * @param policyTypeId the ID of specified policy type
      * @param policyTypeVersion the version of specified policy type
      * @param policyId the ID of specified policy
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies/{policyId}")
@@ -673,32 +1052,41 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getAllVersionsOfPolicy(
+    public void getAllVersionsOfPolicy(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyProvider
-                    .fetchPolicies(policyTypeId, policyTypeVersion, policyId, null);
-            updateApiStatisticsCounter(Target.POLICY, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("/policytypes/{}/versions/{}/policies/{}", policyTypeId, policyTypeVersion, policyId,
-                    pfme);
-            updateApiStatisticsCounter(Target.POLICY, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.GET, () -> {
+            try {
+                String resourcePath = JsonResponseCache.policiesPath(policyTypeId, policyTypeVersion, policyId, null);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    try (PolicyProvider policyProvider = new PolicyProvider()) {
+                        return policyProvider.fetchPolicies(policyTypeId, policyTypeVersion, policyId, null);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("/policytypes/{}/versions/{}/policies/{}", policyTypeId, policyTypeVersion, policyId,
+                        pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -708,8 +1096,7 @@ public class ApiRestController {
      * @param policyTypeVersion the version of specified policy type
      * @param policyId the ID of specified policy
      * @param policyVersion the version of specified policy
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies/{policyId}/versions/{policyVersion}")
@@ -742,33 +1129,43 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getSpecificVersionOfPolicy(
+    public void getSpecificVersionOfPolicy(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
             @PathParam("policyVersion") @ApiParam(value = "Version of policy", required = true) String policyVersion,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyProvider
-                    .fetchPolicies(policyTypeId, policyTypeVersion, policyId, policyVersion);
-            updateApiStatisticsCounter(Target.POLICY, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}/versions/{}/policies/{}/versions/{}", policyTypeId,
-                    policyTypeVersion, policyId, policyVersion, pfme);
-            updateApiStatisticsCounter(Target.POLICY, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.GET, () -> {
+            try {
+                String resourcePath =
+                        JsonResponseCache.policiesPath(policyTypeId, policyTypeVersion, policyId, policyVersion);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    try (PolicyProvider policyProvider = new PolicyProvider()) {
+                        return policyProvider.fetchPolicies(policyTypeId, policyTypeVersion, policyId, policyVersion);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}/versions/{}/policies/{}/versions/{}", policyTypeId,
+                        policyTypeVersion, policyId, policyVersion, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -777,8 +1174,7 @@ public class ApiRestController {
      * @param policyTypeId the ID of specified policy type
      * @param policyTypeVersion the version of specified policy type
      * @param policyId the ID of specified policy
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies/{policyId}/versions/latest")
@@ -811,32 +1207,42 @@ public class ApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getLatestVersionOfPolicy(
+    public void getLatestVersionOfPolicy(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            ToscaServiceTemplate serviceTemplate =
-                    policyProvider.fetchLatestPolicies(policyTypeId, policyTypeVersion, policyId);
-            updateApiStatisticsCounter(Target.POLICY, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}/versions/{}/policies/{}/versions/latest", policyTypeId,
-                    policyTypeVersion, policyId, pfme);
-            updateApiStatisticsCounter(Target.POLICY, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.GET, () -> {
+            try {
+                String resourcePath =
+                        JsonResponseCache.policiesPath(policyTypeId, policyTypeVersion, policyId, LATEST);
+                Response response = buildCachedResponse(resourcePath, () -> {
+                    try (PolicyProvider policyProvider = new PolicyProvider()) {
+                        return policyProvider.fetchLatestPolicies(policyTypeId, policyTypeVersion, policyId);
+                    }
+                }, ifNoneMatch, requestId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                return response;
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}/versions/{}/policies/{}/versions/latest", policyTypeId,
+                        policyTypeVersion, policyId, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -845,8 +1251,7 @@ public class ApiRestController {
      * @param policyTypeId the ID of specified policy type
      * @param policyTypeVersion the version of specified policy type
      * @param policyId the ID of specified policy
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @GET
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies/{policyId}/versions/deployed")
@@ -882,29 +1287,33 @@ public class ApiRestController {
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response getDeployedVersionsOfPolicy(
+    public void getDeployedVersionsOfPolicy(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            Map<Pair<String, String>, List<ToscaPolicy>> deployedPolicies = policyProvider
-                    .fetchDeployedPolicies(policyTypeId, policyTypeVersion, policyId);
-            updateApiStatisticsCounter(Target.POLICY, Result.SUCCESS, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(deployedPolicies).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("GET /policytypes/{}/versions/{}/policies/{}/versions/deployed", policyTypeId,
-                    policyTypeVersion, policyId, pfme);
-            updateApiStatisticsCounter(Target.POLICY, Result.FAILURE, HttpMethod.GET);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.GET, () -> {
+            try (PolicyProvider policyProvider = new PolicyProvider()) {
+                Map<Pair<String, String>, List<ToscaPolicy>> deployedPolicies = policyProvider
+                        .fetchDeployedPolicies(policyTypeId, policyTypeVersion, policyId);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(deployedPolicies).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("GET /policytypes/{}/versions/{}/policies/{}/versions/deployed", policyTypeId,
+                        policyTypeVersion, policyId, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -913,8 +1322,7 @@ public class ApiRestController {
      * @param policyTypeId the ID of specified policy type
      * @param policyTypeVersion the version of specified policy type
      * @param body the body of policy following TOSCA definition
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @POST
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies")
@@ -951,34 +1359,38 @@ public class ApiRestController {
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response createPolicy(
+    public void createPolicy(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "ID of policy type", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId,
             @ApiParam(value = "Entity body of policy", required = true) ToscaServiceTemplate body) {
 
-        if (NetLoggerUtil.getNetworkLogger().isInfoEnabled()) {
-            NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST,
-                            "/policytypes/" + policyTypeId + "/versions/" + policyTypeVersion + "/policies",
-                            toJson(body));
-        }
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.POST, () -> {
+            if (NetLoggerUtil.getNetworkLogger().isInfoEnabled()) {
+                NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST,
+                                "/policytypes/" + policyTypeId + "/versions/" + policyTypeVersion + "/policies",
+                                toJson(body));
+            }
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyProvider
-                    .createPolicy(policyTypeId, policyTypeVersion, body);
-            updateApiStatisticsCounter(Target.POLICY, Result.SUCCESS, HttpMethod.POST);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("POST /policytypes/{}/versions/{}/policies", policyTypeId, policyTypeVersion, pfme);
-            updateApiStatisticsCounter(Target.POLICY, Result.FAILURE, HttpMethod.POST);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
-        }
+            try (PolicyProvider policyProvider = new PolicyProvider()) {
+                ToscaServiceTemplate serviceTemplate = policyProvider
+                        .createPolicy(policyTypeId, policyTypeVersion, body);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.POST, Result.SUCCESS);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(serviceTemplate).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("POST /policytypes/{}/versions/{}/policies", policyTypeId, policyTypeVersion, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.POST, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
     }
 
     /**
@@ -988,8 +1400,7 @@ public class ApiRestController {
      * @param policyTypeVersion the version of specified policy type
      * @param policyId the ID of specified policy
      * @param policyVersion the version of specified policy
-     *
-     * @return the Response object containing the results of the API operation
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
      */
     @DELETE
     @Path("/policytypes/{policyTypeId}/versions/{policyTypeVersion}/policies/{policyId}/versions/{policyVersion}")
@@ -1026,9 +1437,11 @@ public class ApiRestController {
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
             @ApiResponse(code = 409, message = "Delete Conflict, Rule Violation"),
-            @ApiResponse(code = 500, message = "Internal Server Error")
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
         })
-    public Response deleteSpecificVersionOfPolicy(
+    public void deleteSpecificVersionOfPolicy(
+            @Suspended AsyncResponse asyncResponse,
             @PathParam("policyTypeId") @ApiParam(value = "PolicyType ID", required = true) String policyTypeId,
             @PathParam("policyTypeVersion")
                 @ApiParam(value = "Version of policy type", required = true) String policyTypeVersion,
@@ -1036,17 +1449,198 @@ public class ApiRestController {
             @PathParam("policyVersion") @ApiParam(value = "Version of policy", required = true) String policyVersion,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (PolicyProvider policyProvider = new PolicyProvider()) {
-            ToscaServiceTemplate serviceTemplate = policyProvider
-                    .deletePolicy(policyTypeId, policyTypeVersion, policyId, policyVersion);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(serviceTemplate).build();
-        } catch (PfModelException | PfModelRuntimeException pfme) {
-            LOGGER.error("DELETE /policytypes/{}/versions/{}/policies/{}/versions/{}", policyTypeId,
-                    policyTypeVersion, policyId, policyVersion, pfme);
-            return addLoggingHeaders(addVersionControlHeaders(
-                    Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
-                    .entity(pfme.getErrorResponse()).build();
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.DELETE, () -> {
+            try (PolicyProvider policyProvider = new PolicyProvider()) {
+                ToscaServiceTemplate serviceTemplate = policyProvider
+                        .deletePolicy(policyTypeId, policyTypeVersion, policyId, policyVersion);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.DELETE, Result.SUCCESS);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(serviceTemplate).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("DELETE /policytypes/{}/versions/{}/policies/{}/versions/{}", policyTypeId,
+                        policyTypeVersion, policyId, policyVersion, pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.DELETE, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
+    }
+
+    /**
+     * Creates a batch of policies of any policy types.
+     *
+     * @param requestId request ID used in ONAP logging
+     * @param body the body of policies in TOSCA definition
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
+     */
+    @POST
+    @Path("/policies")
+    @ApiOperation(value = "Create a batch of policies",
+            notes = "Client should provide TOSCA body of the new policies, each naming its policy type and policy"
+                    + " type version. Returns the outcome of the creation of each policy",
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "Policy", },
+            response = PolicyCreationResult.class,
+            responseContainer = "List",
+            responseHeaders = {
+                    @ResponseHeader(name = "X-MinorVersion",
+                                    description = "Used to request or communicate a MINOR version back from the client"
+                                                + " to the server, and from the server back to the client",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-PatchVersion",
+                                    description = "Used only to communicate a PATCH version in a response for"
+                                                + " troubleshooting purposes only, and will not be provided by"
+                                                + " the client on request",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-LatestVersion",
+                                    description = "Used only to communicate an API's latest version",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-ONAP-RequestID",
+                                    description = "Used to track REST transactions for logging purpose",
+                                    response = UUID.class)
+            },
+            extensions = {
+                    @Extension(name = "interface info", properties = {
+                            @ExtensionProperty(name = "api-version", value = "1.0.0"),
+                            @ExtensionProperty(name = "last-mod-release", value = "Dublin")
+                    })
+            })
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid Body"),
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
+        })
+    public void createPolicies(
+            @Suspended AsyncResponse asyncResponse,
+            @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId,
+            @ApiParam(value = "Entity body of policies", required = true) ToscaServiceTemplate body) {
+
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.POST, () -> {
+            if (NetLoggerUtil.getNetworkLogger().isInfoEnabled()) {
+                NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST, "/policies", toJson(body));
+            }
+
+            try (PolicyProvider policyProvider = new PolicyProvider()) {
+                List<PolicyCreationResult> results = policyProvider.createPolicies(body);
+                boolean created = results.stream()
+                        .allMatch(result -> result.getCode() == Response.Status.OK.getStatusCode());
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.POST,
+                        (created ? Result.SUCCESS : Result.FAILURE));
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(results).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("POST /policies", pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.POST, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
+    }
+
+    /**
+     * Retrieves specific versions of several policies at once.
+     *
+     * @param body the IDs and versions of the policies
+     * @param asyncResponse resumed with the Response object containing the results of the API operation
+     */
+    @POST
+    @Path("/policies/fetch")
+    @ApiOperation(value = "Retrieve specific versions of several policies",
+            notes = "Returns the policies matching a list of policy IDs and versions, of any policy type, in a single"
+                    + " TOSCA service template. Client should provide the list of policy identifiers",
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "Policy", },
+            response = ToscaServiceTemplate.class,
+            responseHeaders = {
+                    @ResponseHeader(name = "X-MinorVersion",
+                                    description = "Used to request or communicate a MINOR version back from the client"
+                                                + " to the server, and from the server back to the client",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-PatchVersion",
+                                    description = "Used only to communicate a PATCH version in a response for"
+                                                + " troubleshooting purposes only, and will not be provided by"
+                                                + " the client on request",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-LatestVersion",
+                                    description = "Used only to communicate an API's latest version",
+                                    response = String.class),
+                    @ResponseHeader(name = "X-ONAP-RequestID",
+                                    description = "Used to track REST transactions for logging purpose",
+                                    response = UUID.class)
+            },
+            extensions = {
+                    @Extension(name = "interface info", properties = {
+                            @ExtensionProperty(name = "api-version", value = "1.0.0"),
+                            @ExtensionProperty(name = "last-mod-release", value = "Dublin")
+                    })
+            })
+    @ApiResponses(value = {
+            @ApiResponse(code = 400, message = "Invalid Body"),
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 404, message = "Resource Not Found"),
+            @ApiResponse(code = 500, message = "Internal Server Error"),
+            @ApiResponse(code = 503, message = "Service Unavailable")
+        })
+    public void fetchPolicies(
+            @Suspended AsyncResponse asyncResponse,
+            @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId,
+            @ApiParam(value = "IDs and versions of the policies", required = true) List<ToscaPolicyIdentifier> body) {
+
+        submit(asyncResponse, requestId, Target.POLICY, HttpMethod.GET, () -> {
+            // The request only reads policies, it is counted as a policy GET
+            try (PolicyProvider policyProvider = new PolicyProvider()) {
+                ToscaServiceTemplate serviceTemplate = policyProvider.fetchPolicies(body);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                        .entity(serviceTemplate).build();
+            } catch (PfModelException | PfModelRuntimeException pfme) {
+                LOGGER.error("POST /policies/fetch", pfme);
+                ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.FAILURE);
+                return addLoggingHeaders(addVersionControlHeaders(
+                        Response.status(pfme.getErrorResponse().getResponseCode())), requestId)
+                        .entity(pfme.getErrorResponse()).build();
+            }
+        });
+    }
+
+    /**
+     * Processes a request on the request executor, so that the server thread is free while the database is queried.
+     * The request is answered at once with 503 if too many requests are already waiting.
+     *
+     * @param asyncResponse the response to resume
+     * @param requestId request ID used in ONAP logging
+     * @param target the target counting the request in the statistics
+     * @param method the method counting the request in the statistics
+     * @param handler the processing of the request
+     */
+    private void submit(AsyncResponse asyncResponse, UUID requestId, Target target, HttpMethod method,
+            Supplier<Response> handler) {
+
+        ApiRequestExecutor requestExecutor = ApiActivator.getRequestExecutor();
+        if (requestExecutor == null) {
+            asyncResponse.resume(handler.get());
+            return;
+        }
+
+        boolean queued = requestExecutor.submit(() -> {
+            try {
+                asyncResponse.resume(handler.get());
+            } catch (RuntimeException exc) {
+                asyncResponse.resume(exc);
+            }
+        });
+        if (!queued) {
+            ApiStatisticsManager.updateApiCallCount(target, method, Result.FAILURE);
+            ErrorResponse errorResponse = new ErrorResponse();
+            errorResponse.setResponseCode(Response.Status.SERVICE_UNAVAILABLE);
+            errorResponse.setErrorMessage("too many requests are waiting to be processed, retry later");
+            asyncResponse.resume(addLoggingHeaders(addVersionControlHeaders(
+                    Response.status(Response.Status.SERVICE_UNAVAILABLE)), requestId).entity(errorResponse).build());
         }
     }
 
@@ -1062,6 +1656,43 @@ public class ApiRestController {
         return rb.header("X-ONAP-RequestID", requestId);
     }
 
+    /**
+     * Builds a successful GET response, taking the encoded entity from the response cache when it is available.
+     *
+     * @param resourcePath the path of the requested resource
+     * @param fetcher the query for the response entity
+     * @param ifNoneMatch the If-None-Match header of the request
+     * @param requestId request ID used in ONAP logging
+     *
+     * @return the Response object, with no entity if the client already holds the current one
+     *
+     * @throws PfModelException if the entity cannot be fetched
+     */
+    private Response buildCachedResponse(String resourcePath, ApiCache.Loader<Object> fetcher, String ifNoneMatch,
+            UUID requestId) throws PfModelException {
+
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache == null) {
+            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                    .entity(fetcher.load()).build();
+        }
+
+        // Answer conditional requests from the cached entity tag without touching the database
+        EntityTag entityTag = responseCache.getEntityTag(resourcePath);
+        if (JsonResponseCache.isNotModified(ifNoneMatch, entityTag)) {
+            return addLoggingHeaders(addVersionControlHeaders(Response.notModified(entityTag)), requestId).build();
+        }
+
+        CachedResponse response = responseCache.get(resourcePath, fetcher);
+        if (JsonResponseCache.isNotModified(ifNoneMatch, response.getEntityTag())) {
+            return addLoggingHeaders(addVersionControlHeaders(Response.notModified(response.getEntityTag())),
+                    requestId).build();
+        }
+        return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                .type(MediaType.APPLICATION_JSON_TYPE).tag(response.getEntityTag()).entity(response.getBody())
+                .build();
+    }
+
     /**
      * Converts an object to a JSON string.
      *
@@ -1081,68 +1712,4 @@ public class ApiRestController {
             return null;
         }
     }
-
-    private enum Target {
-        POLICY, POLICY_TYPE, OTHER
-    }
-
-    private enum Result {
-        SUCCESS, FAILURE
-    }
-
-    private enum HttpMethod {
-        POST, GET
-    }
-
-    private void updateApiStatisticsCounter(Target target, Result result, HttpMethod http) {
-
-        ApiStatisticsManager.updateTotalApiCallCount();
-        if (target == Target.POLICY) {
-            if (result == Result.SUCCESS) {
-                if (http == HttpMethod.GET) {
-                    ApiStatisticsManager.updateApiCallSuccessCount();
-                    ApiStatisticsManager.updateTotalPolicyGetCount();
-                    ApiStatisticsManager.updatePolicyGetSuccessCount();
-                } else if (http == HttpMethod.POST) {
-                    ApiStatisticsManager.updateApiCallSuccessCount();
-                    ApiStatisticsManager.updateTotalPolicyPostCount();
-                    ApiStatisticsManager.updatePolicyPostSuccessCount();
-                }
-            } else {
-                if (http == HttpMethod.GET) {
-                    ApiStatisticsManager.updateApiCallFailureCount();
-                    ApiStatisticsManager.updateTotalPolicyGetCount();
-                    ApiStatisticsManager.updatePolicyGetFailureCount();
-                } else {
-                    ApiStatisticsManager.updateApiCallFailureCount();
-                    ApiStatisticsManager.updateTotalPolicyPostCount();
-                    ApiStatisticsManager.updatePolicyPostFailureCount();
-                }
-            }
-        } else if (target == Target.POLICY_TYPE) {
-            if (result == Result.SUCCESS) {
-                if (http == HttpMethod.GET) {
-                    ApiStatisticsManager.updateApiCallSuccessCount();
-                    ApiStatisticsManager.updateTotalPolicyTypeGetCount();
-                    ApiStatisticsManager.updatePolicyTypeGetSuccessCount();
-                } else if (http == HttpMethod.POST) {
-                    ApiStatisticsManager.updateApiCallSuccessCount();
-                    ApiStatisticsManager.updatePolicyTypePostSuccessCount();
-                    ApiStatisticsManager.updatePolicyTypePostSuccessCount();
-                }
-            } else {
-                if (http == HttpMethod.GET) {
-                    ApiStatisticsManager.updateApiCallFailureCount();
-                    ApiStatisticsManager.updateTotalPolicyTypeGetCount();
-                    ApiStatisticsManager.updatePolicyTypeGetFailureCount();
-                } else {
-                    ApiStatisticsManager.updateApiCallFailureCount();
-                    ApiStatisticsManager.updateTotalPolicyTypePostCount();
-                    ApiStatisticsManager.updatePolicyTypePostFailureCount();
-                }
-            }
-        } else {
-            ApiStatisticsManager.updateApiCallSuccessCount();
-        }
-    }
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ package org.onap.policy.api.main.rest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import javax.servlet.ServletException;
 import org.onap.policy.api.main.parameters.RestServerParameters;
 import org.onap.policy.api.main.rest.aaf.AafApiFilter;
 import org.onap.policy.common.capabilities.Startable;
@@ -49,13 +50,27 @@ public class ApiRestServer implements Startable {
 
     private RestServerParameters restServerParameters;
 
+    private final boolean lazyInit;
+
     /**
      * Constructor for instantiating ApiRestServer.
      *
      * @param restServerParameters the rest server parameters
      */
     public ApiRestServer(final RestServerParameters restServerParameters) {
+        this(restServerParameters, false);
+    }
+
+    /**
+     * Constructor for instantiating ApiRestServer.
+     *
+     * @param restServerParameters the rest server parameters
+     * @param lazyInit whether the servlets and the API description are initialized on first use or by
+     *        {@link #warmUp()} rather than before the server listens
+     */
+    public ApiRestServer(final RestServerParameters restServerParameters, final boolean lazyInit) {
         this.restServerParameters = restServerParameters;
+        this.lazyInit = lazyInit;
     }
 
     /**
@@ -69,6 +84,9 @@ public class ApiRestServer implements Startable {
                 if (server.isAaf()) {
                     server.addFilterClass(null, AafApiFilter.class.getName());
                 }
+                server.addFilterClass(null, AdmissionControlFilter.class.getName());
+                server.addFilterClass(null,
+                        (lazyInit ? ServletContextFilter.Lazy.class : ServletContextFilter.class).getName());
                 server.start();
             }
         } catch (final Exception exp) {
@@ -78,6 +96,20 @@ public class ApiRestServer implements Startable {
         return true;
     }
 
+    /**
+     * Initializes the servlets and the API description that were left to their first use, so that the first requests
+     * do not pay for them.
+     *
+     * @throws ServletException if a servlet cannot be initialized
+     */
+    public void warmUp() throws ServletException {
+        if (!lazyInit) {
+            return;
+        }
+        ServletContextFilter.warmUp();
+        SwaggerRestController.getApiDescription();
+    }
+
     /**
      * Creates the server properties object using restServerParameters.
      *
@@ -92,11 +124,19 @@ public class ApiRestServer implements Startable {
         props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_HOST_SUFFIX, restServerParameters.getHost());
         props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_PORT_SUFFIX,
                         Integer.toString(restServerParameters.getPort()));
+        // Swagger scans the resources before the server listens, a lazy server describes them on first use
+        final List<String> restClasses = new ArrayList<>();
+        restClasses.add(LegacyApiRestController.class.getName());
+        restClasses.add(ApiRestController.class.getName());
+        restClasses.add(MetricsRestController.class.getName());
+        restClasses.add(ApiLatencyFilter.class.getName());
+        if (lazyInit) {
+            restClasses.add(SwaggerRestController.class.getName());
+        }
         props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_REST_CLASSES_SUFFIX,
-                        String.join(",", LegacyApiRestController.class.getName(),
-                                         ApiRestController.class.getName()));
+                        String.join(",", restClasses));
         props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_MANAGED_SUFFIX, "false");
-        props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_SWAGGER_SUFFIX, "true");
+        props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_SWAGGER_SUFFIX, String.valueOf(!lazyInit));
         props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_AUTH_USERNAME_SUFFIX,
                         restServerParameters.getUserName());
         props.setProperty(svcpfx + PolicyEndPointProperties.PROPERTY_HTTP_AUTH_PASSWORD_SUFFIX,
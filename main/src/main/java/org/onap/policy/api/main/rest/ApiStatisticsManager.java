@@ -22,62 +22,174 @@
 
 package org.onap.policy.api.main.rest;
 
-import lombok.Getter;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Class to hold statistical data for API access.
  *
+ * <p>Counters are striped {@link LongAdder}s, so concurrent requests update them without contention or lost updates.
+ *
  * @author Chenfei Gao (cgao@research.att.com)
  */
 public class ApiStatisticsManager {
 
-    @Getter
-    private static long totalApiCallCount;
+    /**
+     * Resource targeted by an API call.
+     */
+    public enum Target {
+        POLICY, POLICY_TYPE, OTHER
+    }
 
-    @Getter
-    private static long apiCallSuccessCount;
+    /**
+     * Outcome of an API call.
+     */
+    public enum Result {
+        SUCCESS, FAILURE
+    }
 
-    @Getter
-    private static long apiCallFailureCount;
+    /**
+     * HTTP method of an API call.
+     */
+    public enum HttpMethod {
+        POST, GET, DELETE
+    }
 
-    @Getter
-    private static long totalPolicyGetCount;
+    private static final RequestCounters API_CALLS = new RequestCounters();
+    private static final RequestCounters POLICY_GETS = new RequestCounters();
+    private static final RequestCounters POLICY_POSTS = new RequestCounters();
+    private static final RequestCounters POLICY_DELETES = new RequestCounters();
+    private static final RequestCounters POLICY_TYPE_GETS = new RequestCounters();
+    private static final RequestCounters POLICY_TYPE_POSTS = new RequestCounters();
+    private static final RequestCounters POLICY_TYPE_DELETES = new RequestCounters();
 
-    @Getter
-    private static long totalPolicyPostCount;
+    private ApiStatisticsManager() {
+        throw new IllegalStateException("Instantiation of the class is not allowed");
+    }
 
-    @Getter
-    private static long totalPolicyTypeGetCount;
+    /**
+     * Method to update all the counters of an API call.
+     *
+     * @param target the resource targeted by the call
+     * @param method the HTTP method of the call
+     * @param result the outcome of the call
+     */
+    public static void updateApiCallCount(final Target target, final HttpMethod method, final Result result) {
+        API_CALLS.update(result);
+        if (target == Target.POLICY) {
+            selectCounters(method, POLICY_GETS, POLICY_POSTS, POLICY_DELETES).update(result);
+        } else if (target == Target.POLICY_TYPE) {
+            selectCounters(method, POLICY_TYPE_GETS, POLICY_TYPE_POSTS, POLICY_TYPE_DELETES).update(result);
+        }
+    }
 
-    @Getter
-    private static long totalPolicyTypePostCount;
+    /**
+     * Takes a snapshot of all the counters.
+     *
+     * <p>The parts of each total are read before the total itself, and {@link #updateApiCallCount} increments a
+     * total before its parts, so a snapshot never reports more successful and failed calls than calls in total.
+     *
+     * @return a report holding the current value of every counter
+     */
+    public static StatisticsReport getSnapshot() {
+        final StatisticsReport report = new StatisticsReport();
+        report.setApiCallSuccessCount(API_CALLS.success.sum());
+        report.setApiCallFailureCount(API_CALLS.failure.sum());
+        report.setTotalApiCallCount(API_CALLS.total.sum());
+        report.setPolicyGetSuccessCount(POLICY_GETS.success.sum());
+        report.setPolicyGetFailureCount(POLICY_GETS.failure.sum());
+        report.setTotalPolicyGetCount(POLICY_GETS.total.sum());
+        report.setPolicyPostSuccessCount(POLICY_POSTS.success.sum());
+        report.setPolicyPostFailureCount(POLICY_POSTS.failure.sum());
+        report.setTotalPolicyPostCount(POLICY_POSTS.total.sum());
+        report.setPolicyDeleteSuccessCount(POLICY_DELETES.success.sum());
+        report.setPolicyDeleteFailureCount(POLICY_DELETES.failure.sum());
+        report.setTotalPolicyDeleteCount(POLICY_DELETES.total.sum());
+        report.setPolicyTypeGetSuccessCount(POLICY_TYPE_GETS.success.sum());
+        report.setPolicyTypeGetFailureCount(POLICY_TYPE_GETS.failure.sum());
+        report.setTotalPolicyTypeGetCount(POLICY_TYPE_GETS.total.sum());
+        report.setPolicyTypePostSuccessCount(POLICY_TYPE_POSTS.success.sum());
+        report.setPolicyTypePostFailureCount(POLICY_TYPE_POSTS.failure.sum());
+        report.setTotalPolicyTypePostCount(POLICY_TYPE_POSTS.total.sum());
+        report.setPolicyTypeDeleteSuccessCount(POLICY_TYPE_DELETES.success.sum());
+        report.setPolicyTypeDeleteFailureCount(POLICY_TYPE_DELETES.failure.sum());
+        report.setTotalPolicyTypeDeleteCount(POLICY_TYPE_DELETES.total.sum());
+        return report;
+    }
 
-    @Getter
-    private static long policyGetSuccessCount;
+    public static long getTotalApiCallCount() {
+        return API_CALLS.total.sum();
+    }
 
-    @Getter
-    private static long policyGetFailureCount;
+    public static long getApiCallSuccessCount() {
+        return API_CALLS.success.sum();
+    }
 
-    @Getter
-    private static long policyPostSuccessCount;
+    public static long getApiCallFailureCount() {
+        return API_CALLS.failure.sum();
+    }
 
-    @Getter
-    private static long policyPostFailureCount;
+    public static long getTotalPolicyGetCount() {
+        return POLICY_GETS.total.sum();
+    }
 
-    @Getter
-    private static long policyTypeGetSuccessCount;
+    public static long getTotalPolicyPostCount() {
+        return POLICY_POSTS.total.sum();
+    }
 
-    @Getter
-    private static long policyTypeGetFailureCount;
+    public static long getTotalPolicyTypeGetCount() {
+        return POLICY_TYPE_GETS.total.sum();
+    }
 
-    @Getter
-    private static long policyTypePostSuccessCount;
+    public static long getTotalPolicyTypePostCount() {
+        return POLICY_TYPE_POSTS.total.sum();
+    }
 
-    @Getter
-    private static long policyTypePostFailureCount;
+    public static long getPolicyGetSuccessCount() {
+        return POLICY_GETS.success.sum();
+    }
 
-    private ApiStatisticsManager() {
-        throw new IllegalStateException("Instantiation of the class is not allowed");
+    public static long getPolicyGetFailureCount() {
+        return POLICY_GETS.failure.sum();
+    }
+
+    public static long getPolicyPostSuccessCount() {
+        return POLICY_POSTS.success.sum();
+    }
+
+    public static long getPolicyPostFailureCount() {
+        return POLICY_POSTS.failure.sum();
+    }
+
+    public static long getPolicyTypeGetSuccessCount() {
+        return POLICY_TYPE_GETS.success.sum();
+    }
+
+    public static long getPolicyTypeGetFailureCount() {
+        return POLICY_TYPE_GETS.failure.sum();
+    }
+
+    public static long getPolicyTypePostSuccessCount() {
+        return POLICY_TYPE_POSTS.success.sum();
+    }
+
+    public static long getPolicyTypePostFailureCount() {
+        return POLICY_TYPE_POSTS.failure.sum();
+    }
+
+    public static long getPolicyDeleteSuccessCount() {
+        return POLICY_DELETES.success.sum();
+    }
+
+    public static long getPolicyDeleteFailureCount() {
+        return POLICY_DELETES.failure.sum();
+    }
+
+    public static long getPolicyTypeDeleteSuccessCount() {
+        return POLICY_TYPE_DELETES.success.sum();
+    }
+
+    public static long getPolicyTypeDeleteFailureCount() {
+        return POLICY_TYPE_DELETES.failure.sum();
     }
 
     /**
@@ -86,7 +198,7 @@ public class ApiStatisticsManager {
      * @return the updated value of totalApiCallCount
      */
     public static long updateTotalApiCallCount() {
-        return ++totalApiCallCount;
+        return increment(API_CALLS.total);
     }
 
     /**
@@ -95,7 +207,7 @@ public class ApiStatisticsManager {
      * @return the updated value of apiCallSuccessCount
      */
     public static long updateApiCallSuccessCount() {
-        return ++apiCallSuccessCount;
+        return increment(API_CALLS.success);
     }
 
     /**
@@ -104,7 +216,7 @@ public class ApiStatisticsManager {
      * @return the updated value of apiCallFailureCount
      */
     public static long updateApiCallFailureCount() {
-        return ++apiCallFailureCount;
+        return increment(API_CALLS.failure);
     }
 
     /**
@@ -113,7 +225,7 @@ public class ApiStatisticsManager {
      * @return the updated value of totalPolicyGetCount
      */
     public static long updateTotalPolicyGetCount() {
-        return ++totalPolicyGetCount;
+        return increment(POLICY_GETS.total);
     }
 
     /**
@@ -122,7 +234,7 @@ public class ApiStatisticsManager {
      * @return the updated value of totalPolicyPostCount
      */
     public static long updateTotalPolicyPostCount() {
-        return ++totalPolicyPostCount;
+        return increment(POLICY_POSTS.total);
     }
 
     /**
@@ -131,7 +243,7 @@ public class ApiStatisticsManager {
      * @return the updated value of totalPolicyTypeGetCount
      */
     public static long updateTotalPolicyTypeGetCount() {
-        return ++totalPolicyTypeGetCount;
+        return increment(POLICY_TYPE_GETS.total);
     }
 
     /**
@@ -140,7 +252,7 @@ public class ApiStatisticsManager {
      * @return the updated value of totalPolicyTypePostCount
      */
     public static long updateTotalPolicyTypePostCount() {
-        return ++totalPolicyTypePostCount;
+        return increment(POLICY_TYPE_POSTS.total);
     }
 
     /**
@@ -149,7 +261,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyGetSuccessCount
      */
     public static long updatePolicyGetSuccessCount() {
-        return ++policyGetSuccessCount;
+        return increment(POLICY_GETS.success);
     }
 
     /**
@@ -158,7 +270,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyGetFailureCount
      */
     public static long updatePolicyGetFailureCount() {
-        return ++policyGetFailureCount;
+        return increment(POLICY_GETS.failure);
     }
 
     /**
@@ -167,7 +279,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyPostSuccessCount
      */
     public static long updatePolicyPostSuccessCount() {
-        return ++policyPostSuccessCount;
+        return increment(POLICY_POSTS.success);
     }
 
     /**
@@ -176,7 +288,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyPostFailureCount
      */
     public static long updatePolicyPostFailureCount() {
-        return ++policyPostFailureCount;
+        return increment(POLICY_POSTS.failure);
     }
 
     /**
@@ -185,7 +297,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyTypeGetSuccessCount
      */
     public static long updatePolicyTypeGetSuccessCount() {
-        return ++policyTypeGetSuccessCount;
+        return increment(POLICY_TYPE_GETS.success);
     }
 
     /**
@@ -194,7 +306,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyTypeGetFailureCount
      */
     public static long updatePolicyTypeGetFailureCount() {
-        return ++policyTypeGetFailureCount;
+        return increment(POLICY_TYPE_GETS.failure);
     }
 
     /**
@@ -203,7 +315,7 @@ public class ApiStatisticsManager {
      * @return the updated value of policyTypePostSuccessCount
      */
     public static long updatePolicyTypePostSuccessCount() {
-        return ++policyTypePostSuccessCount;
+        return increment(POLICY_TYPE_POSTS.success);
     }
 
     /**
@@ -212,27 +324,66 @@ public class ApiStatisticsManager {
      * @return the updated value of policyTypePostFailureCount
      */
     public static long updatePolicyTypePostFailureCount() {
-        return ++policyTypePostFailureCount;
+        return increment(POLICY_TYPE_POSTS.failure);
     }
 
     /**
      * Reset all the statistics counts to 0.
      */
     public static void resetAllStatistics() {
-        totalApiCallCount = 0L;
-        apiCallSuccessCount = 0L;
-        apiCallFailureCount = 0L;
-        totalPolicyGetCount = 0L;
-        totalPolicyPostCount = 0L;
-        totalPolicyTypeGetCount = 0L;
-        totalPolicyTypePostCount = 0L;
-        policyGetSuccessCount = 0L;
-        policyGetFailureCount = 0L;
-        policyPostSuccessCount = 0L;
-        policyPostFailureCount = 0L;
-        policyTypeGetSuccessCount = 0L;
-        policyTypeGetFailureCount = 0L;
-        policyTypePostSuccessCount = 0L;
-        policyTypePostFailureCount = 0L;
+        API_CALLS.reset();
+        POLICY_GETS.reset();
+        POLICY_POSTS.reset();
+        POLICY_DELETES.reset();
+        POLICY_TYPE_GETS.reset();
+        POLICY_TYPE_POSTS.reset();
+        POLICY_TYPE_DELETES.reset();
+    }
+
+    /**
+     * Selects the counters of an HTTP method.
+     *
+     * @param method the HTTP method
+     * @param gets the counters of GET calls
+     * @param posts the counters of POST calls
+     * @param deletes the counters of DELETE calls
+     *
+     * @return the counters of the method
+     */
+    private static RequestCounters selectCounters(final HttpMethod method, final RequestCounters gets,
+            final RequestCounters posts, final RequestCounters deletes) {
+        switch (method) {
+            case GET:
+                return gets;
+            case DELETE:
+                return deletes;
+            default:
+                return posts;
+        }
+    }
+
+    private static long increment(final LongAdder counter) {
+        counter.increment();
+        return counter.sum();
+    }
+
+    /**
+     * Total, successful and failed call counters of one kind of API call.
+     */
+    private static class RequestCounters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failure = new LongAdder();
+
+        private void update(final Result result) {
+            total.increment();
+            (result == Result.SUCCESS ? success : failure).increment();
+        }
+
+        private void reset() {
+            total.reset();
+            success.reset();
+            failure.reset();
+        }
     }
 }
@@ -0,0 +1,68 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Class to represent the progress of an import, reported after each batch written to the database. The last report
+ * is marked complete and sums up the whole import.
+ */
+@ToString
+public class ImportProgress {
+
+    @Getter
+    @Setter
+    private long itemsRead;
+
+    @Getter
+    @Setter
+    private long dataTypesCreated;
+
+    @Getter
+    @Setter
+    private long policyTypesCreated;
+
+    @Getter
+    @Setter
+    private long policiesCreated;
+
+    @Getter
+    @Setter
+    private long itemsFailed;
+
+    @Getter
+    @Setter
+    private long batchesFailed;
+
+    @Getter
+    @Setter
+    private List<String> batchErrors;
+
+    @Getter
+    @Setter
+    private boolean complete;
+}
@@ -0,0 +1,283 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+import org.onap.policy.api.main.rest.provider.ApiCache;
+import org.onap.policy.common.gson.GsonMessageBodyHandler;
+import org.onap.policy.models.base.PfModelException;
+
+/**
+ * Class to cache the encoded JSON bodies of GET responses keyed by resource path, so that repeated reads of the
+ * same resource are written out without querying the database or serializing the entity again.
+ *
+ * <p>Each cached body carries a strong entity tag computed from its content, so that conditional GETs can be
+ * answered without querying the database or serializing the entity.
+ *
+ * <p>Entries are invalidated when a policy type or policy under the same resource path is created or deleted.
+ */
+public class JsonResponseCache {
+
+    private static final String POLICY_TYPES = "/policytypes";
+    private static final String POLICIES = "/policies";
+
+    // Same encoder as the REST server, so cached bodies are identical to serialized ones
+    private final GsonMessageBodyHandler encoder = new GsonMessageBodyHandler();
+
+    private final ApiCache<String, CachedResponse> responses;
+
+    /**
+     * Constructs the object.
+     *
+     * @param maxEntries the maximum number of cached responses
+     * @param timeToLive the time in milliseconds a cached response stays valid
+     */
+    public JsonResponseCache(final int maxEntries, final long timeToLive) {
+        responses = new ApiCache<>(maxEntries, timeToLive);
+    }
+
+    /**
+     * Returns the encoded response for a resource, fetching and encoding it on a cache miss.
+     *
+     * @param resourcePath the path of the resource
+     * @param fetcher the query for the response entity
+     *
+     * @return the JSON encoded response entity and its entity tag
+     *
+     * @throws PfModelException if the entity cannot be fetched or encoded
+     */
+    public CachedResponse get(final String resourcePath, final ApiCache.Loader<Object> fetcher)
+            throws PfModelException {
+        return responses.get(resourcePath, () -> encode(fetcher.load()));
+    }
+
+    /**
+     * Returns the entity tag of a cached response without fetching the resource.
+     *
+     * @param resourcePath the path of the resource
+     *
+     * @return the entity tag, or {@code null} if the response of the resource is not cached
+     */
+    public EntityTag getEntityTag(final String resourcePath) {
+        CachedResponse response = responses.peek(resourcePath);
+        return (response == null ? null : response.getEntityTag());
+    }
+
+    /**
+     * Removes the cached responses of all policy type resources.
+     */
+    public void policyTypesChanged() {
+        responses.invalidateIf((path, response) -> !path.contains(POLICIES));
+    }
+
+    /**
+     * Removes the cached responses of the policies of a policy type.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     */
+    public void policiesChanged(final String policyTypeId, final String policyTypeVersion) {
+        String prefix = policiesPath(policyTypeId, policyTypeVersion);
+        responses.invalidateIf((path, response) -> path.startsWith(prefix));
+    }
+
+    /**
+     * Removes the cached responses of the policies of all policy types.
+     */
+    public void policiesChanged() {
+        responses.invalidateIf((path, response) -> path.contains(POLICIES));
+    }
+
+    public long getHitCount() {
+        return responses.getHitCount();
+    }
+
+    public long getMissCount() {
+        return responses.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return responses.getEvictionCount();
+    }
+
+    /**
+     * Checks an If-None-Match request header against the entity tag of the current response.
+     *
+     * @param ifNoneMatch the value of the If-None-Match header, may be {@code null}
+     * @param entityTag the entity tag of the current response
+     *
+     * @return {@code true} if the client already holds the current response
+     */
+    public static boolean isNotModified(final String ifNoneMatch, final EntityTag entityTag) {
+        if (ifNoneMatch == null || entityTag == null) {
+            return false;
+        }
+
+        // If-None-Match uses the weak comparison, so a W/ prefix sent back by an intermediary still matches
+        String current = '"' + entityTag.getValue() + '"';
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || current.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the resource path of policy types.
+     *
+     * @param policyTypeId the ID of policy type, or {@code null} for all policy types
+     * @param policyTypeVersion the version of policy type, or {@code null} for all versions
+     *
+     * @return the resource path
+     */
+    public static String policyTypesPath(final String policyTypeId, final String policyTypeVersion) {
+        StringBuilder path = new StringBuilder(POLICY_TYPES);
+        if (policyTypeId != null) {
+            path.append('/').append(policyTypeId);
+            if (policyTypeVersion != null) {
+                path.append("/versions/").append(policyTypeVersion);
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * Builds the resource path of the policies of a policy type.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     *
+     * @return the resource path
+     */
+    public static String policiesPath(final String policyTypeId, final String policyTypeVersion) {
+        return policyTypesPath(policyTypeId, policyTypeVersion) + POLICIES;
+    }
+
+    /**
+     * Builds the resource path of policies.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     * @param policyId the ID of policy
+     * @param policyVersion the version of policy, or {@code null} for all versions
+     *
+     * @return the resource path
+     */
+    public static String policiesPath(final String policyTypeId, final String policyTypeVersion,
+            final String policyId, final String policyVersion) {
+        StringBuilder path = new StringBuilder(policiesPath(policyTypeId, policyTypeVersion));
+        path.append('/').append(policyId);
+        if (policyVersion != null) {
+            path.append("/versions/").append(policyVersion);
+        }
+        return path.toString();
+    }
+
+    /**
+     * Builds the resource path of a page of a listing, the path itself when the whole listing is requested.
+     *
+     * @param path the resource path of the listing
+     * @param offset the number of entities skipped, or {@code null}
+     * @param limit the maximum number of entities, or {@code null}
+     * @param fields the projected fields, or {@code null}
+     *
+     * @return the resource path
+     */
+    public static String pagedPath(final String path, final Integer offset, final Integer limit,
+            final String fields) {
+        if (offset == null && limit == null && fields == null) {
+            return path;
+        }
+        return path + "?offset=" + offset + "&limit=" + limit + "&fields=" + fields;
+    }
+
+    /**
+     * Encodes a response entity the way the REST server does.
+     *
+     * @param entity the response entity
+     *
+     * @return the JSON encoded entity and its entity tag
+     *
+     * @throws PfModelException if the entity cannot be encoded
+     */
+    private CachedResponse encode(final Object entity) throws PfModelException {
+        if (entity == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            encoder.writeTo(entity, entity.getClass(), entity.getClass(), null, MediaType.APPLICATION_JSON_TYPE,
+                    null, output);
+        } catch (IOException exc) {
+            throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR,
+                    "cannot encode " + entity.getClass().getName() + " response", exc);
+        } finally {
+            ApiLatencyStatistics.addPhaseTime(Phase.SERIALIZATION, System.nanoTime() - start);
+        }
+
+        byte[] body = output.toByteArray();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String tag = Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+            return new CachedResponse(body, new EntityTag(tag));
+        } catch (NoSuchAlgorithmException exc) {
+            throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR, "cannot compute entity tag", exc);
+        }
+    }
+
+    /**
+     * Encoded response entity and its entity tag.
+     */
+    public static class CachedResponse {
+        private final byte[] body;
+        private final EntityTag entityTag;
+
+        private CachedResponse(final byte[] body, final EntityTag entityTag) {
+            this.body = body;
+            this.entityTag = entityTag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public EntityTag getEntityTag() {
+            return entityTag;
+        }
+    }
+}
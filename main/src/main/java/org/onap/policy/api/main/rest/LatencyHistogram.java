@@ -0,0 +1,149 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class to hold a fixed-size, log-linear histogram of latencies in microseconds.
+ *
+ * <p>Values below 64 are counted exactly; larger values fall into buckets of 32 per power of two, so recorded
+ * values are reported within about 3% of their actual value, the same trade-off HdrHistogram makes with two
+ * significant digits. Recording is a single lock-free increment and never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+
+    // Latencies above about 71 minutes are counted as the highest trackable value
+    private static final long HIGHEST_TRACKABLE_VALUE = (1L << 32) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(HIGHEST_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0L);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a latency.
+     *
+     * @param micros the latency in microseconds
+     */
+    public void record(final long micros) {
+        long value = Math.min(Math.max(micros, 0L), HIGHEST_TRACKABLE_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        max.accumulate(value);
+        sum.add(value);
+    }
+
+    /**
+     * Takes a snapshot of the recorded latencies.
+     *
+     * @param reset whether to clear the histogram while taking the snapshot
+     *
+     * @return the count, sum, percentiles and maximum of the recorded latencies
+     */
+    public LatencyReport getSnapshot(final boolean reset) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = (reset ? counts.getAndSet(i, 0L) : counts.get(i));
+            total += snapshot[i];
+        }
+
+        // Bucket bounds can exceed the largest recorded value, the exact maximum caps the percentiles
+        long maxValue = (reset ? max.getThenReset() : max.get());
+
+        LatencyReport report = new LatencyReport();
+        report.setCount(total);
+        report.setSum(reset ? sum.sumThenReset() : sum.sum());
+        report.setP50(Math.min(percentile(snapshot, total, 0.5), maxValue));
+        report.setP90(Math.min(percentile(snapshot, total, 0.9), maxValue));
+        report.setP99(Math.min(percentile(snapshot, total, 0.99), maxValue));
+        report.setP999(Math.min(percentile(snapshot, total, 0.999), maxValue));
+        report.setMax(maxValue);
+        return report;
+    }
+
+    /**
+     * Finds the value at a percentile of a snapshot of the buckets.
+     *
+     * @param snapshot the bucket counts
+     * @param total the sum of the bucket counts
+     * @param fraction the percentile as a fraction
+     *
+     * @return the highest value of the bucket holding the percentile, or 0 if nothing was recorded
+     */
+    private static long percentile(final long[] snapshot, final long total, final double fraction) {
+        if (total == 0) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return HIGHEST_TRACKABLE_VALUE;
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value the value, between 0 and the highest trackable value
+     *
+     * @return the index of the bucket
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        // Keep the SUB_BUCKET_BITS most significant bits of the value
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) (value >> shift) - SUB_BUCKET_HALF;
+    }
+
+    /**
+     * Returns the highest value counted in a bucket.
+     *
+     * @param index the index of the bucket
+     *
+     * @return the highest value of the bucket
+     */
+    static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
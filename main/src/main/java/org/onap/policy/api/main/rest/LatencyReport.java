@@ -0,0 +1,63 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Class to represent the latency distribution of an API endpoint or of one phase of its processing, in
+ * microseconds.
+ */
+@ToString
+public class LatencyReport {
+
+    @Getter
+    @Setter
+    private long count;
+
+    @Getter
+    @Setter
+    private long sum;
+
+    @Getter
+    @Setter
+    private long p50;
+
+    @Getter
+    @Setter
+    private long p90;
+
+    @Getter
+    @Setter
+    private long p99;
+
+    @Getter
+    @Setter
+    private long p999;
+
+    @Getter
+    @Setter
+    private long max;
+}
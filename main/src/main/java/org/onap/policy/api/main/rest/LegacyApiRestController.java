@@ -41,10 +41,15 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import org.onap.policy.api.main.rest.JsonResponseCache.CachedResponse;
+import org.onap.policy.api.main.rest.provider.ApiCache;
 import org.onap.policy.api.main.rest.provider.LegacyGuardPolicyProvider;
 import org.onap.policy.api.main.rest.provider.LegacyOperationalPolicyProvider;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil.EventType;
@@ -72,6 +77,11 @@ public class LegacyApiRestController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LegacyApiRestController.class);
 
+    private static final String GUARD_TYPE = "onap.policies.controlloop.Guard";
+    private static final String OPERATIONAL_TYPE = "onap.policies.controlloop.Operational";
+    private static final String TYPE_VERSION = "1.0.0";
+    private static final String LATEST = "latest";
+
     private final Coder coder = new StandardCoder();
 
     /**
@@ -112,6 +122,7 @@ public class LegacyApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
@@ -119,12 +130,16 @@ public class LegacyApiRestController {
         })
     public Response getLatestVersionOfGuardPolicy(
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (LegacyGuardPolicyProvider guardPolicyProvider = new LegacyGuardPolicyProvider()) {
-            Map<String, LegacyGuardPolicyOutput> policies = guardPolicyProvider.fetchGuardPolicy(policyId, null);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(policies).build();
+        try {
+            String resourcePath = JsonResponseCache.policiesPath(GUARD_TYPE, TYPE_VERSION, policyId, LATEST);
+            return buildCachedResponse(resourcePath, () -> {
+                try (LegacyGuardPolicyProvider guardPolicyProvider = new LegacyGuardPolicyProvider()) {
+                    return guardPolicyProvider.fetchGuardPolicy(policyId, null);
+                }
+            }, ifNoneMatch, requestId);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             LOGGER.error("GET /policytypes/onap.policies.controlloop.Guard/versions/1.0.0/policies/{}"
                 + "/versions/latest", policyId, pfme);
@@ -173,6 +188,7 @@ public class LegacyApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
@@ -181,13 +197,16 @@ public class LegacyApiRestController {
     public Response getSpecificVersionOfGuardPolicy(
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
             @PathParam("policyVersion") @ApiParam(value = "Version of policy", required = true) String policyVersion,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (LegacyGuardPolicyProvider guardPolicyProvider = new LegacyGuardPolicyProvider()) {
-            Map<String, LegacyGuardPolicyOutput> policies = guardPolicyProvider
-                    .fetchGuardPolicy(policyId, policyVersion);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(policies).build();
+        try {
+            String resourcePath = JsonResponseCache.policiesPath(GUARD_TYPE, TYPE_VERSION, policyId, policyVersion);
+            return buildCachedResponse(resourcePath, () -> {
+                try (LegacyGuardPolicyProvider guardPolicyProvider = new LegacyGuardPolicyProvider()) {
+                    return guardPolicyProvider.fetchGuardPolicy(policyId, policyVersion);
+                }
+            }, ifNoneMatch, requestId);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             LOGGER.error("GET /policytypes/onap.policies.controlloop.Guard/versions/1.0.0/policies/{}/versions/{}",
                     policyId, policyVersion, pfme);
@@ -363,6 +382,7 @@ public class LegacyApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
@@ -370,12 +390,16 @@ public class LegacyApiRestController {
         })
     public Response getLatestVersionOfOperationalPolicy(
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (LegacyOperationalPolicyProvider operationalPolicyProvider = new LegacyOperationalPolicyProvider()) {
-            LegacyOperationalPolicy policy = operationalPolicyProvider.fetchOperationalPolicy(policyId, null);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(policy).build();
+        try {
+            String resourcePath = JsonResponseCache.policiesPath(OPERATIONAL_TYPE, TYPE_VERSION, policyId, LATEST);
+            return buildCachedResponse(resourcePath, () -> {
+                try (LegacyOperationalPolicyProvider policyProvider = new LegacyOperationalPolicyProvider()) {
+                    return policyProvider.fetchOperationalPolicy(policyId, null);
+                }
+            }, ifNoneMatch, requestId);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             LOGGER.error("GET /policytypes/onap.policies.controlloop.Operational/versions/1.0.0/policies/{}"
                 + "/versions/latest", policyId, pfme);
@@ -425,6 +449,7 @@ public class LegacyApiRestController {
                     })
             })
     @ApiResponses(value = {
+            @ApiResponse(code = 304, message = "Not Modified"),
             @ApiResponse(code = 401, message = "Authentication Error"),
             @ApiResponse(code = 403, message = "Authorization Error"),
             @ApiResponse(code = 404, message = "Resource Not Found"),
@@ -433,12 +458,17 @@ public class LegacyApiRestController {
     public Response getSpecificVersionOfOperationalPolicy(
             @PathParam("policyId") @ApiParam(value = "ID of policy", required = true) String policyId,
             @PathParam("policyVersion") @ApiParam(value = "Version of policy", required = true) String policyVersion,
+            @HeaderParam("If-None-Match") @ApiParam("Entity tags of the copies held by the client") String ifNoneMatch,
             @HeaderParam("X-ONAP-RequestID") @ApiParam("RequestID for http transaction") UUID requestId) {
 
-        try (LegacyOperationalPolicyProvider operationalPolicyProvider = new LegacyOperationalPolicyProvider()) {
-            LegacyOperationalPolicy policy = operationalPolicyProvider.fetchOperationalPolicy(policyId, policyVersion);
-            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
-                    .entity(policy).build();
+        try {
+            String resourcePath =
+                    JsonResponseCache.policiesPath(OPERATIONAL_TYPE, TYPE_VERSION, policyId, policyVersion);
+            return buildCachedResponse(resourcePath, () -> {
+                try (LegacyOperationalPolicyProvider policyProvider = new LegacyOperationalPolicyProvider()) {
+                    return policyProvider.fetchOperationalPolicy(policyId, policyVersion);
+                }
+            }, ifNoneMatch, requestId);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             LOGGER.error("GET /policytypes/onap.policies.controlloop.Operational/versions/1.0.0/"
                 + "policies/{}/versions/{}", policyId, policyVersion, pfme);
@@ -589,6 +619,43 @@ public class LegacyApiRestController {
         return rb.header("X-ONAP-RequestID", requestId);
     }
 
+    /**
+     * Builds a successful GET response, taking the encoded entity from the response cache when it is available.
+     *
+     * @param resourcePath the path of the requested resource
+     * @param fetcher the query for the response entity
+     * @param ifNoneMatch the If-None-Match header of the request
+     * @param requestId request ID used in ONAP logging
+     *
+     * @return the Response object, with no entity if the client already holds the current one
+     *
+     * @throws PfModelException if the entity cannot be fetched
+     */
+    private Response buildCachedResponse(String resourcePath, ApiCache.Loader<Object> fetcher, String ifNoneMatch,
+            UUID requestId) throws PfModelException {
+
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache == null) {
+            return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                    .entity(fetcher.load()).build();
+        }
+
+        // Answer conditional requests from the cached entity tag without touching the database
+        EntityTag entityTag = responseCache.getEntityTag(resourcePath);
+        if (JsonResponseCache.isNotModified(ifNoneMatch, entityTag)) {
+            return addLoggingHeaders(addVersionControlHeaders(Response.notModified(entityTag)), requestId).build();
+        }
+
+        CachedResponse response = responseCache.get(resourcePath, fetcher);
+        if (JsonResponseCache.isNotModified(ifNoneMatch, response.getEntityTag())) {
+            return addLoggingHeaders(addVersionControlHeaders(Response.notModified(response.getEntityTag())),
+                    requestId).build();
+        }
+        return addLoggingHeaders(addVersionControlHeaders(Response.status(Response.Status.OK)), requestId)
+                .type(MediaType.APPLICATION_JSON_TYPE).tag(response.getEntityTag()).entity(response.getBody())
+                .build();
+    }
+
     /**
      * Converts an object to a JSON string.
      *
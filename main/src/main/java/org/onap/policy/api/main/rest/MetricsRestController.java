@@ -0,0 +1,72 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import io.swagger.annotations.Authorization;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Class to provide the API statistics to Prometheus scrapers.
+ */
+@Path("/metrics")
+@Api
+public class MetricsRestController {
+
+    public static final String PROMETHEUS_TEXT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Retrieves the API metrics in the Prometheus text format.
+     *
+     * @return the Response object streaming the metrics
+     */
+    @GET
+    @Produces(PROMETHEUS_TEXT_TYPE)
+    @ApiOperation(value = "Retrieve metrics",
+            notes = "Returns the counters, latency percentiles, cache, database pool and JVM statistics of the"
+                    + " Policy API component in the Prometheus text format",
+            authorizations = @Authorization(value = "basicAuth"),
+            tags = { "Statistics", })
+    @ApiResponses(value = {
+            @ApiResponse(code = 401, message = "Authentication Error"),
+            @ApiResponse(code = 403, message = "Authorization Error"),
+            @ApiResponse(code = 500, message = "Internal Server Error")
+        })
+    public Response getMetrics() {
+
+        // Scrapes are not counted as API calls so that they do not skew the request counters
+        StreamingOutput output = outputStream -> new PrometheusMetricsWriter(
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))).writeAll();
+        return Response.status(Response.Status.OK).type(PROMETHEUS_TEXT_TYPE).entity(output).build();
+    }
+}
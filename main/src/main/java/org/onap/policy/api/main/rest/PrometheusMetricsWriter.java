@@ -0,0 +1,319 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.api.main.rest.provider.ApiCache;
+import org.onap.policy.api.main.rest.provider.DatabaseConnectionPool;
+import org.onap.policy.api.main.rest.provider.PolicyCache;
+import org.onap.policy.api.main.rest.provider.PolicyModelsProviderPool;
+import org.onap.policy.api.main.startstop.ApiActivator;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to render the API statistics in the Prometheus text exposition format.
+ *
+ * <p>Metrics are written straight to the output as they are read, so a scrape does not build the whole response
+ * in memory and takes no lock shared with request processing.
+ */
+public class PrometheusMetricsWriter {
+
+    private static final String PREFIX = "policy_api_";
+
+    private final Writer writer;
+
+    /**
+     * Constructs the object.
+     *
+     * @param writer the writer to render the metrics to
+     */
+    public PrometheusMetricsWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes all the metrics.
+     *
+     * @throws IOException if the metrics cannot be written
+     */
+    public void writeAll() throws IOException {
+        writeRequestCounters();
+        writeLatencies();
+        writeCaches();
+        writeProviderPool();
+        writeConnectionPools();
+        writeRequestExecutor();
+        writeAdmissionControl();
+        writeJvm();
+        writer.flush();
+    }
+
+    private void writeRequestCounters() throws IOException {
+        writeHeader("calls_total", "counter", "API calls by result");
+        writeSample("calls_total", "result", "success", ApiStatisticsManager.getApiCallSuccessCount());
+        writeSample("calls_total", "result", "failure", ApiStatisticsManager.getApiCallFailureCount());
+
+        writeHeader("requests_total", "counter", "Policy and policy type GET, POST and DELETE requests by result");
+        writeRequestSample("policy", "GET", "success", ApiStatisticsManager.getPolicyGetSuccessCount());
+        writeRequestSample("policy", "GET", "failure", ApiStatisticsManager.getPolicyGetFailureCount());
+        writeRequestSample("policy", "POST", "success", ApiStatisticsManager.getPolicyPostSuccessCount());
+        writeRequestSample("policy", "POST", "failure", ApiStatisticsManager.getPolicyPostFailureCount());
+        writeRequestSample("policy", "DELETE", "success", ApiStatisticsManager.getPolicyDeleteSuccessCount());
+        writeRequestSample("policy", "DELETE", "failure", ApiStatisticsManager.getPolicyDeleteFailureCount());
+        writeRequestSample("policy_type", "GET", "success", ApiStatisticsManager.getPolicyTypeGetSuccessCount());
+        writeRequestSample("policy_type", "GET", "failure", ApiStatisticsManager.getPolicyTypeGetFailureCount());
+        writeRequestSample("policy_type", "POST", "success", ApiStatisticsManager.getPolicyTypePostSuccessCount());
+        writeRequestSample("policy_type", "POST", "failure", ApiStatisticsManager.getPolicyTypePostFailureCount());
+        writeRequestSample("policy_type", "DELETE", "success",
+                ApiStatisticsManager.getPolicyTypeDeleteSuccessCount());
+        writeRequestSample("policy_type", "DELETE", "failure",
+                ApiStatisticsManager.getPolicyTypeDeleteFailureCount());
+    }
+
+    private void writeLatencies() throws IOException {
+        writeHeader("request_latency_microseconds", "summary", "Request latency by endpoint and processing phase");
+        for (Map.Entry<String, Map<String, LatencyReport>> endpoint
+                : ApiLatencyStatistics.getSnapshot(false).entrySet()) {
+            for (Map.Entry<String, LatencyReport> phase : endpoint.getValue().entrySet()) {
+                LatencyReport report = phase.getValue();
+                writeQuantile(endpoint.getKey(), phase.getKey(), "0.5", report.getP50());
+                writeQuantile(endpoint.getKey(), phase.getKey(), "0.9", report.getP90());
+                writeQuantile(endpoint.getKey(), phase.getKey(), "0.99", report.getP99());
+                writeQuantile(endpoint.getKey(), phase.getKey(), "0.999", report.getP999());
+                writeLatencyTotal(endpoint.getKey(), phase.getKey(), "_sum", report.getSum());
+                writeLatencyTotal(endpoint.getKey(), phase.getKey(), "_count", report.getCount());
+            }
+        }
+    }
+
+    private void writeCaches() throws IOException {
+        ApiCache<Pair<String, String>, ToscaServiceTemplate> policyTypeCache = ApiActivator.getPolicyTypeCache();
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (policyTypeCache == null || policyCache == null || responseCache == null) {
+            return;
+        }
+
+        writeHeader("cache_hits_total", "counter", "Cache hits by cache");
+        writeSample("cache_hits_total", "cache", "policy_type", policyTypeCache.getHitCount());
+        writeSample("cache_hits_total", "cache", "policy", policyCache.getHitCount());
+        writeSample("cache_hits_total", "cache", "response", responseCache.getHitCount());
+
+        writeHeader("cache_misses_total", "counter", "Cache misses by cache");
+        writeSample("cache_misses_total", "cache", "policy_type", policyTypeCache.getMissCount());
+        writeSample("cache_misses_total", "cache", "policy", policyCache.getMissCount());
+        writeSample("cache_misses_total", "cache", "response", responseCache.getMissCount());
+
+        writeHeader("cache_evictions_total", "counter", "Cache evictions by cache");
+        writeSample("cache_evictions_total", "cache", "policy_type", policyTypeCache.getEvictionCount());
+        writeSample("cache_evictions_total", "cache", "policy", policyCache.getEvictionCount());
+        writeSample("cache_evictions_total", "cache", "response", responseCache.getEvictionCount());
+    }
+
+    private void writeProviderPool() throws IOException {
+        PolicyModelsProviderPool pool = ApiActivator.getProviderPool();
+        if (pool == null) {
+            return;
+        }
+
+        writeHeader("db_pool_size", "gauge", "Database providers in the pool");
+        writeSample("db_pool_size", null, null, pool.getPoolSize());
+        writeHeader("db_pool_idle", "gauge", "Database providers free for lease");
+        writeSample("db_pool_idle", null, null, pool.getIdleCount());
+    }
+
+    private void writeConnectionPools() throws IOException {
+        writeHeader("db_connections", "gauge", "JDBC connections open in the pools, by state");
+        writeSample("db_connections", "state", "active", DatabaseConnectionPool.getActiveConnectionCount());
+        writeSample("db_connections", "state", "idle", DatabaseConnectionPool.getIdleConnectionCount());
+        writeHeader("db_connections_waiting", "gauge", "Threads waiting for a JDBC connection");
+        writeSample("db_connections_waiting", null, null, DatabaseConnectionPool.getWaitingCount());
+        writeHeader("db_connections_expired_total", "counter", "JDBC connections replaced at their maximum lifetime");
+        writeSample("db_connections_expired_total", null, null, DatabaseConnectionPool.getExpiredConnectionCount());
+        writeHeader("db_connections_leaked", "gauge", "JDBC connections held longer than the leak detection threshold");
+        writeSample("db_connections_leaked", null, null, DatabaseConnectionPool.getLeakedConnectionCount());
+    }
+
+    private void writeRequestExecutor() throws IOException {
+        ApiRequestExecutor executor = ApiActivator.getRequestExecutor();
+        if (executor == null) {
+            return;
+        }
+
+        writeHeader("request_execution_mode", "gauge", "Threads processing requests, by kind");
+        writeSample("request_execution_mode", "mode", executor.getExecutionMode().name().toLowerCase(Locale.ROOT), 1);
+        writeHeader("request_threads", "gauge", "Threads processing requests");
+        writeSample("request_threads", null, null, executor.getThreadPoolSize());
+        writeHeader("request_threads_max", "gauge", "Requests processed at once before requests wait");
+        writeSample("request_threads_max", null, null, executor.getMaxThreads());
+        writeHeader("request_threads_active", "gauge", "Threads busy processing a request");
+        writeSample("request_threads_active", null, null, executor.getActiveCount());
+        writeHeader("request_queue_capacity", "gauge", "Requests that can wait for a thread");
+        writeSample("request_queue_capacity", null, null, executor.getQueueSize());
+        writeHeader("request_queue_depth", "gauge", "Requests waiting for a thread");
+        writeSample("request_queue_depth", null, null, executor.getQueueDepth());
+        writeHeader("requests_completed_total", "counter", "Requests processed off the server threads");
+        writeSample("requests_completed_total", null, null, executor.getCompletedCount());
+        writeHeader("requests_rejected_total", "counter", "Requests rejected because the queue was full");
+        writeSample("requests_rejected_total", null, null, executor.getRejectedCount());
+    }
+
+    private void writeAdmissionControl() throws IOException {
+        AdmissionController controller = ApiActivator.getAdmissionController();
+        if (controller == null) {
+            return;
+        }
+
+        writeHeader("requests_throttled_total", "counter", "Requests refused by the per-user rate limits, by class");
+        writeSample("requests_throttled_total", "class", "read", controller.getReadThrottledCount());
+        writeSample("requests_throttled_total", "class", "write", controller.getWriteThrottledCount());
+        writeHeader("requests_concurrency_rejected_total", "counter",
+                "Requests refused because too many requests were in progress");
+        writeSample("requests_concurrency_rejected_total", null, null, controller.getConcurrencyRejectedCount());
+        writeHeader("requests_in_progress", "gauge", "Requests admitted and not yet completed");
+        writeSample("requests_in_progress", null, null, controller.getConcurrentRequests());
+        writeHeader("rate_limit_buckets", "gauge", "Token buckets held for users");
+        writeSample("rate_limit_buckets", null, null, controller.getBucketCount());
+    }
+
+    private void writeJvm() throws IOException {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        writeHeader("jvm_memory_used_bytes", "gauge", "Used JVM memory by area");
+        writeSample("jvm_memory_used_bytes", "area", "heap", heap.getUsed());
+        writeSample("jvm_memory_used_bytes", "area", "nonheap", nonHeap.getUsed());
+        writeHeader("jvm_memory_committed_bytes", "gauge", "Committed JVM memory by area");
+        writeSample("jvm_memory_committed_bytes", "area", "heap", heap.getCommitted());
+        writeSample("jvm_memory_committed_bytes", "area", "nonheap", nonHeap.getCommitted());
+
+        writeHeader("jvm_threads", "gauge", "Live JVM threads");
+        writeSample("jvm_threads", null, null, ManagementFactory.getThreadMXBean().getThreadCount());
+
+        writeHeader("jvm_gc_collections_total", "counter", "Garbage collections by collector");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writeSample("jvm_gc_collections_total", "gc", collector.getName(), collector.getCollectionCount());
+        }
+        writeHeader("jvm_gc_time_milliseconds_total", "counter", "Garbage collection time by collector");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writeSample("jvm_gc_time_milliseconds_total", "gc", collector.getName(), collector.getCollectionTime());
+        }
+
+        writeHeader("jvm_uptime_milliseconds", "gauge", "JVM uptime");
+        writeSample("jvm_uptime_milliseconds", null, null, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    private void writeHeader(final String name, final String type, final String help) throws IOException {
+        writer.write("# HELP ");
+        writer.write(PREFIX);
+        writer.write(name);
+        writer.write(' ');
+        writer.write(help);
+        writer.write("\n# TYPE ");
+        writer.write(PREFIX);
+        writer.write(name);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+    }
+
+    private void writeSample(final String name, final String label, final String labelValue, final long value)
+            throws IOException {
+        writer.write(PREFIX);
+        writer.write(name);
+        if (label != null) {
+            writer.write('{');
+            writeLabel(label, labelValue);
+            writer.write('}');
+        }
+        writeValue(value);
+    }
+
+    private void writeRequestSample(final String target, final String method, final String result, final long value)
+            throws IOException {
+        writer.write(PREFIX);
+        writer.write("requests_total{");
+        writeLabel("target", target);
+        writer.write(',');
+        writeLabel("method", method);
+        writer.write(',');
+        writeLabel("result", result);
+        writer.write('}');
+        writeValue(value);
+    }
+
+    private void writeQuantile(final String endpoint, final String phase, final String quantile, final long value)
+            throws IOException {
+        writer.write(PREFIX);
+        writer.write("request_latency_microseconds{");
+        writeLabel("endpoint", endpoint);
+        writer.write(',');
+        writeLabel("phase", phase);
+        writer.write(',');
+        writeLabel("quantile", quantile);
+        writer.write('}');
+        writeValue(value);
+    }
+
+    private void writeLatencyTotal(final String endpoint, final String phase, final String suffix, final long value)
+            throws IOException {
+        writer.write(PREFIX);
+        writer.write("request_latency_microseconds");
+        writer.write(suffix);
+        writer.write('{');
+        writeLabel("endpoint", endpoint);
+        writer.write(',');
+        writeLabel("phase", phase);
+        writer.write('}');
+        writeValue(value);
+    }
+
+    private void writeLabel(final String label, final String value) throws IOException {
+        writer.write(label);
+        writer.write("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '\\' || character == '"') {
+                writer.write('\\');
+                writer.write(character);
+            } else if (character == '\n') {
+                writer.write("\\n");
+            } else {
+                writer.write(character);
+            }
+        }
+        writer.write('"');
+    }
+
+    private void writeValue(final long value) throws IOException {
+        writer.write(' ');
+        writer.write(Long.toString(value));
+        writer.write('\n');
+    }
+}
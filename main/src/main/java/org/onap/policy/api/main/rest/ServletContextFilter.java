@@ -0,0 +1,118 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.UnavailableException;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+/**
+ * Class to configure the servlet context of an api http server when the server starts. The servlet server of
+ * policy-common does not expose its servlet context, this filter reaches it through the servlet context it is
+ * initialized with. It lets the servlets and filters suspend requests, so that {@link ApiRestController} can process
+ * them off the server threads. Filters are initialized before servlets, so {@link Lazy} can still defer the
+ * initialization of the servlets to {@link #warmUp()}.
+ */
+public class ServletContextFilter implements Filter {
+
+    private static final List<ServletContextHandler> CONTEXTS = new CopyOnWriteArrayList<>();
+
+    private ServletContextHandler context;
+
+    @Override
+    public void init(final FilterConfig filterConfig) throws ServletException {
+        final ContextHandler handler = ContextHandler.getContextHandler(filterConfig.getServletContext());
+        if (!(handler instanceof ServletContextHandler)) {
+            // Without its servlet context a server would block its threads on every request
+            throw new UnavailableException("no servlet context found for the api http server, its requests cannot "
+                    + "be processed asynchronously");
+        }
+
+        context = (ServletContextHandler) handler;
+        for (ServletHolder servlet : context.getServletHandler().getServlets()) {
+            servlet.setAsyncSupported(true);
+            configureServlet(servlet);
+        }
+        for (FilterHolder filter : context.getServletHandler().getFilters()) {
+            filter.setAsyncSupported(true);
+        }
+        CONTEXTS.add(context);
+    }
+
+    /**
+     * Configures a servlet of the context before the servlets are initialized.
+     *
+     * @param servlet the servlet
+     */
+    protected void configureServlet(final ServletHolder servlet) {
+        // initialized with the server
+    }
+
+    @Override
+    public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain)
+            throws IOException, ServletException {
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    public void destroy() {
+        CONTEXTS.remove(context);
+    }
+
+    /**
+     * Initializes the servlets of the started servers that were left to their first use.
+     *
+     * @throws ServletException if a servlet cannot be initialized
+     */
+    public static void warmUp() throws ServletException {
+        if (CONTEXTS.isEmpty()) {
+            throw new IllegalStateException("no servlet context configured, the api http server is not started");
+        }
+        for (ServletContextHandler started : CONTEXTS) {
+            for (ServletHolder servlet : started.getServletHandler().getServlets()) {
+                servlet.getServlet();
+            }
+        }
+    }
+
+    /**
+     * Filter that also defers the initialization of the servlets to their first use or {@link #warmUp()}.
+     */
+    public static class Lazy extends ServletContextFilter {
+        @Override
+        protected void configureServlet(final ServletHolder servlet) {
+            servlet.setInitOrder(-1);
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 package org.onap.policy.api.main.rest;
 
+import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -97,4 +98,104 @@ public class StatisticsReport {
     @Getter
     @Setter
     private long policyTypePostFailureCount;
+
+    @Getter
+    @Setter
+    private long totalPolicyDeleteCount;
+
+    @Getter
+    @Setter
+    private long policyDeleteSuccessCount;
+
+    @Getter
+    @Setter
+    private long policyDeleteFailureCount;
+
+    @Getter
+    @Setter
+    private long totalPolicyTypeDeleteCount;
+
+    @Getter
+    @Setter
+    private long policyTypeDeleteSuccessCount;
+
+    @Getter
+    @Setter
+    private long policyTypeDeleteFailureCount;
+
+    @Getter
+    @Setter
+    private long policyTypeCacheHitCount;
+
+    @Getter
+    @Setter
+    private long policyTypeCacheMissCount;
+
+    @Getter
+    @Setter
+    private long policyTypeCacheEvictionCount;
+
+    @Getter
+    @Setter
+    private long policyCacheHitCount;
+
+    @Getter
+    @Setter
+    private long policyCacheMissCount;
+
+    @Getter
+    @Setter
+    private long policyCacheEvictionCount;
+
+    @Getter
+    @Setter
+    private long responseCacheHitCount;
+
+    @Getter
+    @Setter
+    private long responseCacheMissCount;
+
+    @Getter
+    @Setter
+    private long responseCacheEvictionCount;
+
+    @Getter
+    @Setter
+    private long readThrottledCount;
+
+    @Getter
+    @Setter
+    private long writeThrottledCount;
+
+    @Getter
+    @Setter
+    private long concurrencyRejectedCount;
+
+    @Getter
+    @Setter
+    private int databaseConnectionCount;
+
+    @Getter
+    @Setter
+    private int databaseConnectionActiveCount;
+
+    @Getter
+    @Setter
+    private int databaseConnectionIdleCount;
+
+    @Getter
+    @Setter
+    private int databaseConnectionWaitingCount;
+
+    @Getter
+    @Setter
+    private long databaseConnectionExpiredCount;
+
+    @Getter
+    @Setter
+    private int databaseConnectionLeakedCount;
+
+    @Getter
+    @Setter
+    private Map<String, Map<String, LatencyReport>> endpointLatencies;
 }
@@ -0,0 +1,89 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.swagger.jaxrs.Reader;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import java.util.Arrays;
+import java.util.HashSet;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Class to describe the REST API when the rest server is initialized lazily. The description is built from the
+ * annotations of the controllers on its first request, or when the server is warmed up, rather than before the server
+ * listens.
+ */
+@Path("/swagger.json")
+public class SwaggerRestController {
+
+    private static volatile JsonElement apiDescription;
+
+    /**
+     * Retrieves the description of the REST API.
+     *
+     * @return the Response object containing the Swagger description
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getSwagger() {
+        return Response.status(Response.Status.OK).entity(getApiDescription()).build();
+    }
+
+    /**
+     * Returns the description of the REST API, building it on first use.
+     *
+     * @return the Swagger description as a JSON tree
+     */
+    public static JsonElement getApiDescription() {
+        JsonElement description = apiDescription;
+        if (description == null) {
+            synchronized (SwaggerRestController.class) {
+                description = apiDescription;
+                if (description == null) {
+                    description = buildApiDescription();
+                    apiDescription = description;
+                }
+            }
+        }
+        return description;
+    }
+
+    private static JsonElement buildApiDescription() {
+        Swagger swagger = new Reader(new Swagger()).read(new HashSet<>(Arrays.asList(ApiRestController.class,
+                LegacyApiRestController.class, MetricsRestController.class)));
+        try {
+            // Swagger encodes its model with Jackson, the JSON tree is written by the Gson message body handler
+            return new JsonParser().parse(Json.mapper().writeValueAsString(swagger));
+        } catch (JsonProcessingException exc) {
+            throw new IllegalStateException("cannot encode the API description", exc);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class to hold a lock-free token bucket.
+ *
+ * <p>The bucket is kept as the time at which it will be full again, following the generic cell rate algorithm: a
+ * request takes a token by moving that time forward by the interval between two tokens, and is refused if the time
+ * would then be further away than the burst allows. Taking a token is a single compare-and-set.
+ */
+public class TokenBucket {
+
+    private final long tokenInterval;
+    private final long burstTolerance;
+
+    // Time in nanoseconds at which the bucket holds all its tokens again
+    private final AtomicLong fullTime;
+
+    /**
+     * Constructs a full bucket.
+     *
+     * @param tokensPerSecond the number of tokens added each second
+     * @param burst the number of tokens held by a full bucket
+     * @param now the current time in nanoseconds
+     */
+    public TokenBucket(final int tokensPerSecond, final int burst, final long now) {
+        this.tokenInterval = TimeUnit.SECONDS.toNanos(1) / tokensPerSecond;
+        this.burstTolerance = tokenInterval * burst;
+        this.fullTime = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token from the bucket.
+     *
+     * @param now the current time in nanoseconds
+     *
+     * @return {@code 0} if a token was taken, otherwise the time in nanoseconds until a token is available
+     */
+    public long tryTake(final long now) {
+        while (true) {
+            long current = fullTime.get();
+            long next = Math.max(current, now) + tokenInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bucket holds all its tokens, in which case it can be dropped and created again.
+     *
+     * @param now the current time in nanoseconds
+     *
+     * @return {@code true} if the bucket is full
+     */
+    public boolean isFull(final long now) {
+        return fullTime.get() - now <= 0;
+    }
+}
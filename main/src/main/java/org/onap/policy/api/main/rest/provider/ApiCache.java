@@ -0,0 +1,347 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+import org.onap.policy.models.base.PfModelException;
+
+/**
+ * Class to hold a bounded, expiring, read-through cache of database query results.
+ *
+ * <p>Cached values are shared with the callers. Mutable values are made unmodifiable when they are stored, so that
+ * a caller cannot change a cached value for later requests, and they are never copied when they are returned.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ApiCache<K, V> {
+
+    /**
+     * Loads a value that is missing from the cache.
+     *
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws PfModelException;
+    }
+
+    /**
+     * Loads several values that are missing from the cache at once.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    public interface BatchLoader<K, V> {
+        Map<K, V> load(Collection<K> keys) throws PfModelException;
+    }
+
+    /**
+     * Visits an entry of the cache, with the time in milliseconds since the epoch at which it expires.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    public interface EntryVisitor<K, V> {
+        void visit(K key, V value, long expiresAt);
+    }
+
+    private final int maxEntries;
+    private final long timeToLive;
+    private final UnaryOperator<V> freezer;
+    private final Map<K, Entry<V>> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    // Incremented on every write so that loads racing with a write are not cached
+    private long generation = 0;
+
+    /**
+     * Constructs a cache of immutable values.
+     *
+     * @param maxEntries the maximum number of entries, the least recently used entry is evicted beyond it
+     * @param timeToLive the time in milliseconds an entry stays valid after it is loaded
+     */
+    public ApiCache(final int maxEntries, final long timeToLive) {
+        this(maxEntries, timeToLive, UnaryOperator.identity());
+    }
+
+    /**
+     * Constructs a cache of mutable values.
+     *
+     * @param maxEntries the maximum number of entries, the least recently used entry is evicted beyond it
+     * @param timeToLive the time in milliseconds an entry stays valid after it is loaded
+     * @param freezer makes a value that is about to be stored unmodifiable
+     */
+    public ApiCache(final int maxEntries, final long timeToLive, final UnaryOperator<V> freezer) {
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.freezer = freezer;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ApiCache.this.maxEntries) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the value cached for a key, loading and caching it if it is missing or expired.
+     *
+     * @param key the key
+     * @param loader the loader invoked on a cache miss
+     *
+     * @return the cached or loaded value
+     *
+     * @throws PfModelException if the loader fails
+     */
+    public V get(final K key, final Loader<V> loader) throws PfModelException {
+        final long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    hitCount.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictionCount.incrementAndGet();
+            }
+            missCount.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        V value = freezer.apply(loader.load());
+
+        synchronized (entries) {
+            if (value != null && loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, System.currentTimeMillis() + timeToLive));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the values cached for several keys, loading the missing and expired ones with a single call of the
+     * loader and caching them.
+     *
+     * @param keys the keys
+     * @param loader the loader invoked once with all the keys missing from the cache
+     *
+     * @return the cached or loaded values in the order of the keys, keys without a value are left out
+     *
+     * @throws PfModelException if the loader fails
+     */
+    public Map<K, V> getAll(final Collection<K> keys, final BatchLoader<K, V> loader) throws PfModelException {
+        Map<K, V> values = new LinkedHashMap<>();
+        List<K> missingKeys = new ArrayList<>();
+        final long loadGeneration;
+        synchronized (entries) {
+            for (K key : keys) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null) {
+                    if (entry.expiresAt > System.currentTimeMillis()) {
+                        hitCount.incrementAndGet();
+                        values.put(key, entry.value);
+                        continue;
+                    }
+                    entries.remove(key);
+                    evictionCount.incrementAndGet();
+                }
+                missCount.incrementAndGet();
+                missingKeys.add(key);
+            }
+            loadGeneration = generation;
+        }
+
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+
+        Map<K, V> loadedValues = new HashMap<>();
+        for (Map.Entry<K, V> loadedEntry : loader.load(missingKeys).entrySet()) {
+            if (loadedEntry.getValue() != null) {
+                loadedValues.put(loadedEntry.getKey(), freezer.apply(loadedEntry.getValue()));
+            }
+        }
+
+        synchronized (entries) {
+            if (loadGeneration == generation) {
+                long expiresAt = System.currentTimeMillis() + timeToLive;
+                for (K key : missingKeys) {
+                    V value = loadedValues.get(key);
+                    if (value != null) {
+                        entries.put(key, new Entry<>(value, expiresAt));
+                    }
+                }
+            }
+        }
+
+        // Keep the order of the keys
+        Map<K, V> orderedValues = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = (values.containsKey(key) ? values.get(key) : loadedValues.get(key));
+            if (value != null) {
+                orderedValues.put(key, value);
+            }
+        }
+        return orderedValues;
+    }
+
+    /**
+     * Stores a value written to the database. The value is owned by the cache afterwards.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(final K key, final V value) {
+        V frozenValue = freezer.apply(value);
+        synchronized (entries) {
+            generation++;
+            entries.put(key, new Entry<>(frozenValue, System.currentTimeMillis() + timeToLive));
+        }
+    }
+
+    /**
+     * Returns the value cached for a key without loading it.
+     *
+     * @param key the key
+     *
+     * @return the cached value or {@code null} if it is missing or expired
+     */
+    public V peek(final K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    /**
+     * Visits the entries that have not expired, least recently used first.
+     *
+     * @param visitor the visitor of the entries
+     */
+    public void forEach(final EntryVisitor<K, V> visitor) {
+        List<Map.Entry<K, Entry<V>>> currentEntries;
+        synchronized (entries) {
+            currentEntries = new ArrayList<>(entries.entrySet());
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<K, Entry<V>> entry : currentEntries) {
+            if (entry.getValue().expiresAt > now) {
+                visitor.visit(entry.getKey(), entry.getValue().value, entry.getValue().expiresAt);
+            }
+        }
+    }
+
+    /**
+     * Restores an entry saved from another cache. The caller checks that the entry is still current, so it stays
+     * valid for the time to live from now, as a loaded entry does. An entry already in the cache is kept.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void restore(final K key, final V value) {
+        V frozenValue = freezer.apply(value);
+        synchronized (entries) {
+            entries.putIfAbsent(key, new Entry<>(frozenValue, System.currentTimeMillis() + timeToLive));
+        }
+    }
+
+    /**
+     * Removes the entries matching a condition.
+     *
+     * @param condition the condition on the key and value of an entry
+     */
+    public void invalidateIf(final BiPredicate<K, V> condition) {
+        synchronized (entries) {
+            generation++;
+            entries.entrySet().removeIf(entry -> condition.test(entry.getKey(), entry.getValue().value));
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
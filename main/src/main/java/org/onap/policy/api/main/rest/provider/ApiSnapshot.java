@@ -0,0 +1,361 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.persistence.EntityManager;
+import javax.ws.rs.core.Response;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to save the policy type and policy caches and the deployed policy index to a local file on shutdown, and to
+ * restore them on startup so that a restarted service does not start cold.
+ *
+ * <p>The snapshot records a marker of the database, a hash of the row counts of the data type, policy type and policy
+ * tables, of the names and versions of all policy types and of the names, versions and types of all policies. Only
+ * keys are read, so the marker is cheap enough to compute in the shutdown hook. If the marker is unchanged on startup
+ * the whole snapshot is restored. Otherwise only the entries whose policy types and policies are still in the
+ * database are restored, and the others are loaded on their next lookup. Restored cache entries are valid for the
+ * time to live of their cache from the restore, as if they had just been loaded, so that a restart longer than the
+ * time to live does not start cold. The deployed policy index serves the deployments of the
+ * snapshot until its first rebuild, which starts at once, but the pdp groups referencing a policy are only answered
+ * after that rebuild, as they decide whether the policy can be deleted.
+ */
+public class ApiSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiSnapshot.class);
+
+    // "APIS", followed by the format version, any other header is ignored
+    private static final int MAGIC = 0x41504953;
+    public static final int FORMAT_VERSION = 3;
+
+    private static final String POLICY_TYPE_KEY_QUERY = "SELECT e.key.name, e.key.version FROM JpaToscaPolicyType e";
+    private static final String[] COUNTED_ENTITIES = {"JpaToscaDataType", "JpaToscaPolicyType", "JpaToscaPolicy"};
+
+    private final Path file;
+    private final StandardCoder coder = new StandardCoder();
+
+    /**
+     * Contents of the snapshot file after its header.
+     */
+    private static class Content {
+        private List<CacheEntry> policyTypes = new ArrayList<>();
+        private List<CacheEntry> policies = new ArrayList<>();
+        private List<PdpGroup> pdpGroups;
+    }
+
+    /**
+     * Cache entry, keyed by name and version.
+     */
+    private static class CacheEntry {
+        private String name;
+        private String version;
+        private ToscaServiceTemplate serviceTemplate;
+
+        private CacheEntry() {
+            // used by the coder
+        }
+
+        private CacheEntry(final Pair<String, String> key, final ToscaServiceTemplate serviceTemplate) {
+            this.name = key.getLeft();
+            this.version = key.getRight();
+            this.serviceTemplate = serviceTemplate;
+        }
+    }
+
+    /**
+     * Names and versions of the policy types and policies in the database.
+     */
+    private static class DatabaseState {
+        private final Set<Pair<String, String>> policyTypes = new HashSet<>();
+        private final Map<Pair<String, String>, Pair<String, String>> policyReferences = new HashMap<>();
+        private String marker;
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param file the snapshot file
+     */
+    public ApiSnapshot(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Saves the caches and the index to the snapshot file, replacing it.
+     *
+     * @param policyTypeCache the policy type cache
+     * @param policyCache the policy cache
+     * @param deployedPolicyIndex the deployed policy index
+     *
+     * @throws PfModelException if the snapshot cannot be saved
+     */
+    public void save(final ApiCache<Pair<String, String>, ToscaServiceTemplate> policyTypeCache,
+            final PolicyCache policyCache, final DeployedPolicyIndex deployedPolicyIndex) throws PfModelException {
+
+        final Content content = new Content();
+        policyTypeCache.forEach((key, value, expiresAt) ->
+                content.policyTypes.add(new CacheEntry(key, value)));
+        policyCache.forEachPolicy((key, value, expiresAt) ->
+                content.policies.add(new CacheEntry(key, value)));
+        content.pdpGroups = deployedPolicyIndex.getPdpGroups();
+
+        final String marker = readDatabaseState().marker;
+
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream output =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(marker);
+
+            final GZIPOutputStream compressed = new GZIPOutputStream(output);
+            final Writer writer = new OutputStreamWriter(compressed, StandardCharsets.UTF_8);
+            coder.encode(writer, content);
+            writer.flush();
+            compressed.finish();
+        } catch (IOException | CoderException exc) {
+            throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR, "could not write snapshot " + file,
+                    exc);
+        }
+
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exc) {
+            throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR, "could not replace snapshot " + file,
+                    exc);
+        }
+        LOGGER.info("saved snapshot {} of {} policy types, {} policies", file, content.policyTypes.size(),
+                content.policies.size());
+    }
+
+    /**
+     * Restores the caches and indexes from the snapshot file. The policy reference index is rebuilt from the
+     * database in any case, as it is read to compute the marker.
+     *
+     * @param policyTypeCache the policy type cache
+     * @param policyCache the policy cache
+     * @param policyReferenceIndex the policy reference index
+     * @param deployedPolicyIndex the deployed policy index, before it is started
+     *
+     * @return {@code true} if the snapshot was restored, {@code false} if there is no usable snapshot
+     */
+    public boolean restore(final ApiCache<Pair<String, String>, ToscaServiceTemplate> policyTypeCache,
+            final PolicyCache policyCache, final PolicyReferenceIndex policyReferenceIndex,
+            final DeployedPolicyIndex deployedPolicyIndex) {
+
+        if (!Files.isRegularFile(file)) {
+            LOGGER.info("no snapshot {}, starting with empty caches", file);
+            return false;
+        }
+
+        final String savedMarker;
+        final Content content;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                LOGGER.warn("ignoring snapshot {} of another format", file);
+                return false;
+            }
+            savedMarker = input.readUTF();
+
+            final Reader reader = new InputStreamReader(new GZIPInputStream(input), StandardCharsets.UTF_8);
+            content = coder.decode(reader, Content.class);
+        } catch (IOException | CoderException | RuntimeException exc) {
+            LOGGER.warn("ignoring unreadable snapshot {}", file, exc);
+            return false;
+        }
+
+        final DatabaseState state;
+        try {
+            state = readDatabaseState();
+        } catch (PfModelException exc) {
+            LOGGER.warn("ignoring snapshot {}, the database cannot be checked", file, exc);
+            return false;
+        }
+        policyReferenceIndex.update(state.policyReferences);
+
+        final boolean unchanged = savedMarker.equals(state.marker);
+        int policyTypeCount = 0;
+        for (CacheEntry entry : content.policyTypes) {
+            if (unchanged || isCurrentPolicyType(entry, state)) {
+                policyTypeCache.restore(Pair.of(entry.name, entry.version), entry.serviceTemplate);
+                policyTypeCount++;
+            }
+        }
+
+        int policyCount = 0;
+        for (CacheEntry entry : content.policies) {
+            if (unchanged || isCurrentPolicy(entry, state)) {
+                policyCache.restorePolicy(entry.name, entry.version, entry.serviceTemplate);
+                policyCount++;
+            }
+        }
+
+        if (content.pdpGroups != null) {
+            deployedPolicyIndex.restore(content.pdpGroups);
+        }
+
+        LOGGER.info("restored snapshot {} of {} of {} policy types, {} of {} policies, database {}", file,
+                policyTypeCount, content.policyTypes.size(), policyCount, content.policies.size(),
+                unchanged ? "unchanged" : "changed");
+        return true;
+    }
+
+    /**
+     * Checks whether all the policy types of a cached policy type query are still in the database. Queries for all
+     * policy types or for the latest version of a policy type are not, as their result changes with new policy
+     * types.
+     *
+     * @param entry the cache entry
+     * @param state the database state
+     *
+     * @return {@code true} if the entry can be restored
+     */
+    private static boolean isCurrentPolicyType(final CacheEntry entry, final DatabaseState state) {
+        if (entry.name == null || entry.version == null || entry.serviceTemplate.getPolicyTypes() == null) {
+            return false;
+        }
+        for (Map<String, ToscaPolicyType> policyTypes : entry.serviceTemplate.getPolicyTypes()) {
+            for (ToscaPolicyType policyType : policyTypes.values()) {
+                if (!state.policyTypes.contains(Pair.of(policyType.getName(), policyType.getVersion()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a cached policy is still in the database, with the same policy type.
+     *
+     * @param entry the cache entry
+     * @param state the database state
+     *
+     * @return {@code true} if the entry can be restored
+     */
+    private static boolean isCurrentPolicy(final CacheEntry entry, final DatabaseState state) {
+        final Pair<String, String> policyType = state.policyReferences.get(Pair.of(entry.name, entry.version));
+        if (policyType == null || entry.serviceTemplate.getToscaTopologyTemplate() == null
+                || entry.serviceTemplate.getToscaTopologyTemplate().getPolicies() == null) {
+            return false;
+        }
+        for (Map<String, ToscaPolicy> policies : entry.serviceTemplate.getToscaTopologyTemplate().getPolicies()) {
+            for (ToscaPolicy policy : policies.values()) {
+                if (!policyType.equals(Pair.of(policy.getType(), policy.getTypeVersion()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the row counts of the data type, policy type and policy tables and the names, versions and types of all
+     * policy types and policies, without their properties, and computes the marker of the database.
+     *
+     * @return the database state
+     *
+     * @throws PfModelException if the database cannot be read
+     */
+    private static DatabaseState readDatabaseState() throws PfModelException {
+
+        final DatabaseState state = new DatabaseState();
+        final List<String> keys = new ArrayList<>();
+
+        ReadOnlyDatabase database = ReadOnlyDatabase.acquireDatabase();
+        try {
+            EntityManager entityManager = database.createEntityManager();
+            try {
+                for (String entityName : COUNTED_ENTITIES) {
+                    keys.add("C " + entityName + ' '
+                            + entityManager.createQuery("SELECT COUNT(e) FROM " + entityName + " e").getSingleResult());
+                }
+                for (Object row : entityManager.createQuery(POLICY_TYPE_KEY_QUERY).getResultList()) {
+                    Object[] columns = (Object[]) row;
+                    state.policyTypes.add(Pair.of((String) columns[0], (String) columns[1]));
+                    keys.add("T " + columns[0] + ' ' + columns[1]);
+                }
+                List<?> rows = entityManager.createQuery(PolicyReferenceIndex.POLICY_REFERENCE_QUERY).getResultList();
+                for (Object row : rows) {
+                    Object[] columns = (Object[]) row;
+                    state.policyReferences.put(Pair.of((String) columns[0], (String) columns[1]),
+                            Pair.of((String) columns[2], (String) columns[3]));
+                    keys.add("P " + columns[0] + ' ' + columns[1] + ' ' + columns[2] + ' ' + columns[3]);
+                }
+            } finally {
+                entityManager.close();
+            }
+        } catch (RuntimeException exc) {
+            throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR,
+                    "could not read the policy types and policies", exc);
+        } finally {
+            ReadOnlyDatabase.releaseDatabase(database);
+        }
+
+        Collections.sort(keys);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String key : keys) {
+                digest.update(key.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            state.marker = Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException exc) {
+            throw new IllegalStateException(exc);
+        }
+        return state;
+    }
+}
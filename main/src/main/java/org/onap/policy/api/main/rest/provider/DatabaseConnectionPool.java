@@ -0,0 +1,229 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.persistence.internal.databaseaccess.Accessor;
+import org.eclipse.persistence.sessions.Login;
+import org.eclipse.persistence.sessions.server.ConnectionPool;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.onap.policy.api.main.parameters.DatabasePoolParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to pool JDBC connections of a persistence session, replacing connections that reached their maximum
+ * lifetime and logging connections held for longer than the leak detection threshold.
+ *
+ * <p>The pools in use are tracked so that their state can be reported in the API statistics.
+ */
+public class DatabaseConnectionPool extends ConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseConnectionPool.class);
+
+    private static final Set<DatabaseConnectionPool> POOLS = ConcurrentHashMap.newKeySet();
+    private static final LongAdder EXPIRED_COUNT = new LongAdder();
+
+    private final long maxLifetime;
+    private final long leakDetectionThreshold;
+
+    // Time in milliseconds each connection was opened, connections closed by the pool are dropped with their keys
+    private final Map<Accessor, Long> connectedTimes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Connections leased while leak detection is enabled
+    private final Map<Accessor, Lease> leases = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    /**
+     * Constructs the object.
+     *
+     * @param name the name of the pool
+     * @param login the login used to open connections
+     * @param minIdle the number of connections the pool keeps open when they are idle
+     * @param maxPoolSize the maximum number of connections in the pool
+     * @param parameters the pool parameters, their sizes are shared by the pools of the session
+     * @param owner the session owning the pool
+     */
+    public DatabaseConnectionPool(final String name, final Login login, final int minIdle, final int maxPoolSize,
+            final DatabasePoolParameters parameters, final ServerSession owner) {
+        super(name, login, minIdle, minIdle, maxPoolSize, owner);
+        this.maxLifetime = parameters.getMaxLifetime();
+        this.leakDetectionThreshold = parameters.getLeakDetectionThreshold();
+    }
+
+    @Override
+    public void startUp() {
+        super.startUp();
+        POOLS.add(this);
+    }
+
+    @Override
+    public void shutDown() {
+        POOLS.remove(this);
+        leases.clear();
+        super.shutDown();
+    }
+
+    @Override
+    public Accessor acquireConnection() {
+        Accessor connection;
+        waitingCount.incrementAndGet();
+        try {
+            connection = super.acquireConnection();
+        } finally {
+            waitingCount.decrementAndGet();
+        }
+
+        long now = System.currentTimeMillis();
+        Long connectedTime = connectedTimes.putIfAbsent(connection, now);
+        if (connectedTime != null && now - connectedTime > maxLifetime) {
+            // Replace the connection before the server or a firewall closes it under a request
+            try {
+                connection.reestablishConnection(getOwner());
+            } catch (RuntimeException exc) {
+                releaseConnection(connection);
+                throw exc;
+            }
+            connectedTimes.put(connection, now);
+            EXPIRED_COUNT.increment();
+        }
+
+        if (leakDetectionThreshold > 0) {
+            leases.put(connection, new Lease(now));
+            reportLeaks(now);
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(final Accessor connection) {
+        // Dropped first, the pool may lease the connection again as soon as it is released
+        leases.remove(connection);
+        super.releaseConnection(connection);
+    }
+
+    /**
+     * Logs the connections held for longer than the leak detection threshold, once per lease.
+     *
+     * @param now the current time in milliseconds
+     */
+    private void reportLeaks(final long now) {
+        for (Lease lease : leases.values()) {
+            if (!lease.reported && now - lease.acquiredTime > leakDetectionThreshold) {
+                lease.reported = true;
+                LOGGER.warn("database connection held for more than {} ms, it may have leaked", leakDetectionThreshold,
+                        lease.acquiredAt);
+            }
+        }
+    }
+
+    /**
+     * Counts the connections held for longer than the leak detection threshold.
+     *
+     * @return the number of possibly leaked connections
+     */
+    private int countLeaks() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Lease lease : leases.values()) {
+            if (now - lease.acquiredTime > leakDetectionThreshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of connections open in all pools.
+     *
+     * @return the number of connections
+     */
+    public static int getConnectionCount() {
+        return POOLS.stream().mapToInt(ConnectionPool::getTotalNumberOfConnections).sum();
+    }
+
+    /**
+     * Returns the number of connections leased from all pools.
+     *
+     * @return the number of active connections
+     */
+    public static int getActiveConnectionCount() {
+        return POOLS.stream().mapToInt(pool -> pool.getConnectionsUsed().size()).sum();
+    }
+
+    /**
+     * Returns the number of connections open and free for lease in all pools.
+     *
+     * @return the number of idle connections
+     */
+    public static int getIdleConnectionCount() {
+        return POOLS.stream().mapToInt(pool -> pool.getConnectionsAvailable().size()).sum();
+    }
+
+    /**
+     * Returns the number of threads waiting for a connection from any pool.
+     *
+     * @return the number of waiting threads
+     */
+    public static int getWaitingCount() {
+        return POOLS.stream().mapToInt(pool -> pool.waitingCount.get()).sum();
+    }
+
+    /**
+     * Returns the number of connections replaced because they reached their maximum lifetime.
+     *
+     * @return the number of expired connections
+     */
+    public static long getExpiredConnectionCount() {
+        return EXPIRED_COUNT.sum();
+    }
+
+    /**
+     * Returns the number of connections held for longer than the leak detection threshold.
+     *
+     * @return the number of possibly leaked connections, always 0 if leak detection is disabled
+     */
+    public static int getLeakedConnectionCount() {
+        return POOLS.stream().mapToInt(DatabaseConnectionPool::countLeaks).sum();
+    }
+
+    /**
+     * Lease of a connection, with the stack of the thread that acquired it.
+     */
+    private static class Lease {
+        private final long acquiredTime;
+        private final Exception acquiredAt = new Exception("database connection acquired here");
+        private volatile boolean reported;
+
+        Lease(final long acquiredTime) {
+            this.acquiredTime = acquiredTime;
+        }
+    }
+}
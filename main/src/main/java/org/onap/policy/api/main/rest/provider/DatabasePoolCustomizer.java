@@ -0,0 +1,101 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import org.eclipse.persistence.config.SessionCustomizer;
+import org.eclipse.persistence.sessions.DatabaseLogin;
+import org.eclipse.persistence.sessions.Login;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.onap.policy.api.main.parameters.DatabasePoolParameters;
+
+/**
+ * Class to apply the database pool parameters to the persistence sessions of the database providers. It is set as
+ * the session customizer of the persistence unit in {@code META-INF/persistence.xml}.
+ *
+ * <p>The connections of a session are split between its write and read pools, so that the configured sizes cap the
+ * connections the session opens. Reads get the larger share of an odd size.
+ *
+ * <p>The parameters must be set before the first provider is created, sessions opened earlier use the defaults.
+ */
+public class DatabasePoolCustomizer implements SessionCustomizer {
+
+    private static final String READ_POOL_NAME = "read";
+
+    private static volatile DatabasePoolParameters poolParameters = new DatabasePoolParameters();
+
+    /**
+     * Set the parameters applied to the persistence sessions opened from now on.
+     *
+     * @param parameters the database pool parameters
+     */
+    public static void setPoolParameters(final DatabasePoolParameters parameters) {
+        poolParameters = parameters;
+    }
+
+    /**
+     * Return the parameters applied to the persistence sessions.
+     *
+     * @return the database pool parameters
+     */
+    public static DatabasePoolParameters getPoolParameters() {
+        return poolParameters;
+    }
+
+    @Override
+    public void customize(final Session session) {
+        if (!(session instanceof ServerSession)) {
+            return;
+        }
+
+        final ServerSession serverSession = (ServerSession) session;
+        final DatabasePoolParameters parameters = poolParameters;
+        final Login login = serverSession.getDatasourceLogin();
+
+        // Replaces the default pools, the session starts them when it logs in
+        final int writePoolSize = parameters.getMaxPoolSize() / 2;
+        final int writeMinIdle = parameters.getMinIdle() / 2;
+        serverSession.addConnectionPool(new DatabaseConnectionPool(ServerSession.DEFAULT_POOL, login, writeMinIdle,
+                writePoolSize, parameters, serverSession));
+        serverSession.setReadConnectionPool(new DatabaseConnectionPool(READ_POOL_NAME, login,
+                parameters.getMinIdle() - writeMinIdle, parameters.getMaxPoolSize() - writePoolSize, parameters,
+                serverSession));
+
+        if (login instanceof DatabaseLogin) {
+            ((DatabaseLogin) login).setConnectionHealthValidatedOnError(true);
+        }
+
+        final String validationQuery = parameters.getValidationQuery();
+        if (validationQuery != null) {
+            // The database platform is only known once the session is logged in
+            serverSession.getEventManager().addListener(new SessionEventAdapter() {
+                @Override
+                public void postLogin(final SessionEvent event) {
+                    serverSession.getLogin().getPlatform().setPingSQL(validationQuery);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.models.provider.PolicyModelsProvider;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyTypeIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to hold an index from policy name to the active pdp groups deploying the policy, and from policy name and
+ * version to all the pdp groups referencing the policy whatever their state.
+ *
+ * <p>PDP groups are written by PAP, not by this component, so the index is rebuilt from all pdp groups on a
+ * schedule. Until the first rebuild succeeds, or after {@link #invalidate()}, the index is not loaded and callers
+ * query the pdp groups themselves. An index restored from a snapshot serves the deployments of the snapshot, but not
+ * the pdp groups referencing a policy, until its first rebuild.
+ */
+public class DeployedPolicyIndex implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeployedPolicyIndex.class);
+
+    /**
+     * A policy deployed in an active pdp group.
+     */
+    public static class Deployment {
+        private final Pair<String, String> pdpGroup;
+        private final ToscaPolicyIdentifier policy;
+        private final Set<ToscaPolicyTypeIdentifier> supportedPolicyTypes;
+
+        private Deployment(final Pair<String, String> pdpGroup, final ToscaPolicyIdentifier policy,
+                final Set<ToscaPolicyTypeIdentifier> supportedPolicyTypes) {
+            this.pdpGroup = pdpGroup;
+            this.policy = policy;
+            this.supportedPolicyTypes = supportedPolicyTypes;
+        }
+
+        public Pair<String, String> getPdpGroup() {
+            return pdpGroup;
+        }
+
+        public ToscaPolicyIdentifier getPolicy() {
+            return policy;
+        }
+    }
+
+    private final long refreshInterval;
+    private ScheduledExecutorService scheduler;
+
+    // Keyed by lower case policy name, the whole map is replaced on each rebuild
+    private volatile Map<String, List<Deployment>> deployments;
+
+    // Keyed by policy name and version, it includes the pdp groups that are not active
+    private volatile Map<ToscaPolicyIdentifier, List<Deployment>> references;
+
+    // The pdp groups the index was built from
+    private volatile List<PdpGroup> pdpGroups;
+
+    /**
+     * Constructs the object.
+     *
+     * @param refreshInterval the time in milliseconds between rebuilds of the index
+     */
+    public DeployedPolicyIndex(final long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Builds the index and schedules its rebuilds. An index already built, from a snapshot, is served while it is
+     * rebuilt in the background.
+     */
+    public synchronized void start() {
+        long initialDelay = refreshInterval;
+        if (isLoaded()) {
+            initialDelay = 0;
+        } else {
+            refresh();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deployed-policy-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, initialDelay, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Rebuilds the index from all pdp groups, keeping the current index if the pdp groups cannot be read.
+     */
+    public void refresh() {
+        try {
+            PolicyModelsProvider modelsProvider = PolicyModelsProviderPool.acquireProvider();
+            try {
+                update(modelsProvider.getPdpGroups(null));
+            } finally {
+                PolicyModelsProviderPool.releaseProvider(modelsProvider);
+            }
+        } catch (PfModelException | RuntimeException exc) {
+            LOGGER.warn("could not rebuild the deployed policy index", exc);
+        }
+    }
+
+    /**
+     * Rebuilds the index from a list of pdp groups.
+     *
+     * @param pdpGroups the pdp groups
+     */
+    public void update(final List<PdpGroup> pdpGroups) {
+        Map<String, List<Deployment>> newDeployments = new HashMap<>();
+        Map<ToscaPolicyIdentifier, List<Deployment>> newReferences = new HashMap<>();
+        for (PdpGroup pdpGroup : pdpGroups) {
+            boolean active = pdpGroup.getPdpGroupState() == PdpState.ACTIVE && hasActivePdp(pdpGroup);
+
+            Pair<String, String> groupId = Pair.of(pdpGroup.getName(), pdpGroup.getVersion());
+            Set<ToscaPolicyTypeIdentifier> supportedPolicyTypes = new LinkedHashSet<>();
+            for (PdpSubGroup pdpSubGroup : pdpGroup.getPdpSubgroups()) {
+                supportedPolicyTypes.addAll(pdpSubGroup.getSupportedPolicyTypes());
+            }
+            for (PdpSubGroup pdpSubGroup : pdpGroup.getPdpSubgroups()) {
+                for (ToscaPolicyIdentifier policy : pdpSubGroup.getPolicies()) {
+                    Deployment deployment = new Deployment(groupId, policy, supportedPolicyTypes);
+                    newReferences.computeIfAbsent(policy, key -> new ArrayList<>()).add(deployment);
+                    if (active) {
+                        newDeployments.computeIfAbsent(policy.getName().toLowerCase(Locale.ROOT),
+                                key -> new ArrayList<>()).add(deployment);
+                    }
+                }
+            }
+        }
+        this.pdpGroups = pdpGroups;
+        references = newReferences;
+        deployments = newDeployments;
+    }
+
+    /**
+     * Builds the index from pdp groups restored from a snapshot. They may be out of date, so the index does not answer
+     * {@link #getReferencingGroups} until it is rebuilt: a policy must not be deleted because a snapshot says no pdp
+     * group references it.
+     *
+     * @param pdpGroups the pdp groups of the snapshot
+     */
+    public void restore(final List<PdpGroup> pdpGroups) {
+        update(pdpGroups);
+        references = null;
+    }
+
+    /**
+     * Marks the index as out of date until its next rebuild.
+     */
+    public void invalidate() {
+        deployments = null;
+        references = null;
+        pdpGroups = null;
+    }
+
+    /**
+     * Returns the pdp groups the index was built from.
+     *
+     * @return the pdp groups, {@code null} if the index is not loaded
+     */
+    public List<PdpGroup> getPdpGroups() {
+        return pdpGroups;
+    }
+
+    /**
+     * Checks whether the index can answer lookups.
+     *
+     * @return {@code true} if the index is built and not invalidated
+     */
+    public boolean isLoaded() {
+        return deployments != null;
+    }
+
+    /**
+     * Finds the deployments of a policy in the active pdp groups supporting a policy type.
+     *
+     * @param policyId the ID of policy, compared ignoring case
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     *
+     * @return the deployments, empty if the index is not loaded
+     */
+    public List<Deployment> getDeployments(final String policyId, final String policyTypeId,
+            final String policyTypeVersion) {
+        Map<String, List<Deployment>> currentDeployments = deployments;
+        if (currentDeployments == null) {
+            return Collections.emptyList();
+        }
+
+        ToscaPolicyTypeIdentifier policyType = new ToscaPolicyTypeIdentifier(policyTypeId, policyTypeVersion);
+        List<Deployment> matchingDeployments = new ArrayList<>();
+        for (Deployment deployment : currentDeployments.getOrDefault(policyId.toLowerCase(Locale.ROOT),
+                Collections.emptyList())) {
+            if (deployment.supportedPolicyTypes.contains(policyType)) {
+                matchingDeployments.add(deployment);
+            }
+        }
+        return matchingDeployments;
+    }
+
+    /**
+     * Finds the pdp groups referencing a policy, whatever their state.
+     *
+     * @param policyId the ID of policy
+     * @param policyVersion the version of policy
+     * @param policyTypeId the ID of policy type supported by the pdp groups, {@code null} for any policy type
+     * @param policyTypeVersion the version of policy type supported by the pdp groups
+     *
+     * @return the names and versions of the pdp groups, {@code null} if the index is not loaded or has not been
+     *         rebuilt since it was restored
+     */
+    public List<Pair<String, String>> getReferencingGroups(final String policyId, final String policyVersion,
+            final String policyTypeId, final String policyTypeVersion) {
+        Map<ToscaPolicyIdentifier, List<Deployment>> currentReferences = references;
+        if (currentReferences == null) {
+            return null;
+        }
+
+        ToscaPolicyTypeIdentifier policyType =
+                policyTypeId == null ? null : new ToscaPolicyTypeIdentifier(policyTypeId, policyTypeVersion);
+        Set<Pair<String, String>> pdpGroups = new LinkedHashSet<>();
+        for (Deployment deployment : currentReferences.getOrDefault(
+                new ToscaPolicyIdentifier(policyId, policyVersion), Collections.emptyList())) {
+            if (policyType == null || deployment.supportedPolicyTypes.contains(policyType)) {
+                pdpGroups.add(deployment.pdpGroup);
+            }
+        }
+        return new ArrayList<>(pdpGroups);
+    }
+
+    /**
+     * Stops the rebuilds of the index.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Creates an index of a list of pdp groups that is not rebuilt.
+     *
+     * @param pdpGroups the pdp groups
+     *
+     * @return the index
+     */
+    public static DeployedPolicyIndex of(final List<PdpGroup> pdpGroups) {
+        DeployedPolicyIndex index = new DeployedPolicyIndex(0);
+        index.update(pdpGroups);
+        return index;
+    }
+
+    /**
+     * Checks whether a pdp group has an active pdp.
+     *
+     * @param pdpGroup the pdp group
+     *
+     * @return {@code true} if one of the pdps of the group is active
+     */
+    private static boolean hasActivePdp(final PdpGroup pdpGroup) {
+        for (PdpSubGroup pdpSubGroup : pdpGroup.getPdpSubgroups()) {
+            for (Pdp pdp : pdpSubGroup.getPdpInstances()) {
+                if (pdp.getPdpState() == PdpState.ACTIVE) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
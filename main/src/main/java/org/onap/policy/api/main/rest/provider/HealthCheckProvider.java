@@ -23,6 +23,7 @@
 
 package org.onap.policy.api.main.rest.provider;
 
+import java.util.List;
 import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
 
@@ -34,6 +35,9 @@ public class HealthCheckProvider {
 
     private static final String NOT_ALIVE = "not alive";
     private static final String ALIVE = "alive";
+    private static final String STARTING = "starting";
+    private static final String READY = "ready";
+    private static final String NOT_READY = "not ready: ";
     private static final String URL = "self";
     private static final String NAME = "Policy API";
 
@@ -46,9 +50,56 @@ public class HealthCheckProvider {
         final HealthCheckReport report = new HealthCheckReport();
         report.setName(NAME);
         report.setUrl(URL);
+        if (ApiActivator.isStarting()) {
+            report.setHealthy(false);
+            report.setCode(503);
+            report.setMessage(STARTING);
+            return report;
+        }
         report.setHealthy(ApiActivator.isAlive());
         report.setCode(ApiActivator.isAlive() ? 200 : 500);
         report.setMessage(ApiActivator.isAlive() ? ALIVE : NOT_ALIVE);
         return report;
     }
+
+    /**
+     * Performs the liveness check of api service, whether the service is running and need not be restarted.
+     *
+     * @return Report containing liveness status
+     */
+    public HealthCheckReport performLivenessCheck() {
+        final HealthCheckReport report = new HealthCheckReport();
+        report.setName(NAME);
+        report.setUrl(URL);
+        report.setHealthy(ApiActivator.isAlive());
+        report.setCode(ApiActivator.isAlive() ? 200 : 503);
+        report.setMessage(ApiActivator.isAlive() ? ALIVE : NOT_ALIVE);
+        return report;
+    }
+
+    /**
+     * Performs the readiness check of api service, whether the service can serve requests. The report is built from
+     * the last background check of {@link ReadinessMonitor}, the database is not queried.
+     *
+     * @return Report containing readiness status
+     */
+    public HealthCheckReport performReadinessCheck() {
+        final HealthCheckReport report = new HealthCheckReport();
+        report.setName(NAME);
+        report.setUrl(URL);
+
+        final ReadinessMonitor monitor = ApiActivator.getReadinessMonitor();
+        if (!ApiActivator.isAlive() || monitor == null) {
+            report.setHealthy(false);
+            report.setCode(503);
+            report.setMessage(NOT_ALIVE);
+            return report;
+        }
+
+        final List<String> problems = monitor.getProblems();
+        report.setHealthy(problems.isEmpty());
+        report.setCode(problems.isEmpty() ? 200 : 503);
+        report.setMessage(problems.isEmpty() ? READY : NOT_READY + String.join(", ", problems));
+        return report;
+    }
 }
@@ -26,14 +26,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import javax.ws.rs.core.Response;
-import org.onap.policy.api.main.parameters.ApiParameterGroup;
-import org.onap.policy.common.parameters.ParameterService;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.JsonResponseCache;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
 import org.onap.policy.models.pdp.concepts.PdpGroupFilter;
 import org.onap.policy.models.provider.PolicyModelsProvider;
-import org.onap.policy.models.provider.PolicyModelsProviderFactory;
-import org.onap.policy.models.provider.PolicyModelsProviderParameters;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
 import org.onap.policy.models.tosca.legacy.concepts.LegacyGuardPolicyInput;
 import org.onap.policy.models.tosca.legacy.concepts.LegacyGuardPolicyOutput;
@@ -48,13 +48,11 @@ public class LegacyGuardPolicyProvider implements AutoCloseable {
     private PolicyModelsProvider modelsProvider;
 
     /**
-     * Default constructor.
+     * Default constructor, leases a database provider for the lifetime of this object.
      */
     public LegacyGuardPolicyProvider() throws PfModelException {
 
-        ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
-        PolicyModelsProviderParameters providerParameters = parameterGroup.getDatabaseProviderParameters();
-        modelsProvider = new PolicyModelsProviderFactory().createPolicyModelsProvider(providerParameters);
+        modelsProvider = PolicyModelsProviderPool.acquireProvider();
     }
 
     /**
@@ -84,7 +82,10 @@ public class LegacyGuardPolicyProvider implements AutoCloseable {
     public Map<String, LegacyGuardPolicyOutput> createGuardPolicy(LegacyGuardPolicyInput body)
             throws PfModelException {
 
-        return modelsProvider.createGuardPolicy(body);
+        Map<String, LegacyGuardPolicyOutput> policies = modelsProvider.createGuardPolicy(body);
+        policies.keySet().forEach(this::invalidatePolicyCache);
+
+        return policies;
     }
 
     /**
@@ -98,10 +99,42 @@ public class LegacyGuardPolicyProvider implements AutoCloseable {
     public Map<String, LegacyGuardPolicyOutput> deleteGuardPolicy(String policyId, String policyVersion)
             throws PfModelException {
 
-        validateLegacyGuardPolicyVersion(policyVersion);
-        validateDeleteEligibility(policyId, policyVersion);
+        ApiLatencyStatistics.startValidation();
+        try {
+            validateLegacyGuardPolicyVersion(policyVersion);
+            validateDeleteEligibility(policyId, policyVersion);
+        } finally {
+            ApiLatencyStatistics.stopValidation();
+        }
+
+        Map<String, LegacyGuardPolicyOutput> policies = modelsProvider.deleteGuardPolicy(policyId, policyVersion);
+        invalidatePolicyCache(policyId);
+
+        return policies;
+    }
+
+    /**
+     * Drops all cached versions and GET responses of a policy changed through the legacy operations, and the
+     * policy reference index.
+     *
+     * @param policyId the ID of policy
+     */
+    private void invalidatePolicyCache(String policyId) {
+
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null) {
+            policyCache.invalidatePolicy(policyId);
+        }
+
+        PolicyReferenceIndex referenceIndex = ApiActivator.getPolicyReferenceIndex();
+        if (referenceIndex != null) {
+            referenceIndex.invalidate();
+        }
 
-        return modelsProvider.deleteGuardPolicy(policyId, policyVersion);
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache != null) {
+            responseCache.policiesChanged();
+        }
     }
 
     /**
@@ -114,11 +147,26 @@ public class LegacyGuardPolicyProvider implements AutoCloseable {
      */
     private void validateDeleteEligibility(String policyId, String policyVersion) throws PfModelException {
 
+        // The index lags PAP by up to a rebuild, it settles a referenced policy but an unreferenced one is confirmed
+        // against the pdp groups
+        DeployedPolicyIndex deployedPolicyIndex = ApiActivator.getDeployedPolicyIndex();
+        if (deployedPolicyIndex != null) {
+            List<Pair<String, String>> pdpGroups =
+                    deployedPolicyIndex.getReferencingGroups(policyId, policyVersion, null, null);
+            if (pdpGroups != null && !pdpGroups.isEmpty()) {
+                throw new PfModelException(Response.Status.CONFLICT,
+                        constructDeleteRuleViolationMessage(policyId, policyVersion, pdpGroups));
+            }
+        }
+
         List<ToscaPolicyIdentifier> policies = new ArrayList<>();
         policies.add(new ToscaPolicyIdentifier(policyId, policyVersion));
         PdpGroupFilter pdpGroupFilter = PdpGroupFilter.builder().policyList(policies).build();
 
-        List<PdpGroup> pdpGroups = modelsProvider.getFilteredPdpGroups(pdpGroupFilter);
+        List<Pair<String, String>> pdpGroups = new ArrayList<>();
+        for (PdpGroup pdpGroup : modelsProvider.getFilteredPdpGroups(pdpGroupFilter)) {
+            pdpGroups.add(Pair.of(pdpGroup.getName(), pdpGroup.getVersion()));
+        }
 
         if (!pdpGroups.isEmpty()) {
             throw new PfModelException(Response.Status.CONFLICT,
@@ -148,16 +196,16 @@ public class LegacyGuardPolicyProvider implements AutoCloseable {
      *
      * @param policyId the ID of policy
      * @param policyVersion the version of policy
-     * @param pdpGroups the list of pdp groups
+     * @param pdpGroups the names and versions of the pdp groups
      *
      * @return the constructed message
      */
     private String constructDeleteRuleViolationMessage(
-            String policyId, String policyVersion, List<PdpGroup> pdpGroups) {
+            String policyId, String policyVersion, List<Pair<String, String>> pdpGroups) {
 
         List<String> pdpGroupNameVersionList = new ArrayList<>();
-        for (PdpGroup pdpGroup : pdpGroups) {
-            pdpGroupNameVersionList.add(pdpGroup.getName() + ":" + pdpGroup.getVersion());
+        for (Pair<String, String> pdpGroup : pdpGroups) {
+            pdpGroupNameVersionList.add(pdpGroup.getLeft() + ":" + pdpGroup.getRight());
         }
         String deployedPdpGroups = String.join(",", pdpGroupNameVersionList);
         return "policy with ID " + policyId + ":" + policyVersion
@@ -165,13 +213,13 @@ public class LegacyGuardPolicyProvider implements AutoCloseable {
     }
 
     /**
-     * Closes the connection to database.
+     * Returns the database provider to the pool or closes it if it is not pooled.
      *
      * @throws PfModelException the PfModel parsing exception
      */
     @Override
     public void close() throws PfModelException {
 
-        modelsProvider.close();
+        PolicyModelsProviderPool.releaseProvider(modelsProvider);
     }
 }
\ No newline at end of file
@@ -25,14 +25,14 @@ package org.onap.policy.api.main.rest.provider;
 import java.util.ArrayList;
 import java.util.List;
 import javax.ws.rs.core.Response;
-import org.onap.policy.api.main.parameters.ApiParameterGroup;
-import org.onap.policy.common.parameters.ParameterService;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.JsonResponseCache;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
 import org.onap.policy.models.pdp.concepts.PdpGroupFilter;
 import org.onap.policy.models.provider.PolicyModelsProvider;
-import org.onap.policy.models.provider.PolicyModelsProviderFactory;
-import org.onap.policy.models.provider.PolicyModelsProviderParameters;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
 import org.onap.policy.models.tosca.legacy.concepts.LegacyOperationalPolicy;
 
@@ -46,13 +46,11 @@ public class LegacyOperationalPolicyProvider implements AutoCloseable {
     private PolicyModelsProvider modelsProvider;
 
     /**
-     * Default constructor.
+     * Default constructor, leases a database provider for the lifetime of this object.
      */
     public LegacyOperationalPolicyProvider() throws PfModelException {
 
-        ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
-        PolicyModelsProviderParameters providerParameters = parameterGroup.getDatabaseProviderParameters();
-        modelsProvider = new PolicyModelsProviderFactory().createPolicyModelsProvider(providerParameters);
+        modelsProvider = PolicyModelsProviderPool.acquireProvider();
     }
 
     /**
@@ -81,7 +79,10 @@ public class LegacyOperationalPolicyProvider implements AutoCloseable {
      */
     public LegacyOperationalPolicy createOperationalPolicy(LegacyOperationalPolicy body) throws PfModelException {
 
-        return modelsProvider.createOperationalPolicy(body);
+        LegacyOperationalPolicy policy = modelsProvider.createOperationalPolicy(body);
+        invalidatePolicyCache(policy.getPolicyId());
+
+        return policy;
     }
 
     /**
@@ -95,10 +96,42 @@ public class LegacyOperationalPolicyProvider implements AutoCloseable {
     public LegacyOperationalPolicy deleteOperationalPolicy(String policyId, String policyVersion)
             throws PfModelException {
 
-        validateLegacyOperationalPolicyVersion(policyVersion);
-        validateDeleteEligibility(policyId, policyVersion);
+        ApiLatencyStatistics.startValidation();
+        try {
+            validateLegacyOperationalPolicyVersion(policyVersion);
+            validateDeleteEligibility(policyId, policyVersion);
+        } finally {
+            ApiLatencyStatistics.stopValidation();
+        }
+
+        LegacyOperationalPolicy policy = modelsProvider.deleteOperationalPolicy(policyId, policyVersion);
+        invalidatePolicyCache(policyId);
+
+        return policy;
+    }
+
+    /**
+     * Drops all cached versions and GET responses of a policy changed through the legacy operations, and the
+     * policy reference index.
+     *
+     * @param policyId the ID of policy
+     */
+    private void invalidatePolicyCache(String policyId) {
+
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null) {
+            policyCache.invalidatePolicy(policyId);
+        }
+
+        PolicyReferenceIndex referenceIndex = ApiActivator.getPolicyReferenceIndex();
+        if (referenceIndex != null) {
+            referenceIndex.invalidate();
+        }
 
-        return modelsProvider.deleteOperationalPolicy(policyId, policyVersion);
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache != null) {
+            responseCache.policiesChanged();
+        }
     }
 
     /**
@@ -111,11 +144,26 @@ public class LegacyOperationalPolicyProvider implements AutoCloseable {
      */
     private void validateDeleteEligibility(String policyId, String policyVersion) throws PfModelException {
 
+        // The index lags PAP by up to a rebuild, it settles a referenced policy but an unreferenced one is confirmed
+        // against the pdp groups
+        DeployedPolicyIndex deployedPolicyIndex = ApiActivator.getDeployedPolicyIndex();
+        if (deployedPolicyIndex != null) {
+            List<Pair<String, String>> pdpGroups =
+                    deployedPolicyIndex.getReferencingGroups(policyId, policyVersion, null, null);
+            if (pdpGroups != null && !pdpGroups.isEmpty()) {
+                throw new PfModelException(Response.Status.CONFLICT,
+                        constructDeleteRuleViolationMessage(policyId, policyVersion, pdpGroups));
+            }
+        }
+
         List<ToscaPolicyIdentifier> policies = new ArrayList<>();
         policies.add(new ToscaPolicyIdentifier(policyId, policyVersion));
         PdpGroupFilter pdpGroupFilter = PdpGroupFilter.builder().policyList(policies).build();
 
-        List<PdpGroup> pdpGroups = modelsProvider.getFilteredPdpGroups(pdpGroupFilter);
+        List<Pair<String, String>> pdpGroups = new ArrayList<>();
+        for (PdpGroup pdpGroup : modelsProvider.getFilteredPdpGroups(pdpGroupFilter)) {
+            pdpGroups.add(Pair.of(pdpGroup.getName(), pdpGroup.getVersion()));
+        }
 
         if (!pdpGroups.isEmpty()) {
             throw new PfModelException(Response.Status.CONFLICT,
@@ -145,16 +193,16 @@ public class LegacyOperationalPolicyProvider implements AutoCloseable {
      *
      * @param policyId the ID of policy
      * @param policyVersion the version of policy
-     * @param pdpGroups the list of pdp groups
+     * @param pdpGroups the names and versions of the pdp groups
      *
      * @return the constructed message
      */
     private String constructDeleteRuleViolationMessage(
-            String policyId, String policyVersion, List<PdpGroup> pdpGroups) {
+            String policyId, String policyVersion, List<Pair<String, String>> pdpGroups) {
 
         List<String> pdpGroupNameVersionList = new ArrayList<>();
-        for (PdpGroup pdpGroup : pdpGroups) {
-            pdpGroupNameVersionList.add(pdpGroup.getName() + ":" + pdpGroup.getVersion());
+        for (Pair<String, String> pdpGroup : pdpGroups) {
+            pdpGroupNameVersionList.add(pdpGroup.getLeft() + ":" + pdpGroup.getRight());
         }
         String deployedPdpGroups = String.join(",", pdpGroupNameVersionList);
         return "policy with ID " + policyId + ":" + policyVersion
@@ -162,13 +210,13 @@ public class LegacyOperationalPolicyProvider implements AutoCloseable {
     }
 
     /**
-     * Closes the connection to database.
+     * Returns the database provider to the pool or closes it if it is not pooled.
      *
      * @throws PfModelException the PfModel parsing exception
      */
     @Override
     public void close() throws PfModelException {
 
-        modelsProvider.close();
+        PolicyModelsProviderPool.releaseProvider(modelsProvider);
     }
 }
\ No newline at end of file
@@ -0,0 +1,347 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+
+/**
+ * Class to cache policies and an index of the latest version of each policy.
+ *
+ * <p>Policies are held as single-policy service templates keyed by policy name and version. The latest version
+ * index is keyed by policy type, policy type version and policy name, so that latest version lookups are answered
+ * without a database query once the index is warm. Both are updated incrementally when policies are created and
+ * deleted.
+ */
+public class PolicyCache {
+
+    /**
+     * Loads several policies that are missing from the cache with one database query.
+     */
+    @FunctionalInterface
+    public interface PoliciesLoader {
+        /**
+         * Loads policies.
+         *
+         * @param policyIds the names and versions of the policies
+         *
+         * @return a service template holding the policies that exist, it may hold other policies as well
+         *
+         * @throws PfModelException if the policies cannot be loaded
+         */
+        ToscaServiceTemplate load(Collection<Pair<String, String>> policyIds) throws PfModelException;
+    }
+
+    private final ApiCache<Pair<String, String>, ToscaServiceTemplate> policies;
+    private final ApiCache<Triple<String, String, String>, ToscaServiceTemplate> latestPolicies;
+
+    /**
+     * Constructs the object.
+     *
+     * @param maxEntries the maximum number of entries of the policy cache and of the latest version index
+     * @param timeToLive the time in milliseconds an entry stays valid
+     */
+    public PolicyCache(final int maxEntries, final long timeToLive) {
+        ServiceTemplateFreezer freezer = new ServiceTemplateFreezer();
+        policies = new ApiCache<>(maxEntries, timeToLive, freezer);
+        latestPolicies = new ApiCache<>(maxEntries, timeToLive, freezer);
+    }
+
+    /**
+     * Retrieves a specific version of a policy, querying the database on a cache miss.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     * @param policyId the ID of policy
+     * @param policyVersion the version of policy
+     * @param loader the database query for the policy
+     *
+     * @return the ToscaServiceTemplate object containing the policy, or {@code null} if it does not exist
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    public ToscaServiceTemplate getPolicy(String policyTypeId, String policyTypeVersion, String policyId,
+            String policyVersion, ApiCache.Loader<ToscaServiceTemplate> loader) throws PfModelException {
+
+        ToscaServiceTemplate serviceTemplate =
+                policies.get(Pair.of(policyId, policyVersion), () -> nonEmpty(loader.load()));
+        if (serviceTemplate == null || isOfType(serviceTemplate, policyTypeId, policyTypeVersion)) {
+            return serviceTemplate;
+        }
+
+        // The cached policy belongs to another policy type, let the database answer the query
+        return nonEmpty(loader.load());
+    }
+
+    /**
+     * Retrieves specific versions of several policies, querying the database once for all the cache misses.
+     *
+     * @param policyIds the names and versions of the policies
+     * @param loader the database query for the policies missing from the cache
+     *
+     * @return the single-policy service templates of the policies that exist, keyed by policy name and version in
+     *         the order of the requested policies
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    public Map<Pair<String, String>, ToscaServiceTemplate> getPolicies(Collection<Pair<String, String>> policyIds,
+            PoliciesLoader loader) throws PfModelException {
+
+        return policies.getAll(policyIds, missingIds -> selectPolicies(loader.load(missingIds), missingIds));
+    }
+
+    /**
+     * Retrieves the latest version of a policy, querying the database on a cache miss.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     * @param policyId the ID of policy
+     * @param loader the database query for the latest version of the policy
+     *
+     * @return the ToscaServiceTemplate object containing the policy, or {@code null} if it does not exist
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    public ToscaServiceTemplate getLatestPolicy(String policyTypeId, String policyTypeVersion, String policyId,
+            ApiCache.Loader<ToscaServiceTemplate> loader) throws PfModelException {
+
+        return latestPolicies.get(Triple.of(policyTypeId, policyTypeVersion, policyId), () -> nonEmpty(loader.load()));
+    }
+
+    /**
+     * Adds created policies to the cache and moves the latest version index forward where they are newer.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     * @param createdPolicies the ToscaServiceTemplate object returned by the database
+     */
+    public void policiesCreated(String policyTypeId, String policyTypeVersion,
+            ToscaServiceTemplate createdPolicies) {
+
+        for (ToscaPolicy policy : flattenPolicies(createdPolicies)) {
+            ToscaServiceTemplate serviceTemplate = makeServiceTemplate(createdPolicies, policy);
+            policies.put(Pair.of(policy.getName(), policy.getVersion()), serviceTemplate);
+
+            Triple<String, String, String> latestKey = Triple.of(policyTypeId, policyTypeVersion, policy.getName());
+            ToscaServiceTemplate latest = latestPolicies.peek(latestKey);
+            if (latest != null
+                    && compareVersions(policy.getVersion(), flattenPolicies(latest).get(0).getVersion()) >= 0) {
+                latestPolicies.put(latestKey, serviceTemplate);
+            }
+
+            // policy names are not expected to be shared between policy types, drop any other indexed entries
+            latestPolicies.invalidateIf((key, value) -> policy.getName().equals(key.getRight())
+                    && !latestKey.equals(key));
+        }
+    }
+
+    /**
+     * Removes a deleted policy from the cache and from the latest version index.
+     *
+     * @param policyId the ID of policy
+     * @param policyVersion the version of policy
+     */
+    public void policyDeleted(String policyId, String policyVersion) {
+
+        policies.invalidateIf((key, value) -> policyId.equals(key.getLeft()) && policyVersion.equals(key.getRight()));
+
+        // Only entries indexing the deleted version are affected, they are reloaded on their next lookup
+        latestPolicies.invalidateIf((key, value) -> policyId.equals(key.getRight())
+                && policyVersion.equals(flattenPolicies(value).get(0).getVersion()));
+    }
+
+    /**
+     * Removes all versions of a policy that was changed by other means than the TOSCA policy operations.
+     *
+     * @param policyId the ID of policy
+     */
+    public void invalidatePolicy(String policyId) {
+
+        policies.invalidateIf((key, value) -> policyId.equals(key.getLeft()));
+        latestPolicies.invalidateIf((key, value) -> policyId.equals(key.getRight()));
+    }
+
+    /**
+     * Visits the cached policies that have not expired, least recently used first.
+     *
+     * @param visitor the visitor of the single-policy service templates, keyed by policy name and version
+     */
+    public void forEachPolicy(ApiCache.EntryVisitor<Pair<String, String>, ToscaServiceTemplate> visitor) {
+        policies.forEach(visitor);
+    }
+
+    /**
+     * Restores a policy saved from another cache, see {@link ApiCache#restore(Object, Object)}.
+     *
+     * @param policyId the ID of policy
+     * @param policyVersion the version of policy
+     * @param serviceTemplate the single-policy service template
+     */
+    public void restorePolicy(String policyId, String policyVersion, ToscaServiceTemplate serviceTemplate) {
+        policies.restore(Pair.of(policyId, policyVersion), serviceTemplate);
+    }
+
+    public long getHitCount() {
+        return policies.getHitCount() + latestPolicies.getHitCount();
+    }
+
+    public long getMissCount() {
+        return policies.getMissCount() + latestPolicies.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return policies.getEvictionCount() + latestPolicies.getEvictionCount();
+    }
+
+    /**
+     * Selects policies from a service template.
+     *
+     * @param serviceTemplate the service template
+     * @param policyIds the names and versions of the policies to select
+     *
+     * @return a single-policy service template for each selected policy found, keyed by policy name and version
+     */
+    public static Map<Pair<String, String>, ToscaServiceTemplate> selectPolicies(
+            ToscaServiceTemplate serviceTemplate, Collection<Pair<String, String>> policyIds) {
+
+        Set<Pair<String, String>> selectedIds = new HashSet<>(policyIds);
+        Map<Pair<String, String>, ToscaServiceTemplate> selectedPolicies = new LinkedHashMap<>();
+        for (ToscaPolicy policy : flattenPolicies(serviceTemplate)) {
+            Pair<String, String> policyId = Pair.of(policy.getName(), policy.getVersion());
+            if (selectedIds.contains(policyId)) {
+                selectedPolicies.put(policyId, makeServiceTemplate(serviceTemplate, policy));
+            }
+        }
+        return selectedPolicies;
+    }
+
+    /**
+     * Compares two policy versions, numerically for each dotted part where possible.
+     *
+     * @param left the first version
+     * @param right the second version
+     *
+     * @return a negative number, zero or a positive number as the first version is older than, equal to or newer
+     *         than the second
+     */
+    static int compareVersions(String left, String right) {
+
+        String[] leftParts = left.split("\\.");
+        String[] rightParts = right.split("\\.");
+        for (int i = 0; i < Math.max(leftParts.length, rightParts.length); i++) {
+            String leftPart = (i < leftParts.length ? leftParts[i] : "0");
+            String rightPart = (i < rightParts.length ? rightParts[i] : "0");
+            int result;
+            try {
+                result = Long.compare(Long.parseLong(leftPart), Long.parseLong(rightPart));
+            } catch (NumberFormatException exc) {
+                result = leftPart.compareTo(rightPart);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Creates a service template holding a single policy of another service template.
+     *
+     * @param source the service template the policy was read from
+     * @param policy the policy
+     *
+     * @return the new service template
+     */
+    private static ToscaServiceTemplate makeServiceTemplate(ToscaServiceTemplate source, ToscaPolicy policy) {
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(new ArrayList<>(
+                Collections.singletonList(Collections.singletonMap(policy.getName(), policy))));
+
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setName(source.getName());
+        serviceTemplate.setVersion(source.getVersion());
+        serviceTemplate.setToscaDefinitionsVersion(source.getToscaDefinitionsVersion());
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+
+    /**
+     * Checks whether the policy of a single-policy service template is of a policy type.
+     *
+     * @param serviceTemplate the service template
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     *
+     * @return {@code true} if the policy is of the policy type
+     */
+    private boolean isOfType(ToscaServiceTemplate serviceTemplate, String policyTypeId, String policyTypeVersion) {
+
+        ToscaPolicy policy = flattenPolicies(serviceTemplate).get(0);
+        return policyTypeId.equals(policy.getType()) && policyTypeVersion.equals(policy.getTypeVersion());
+    }
+
+    /**
+     * Returns a service template if it holds at least one policy.
+     *
+     * @param serviceTemplate the service template
+     *
+     * @return the service template, or {@code null} if it holds no policy
+     */
+    private static ToscaServiceTemplate nonEmpty(ToscaServiceTemplate serviceTemplate) {
+
+        return (flattenPolicies(serviceTemplate).isEmpty() ? null : serviceTemplate);
+    }
+
+    /**
+     * Flattens the policies of a service template.
+     *
+     * @param serviceTemplate the service template
+     *
+     * @return the list of policies
+     */
+    private static List<ToscaPolicy> flattenPolicies(ToscaServiceTemplate serviceTemplate) {
+
+        List<ToscaPolicy> policyList = new ArrayList<>();
+        if (serviceTemplate == null || serviceTemplate.getToscaTopologyTemplate() == null
+                || serviceTemplate.getToscaTopologyTemplate().getPolicies() == null) {
+            return policyList;
+        }
+        for (Map<String, ToscaPolicy> policyMap : serviceTemplate.getToscaTopologyTemplate().getPolicies()) {
+            policyList.addAll(policyMap.values());
+        }
+        return policyList;
+    }
+}
@@ -0,0 +1,341 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.ws.rs.core.Response;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+import org.onap.policy.models.base.PfKey;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+
+/**
+ * Class to list policy types and policies one page at a time, optionally with only some of their fields.
+ *
+ * <p>The offset, the limit and the projection are part of the database query, so neither the rows outside the
+ * page nor the property maps of a projected listing are read.
+ */
+public class PolicyDirectory implements AutoCloseable {
+
+    public static final Set<String> POLICY_TYPE_FIELDS = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("name", "version", "derived_from", "description")));
+    public static final Set<String> POLICY_FIELDS = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("name", "version", "type", "type_version", "description")));
+
+    private static final String TOSCA_DEFINITIONS_VERSION = "tosca_simple_yaml_1_0_0";
+    private static final String ORDER = " ORDER BY e.key.name, e.key.version";
+    private static final String POLICY_TYPE_CONDITION =
+            " WHERE e.type.name = :typeName AND e.type.version = :typeVersion";
+
+    // Bounds the number of bind parameters of a keyed query
+    private static final int MAX_KEYS_PER_QUERY = 100;
+
+    private final ReadOnlyDatabase database;
+
+    /**
+     * Constructs the object, using the database owned by the activator when the api is running as a service.
+     */
+    public PolicyDirectory() {
+        this.database = ReadOnlyDatabase.acquireDatabase();
+    }
+
+    /**
+     * Lists a page of the policy types.
+     *
+     * @param offset the number of policy types to skip, {@code null} for none
+     * @param limit the maximum number of policy types, {@code null} for no limit
+     * @param fields the comma separated fields of each policy type, {@code null} for the whole policy types
+     *
+     * @return the ToscaServiceTemplate object holding the page, empty past the last policy type
+     *
+     * @throws PfModelException if a parameter is invalid
+     */
+    public ToscaServiceTemplate listPolicyTypes(Integer offset, Integer limit, String fields)
+            throws PfModelException {
+
+        Set<String> selectedFields = parseFields(fields, POLICY_TYPE_FIELDS);
+        List<Map<String, ToscaPolicyType>> policyTypes = new ArrayList<>();
+
+        EntityManager entityManager = database.createEntityManager();
+        try {
+            if (selectedFields == null) {
+                Query query = entityManager.createQuery("SELECT e FROM JpaToscaPolicyType e" + ORDER,
+                        JpaToscaPolicyType.class);
+                for (Object entity : page(query, offset, limit).getResultList()) {
+                    ToscaPolicyType policyType = ((JpaToscaPolicyType) entity).toAuthorative();
+                    policyTypes.add(Collections.singletonMap(policyType.getName(), policyType));
+                }
+            } else {
+                Query query = entityManager.createQuery("SELECT e.key.name, e.key.version, e.derivedFrom.name,"
+                        + " e.description FROM JpaToscaPolicyType e" + ORDER);
+                for (Object row : page(query, offset, limit).getResultList()) {
+                    Object[] columns = (Object[]) row;
+                    ToscaPolicyType policyType = new ToscaPolicyType();
+                    policyType.setName((String) columns[0]);
+                    policyType.setVersion((String) columns[1]);
+                    if (selectedFields.contains("derived_from")) {
+                        policyType.setDerivedFrom(keyName((String) columns[2]));
+                    }
+                    if (selectedFields.contains("description")) {
+                        policyType.setDescription((String) columns[3]);
+                    }
+                    policyTypes.add(Collections.singletonMap(policyType.getName(), policyType));
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+        serviceTemplate.setPolicyTypes(policyTypes);
+        return serviceTemplate;
+    }
+
+    /**
+     * Lists a page of the policies of a policy type.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     * @param offset the number of policies to skip, {@code null} for none
+     * @param limit the maximum number of policies, {@code null} for no limit
+     * @param fields the comma separated fields of each policy, {@code null} for the whole policies
+     *
+     * @return the ToscaServiceTemplate object holding the page, empty past the last policy
+     *
+     * @throws PfModelException if a parameter is invalid or the policy type does not exist
+     */
+    public ToscaServiceTemplate listPolicies(String policyTypeId, String policyTypeVersion, Integer offset,
+            Integer limit, String fields) throws PfModelException {
+
+        Set<String> selectedFields = parseFields(fields, POLICY_FIELDS);
+        List<Map<String, ToscaPolicy>> policies = new ArrayList<>();
+
+        EntityManager entityManager = database.createEntityManager();
+        try {
+            // An empty page of an existing policy type is not an error, a page of a missing one is
+            Number policyTypeCount = (Number) entityManager.createQuery("SELECT COUNT(e) FROM JpaToscaPolicyType e"
+                    + " WHERE e.key.name = :typeName AND e.key.version = :typeVersion")
+                    .setParameter("typeName", policyTypeId).setParameter("typeVersion", policyTypeVersion)
+                    .getSingleResult();
+            if (policyTypeCount.longValue() == 0) {
+                throw new PfModelException(Response.Status.NOT_FOUND,
+                        "policy type with ID " + policyTypeId + ":" + policyTypeVersion + " does not exist");
+            }
+
+            if (selectedFields == null) {
+                Query query = entityManager.createQuery("SELECT e FROM JpaToscaPolicy e" + POLICY_TYPE_CONDITION
+                        + ORDER, JpaToscaPolicy.class);
+                for (Object entity : page(query, offset, limit).setParameter("typeName", policyTypeId)
+                        .setParameter("typeVersion", policyTypeVersion).getResultList()) {
+                    ToscaPolicy policy = ((JpaToscaPolicy) entity).toAuthorative();
+                    policies.add(Collections.singletonMap(policy.getName(), policy));
+                }
+            } else {
+                Query query = entityManager.createQuery("SELECT e.key.name, e.key.version, e.description"
+                        + " FROM JpaToscaPolicy e" + POLICY_TYPE_CONDITION + ORDER);
+                for (Object row : page(query, offset, limit).setParameter("typeName", policyTypeId)
+                        .setParameter("typeVersion", policyTypeVersion).getResultList()) {
+                    Object[] columns = (Object[]) row;
+                    ToscaPolicy policy = new ToscaPolicy();
+                    policy.setName((String) columns[0]);
+                    policy.setVersion((String) columns[1]);
+                    if (selectedFields.contains("type")) {
+                        policy.setType(policyTypeId);
+                    }
+                    if (selectedFields.contains("type_version")) {
+                        policy.setTypeVersion(policyTypeVersion);
+                    }
+                    if (selectedFields.contains("description")) {
+                        policy.setDescription((String) columns[2]);
+                    }
+                    policies.add(Collections.singletonMap(policy.getName(), policy));
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(policies);
+        ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+
+    /**
+     * Gets specific versions of several policies, querying the database on their keys rather than on all policies.
+     *
+     * @param policyIds the IDs and versions of the policies
+     *
+     * @return the ToscaServiceTemplate object holding the policies that exist
+     */
+    public ToscaServiceTemplate getPolicies(Collection<Pair<String, String>> policyIds) {
+
+        List<Map<String, ToscaPolicy>> policies = new ArrayList<>();
+
+        EntityManager entityManager = database.createEntityManager();
+        try {
+            Iterator<Pair<String, String>> policyIdIterator = policyIds.iterator();
+            while (policyIdIterator.hasNext()) {
+                List<Pair<String, String>> keys = new ArrayList<>();
+                StringBuilder condition = new StringBuilder();
+                while (policyIdIterator.hasNext() && keys.size() < MAX_KEYS_PER_QUERY) {
+                    condition.append(keys.isEmpty() ? " WHERE " : " OR ").append("(e.key.name = :name")
+                            .append(keys.size()).append(" AND e.key.version = :version").append(keys.size())
+                            .append(')');
+                    keys.add(policyIdIterator.next());
+                }
+
+                Query query = entityManager.createQuery("SELECT e FROM JpaToscaPolicy e" + condition + ORDER,
+                        JpaToscaPolicy.class).setHint(QueryHints.READ_ONLY, HintValues.TRUE);
+                for (int index = 0; index < keys.size(); index++) {
+                    query.setParameter("name" + index, keys.get(index).getLeft())
+                            .setParameter("version" + index, keys.get(index).getRight());
+                }
+
+                long start = System.nanoTime();
+                List<?> entities = query.getResultList();
+                ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, System.nanoTime() - start);
+                for (Object entity : entities) {
+                    ToscaPolicy policy = ((JpaToscaPolicy) entity).toAuthorative();
+                    policies.add(Collections.singletonMap(policy.getName(), policy));
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(policies);
+        ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+
+    /**
+     * Returns the database if it is not owned by the activator.
+     */
+    @Override
+    public void close() {
+        ReadOnlyDatabase.releaseDatabase(database);
+    }
+
+    /**
+     * Parses the fields of a projection, the name and the version are always selected.
+     *
+     * @param fields the comma separated fields, {@code null} for no projection
+     * @param allowedFields the fields that may be selected
+     *
+     * @return the selected fields, or {@code null} for no projection
+     *
+     * @throws PfModelException if a field is not allowed
+     */
+    static Set<String> parseFields(String fields, Set<String> allowedFields) throws PfModelException {
+
+        if (fields == null) {
+            return null;
+        }
+
+        Set<String> selectedFields = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String selectedField = field.trim();
+            if (!allowedFields.contains(selectedField)) {
+                throw new PfModelException(Response.Status.BAD_REQUEST,
+                        "field " + selectedField + " is not one of " + allowedFields);
+            }
+            selectedFields.add(selectedField);
+        }
+        return selectedFields;
+    }
+
+    /**
+     * Restricts a query to a page.
+     *
+     * @param query the query
+     * @param offset the number of rows to skip, {@code null} for none
+     * @param limit the maximum number of rows, {@code null} for no limit
+     *
+     * @return the query
+     *
+     * @throws PfModelException if the offset or the limit is invalid
+     */
+    private static Query page(Query query, Integer offset, Integer limit) throws PfModelException {
+
+        if (offset != null) {
+            if (offset < 0) {
+                throw new PfModelException(Response.Status.BAD_REQUEST, "offset must not be negative");
+            }
+            query.setFirstResult(offset);
+        }
+        if (limit != null) {
+            if (limit <= 0) {
+                throw new PfModelException(Response.Status.BAD_REQUEST, "limit must be a positive integer");
+            }
+            query.setMaxResults(limit);
+        }
+        return query.setHint(QueryHints.READ_ONLY, HintValues.TRUE);
+    }
+
+    /**
+     * Converts the name of a stored key, the null key standing for no key.
+     *
+     * @param name the name of the key
+     *
+     * @return the name, or {@code null} for the null key
+     */
+    private static String keyName(String name) {
+
+        return (name == null || PfKey.NULL_KEY_NAME.equals(name) ? null : name);
+    }
+
+    /**
+     * Creates an empty service template.
+     *
+     * @return the service template
+     */
+    private static ToscaServiceTemplate makeServiceTemplate() {
+
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion(TOSCA_DEFINITIONS_VERSION);
+        return serviceTemplate;
+    }
+}
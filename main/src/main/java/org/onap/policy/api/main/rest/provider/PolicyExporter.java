@@ -0,0 +1,286 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.ws.rs.core.Response;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.models.base.PfConcept;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaDataType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+
+/**
+ * Class to export all data types, policy types and policies as newline-delimited JSON.
+ *
+ * <p>Each line is a service template holding a single data type, policy type or policy. Data types come first and
+ * policy types next, so that an import writes each entity after the ones it refers to. The tables
+ * are read in pages ordered by name and version, each page starting after the last key of the previous one, so
+ * that only one page of entities is held in memory whatever the size of the store.
+ */
+public class PolicyExporter {
+
+    public static final String NDJSON_TYPE = "application/x-ndjson";
+
+    private static final String TOSCA_DEFINITIONS_VERSION = "tosca_simple_yaml_1_0_0";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final ReadOnlyDatabase database;
+    private final int pageSize;
+    private final Coder coder = new StandardCoder();
+
+    /**
+     * Constructs the object.
+     *
+     * @param database the database to export
+     */
+    public PolicyExporter(final ReadOnlyDatabase database) {
+        this(database, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructs the object.
+     *
+     * @param database the database to export
+     * @param pageSize the number of entities read from the database at a time
+     */
+    public PolicyExporter(final ReadOnlyDatabase database, final int pageSize) {
+        this.database = database;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Writes all data types, then all policy types and then all policies.
+     *
+     * @param writer the writer of the export
+     *
+     * @return the number of lines written
+     *
+     * @throws PfModelException if an entity cannot be encoded
+     * @throws IOException if the export cannot be written
+     */
+    public long exportAll(final Writer writer) throws PfModelException, IOException {
+        return exportDataTypes(writer) + exportPolicyTypes(writer) + exportPolicies(writer);
+    }
+
+    /**
+     * Writes all data types, one per line.
+     *
+     * @param writer the writer of the export
+     *
+     * @return the number of data types written
+     *
+     * @throws PfModelException if a data type cannot be encoded
+     * @throws IOException if the export cannot be written
+     */
+    public long exportDataTypes(final Writer writer) throws PfModelException, IOException {
+        return exportEntities(JpaToscaDataType.class, writer, PolicyExporter::makeDataTypeTemplate);
+    }
+
+    /**
+     * Writes all policy types, one per line.
+     *
+     * @param writer the writer of the export
+     *
+     * @return the number of policy types written
+     *
+     * @throws PfModelException if a policy type cannot be encoded
+     * @throws IOException if the export cannot be written
+     */
+    public long exportPolicyTypes(final Writer writer) throws PfModelException, IOException {
+        return exportEntities(JpaToscaPolicyType.class, writer, PolicyExporter::makePolicyTypeTemplate);
+    }
+
+    /**
+     * Writes all policies, one per line.
+     *
+     * @param writer the writer of the export
+     *
+     * @return the number of policies written
+     *
+     * @throws PfModelException if a policy cannot be encoded
+     * @throws IOException if the export cannot be written
+     */
+    public long exportPolicies(final Writer writer) throws PfModelException, IOException {
+        return exportEntities(JpaToscaPolicy.class, writer, PolicyExporter::makePolicyTemplate);
+    }
+
+    /**
+     * Writes all data types, policy types and policies of the database owned by the activator or, when the api is not
+     * running as a service, of a dedicated database opened from the registered parameters.
+     *
+     * @param writer the writer of the export
+     *
+     * @return the number of lines written
+     *
+     * @throws PfModelException if an entity cannot be encoded
+     * @throws IOException if the export cannot be written
+     */
+    public static long exportAllPolicies(final Writer writer) throws PfModelException, IOException {
+        ReadOnlyDatabase database = ReadOnlyDatabase.acquireDatabase();
+        try {
+            return new PolicyExporter(database).exportAll(writer);
+        } finally {
+            ReadOnlyDatabase.releaseDatabase(database);
+        }
+    }
+
+    /**
+     * Writes all entities of a table, reading them one page at a time.
+     *
+     * @param entityClass the class of the entities
+     * @param writer the writer of the export
+     * @param converter the conversion of an entity to the service template written for it
+     *
+     * @return the number of entities written
+     *
+     * @throws PfModelException if an entity cannot be encoded
+     * @throws IOException if the export cannot be written
+     */
+    private <J extends PfConcept> long exportEntities(final Class<J> entityClass, final Writer writer,
+            final Function<J, ToscaServiceTemplate> converter) throws PfModelException, IOException {
+
+        String entityName = entityClass.getSimpleName();
+        String firstPage = "SELECT e FROM " + entityName + " e ORDER BY e.key.name, e.key.version";
+        String nextPage = "SELECT e FROM " + entityName + " e WHERE e.key.name > :name"
+                + " OR (e.key.name = :name AND e.key.version > :version) ORDER BY e.key.name, e.key.version";
+
+        long count = 0;
+        PfConceptKey lastKey = null;
+        while (true) {
+            List<J> page;
+            EntityManager entityManager = database.createEntityManager();
+            try {
+                TypedQuery<J> query;
+                if (lastKey == null) {
+                    query = entityManager.createQuery(firstPage, entityClass);
+                } else {
+                    query = entityManager.createQuery(nextPage, entityClass);
+                    query.setParameter("name", lastKey.getName());
+                    query.setParameter("version", lastKey.getVersion());
+                }
+                long start = System.nanoTime();
+                page = query.setHint(QueryHints.READ_ONLY, HintValues.TRUE).setMaxResults(pageSize).getResultList();
+                ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, System.nanoTime() - start);
+
+                for (J entity : page) {
+                    start = System.nanoTime();
+                    String line = coder.encode(converter.apply(entity));
+                    ApiLatencyStatistics.addPhaseTime(Phase.SERIALIZATION, System.nanoTime() - start);
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            } catch (CoderException exc) {
+                throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR,
+                        "could not encode " + entityName + " entity", exc);
+            } finally {
+                entityManager.close();
+            }
+
+            // Let the client consume each page while the next one is read
+            writer.flush();
+            count += page.size();
+            if (page.size() < pageSize) {
+                return count;
+            }
+            lastKey = (PfConceptKey) page.get(page.size() - 1).getKey();
+        }
+    }
+
+    /**
+     * Creates the service template exported for a data type.
+     *
+     * @param dataType the data type
+     *
+     * @return the service template holding the data type
+     */
+    private static ToscaServiceTemplate makeDataTypeTemplate(final JpaToscaDataType dataType) {
+        ToscaDataType authorativeDataType = dataType.toAuthorative();
+        ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+        serviceTemplate.setDataTypes(Collections.singletonList(
+                Collections.singletonMap(authorativeDataType.getName(), authorativeDataType)));
+        return serviceTemplate;
+    }
+
+    /**
+     * Creates the service template exported for a policy type.
+     *
+     * @param policyType the policy type
+     *
+     * @return the service template holding the policy type
+     */
+    private static ToscaServiceTemplate makePolicyTypeTemplate(final JpaToscaPolicyType policyType) {
+        ToscaPolicyType authorativePolicyType = policyType.toAuthorative();
+        ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+        serviceTemplate.setPolicyTypes(Collections.singletonList(
+                Collections.singletonMap(authorativePolicyType.getName(), authorativePolicyType)));
+        return serviceTemplate;
+    }
+
+    /**
+     * Creates the service template exported for a policy.
+     *
+     * @param policy the policy
+     *
+     * @return the service template holding the policy
+     */
+    private static ToscaServiceTemplate makePolicyTemplate(final JpaToscaPolicy policy) {
+        ToscaPolicy authorativePolicy = policy.toAuthorative();
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(Collections.singletonList(
+                Collections.singletonMap(authorativePolicy.getName(), authorativePolicy)));
+        ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+
+    /**
+     * Creates an empty service template.
+     *
+     * @return the service template
+     */
+    private static ToscaServiceTemplate makeServiceTemplate() {
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion(TOSCA_DEFINITIONS_VERSION);
+        return serviceTemplate;
+    }
+}
@@ -0,0 +1,298 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.Response;
+import org.onap.policy.api.main.rest.ImportProgress;
+import org.onap.policy.api.main.rest.PolicyCreationResult;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaDataType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to import policy types and policies from a stream of newline-delimited JSON, each line holding a TOSCA
+ * service template such as the lines written by {@link PolicyExporter}.
+ *
+ * <p>Lines are read until a batch of policy types and policies is complete, the batch is then written to the
+ * database before the next line is read. Only one batch is held in memory and a client sending faster than the
+ * database can write is held back by the connection. Database providers are leased for the writing of each batch
+ * only, so a slow client holds none of them while its lines are read.
+ *
+ * <p>The database provider only writes data types together with policy types, so data types are held until the next
+ * batch of policy types and are written before them in the same transaction. They do not count towards the size of
+ * a batch, an export holds few of them and writes them before the policy types.
+ */
+public class PolicyImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PolicyImporter.class);
+
+    /**
+     * Receives the progress of an import after each batch.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Reports the progress of an import.
+         *
+         * @param progress the totals of the import so far and the errors of the last batch
+         *
+         * @throws IOException if the progress cannot be reported
+         */
+        void batchImported(ImportProgress progress) throws IOException;
+    }
+
+    private final int batchSize;
+    private final Coder coder = new StandardCoder();
+
+    private final List<Map<String, ToscaPolicyType>> pendingPolicyTypes = new ArrayList<>();
+    private final List<Map<String, ToscaDataType>> pendingDataTypes = new ArrayList<>();
+    private final List<Map<String, ToscaPolicy>> pendingPolicies = new ArrayList<>();
+    private final List<String> batchErrors = new ArrayList<>();
+    private final ImportProgress progress = new ImportProgress();
+    private int pendingItemCount;
+    private String toscaDefinitionsVersion;
+
+    /**
+     * Constructs the object.
+     *
+     * @param batchSize the number of policy types and policies written in one transaction
+     */
+    public PolicyImporter(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports all the lines of a stream.
+     *
+     * @param reader the reader of the stream
+     * @param listener the listener notified after each batch and once the stream is imported
+     *
+     * @return the totals of the import
+     *
+     * @throws IOException if the stream cannot be read or the progress cannot be reported
+     */
+    public ImportProgress importStream(final BufferedReader reader, final ProgressListener listener)
+            throws IOException {
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            readLine(lineNumber, line);
+            if (pendingItemCount >= batchSize) {
+                writeBatch(listener);
+            }
+        }
+
+        progress.setComplete(true);
+        writeBatch(listener);
+        return progress;
+    }
+
+    /**
+     * Adds the policy types and policies of a line to the current batch.
+     *
+     * @param lineNumber the number of the line in the stream
+     * @param line the line
+     */
+    private void readLine(final long lineNumber, final String line) {
+        ToscaServiceTemplate serviceTemplate;
+        try {
+            serviceTemplate = coder.decode(line, ToscaServiceTemplate.class);
+        } catch (CoderException exc) {
+            LOGGER.debug("could not decode line {} of import", lineNumber, exc);
+            fail(1, "line " + lineNumber + " is not a valid service template");
+            return;
+        }
+
+        if (toscaDefinitionsVersion == null) {
+            toscaDefinitionsVersion = serviceTemplate.getToscaDefinitionsVersion();
+        }
+
+        int dataTypeCount = 0;
+        if (serviceTemplate.getDataTypes() != null) {
+            dataTypeCount = countEntities(serviceTemplate.getDataTypes());
+            pendingDataTypes.addAll(serviceTemplate.getDataTypes());
+        }
+        int itemCount = 0;
+        if (serviceTemplate.getPolicyTypes() != null) {
+            for (Map<String, ToscaPolicyType> policyTypeBlock : serviceTemplate.getPolicyTypes()) {
+                itemCount += policyTypeBlock.size();
+                pendingPolicyTypes.add(policyTypeBlock);
+            }
+        }
+        if (serviceTemplate.getToscaTopologyTemplate() != null
+                && serviceTemplate.getToscaTopologyTemplate().getPolicies() != null) {
+            for (Map<String, ToscaPolicy> policyBlock : serviceTemplate.getToscaTopologyTemplate().getPolicies()) {
+                itemCount += policyBlock.size();
+                pendingPolicies.add(policyBlock);
+            }
+        }
+
+        if (dataTypeCount + itemCount == 0) {
+            fail(1, "line " + lineNumber + " holds no data type, policy type or policy");
+        } else {
+            pendingItemCount += itemCount;
+            progress.setItemsRead(progress.getItemsRead() + dataTypeCount + itemCount);
+        }
+    }
+
+    /**
+     * Writes the data types and policy types and then the policies of the current batch and reports the progress.
+     *
+     * @param listener the listener notified of the progress
+     *
+     * @throws IOException if the progress cannot be reported
+     */
+    private void writeBatch(final ProgressListener listener) throws IOException {
+        if (!pendingPolicyTypes.isEmpty()) {
+            ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+            serviceTemplate.setPolicyTypes(new ArrayList<>(pendingPolicyTypes));
+            serviceTemplate.setDataTypes(new ArrayList<>(pendingDataTypes));
+            int dataTypeCount = countEntities(pendingDataTypes);
+            int policyTypeCount = countEntities(pendingPolicyTypes);
+            try (PolicyTypeProvider policyTypeProvider = new PolicyTypeProvider()) {
+                policyTypeProvider.createPolicyType(serviceTemplate);
+                progress.setDataTypesCreated(progress.getDataTypesCreated() + dataTypeCount);
+                progress.setPolicyTypesCreated(progress.getPolicyTypesCreated() + policyTypeCount);
+            } catch (PfModelException | PfModelRuntimeException exc) {
+                LOGGER.warn("could not import a batch of policy types", exc);
+                fail(dataTypeCount + policyTypeCount, "data types and policy types of the batch could not be created: "
+                        + exc.getMessage());
+            }
+            pendingDataTypes.clear();
+        } else if (progress.isComplete() && !pendingDataTypes.isEmpty()) {
+            fail(countEntities(pendingDataTypes), "data types could not be created: the database only creates data"
+                    + " types together with policy types");
+            pendingDataTypes.clear();
+        }
+
+        if (!pendingPolicies.isEmpty()) {
+            ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+            topologyTemplate.setPolicies(new ArrayList<>(pendingPolicies));
+            ToscaServiceTemplate serviceTemplate = makeServiceTemplate();
+            serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+            try (PolicyProvider policyProvider = new PolicyProvider()) {
+                for (PolicyCreationResult result : policyProvider.createPolicies(serviceTemplate)) {
+                    if (result.getCode() == Response.Status.OK.getStatusCode()) {
+                        progress.setPoliciesCreated(progress.getPoliciesCreated() + 1);
+                    } else {
+                        fail(1, "policy " + result.getPolicyId() + ":" + result.getPolicyVersion()
+                                + " could not be created: " + result.getMessage());
+                    }
+                }
+            } catch (PfModelException | PfModelRuntimeException exc) {
+                LOGGER.warn("could not import a batch of policies", exc);
+                fail(countEntities(pendingPolicies), "policies of the batch could not be created: "
+                        + exc.getMessage());
+            }
+        }
+
+        pendingPolicyTypes.clear();
+        pendingPolicies.clear();
+        pendingItemCount = 0;
+
+        if (!batchErrors.isEmpty()) {
+            progress.setBatchesFailed(progress.getBatchesFailed() + 1);
+        }
+        progress.setBatchErrors(new ArrayList<>(batchErrors));
+        batchErrors.clear();
+        LOGGER.info("imported {} of {} items read, {} failed", progress.getDataTypesCreated()
+                + progress.getPolicyTypesCreated() + progress.getPoliciesCreated(), progress.getItemsRead(),
+                progress.getItemsFailed());
+        listener.batchImported(snapshot());
+    }
+
+    /**
+     * Copies the progress so that reports already handed out are not altered by later batches.
+     *
+     * @return the copy of the progress
+     */
+    private ImportProgress snapshot() {
+        ImportProgress snapshot = new ImportProgress();
+        snapshot.setItemsRead(progress.getItemsRead());
+        snapshot.setDataTypesCreated(progress.getDataTypesCreated());
+        snapshot.setPolicyTypesCreated(progress.getPolicyTypesCreated());
+        snapshot.setPoliciesCreated(progress.getPoliciesCreated());
+        snapshot.setItemsFailed(progress.getItemsFailed());
+        snapshot.setBatchesFailed(progress.getBatchesFailed());
+        snapshot.setBatchErrors(progress.getBatchErrors());
+        snapshot.setComplete(progress.isComplete());
+        return snapshot;
+    }
+
+    /**
+     * Records items that could not be imported.
+     *
+     * @param itemCount the number of items
+     * @param message the error message
+     */
+    private void fail(final int itemCount, final String message) {
+        progress.setItemsFailed(progress.getItemsFailed() + itemCount);
+        batchErrors.add(message);
+    }
+
+    /**
+     * Creates an empty service template.
+     *
+     * @return the service template
+     */
+    private ToscaServiceTemplate makeServiceTemplate() {
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion(toscaDefinitionsVersion);
+        return serviceTemplate;
+    }
+
+    /**
+     * Counts the entities of a list of TOSCA blocks.
+     *
+     * @param blocks the blocks
+     *
+     * @return the number of entities
+     */
+    private static int countEntities(final List<? extends Map<String, ?>> blocks) {
+        int count = 0;
+        for (Map<String, ?> block : blocks) {
+            count += block.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,318 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.Response;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+import org.onap.policy.api.main.startstop.ApiActivator;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.provider.PolicyModelsProvider;
+import org.onap.policy.models.provider.PolicyModelsProviderFactory;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to hold a bounded pool of long-lived database providers that are leased to REST calls.
+ */
+public class PolicyModelsProviderPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PolicyModelsProviderPool.class);
+
+    // Providers idle for longer than this are checked against the database before being leased again
+    private static final long HEALTH_CHECK_IDLE_MS = 30000L;
+    private static final String HEALTH_CHECK_GROUP = "__api_provider_health_check__";
+
+    private final PolicyModelsProviderParameters providerParameters;
+    private final PolicyModelsProviderFactory factory = new PolicyModelsProviderFactory();
+    private final int poolSize;
+    private final long leaseTimeout;
+
+    private final BlockingQueue<PolicyModelsProvider> idleProviders;
+    private final Set<PolicyModelsProvider> pooledProviders = ConcurrentHashMap.newKeySet();
+    private final Map<PolicyModelsProvider, Long> releaseTimes = new ConcurrentHashMap<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs the object.
+     *
+     * @param providerParameters the database provider parameters
+     * @param poolSize the number of providers in the pool
+     * @param leaseTimeout the maximum time, in milliseconds, to wait for a free provider
+     */
+    public PolicyModelsProviderPool(final PolicyModelsProviderParameters providerParameters, final int poolSize,
+            final long leaseTimeout) {
+        this.providerParameters = providerParameters;
+        this.poolSize = poolSize;
+        this.leaseTimeout = leaseTimeout;
+        this.idleProviders = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * Creates all the providers of the pool.
+     *
+     * @throws PfModelException if a provider cannot be created
+     */
+    public void start() throws PfModelException {
+        for (int i = 0; i < poolSize; i++) {
+            PolicyModelsProvider provider = createProvider();
+            releaseTimes.put(provider, System.currentTimeMillis());
+            idleProviders.add(provider);
+        }
+        LOGGER.debug("Created database provider pool with {} providers", poolSize);
+    }
+
+    /**
+     * Leases a provider from the pool, waiting up to the lease timeout for one to become free.
+     *
+     * @return the leased provider
+     *
+     * @throws PfModelException if no provider becomes free in time or the pool is closed
+     */
+    public PolicyModelsProvider lease() throws PfModelException {
+        if (closed) {
+            throw new PfModelException(Response.Status.SERVICE_UNAVAILABLE, "database provider pool is closed");
+        }
+
+        PolicyModelsProvider provider = idleProviders.poll();
+        if (provider == null) {
+            provider = growPool();
+        }
+        if (provider == null) {
+            try {
+                provider = idleProviders.poll(leaseTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                throw new PfModelException(Response.Status.SERVICE_UNAVAILABLE,
+                        "interrupted while waiting for a database provider", exc);
+            }
+        }
+
+        if (provider == null) {
+            throw new PfModelException(Response.Status.SERVICE_UNAVAILABLE,
+                    "no database provider became available within " + leaseTimeout + " ms");
+        }
+
+        Long releaseTime = releaseTimes.get(provider);
+        if (releaseTime != null && System.currentTimeMillis() - releaseTime > HEALTH_CHECK_IDLE_MS) {
+            provider = checkHealth(provider);
+        }
+        return provider;
+    }
+
+    /**
+     * Returns a leased provider to the pool.
+     *
+     * @param provider the provider to return
+     *
+     * @return {@code true} if the provider belongs to this pool, {@code false} otherwise
+     */
+    public boolean release(final PolicyModelsProvider provider) {
+        if (!pooledProviders.contains(provider)) {
+            return false;
+        }
+
+        if (closed) {
+            discard(provider);
+        } else {
+            releaseTimes.put(provider, System.currentTimeMillis());
+            idleProviders.offer(provider);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of providers currently free for lease.
+     *
+     * @return the number of idle providers
+     */
+    public int getIdleCount() {
+        return idleProviders.size();
+    }
+
+    /**
+     * Returns the number of providers in the pool.
+     *
+     * @return the pool size
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Closes all providers of the pool, leased providers are closed as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PolicyModelsProvider provider;
+        while ((provider = idleProviders.poll()) != null) {
+            discard(provider);
+        }
+    }
+
+    /**
+     * Leases a provider from the pool owned by the activator or, when the api is not running as a service,
+     * creates a dedicated provider from the registered parameters.
+     *
+     * <p>The returned provider adds the time spent in each call to the database phase of the current request.
+     *
+     * @return the provider
+     *
+     * @throws PfModelException if the provider cannot be obtained
+     */
+    public static PolicyModelsProvider acquireProvider() throws PfModelException {
+        PolicyModelsProvider provider;
+        PolicyModelsProviderPool pool = ApiActivator.getProviderPool();
+        if (pool != null) {
+            provider = pool.lease();
+        } else {
+            ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
+            provider = new PolicyModelsProviderFactory()
+                    .createPolicyModelsProvider(parameterGroup.getDatabaseProviderParameters());
+        }
+
+        return (PolicyModelsProvider) Proxy.newProxyInstance(PolicyModelsProvider.class.getClassLoader(),
+                new Class<?>[] {PolicyModelsProvider.class}, new DatabaseTimer(provider));
+    }
+
+    /**
+     * Returns a provider obtained with {@link #acquireProvider()}, closing it if it is not pooled.
+     *
+     * @param provider the provider
+     *
+     * @throws PfModelException if the provider cannot be closed
+     */
+    public static void releaseProvider(final PolicyModelsProvider provider) throws PfModelException {
+        PolicyModelsProvider target = provider;
+        if (Proxy.isProxyClass(provider.getClass()) && Proxy.getInvocationHandler(provider) instanceof DatabaseTimer) {
+            target = ((DatabaseTimer) Proxy.getInvocationHandler(provider)).target;
+        }
+
+        PolicyModelsProviderPool pool = ApiActivator.getProviderPool();
+        if (pool == null || !pool.release(target)) {
+            target.close();
+        }
+    }
+
+    /**
+     * Checks that a provider can still reach the database, replacing it if it cannot.
+     *
+     * @param provider the provider to check
+     *
+     * @return the checked provider or its replacement
+     *
+     * @throws PfModelException if a replacement provider cannot be created
+     */
+    private PolicyModelsProvider checkHealth(final PolicyModelsProvider provider) throws PfModelException {
+        try {
+            provider.getPdpGroups(HEALTH_CHECK_GROUP);
+            return provider;
+        } catch (PfModelException | RuntimeException exc) {
+            LOGGER.warn("database provider failed health check, replacing it", exc);
+        }
+
+        discard(provider);
+        return createProvider();
+    }
+
+    /**
+     * Creates a provider and adds it to the set of pooled providers.
+     *
+     * @return the new provider
+     *
+     * @throws PfModelException if the provider cannot be created
+     */
+    private PolicyModelsProvider createProvider() throws PfModelException {
+        PolicyModelsProvider provider = factory.createPolicyModelsProvider(providerParameters);
+        pooledProviders.add(provider);
+        return provider;
+    }
+
+    /**
+     * Creates a provider when providers were discarded after failed health checks and the pool is below its
+     * configured size.
+     *
+     * @return the new provider or {@code null} if the pool is already full
+     *
+     * @throws PfModelException if the provider cannot be created
+     */
+    private synchronized PolicyModelsProvider growPool() throws PfModelException {
+        if (pooledProviders.size() >= poolSize) {
+            return null;
+        }
+        return createProvider();
+    }
+
+    /**
+     * Removes a provider from the pool and closes it.
+     *
+     * @param provider the provider to discard
+     */
+    private void discard(final PolicyModelsProvider provider) {
+        pooledProviders.remove(provider);
+        releaseTimes.remove(provider);
+        try {
+            provider.close();
+        } catch (PfModelException | RuntimeException exc) {
+            LOGGER.warn("could not close database provider", exc);
+        }
+    }
+
+    /**
+     * Forwards calls to a provider, timing them as database time of the current request.
+     */
+    private static class DatabaseTimer implements InvocationHandler {
+        private final PolicyModelsProvider target;
+
+        private DatabaseTimer(final PolicyModelsProvider target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exc) {
+                throw exc.getCause();
+            } finally {
+                ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, System.nanoTime() - start);
+            }
+        }
+    }
+}
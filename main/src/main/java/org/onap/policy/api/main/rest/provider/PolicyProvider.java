@@ -23,26 +23,33 @@
 package org.onap.policy.api.main.rest.provider;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.tuple.Pair;
-import org.onap.policy.api.main.parameters.ApiParameterGroup;
-import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.JsonResponseCache;
+import org.onap.policy.api.main.rest.PolicyCreationResult;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.pdp.concepts.PdpGroup;
 import org.onap.policy.models.pdp.concepts.PdpGroupFilter;
-import org.onap.policy.models.pdp.concepts.PdpSubGroup;
 import org.onap.policy.models.pdp.enums.PdpState;
 import org.onap.policy.models.provider.PolicyModelsProvider;
-import org.onap.policy.models.provider.PolicyModelsProviderFactory;
-import org.onap.policy.models.provider.PolicyModelsProviderParameters;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyFilter;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyTypeIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
 
 /**
  * Class to provide all kinds of policy operations.
@@ -54,13 +61,11 @@ public class PolicyProvider implements AutoCloseable {
     private PolicyModelsProvider modelsProvider;
 
     /**
-     * Default constructor.
+     * Default constructor, leases a database provider for the lifetime of this object.
      */
     public PolicyProvider() throws PfModelException {
 
-        ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
-        PolicyModelsProviderParameters providerParameters = parameterGroup.getDatabaseProviderParameters();
-        modelsProvider = new PolicyModelsProviderFactory().createPolicyModelsProvider(providerParameters);
+        modelsProvider = PolicyModelsProviderPool.acquireProvider();
     }
 
     /**
@@ -81,7 +86,15 @@ public class PolicyProvider implements AutoCloseable {
         ToscaPolicyFilter policyFilter = ToscaPolicyFilter.builder()
                 .name(policyId).version(policyVersion)
                 .type(policyTypeId).typeVersion(policyTypeVersion).build();
-        ToscaServiceTemplate serviceTemplate = modelsProvider.getFilteredPolicies(policyFilter);
+
+        ToscaServiceTemplate serviceTemplate;
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null && policyId != null && policyVersion != null) {
+            serviceTemplate = policyCache.getPolicy(policyTypeId, policyTypeVersion, policyId, policyVersion,
+                    () -> modelsProvider.getFilteredPolicies(policyFilter));
+        } else {
+            serviceTemplate = modelsProvider.getFilteredPolicies(policyFilter);
+        }
 
         if (!hasPolicy(serviceTemplate)) {
             throw new PfModelException(Response.Status.NOT_FOUND,
@@ -108,7 +121,15 @@ public class PolicyProvider implements AutoCloseable {
         ToscaPolicyFilter policyFilter = ToscaPolicyFilter.builder()
                 .name(policyId).version(ToscaPolicyFilter.LATEST_VERSION)
                 .type(policyTypeId).typeVersion(policyTypeVersion).build();
-        ToscaServiceTemplate serviceTemplate = modelsProvider.getFilteredPolicies(policyFilter);
+
+        ToscaServiceTemplate serviceTemplate;
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null && policyId != null) {
+            serviceTemplate = policyCache.getLatestPolicy(policyTypeId, policyTypeVersion, policyId,
+                    () -> modelsProvider.getFilteredPolicies(policyFilter));
+        } else {
+            serviceTemplate = modelsProvider.getFilteredPolicies(policyFilter);
+        }
 
         if (!hasPolicy(serviceTemplate)) {
             throw new PfModelException(Response.Status.NOT_FOUND,
@@ -118,6 +139,47 @@ public class PolicyProvider implements AutoCloseable {
         return serviceTemplate;
     }
 
+    /**
+     * Retrieves specific versions of several policies of any policy type.
+     *
+     * @param policyIdentifiers the IDs and versions of the policies
+     *
+     * @return the ToscaServiceTemplate object holding the policies in the requested order
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    public ToscaServiceTemplate fetchPolicies(List<ToscaPolicyIdentifier> policyIdentifiers) throws PfModelException {
+
+        if (policyIdentifiers == null || policyIdentifiers.isEmpty()) {
+            throw new PfModelException(Response.Status.BAD_REQUEST, "no policy identifiers specified");
+        }
+
+        List<Pair<String, String>> policyIds = new ArrayList<>(policyIdentifiers.size());
+        for (ToscaPolicyIdentifier policyIdentifier : policyIdentifiers) {
+            if (policyIdentifier == null || policyIdentifier.getName() == null
+                    || policyIdentifier.getVersion() == null) {
+                throw new PfModelException(Response.Status.BAD_REQUEST,
+                        "policy identifier " + policyIdentifier + " must specify an ID and a version");
+            }
+            policyIds.add(Pair.of(policyIdentifier.getName(), policyIdentifier.getVersion()));
+        }
+
+        Map<Pair<String, String>, ToscaServiceTemplate> foundPolicies = getPolicies(policyIds);
+
+        List<String> missingIds = new ArrayList<>();
+        for (Pair<String, String> policyId : policyIds) {
+            if (!foundPolicies.containsKey(policyId)) {
+                missingIds.add(policyId.getLeft() + ":" + policyId.getRight());
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            throw new PfModelException(Response.Status.NOT_FOUND,
+                    "policies with IDs " + String.join(", ", missingIds) + " do not exist");
+        }
+
+        return mergePolicies(foundPolicies.values());
+    }
+
     /**
      * Retrieves a list of deployed policies in each pdp group.
      *
@@ -132,19 +194,23 @@ public class PolicyProvider implements AutoCloseable {
     public Map<Pair<String, String>, List<ToscaPolicy>> fetchDeployedPolicies(
             String policyTypeId, String policyTypeVersion, String policyId) throws PfModelException {
 
-        List<ToscaPolicyTypeIdentifier> policyTypes = new ArrayList<>();
-        policyTypes.add(new ToscaPolicyTypeIdentifier(policyTypeId, policyTypeVersion));
-        PdpGroupFilter pdpGroupFilter = PdpGroupFilter.builder().policyTypeList(policyTypes)
-                .groupState(PdpState.ACTIVE).pdpState(PdpState.ACTIVE).build();
-        List<PdpGroup> pdpGroups = modelsProvider.getFilteredPdpGroups(pdpGroupFilter);
+        DeployedPolicyIndex deployedPolicyIndex = ApiActivator.getDeployedPolicyIndex();
+        if (deployedPolicyIndex == null || !deployedPolicyIndex.isLoaded()) {
+            List<ToscaPolicyTypeIdentifier> policyTypes = new ArrayList<>();
+            policyTypes.add(new ToscaPolicyTypeIdentifier(policyTypeId, policyTypeVersion));
+            PdpGroupFilter pdpGroupFilter = PdpGroupFilter.builder().policyTypeList(policyTypes)
+                    .groupState(PdpState.ACTIVE).pdpState(PdpState.ACTIVE).build();
+            deployedPolicyIndex = DeployedPolicyIndex.of(modelsProvider.getFilteredPdpGroups(pdpGroupFilter));
+        }
 
-        if (pdpGroups.isEmpty()) {
+        List<DeployedPolicyIndex.Deployment> deployments =
+                deployedPolicyIndex.getDeployments(policyId, policyTypeId, policyTypeVersion);
+        if (deployments.isEmpty()) {
             throw new PfModelException(Response.Status.NOT_FOUND,
                     constructDeploymentNotFoundMessage(policyTypeId, policyTypeVersion, policyId));
         }
 
-        Map<Pair<String, String>, List<ToscaPolicy>> deployedPolicyMap =
-                constructDeployedPolicyMap(pdpGroups, policyId);
+        Map<Pair<String, String>, List<ToscaPolicy>> deployedPolicyMap = constructDeployedPolicyMap(deployments);
         if (deployedPolicyMap.isEmpty()) {
             throw new PfModelException(Response.Status.NOT_FOUND,
                     constructDeploymentNotFoundMessage(policyTypeId, policyTypeVersion, policyId));
@@ -167,10 +233,133 @@ public class PolicyProvider implements AutoCloseable {
     public ToscaServiceTemplate createPolicy(String policyTypeId, String policyTypeVersion,
                                              ToscaServiceTemplate body) throws PfModelException {
 
-        validatePolicyTypeExist(policyTypeId, policyTypeVersion);
-        validatePolicyTypeMatch(policyTypeId, policyTypeVersion, body);
+        ApiLatencyStatistics.startValidation();
+        try {
+            validatePolicyTypeExist(policyTypeId, policyTypeVersion);
+            validatePolicyTypeMatch(policyTypeId, policyTypeVersion, body);
+        } finally {
+            ApiLatencyStatistics.stopValidation();
+        }
+
+        ToscaServiceTemplate serviceTemplate = modelsProvider.createPolicies(body);
+
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null) {
+            policyCache.policiesCreated(policyTypeId, policyTypeVersion, serviceTemplate);
+        }
+        PolicyReferenceIndex referenceIndex = ApiActivator.getPolicyReferenceIndex();
+        if (referenceIndex != null) {
+            referenceIndex.policiesCreated(serviceTemplate);
+        }
+        invalidateResponseCache(policyTypeId, policyTypeVersion);
+
+        return serviceTemplate;
+    }
+
+    /**
+     * Creates a batch of policies of any policy types.
+     *
+     * <p>Each policy type is checked once for all its policies and the valid policies are written in a single
+     * transaction, so either all of them are created or none is.
+     *
+     * @param body the entity body of the policies
+     *
+     * @return the result of the creation of each policy, in the order of the body
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    public List<PolicyCreationResult> createPolicies(ToscaServiceTemplate body) throws PfModelException {
+
+        if (body == null || body.getToscaTopologyTemplate() == null
+                || body.getToscaTopologyTemplate().getPolicies() == null
+                || body.getToscaTopologyTemplate().getPolicies().isEmpty()) {
+            throw new PfModelException(Response.Status.BAD_REQUEST, "no policies specified");
+        }
+
+        List<PolicyCreationResult> results = new ArrayList<>();
+        Map<Pair<String, String>, List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>>> policyGroups =
+                new LinkedHashMap<>();
+        for (Map<String, ToscaPolicy> policyBlock : body.getToscaTopologyTemplate().getPolicies()) {
+            for (Map.Entry<String, ToscaPolicy> policyEntry : policyBlock.entrySet()) {
+                ToscaPolicy policy = policyEntry.getValue();
+                PolicyCreationResult result = new PolicyCreationResult();
+                result.setPolicyId(policyEntry.getKey());
+                result.setPolicyVersion(policy.getVersion());
+                result.setPolicyTypeId(policy.getType());
+                result.setPolicyTypeVersion(policy.getTypeVersion());
+                results.add(result);
+
+                if (policyBlock.size() > 1) {
+                    setResult(result, Response.Status.BAD_REQUEST, "one policy block contains more than one policies");
+                    continue;
+                }
+                if (policy.getVersion() == null || policy.getType() == null || policy.getTypeVersion() == null) {
+                    setResult(result, Response.Status.BAD_REQUEST,
+                            "policy version, policy type ID and policy type version must be specified");
+                    continue;
+                }
+                policyGroups.computeIfAbsent(Pair.of(policy.getType(), policy.getTypeVersion()),
+                    key -> new ArrayList<>()).add(Pair.of(Collections.singletonMap(policyEntry.getKey(), policy),
+                            result));
+            }
+        }
+
+        ApiLatencyStatistics.startValidation();
+        try {
+            Iterator<Map.Entry<Pair<String, String>, List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>>>>
+                    groupIterator = policyGroups.entrySet().iterator();
+            while (groupIterator.hasNext()) {
+                Map.Entry<Pair<String, String>, List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>>> group =
+                        groupIterator.next();
+                try {
+                    validatePolicyTypeExist(group.getKey().getLeft(), group.getKey().getRight());
+                } catch (PfModelException exc) {
+                    for (Pair<Map<String, ToscaPolicy>, PolicyCreationResult> item : group.getValue()) {
+                        setResult(item.getRight(), exc.getErrorResponse().getResponseCode(), exc.getMessage());
+                    }
+                    groupIterator.remove();
+                }
+            }
+        } finally {
+            ApiLatencyStatistics.stopValidation();
+        }
 
-        return modelsProvider.createPolicies(body);
+        if (policyGroups.isEmpty()) {
+            return results;
+        }
+
+        ToscaServiceTemplate createdPolicies;
+        try {
+            createdPolicies = modelsProvider.createPolicies(makeServiceTemplate(body, policyGroups.values()));
+        } catch (PfModelException | PfModelRuntimeException exc) {
+            // The batch is written in one transaction, none of its policies was created
+            for (List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>> group : policyGroups.values()) {
+                for (Pair<Map<String, ToscaPolicy>, PolicyCreationResult> item : group) {
+                    setResult(item.getRight(), exc.getErrorResponse().getResponseCode(), exc.getMessage());
+                }
+            }
+            return results;
+        }
+
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        for (Map.Entry<Pair<String, String>, List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>>> group
+                : policyGroups.entrySet()) {
+            for (Pair<Map<String, ToscaPolicy>, PolicyCreationResult> item : group.getValue()) {
+                setResult(item.getRight(), Response.Status.OK, "policy created");
+            }
+            if (policyCache != null) {
+                policyCache.policiesCreated(group.getKey().getLeft(), group.getKey().getRight(),
+                        selectPolicies(createdPolicies, group.getKey().getLeft(), group.getKey().getRight()));
+            }
+            invalidateResponseCache(group.getKey().getLeft(), group.getKey().getRight());
+        }
+
+        PolicyReferenceIndex referenceIndex = ApiActivator.getPolicyReferenceIndex();
+        if (referenceIndex != null) {
+            referenceIndex.policiesCreated(createdPolicies);
+        }
+
+        return results;
     }
 
     /**
@@ -188,10 +377,25 @@ public class PolicyProvider implements AutoCloseable {
     public ToscaServiceTemplate deletePolicy(String policyTypeId, String policyTypeVersion,
                                  String policyId, String policyVersion) throws PfModelException {
 
-        validateDeleteEligibility(policyTypeId, policyTypeVersion, policyId, policyVersion);
+        ApiLatencyStatistics.startValidation();
+        try {
+            validateDeleteEligibility(policyTypeId, policyTypeVersion, policyId, policyVersion);
+        } finally {
+            ApiLatencyStatistics.stopValidation();
+        }
 
         ToscaServiceTemplate serviceTemplate = modelsProvider.deletePolicy(policyId, policyVersion);
 
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null) {
+            policyCache.policyDeleted(policyId, policyVersion);
+        }
+        PolicyReferenceIndex referenceIndex = ApiActivator.getPolicyReferenceIndex();
+        if (referenceIndex != null) {
+            referenceIndex.policyDeleted(policyId, policyVersion);
+        }
+        invalidateResponseCache(policyTypeId, policyTypeVersion);
+
         if (!hasPolicy(serviceTemplate)) {
             throw new PfModelException(Response.Status.NOT_FOUND,
                     constructResourceNotFoundMessage(policyTypeId, policyTypeVersion, policyId, policyVersion));
@@ -259,6 +463,18 @@ public class PolicyProvider implements AutoCloseable {
     private void validateDeleteEligibility(String policyTypeId, String policyTypeVersion,
             String policyId, String policyVersion) throws PfModelException {
 
+        // The index lags PAP by up to a rebuild, it settles a referenced policy but an unreferenced one is confirmed
+        // against the pdp groups
+        DeployedPolicyIndex deployedPolicyIndex = ApiActivator.getDeployedPolicyIndex();
+        if (deployedPolicyIndex != null) {
+            List<Pair<String, String>> pdpGroups = deployedPolicyIndex.getReferencingGroups(policyId, policyVersion,
+                    policyTypeId, policyTypeVersion);
+            if (pdpGroups != null && !pdpGroups.isEmpty()) {
+                throw new PfModelException(Response.Status.CONFLICT,
+                        constructDeleteRuleViolationMessage(policyId, policyVersion, pdpGroups));
+            }
+        }
+
         List<ToscaPolicyTypeIdentifier> policyTypes = new ArrayList<>();
         policyTypes.add(new ToscaPolicyTypeIdentifier(policyTypeId, policyTypeVersion));
         List<ToscaPolicyIdentifier> policies = new ArrayList<>();
@@ -266,7 +482,10 @@ public class PolicyProvider implements AutoCloseable {
         PdpGroupFilter pdpGroupFilter = PdpGroupFilter.builder()
                 .policyTypeList(policyTypes).policyList(policies).build();
 
-        List<PdpGroup> pdpGroups = modelsProvider.getFilteredPdpGroups(pdpGroupFilter);
+        List<Pair<String, String>> pdpGroups = new ArrayList<>();
+        for (PdpGroup pdpGroup : modelsProvider.getFilteredPdpGroups(pdpGroupFilter)) {
+            pdpGroups.add(Pair.of(pdpGroup.getName(), pdpGroup.getVersion()));
+        }
 
         if (!pdpGroups.isEmpty()) {
             throw new PfModelException(Response.Status.CONFLICT,
@@ -279,16 +498,16 @@ public class PolicyProvider implements AutoCloseable {
      *
      * @param policyId the ID of policy
      * @param policyVersion the version of policy
-     * @param pdpGroups the list of pdp groups
+     * @param pdpGroups the names and versions of the pdp groups
      *
      * @return the constructed message
      */
     private String constructDeleteRuleViolationMessage(
-            String policyId, String policyVersion, List<PdpGroup> pdpGroups) {
+            String policyId, String policyVersion, List<Pair<String, String>> pdpGroups) {
 
         List<String> pdpGroupNameVersionList = new ArrayList<>();
-        for (PdpGroup pdpGroup : pdpGroups) {
-            pdpGroupNameVersionList.add(pdpGroup.getName() + ":" + pdpGroup.getVersion());
+        for (Pair<String, String> pdpGroup : pdpGroups) {
+            pdpGroupNameVersionList.add(pdpGroup.getLeft() + ":" + pdpGroup.getRight());
         }
         String deployedPdpGroups = String.join(",", pdpGroupNameVersionList);
         return "policy with ID " + policyId + ":" + policyVersion
@@ -296,37 +515,30 @@ public class PolicyProvider implements AutoCloseable {
     }
 
     /**
-     * Constructs the map of deployed pdp groups and deployed policies.
+     * Constructs the map of deployed pdp groups and deployed policies, fetching all the deployed policies at once.
      *
-     * @param pdpGroups the list of pdp groups that contain the specified policy
-     * @param policyId the ID of policy
+     * @param deployments the deployments of the specified policy
      *
      * @return the constructed map of pdp groups and deployed policies
      *
      * @throws PfModelException the PfModel parsing exception
      */
     private Map<Pair<String, String>, List<ToscaPolicy>> constructDeployedPolicyMap(
-            List<PdpGroup> pdpGroups, String policyId) throws PfModelException {
+            List<DeployedPolicyIndex.Deployment> deployments) throws PfModelException {
+
+        Set<Pair<String, String>> policyIds = new LinkedHashSet<>();
+        for (DeployedPolicyIndex.Deployment deployment : deployments) {
+            policyIds.add(Pair.of(deployment.getPolicy().getName(), deployment.getPolicy().getVersion()));
+        }
+        Map<Pair<String, String>, ToscaServiceTemplate> deployedPolicies = getPolicies(policyIds);
 
         Map<Pair<String, String>, List<ToscaPolicy>> deployedPolicyMap = new HashMap<>();
-        for (PdpGroup pdpGroup : pdpGroups) {
-            List<ToscaPolicyIdentifier> policyIdentifiers = new ArrayList<>();
-            for (PdpSubGroup pdpSubGroup : pdpGroup.getPdpSubgroups()) {
-                for (ToscaPolicyIdentifier policyIdentifier : pdpSubGroup.getPolicies()) {
-                    if (policyId.equalsIgnoreCase(policyIdentifier.getName())) {
-                        policyIdentifiers.add(policyIdentifier);
-                    }
-                }
-            }
-            List<ToscaPolicy> deployedPolicies = new ArrayList<>();
-            if (!policyIdentifiers.isEmpty()) {
-                for (ToscaPolicyIdentifier policyIdentifier : policyIdentifiers) {
-                    deployedPolicies.addAll(
-                            modelsProvider.getPolicyList(policyIdentifier.getName(), policyIdentifier.getVersion()));
-                }
-            }
-            if (!deployedPolicies.isEmpty()) {
-                deployedPolicyMap.put(Pair.of(pdpGroup.getName(), pdpGroup.getVersion()), deployedPolicies);
+        for (DeployedPolicyIndex.Deployment deployment : deployments) {
+            ToscaServiceTemplate serviceTemplate = deployedPolicies
+                    .get(Pair.of(deployment.getPolicy().getName(), deployment.getPolicy().getVersion()));
+            if (serviceTemplate != null) {
+                deployedPolicyMap.computeIfAbsent(deployment.getPdpGroup(), key -> new ArrayList<>())
+                        .addAll(serviceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values());
             }
         }
         return deployedPolicyMap;
@@ -366,6 +578,156 @@ public class PolicyProvider implements AutoCloseable {
                 + policyTypeId + ":" + policyTypeVersion + " deployed in any pdp group";
     }
 
+    /**
+     * Retrieves specific versions of several policies from the cache, querying the database once for the rest.
+     *
+     * @param policyIds the IDs and versions of the policies
+     *
+     * @return the single-policy service templates of the policies that exist, in the order of the IDs
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    private Map<Pair<String, String>, ToscaServiceTemplate> getPolicies(Collection<Pair<String, String>> policyIds)
+            throws PfModelException {
+
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null) {
+            return policyCache.getPolicies(policyIds, this::loadPolicies);
+        }
+        return PolicyCache.selectPolicies(loadPolicies(policyIds), policyIds);
+    }
+
+    /**
+     * Loads several policies with a query on their keys.
+     *
+     * @param policyIds the IDs and versions of the policies
+     *
+     * @return the ToscaServiceTemplate object holding the policies, and possibly other versions of them
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    private ToscaServiceTemplate loadPolicies(Collection<Pair<String, String>> policyIds) throws PfModelException {
+
+        String policyId = policyIds.iterator().next().getLeft();
+        for (Pair<String, String> otherPolicyId : policyIds) {
+            if (!policyId.equals(otherPolicyId.getLeft())) {
+                // The database provider has no query on a list of keys
+                try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+                    return policyDirectory.getPolicies(policyIds);
+                }
+            }
+        }
+
+        String policyVersion = (policyIds.size() == 1 ? policyIds.iterator().next().getRight() : null);
+        return modelsProvider.getPolicies(policyId, policyVersion);
+    }
+
+    /**
+     * Creates a service template holding groups of policies of a batch.
+     *
+     * @param body the entity body of the batch
+     * @param policyGroups the groups of policies
+     *
+     * @return the service template
+     */
+    private ToscaServiceTemplate makeServiceTemplate(ToscaServiceTemplate body,
+            Collection<List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>>> policyGroups) {
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(new ArrayList<>());
+        for (List<Pair<Map<String, ToscaPolicy>, PolicyCreationResult>> group : policyGroups) {
+            for (Pair<Map<String, ToscaPolicy>, PolicyCreationResult> item : group) {
+                topologyTemplate.getPolicies().add(item.getLeft());
+            }
+        }
+
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion(body.getToscaDefinitionsVersion());
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+
+    /**
+     * Selects the policies of a policy type from a service template.
+     *
+     * @param serviceTemplate the service template
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     *
+     * @return a service template holding the policies of the policy type
+     */
+    private ToscaServiceTemplate selectPolicies(ToscaServiceTemplate serviceTemplate, String policyTypeId,
+            String policyTypeVersion) {
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(new ArrayList<>());
+        if (serviceTemplate.getToscaTopologyTemplate() != null
+                && serviceTemplate.getToscaTopologyTemplate().getPolicies() != null) {
+            for (Map<String, ToscaPolicy> policyBlock : serviceTemplate.getToscaTopologyTemplate().getPolicies()) {
+                for (Map.Entry<String, ToscaPolicy> policyEntry : policyBlock.entrySet()) {
+                    if (policyTypeId.equals(policyEntry.getValue().getType())
+                            && policyTypeVersion.equals(policyEntry.getValue().getTypeVersion())) {
+                        topologyTemplate.getPolicies().add(
+                                Collections.singletonMap(policyEntry.getKey(), policyEntry.getValue()));
+                    }
+                }
+            }
+        }
+
+        ToscaServiceTemplate selectedPolicies = new ToscaServiceTemplate();
+        selectedPolicies.setToscaDefinitionsVersion(serviceTemplate.getToscaDefinitionsVersion());
+        selectedPolicies.setToscaTopologyTemplate(topologyTemplate);
+        return selectedPolicies;
+    }
+
+    /**
+     * Sets the outcome of the creation of a policy of a batch.
+     *
+     * @param result the result of the policy
+     * @param status the status of the creation
+     * @param message the message describing the outcome
+     */
+    private static void setResult(PolicyCreationResult result, Response.Status status, String message) {
+
+        result.setCode(status.getStatusCode());
+        result.setMessage(message);
+    }
+
+    /**
+     * Merges single-policy service templates into one service template.
+     *
+     * @param serviceTemplates the service templates to merge
+     *
+     * @return the merged service template
+     */
+    private ToscaServiceTemplate mergePolicies(Collection<ToscaServiceTemplate> serviceTemplates) {
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(new ArrayList<>());
+
+        ToscaServiceTemplate mergedTemplate = new ToscaServiceTemplate();
+        mergedTemplate.setToscaTopologyTemplate(topologyTemplate);
+        for (ToscaServiceTemplate serviceTemplate : serviceTemplates) {
+            mergedTemplate.setToscaDefinitionsVersion(serviceTemplate.getToscaDefinitionsVersion());
+            topologyTemplate.getPolicies().addAll(serviceTemplate.getToscaTopologyTemplate().getPolicies());
+        }
+        return mergedTemplate;
+    }
+
+    /**
+     * Removes the cached GET responses of the policies of a policy type.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     */
+    private void invalidateResponseCache(String policyTypeId, String policyTypeVersion) {
+
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache != null) {
+            responseCache.policiesChanged(policyTypeId, policyTypeVersion);
+        }
+    }
+
     /**
      * Checks if service template contains any policy.
      *
@@ -375,7 +737,7 @@ public class PolicyProvider implements AutoCloseable {
      */
     private boolean hasPolicy(ToscaServiceTemplate serviceTemplate) {
 
-        if (serviceTemplate.getToscaTopologyTemplate().getPolicies() == null) {
+        if (serviceTemplate == null || serviceTemplate.getToscaTopologyTemplate().getPolicies() == null) {
             return false;
         } else if (serviceTemplate.getToscaTopologyTemplate().getPolicies().isEmpty()) {
             return false;
@@ -407,13 +769,13 @@ public class PolicyProvider implements AutoCloseable {
     }
 
     /**
-     * Closes the connection to database.
+     * Returns the database provider to the pool or closes it if it is not pooled.
      *
      * @throws PfModelException the PfModel parsing exception
      */
     @Override
     public void close() throws PfModelException {
 
-        modelsProvider.close();
+        PolicyModelsProviderPool.releaseProvider(modelsProvider);
     }
 }
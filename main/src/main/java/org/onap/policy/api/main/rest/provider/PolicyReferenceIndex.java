@@ -0,0 +1,233 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.ws.rs.core.Response;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to hold the policies referencing each policy type, so that a policy type can be checked for deletion
+ * without loading its policies.
+ *
+ * <p>The index is built on first use from the names, versions and types of all policies, then updated as policies
+ * are created and deleted. Policies changed by other means than the TOSCA policy operations invalidate the index,
+ * it is rebuilt on its next lookup.
+ */
+public class PolicyReferenceIndex {
+
+    static final String POLICY_REFERENCE_QUERY =
+            "SELECT e.key.name, e.key.version, e.type.name, e.type.version FROM JpaToscaPolicy e";
+    static final String POLICY_TYPE_CONDITION = " WHERE e.type.name = :typeName AND e.type.version = :typeVersion";
+
+    // Both maps are keyed by name and version, null until the index is built
+    private Map<Pair<String, String>, Set<Pair<String, String>>> policiesByType;
+    private Map<Pair<String, String>, Pair<String, String>> typeByPolicy;
+
+    /**
+     * Returns the policies referencing a policy type, building the index if it is not loaded.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     *
+     * @return the names and versions of the policies, empty if the policy type is not referenced
+     *
+     * @throws PfModelException if the index cannot be built
+     */
+    public synchronized Set<Pair<String, String>> getPolicies(String policyTypeId, String policyTypeVersion)
+            throws PfModelException {
+
+        if (policiesByType == null) {
+            update(loadPolicyReferences(null, null));
+        }
+
+        Set<Pair<String, String>> policies = policiesByType.get(Pair.of(policyTypeId, policyTypeVersion));
+        return policies == null ? Collections.emptySet() : new LinkedHashSet<>(policies);
+    }
+
+    /**
+     * Reads the policies referencing a policy type from the database, without their properties. The index is
+     * invalidated if it misses one of them, as it does when policies are written by another instance.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     *
+     * @return the names and versions of the policies, empty if the policy type is not referenced
+     *
+     * @throws PfModelException if the policies cannot be read
+     */
+    public Set<Pair<String, String>> loadPolicies(String policyTypeId, String policyTypeVersion)
+            throws PfModelException {
+
+        Set<Pair<String, String>> policies = loadPolicyReferences(policyTypeId, policyTypeVersion).keySet();
+
+        synchronized (this) {
+            if (typeByPolicy != null && !typeByPolicy.keySet().containsAll(policies)) {
+                invalidate();
+            }
+        }
+        return policies;
+    }
+
+    /**
+     * Rebuilds the index from the types of all policies.
+     *
+     * @param policyTypes the name and version of the type of each policy, keyed by policy name and version
+     */
+    public synchronized void update(Map<Pair<String, String>, Pair<String, String>> policyTypes) {
+
+        policiesByType = new HashMap<>();
+        typeByPolicy = new HashMap<>();
+        policyTypes.forEach(this::addPolicy);
+    }
+
+    /**
+     * Adds created policies to the index.
+     *
+     * @param createdPolicies the ToscaServiceTemplate object returned by the database
+     */
+    public synchronized void policiesCreated(ToscaServiceTemplate createdPolicies) {
+
+        // Policies created before the index is built are read when it is built
+        if (policiesByType == null || createdPolicies.getToscaTopologyTemplate() == null
+                || createdPolicies.getToscaTopologyTemplate().getPolicies() == null) {
+            return;
+        }
+
+        for (Map<String, ToscaPolicy> policyMap : createdPolicies.getToscaTopologyTemplate().getPolicies()) {
+            for (ToscaPolicy policy : policyMap.values()) {
+                addPolicy(Pair.of(policy.getName(), policy.getVersion()),
+                        Pair.of(policy.getType(), policy.getTypeVersion()));
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted policy from the index.
+     *
+     * @param policyId the ID of policy
+     * @param policyVersion the version of policy
+     */
+    public synchronized void policyDeleted(String policyId, String policyVersion) {
+
+        if (typeByPolicy == null) {
+            return;
+        }
+
+        Pair<String, String> policyKey = Pair.of(policyId, policyVersion);
+        Pair<String, String> policyTypeKey = typeByPolicy.remove(policyKey);
+        if (policyTypeKey != null) {
+            Set<Pair<String, String>> policies = policiesByType.get(policyTypeKey);
+            policies.remove(policyKey);
+            if (policies.isEmpty()) {
+                policiesByType.remove(policyTypeKey);
+            }
+        }
+    }
+
+    /**
+     * Drops the index, it is rebuilt on its next lookup.
+     */
+    public synchronized void invalidate() {
+        policiesByType = null;
+        typeByPolicy = null;
+    }
+
+    /**
+     * Checks whether the index is built.
+     *
+     * @return {@code true} if the index is built and not invalidated
+     */
+    public synchronized boolean isLoaded() {
+        return policiesByType != null;
+    }
+
+    /**
+     * Adds a policy to the index.
+     *
+     * @param policyKey the name and version of the policy
+     * @param policyTypeKey the name and version of the type of the policy
+     */
+    private void addPolicy(Pair<String, String> policyKey, Pair<String, String> policyTypeKey) {
+
+        Pair<String, String> previousTypeKey = typeByPolicy.put(policyKey, policyTypeKey);
+        if (previousTypeKey != null && !previousTypeKey.equals(policyTypeKey)) {
+            policiesByType.get(previousTypeKey).remove(policyKey);
+        }
+        policiesByType.computeIfAbsent(policyTypeKey, key -> new LinkedHashSet<>()).add(policyKey);
+    }
+
+    /**
+     * Reads the name, version and type of the policies, without their properties.
+     *
+     * @param policyTypeId the ID of the policy type of the policies, {@code null} for all policies
+     * @param policyTypeVersion the version of the policy type of the policies
+     *
+     * @return the name and version of the type of each policy, keyed by policy name and version
+     *
+     * @throws PfModelException if the policies cannot be read
+     */
+    private static Map<Pair<String, String>, Pair<String, String>> loadPolicyReferences(String policyTypeId,
+            String policyTypeVersion) throws PfModelException {
+
+        ReadOnlyDatabase database = ReadOnlyDatabase.acquireDatabase();
+        try {
+            EntityManager entityManager = database.createEntityManager();
+            try {
+                Query query;
+                if (policyTypeId == null) {
+                    query = entityManager.createQuery(POLICY_REFERENCE_QUERY);
+                } else {
+                    query = entityManager.createQuery(POLICY_REFERENCE_QUERY + POLICY_TYPE_CONDITION)
+                            .setParameter("typeName", policyTypeId).setParameter("typeVersion", policyTypeVersion);
+                }
+
+                Map<Pair<String, String>, Pair<String, String>> policyTypes = new HashMap<>();
+                List<?> rows = query.getResultList();
+                for (Object row : rows) {
+                    Object[] columns = (Object[]) row;
+                    policyTypes.put(Pair.of((String) columns[0], (String) columns[1]),
+                            Pair.of((String) columns[2], (String) columns[3]));
+                }
+                return policyTypes;
+            } finally {
+                entityManager.close();
+            }
+        } catch (RuntimeException exc) {
+            throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR,
+                    "could not read the policy types referenced by policies", exc);
+        } finally {
+            ReadOnlyDatabase.releaseDatabase(database);
+        }
+    }
+}
@@ -23,14 +23,15 @@
 package org.onap.policy.api.main.rest.provider;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import javax.ws.rs.core.Response;
-import org.onap.policy.api.main.parameters.ApiParameterGroup;
-import org.onap.policy.common.parameters.ParameterService;
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
+import org.onap.policy.api.main.rest.JsonResponseCache;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.provider.PolicyModelsProvider;
-import org.onap.policy.models.provider.PolicyModelsProviderFactory;
-import org.onap.policy.models.provider.PolicyModelsProviderParameters;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyFilter;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyTypeFilter;
@@ -46,13 +47,11 @@ public class PolicyTypeProvider implements AutoCloseable {
     private PolicyModelsProvider modelsProvider;
 
     /**
-     * Default constructor.
+     * Default constructor, leases a database provider for the lifetime of this object.
      */
     public PolicyTypeProvider() throws PfModelException {
 
-        ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
-        PolicyModelsProviderParameters providerParameters = parameterGroup.getDatabaseProviderParameters();
-        modelsProvider = new PolicyModelsProviderFactory().createPolicyModelsProvider(providerParameters);
+        modelsProvider = PolicyModelsProviderPool.acquireProvider();
     }
 
     /**
@@ -70,7 +69,8 @@ public class PolicyTypeProvider implements AutoCloseable {
 
         ToscaPolicyTypeFilter policyTypeFilter = ToscaPolicyTypeFilter.builder()
                 .name(policyTypeId).version(policyTypeVersion).build();
-        ToscaServiceTemplate serviceTemplate = modelsProvider.getFilteredPolicyTypes(policyTypeFilter);
+        ToscaServiceTemplate serviceTemplate = getCachedPolicyTypes(policyTypeId, policyTypeVersion,
+                () -> modelsProvider.getFilteredPolicyTypes(policyTypeFilter));
 
         if (policyTypeId != null && !hasPolicyType(serviceTemplate)) {
             throw new PfModelException(Response.Status.NOT_FOUND,
@@ -93,7 +93,8 @@ public class PolicyTypeProvider implements AutoCloseable {
 
         ToscaPolicyTypeFilter policyTypeFilter = ToscaPolicyTypeFilter.builder()
                 .name(policyTypeId).version(ToscaPolicyTypeFilter.LATEST_VERSION).build();
-        ToscaServiceTemplate serviceTemplate = modelsProvider.getFilteredPolicyTypes(policyTypeFilter);
+        ToscaServiceTemplate serviceTemplate = getCachedPolicyTypes(policyTypeId,
+                ToscaPolicyTypeFilter.LATEST_VERSION, () -> modelsProvider.getFilteredPolicyTypes(policyTypeFilter));
         if (!hasPolicyType(serviceTemplate)) {
             throw new PfModelException(Response.Status.NOT_FOUND,
                     constructResourceNotFoundMessage(policyTypeId, null));
@@ -112,7 +113,10 @@ public class PolicyTypeProvider implements AutoCloseable {
      */
     public ToscaServiceTemplate createPolicyType(ToscaServiceTemplate body) throws PfModelException {
 
-        return modelsProvider.createPolicyTypes(body);
+        ToscaServiceTemplate serviceTemplate = modelsProvider.createPolicyTypes(body);
+        invalidatePolicyTypeCache();
+
+        return serviceTemplate;
     }
 
     /**
@@ -128,9 +132,15 @@ public class PolicyTypeProvider implements AutoCloseable {
     public ToscaServiceTemplate deletePolicyType(String policyTypeId, String policyTypeVersion)
             throws PfModelException {
 
-        validateDeleteEligibility(policyTypeId, policyTypeVersion);
+        ApiLatencyStatistics.startValidation();
+        try {
+            validateDeleteEligibility(policyTypeId, policyTypeVersion);
+        } finally {
+            ApiLatencyStatistics.stopValidation();
+        }
 
         ToscaServiceTemplate serviceTemplate = modelsProvider.deletePolicyType(policyTypeId, policyTypeVersion);
+        invalidatePolicyTypeCache();
 
         if (!hasPolicyType(serviceTemplate)) {
             throw new PfModelException(Response.Status.NOT_FOUND,
@@ -140,6 +150,43 @@ public class PolicyTypeProvider implements AutoCloseable {
         return serviceTemplate;
     }
 
+    /**
+     * Retrieves policy types through the policy type cache, querying the database on a cache miss.
+     *
+     * @param policyTypeId the ID of policy type
+     * @param policyTypeVersion the version of policy type
+     * @param loader the database query for the policy types
+     *
+     * @return the ToscaServiceTemplate object
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    private ToscaServiceTemplate getCachedPolicyTypes(String policyTypeId, String policyTypeVersion,
+            ApiCache.Loader<ToscaServiceTemplate> loader) throws PfModelException {
+
+        ApiCache<Pair<String, String>, ToscaServiceTemplate> cache = ApiActivator.getPolicyTypeCache();
+        if (cache == null) {
+            return loader.load();
+        }
+        return cache.get(Pair.of(policyTypeId, policyTypeVersion), loader);
+    }
+
+    /**
+     * Invalidates the policy type cache and cached GET responses after policy types are changed in the database.
+     */
+    private void invalidatePolicyTypeCache() {
+
+        ApiCache<Pair<String, String>, ToscaServiceTemplate> cache = ApiActivator.getPolicyTypeCache();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache != null) {
+            responseCache.policyTypesChanged();
+        }
+    }
+
     /**
      * Validates whether specified policy type can be deleted based on the rule that
      * policy type parameterized by at least one policies cannot be deleted.
@@ -151,9 +198,24 @@ public class PolicyTypeProvider implements AutoCloseable {
      */
     private void validateDeleteEligibility(String policyTypeId, String policyTypeVersion) throws PfModelException {
 
-        ToscaPolicyFilter policyFilter = ToscaPolicyFilter.builder()
-                .type(policyTypeId).typeVersion(policyTypeVersion).build();
-        List<ToscaPolicy> policies = modelsProvider.getFilteredPolicyList(policyFilter);
+        Collection<Pair<String, String>> policies;
+        PolicyReferenceIndex referenceIndex = ApiActivator.getPolicyReferenceIndex();
+        if (referenceIndex != null) {
+            // The index only sees the policies written through this instance, it settles a referenced policy type
+            // but an unreferenced one is confirmed against the policies in the database
+            policies = referenceIndex.getPolicies(policyTypeId, policyTypeVersion);
+            if (policies.isEmpty()) {
+                policies = referenceIndex.loadPolicies(policyTypeId, policyTypeVersion);
+            }
+        } else {
+            ToscaPolicyFilter policyFilter = ToscaPolicyFilter.builder()
+                    .type(policyTypeId).typeVersion(policyTypeVersion).build();
+            policies = new ArrayList<>();
+            for (ToscaPolicy policy : modelsProvider.getFilteredPolicyList(policyFilter)) {
+                policies.add(Pair.of(policy.getName(), policy.getVersion()));
+            }
+        }
+
         if (!policies.isEmpty()) {
             throw new PfModelException(Response.Status.CONFLICT,
                     constructDeleteRuleViolationMessage(policyTypeId, policyTypeVersion, policies));
@@ -165,16 +227,16 @@ public class PolicyTypeProvider implements AutoCloseable {
      *
      * @param policyTypeId the ID of policy type
      * @param policyTypeVersion the version of policy type
-     * @param policies the list of policies that parameterizes specified policy type
+     * @param policies the names and versions of the policies that parameterize specified policy type
      *
      * @return the constructed message
      */
     private String constructDeleteRuleViolationMessage(
-            String policyTypeId, String policyTypeVersion, List<ToscaPolicy> policies) {
+            String policyTypeId, String policyTypeVersion, Collection<Pair<String, String>> policies) {
 
         List<String> policyNameVersionList = new ArrayList<>();
-        for (ToscaPolicy policy : policies) {
-            policyNameVersionList.add(policy.getName() + ":" + policy.getVersion());
+        for (Pair<String, String> policy : policies) {
+            policyNameVersionList.add(policy.getLeft() + ":" + policy.getRight());
         }
         String parameterizedPolicies = String.join(",", policyNameVersionList);
         return "policy type with ID " + policyTypeId + ":" + policyTypeVersion
@@ -215,13 +277,13 @@ public class PolicyTypeProvider implements AutoCloseable {
     }
 
     /**
-     * Closes the connection to database.
+     * Returns the database provider to the pool or closes it if it is not pooled.
      *
      * @throws PfModelException the PfModel parsing exception
      */
     @Override
     public void close() throws PfModelException {
 
-        modelsProvider.close();
+        PolicyModelsProviderPool.releaseProvider(modelsProvider);
     }
 }
@@ -0,0 +1,110 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Properties;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.startstop.ApiActivator;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+
+/**
+ * Class to give direct JPA access to the TOSCA tables for queries the models provider cannot express, such as
+ * paged and projected reads.
+ *
+ * <p>The entity manager factory is opened on the configured persistence unit but never alters the schema.
+ */
+public class ReadOnlyDatabase implements AutoCloseable {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs the object.
+     *
+     * @param providerParameters the database provider parameters
+     */
+    public ReadOnlyDatabase(final PolicyModelsProviderParameters providerParameters) {
+        Properties jdbcProperties = new Properties();
+        jdbcProperties.setProperty(PersistenceUnitProperties.JDBC_DRIVER, providerParameters.getDatabaseDriver());
+        jdbcProperties.setProperty(PersistenceUnitProperties.JDBC_URL, providerParameters.getDatabaseUrl());
+        jdbcProperties.setProperty(PersistenceUnitProperties.JDBC_USER, providerParameters.getDatabaseUser());
+        jdbcProperties.setProperty(PersistenceUnitProperties.JDBC_PASSWORD, new String(
+                Base64.getDecoder().decode(providerParameters.getDatabasePassword()), StandardCharsets.UTF_8));
+        jdbcProperties.setProperty(PersistenceUnitProperties.DDL_GENERATION, PersistenceUnitProperties.NONE);
+        jdbcProperties.setProperty(PersistenceUnitProperties.SCHEMA_GENERATION_DATABASE_ACTION,
+                PersistenceUnitProperties.SCHEMA_GENERATION_NONE_ACTION);
+
+        this.entityManagerFactory =
+                Persistence.createEntityManagerFactory(providerParameters.getPersistenceUnit(), jdbcProperties);
+    }
+
+    /**
+     * Creates an entity manager, the caller must close it.
+     *
+     * @return the entity manager
+     */
+    public EntityManager createEntityManager() {
+        return entityManagerFactory.createEntityManager();
+    }
+
+    /**
+     * Closes the database connections.
+     */
+    @Override
+    public void close() {
+        entityManagerFactory.close();
+    }
+
+    /**
+     * Returns the database owned by the activator or, when the api is not running as a service, opens a dedicated
+     * database from the registered parameters.
+     *
+     * @return the database
+     */
+    public static ReadOnlyDatabase acquireDatabase() {
+        ReadOnlyDatabase database = ApiActivator.getReadOnlyDatabase();
+        if (database != null) {
+            return database;
+        }
+
+        ApiParameterGroup parameterGroup = ParameterService.get("ApiGroup");
+        return new ReadOnlyDatabase(parameterGroup.getDatabaseProviderParameters());
+    }
+
+    /**
+     * Returns a database obtained with {@link #acquireDatabase()}, closing it if it is not owned by the activator.
+     *
+     * @param database the database
+     */
+    public static void releaseDatabase(final ReadOnlyDatabase database) {
+        if (database != ApiActivator.getReadOnlyDatabase()) {
+            database.close();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.onap.policy.api.main.startstop.ApiActivator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class to check on a schedule whether the api service can serve requests, so that readiness probes are answered
+ * from the last check and never query the database themselves.
+ *
+ * <p>The service is not ready while it is starting, its caches are not created, its snapshot is being restored or
+ * its deployed policy index is not loaded, when the last database query failed, when all pooled database providers
+ * were leased in several checks in a row, or when the checks have stopped running.
+ */
+public class ReadinessMonitor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadinessMonitor.class);
+
+    private static final String DATABASE_CHECK_QUERY = "SELECT e.key.name FROM JpaToscaPolicyType e";
+
+    // Checks in a row without an idle provider before the pool is reported saturated
+    private static final int SATURATION_CHECKS = 3;
+
+    // Checks missed before the results are considered out of date
+    private static final int MISSED_CHECKS = 3;
+
+    private final long checkInterval;
+    private volatile ScheduledExecutorService scheduler;
+
+    // Problems found by the last check and its time in milliseconds, 0 before the first check
+    private volatile List<String> problems = Collections.emptyList();
+    private volatile long lastCheckTime;
+
+    // Only used by the checks
+    private int saturatedChecks;
+
+    /**
+     * Constructs the object.
+     *
+     * @param checkInterval the time in milliseconds between checks
+     */
+    public ReadinessMonitor(final long checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * Runs a first check and schedules the next ones.
+     */
+    public synchronized void start() {
+        check();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "readiness-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks the database and the provider pool, and records the problems found.
+     */
+    public synchronized void check() {
+        List<String> newProblems = new ArrayList<>();
+
+        String databaseProblem = checkDatabase();
+        if (databaseProblem != null) {
+            newProblems.add(databaseProblem);
+        }
+
+        PolicyModelsProviderPool pool = ApiActivator.getProviderPool();
+        if (pool != null && pool.getIdleCount() == 0) {
+            saturatedChecks++;
+        } else {
+            saturatedChecks = 0;
+        }
+        if (saturatedChecks >= SATURATION_CHECKS) {
+            newProblems.add("database provider pool saturated");
+        }
+
+        if (!newProblems.isEmpty() && !newProblems.equals(problems)) {
+            LOGGER.warn("policy api not ready: {}", newProblems);
+        }
+        problems = Collections.unmodifiableList(newProblems);
+        lastCheckTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the reasons why the service is not ready, from the last check and the startup state.
+     *
+     * @return the problems, empty if the service is ready
+     */
+    public List<String> getProblems() {
+        List<String> currentProblems = new ArrayList<>();
+        if (ApiActivator.isStarting()) {
+            currentProblems.add("starting");
+        }
+        if (ApiActivator.getPolicyTypeCache() == null || ApiActivator.getPolicyCache() == null
+                || ApiActivator.getResponseCache() == null) {
+            // Cold requests would all reach the database at once
+            currentProblems.add("caches not created");
+        }
+        if (ApiActivator.isRestoringSnapshot()) {
+            currentProblems.add("restoring snapshot");
+        }
+        DeployedPolicyIndex deployedPolicyIndex = ApiActivator.getDeployedPolicyIndex();
+        if (deployedPolicyIndex == null || !deployedPolicyIndex.isLoaded()) {
+            currentProblems.add("deployed policy index not loaded");
+        }
+
+        long checkTime = lastCheckTime;
+        if (checkTime == 0) {
+            currentProblems.add("not checked yet");
+        } else if (System.currentTimeMillis() - checkTime > MISSED_CHECKS * checkInterval) {
+            currentProblems.add("readiness checks out of date");
+        }
+        currentProblems.addAll(problems);
+        return currentProblems;
+    }
+
+    /**
+     * Checks whether the service is ready, see {@link #getProblems()}.
+     *
+     * @return {@code true} if the service is ready
+     */
+    public boolean isReady() {
+        return getProblems().isEmpty();
+    }
+
+    /**
+     * Stops the checks, interrupting a check waiting on the database.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService currentScheduler = scheduler;
+        if (currentScheduler != null) {
+            currentScheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Runs a query reading a single row of a small table.
+     *
+     * @return the problem found, {@code null} if the database answered
+     */
+    private String checkDatabase() {
+        ReadOnlyDatabase database = ApiActivator.getReadOnlyDatabase();
+        if (database == null) {
+            return "database not connected";
+        }
+
+        try {
+            EntityManager entityManager = database.createEntityManager();
+            try {
+                entityManager.createQuery(DATABASE_CHECK_QUERY).setMaxResults(1)
+                        .setHint("javax.persistence.query.timeout", checkInterval).getResultList();
+                return null;
+            } finally {
+                entityManager.close();
+            }
+        } catch (RuntimeException exc) {
+            LOGGER.debug("database check failed", exc);
+            return "database unreachable";
+        }
+    }
+}
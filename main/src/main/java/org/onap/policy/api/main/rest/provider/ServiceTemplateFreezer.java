@@ -0,0 +1,75 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to make the lists and maps of a service template unmodifiable before it is cached, so that cached service
+ * templates can be shared with callers without being copied.
+ *
+ * <p>The service template is changed in place, it must be owned by the cache. The data types, policy types and
+ * policies it holds are shared as they are, callers must not change them.
+ */
+public class ServiceTemplateFreezer implements UnaryOperator<ToscaServiceTemplate> {
+
+    @Override
+    public ToscaServiceTemplate apply(final ToscaServiceTemplate serviceTemplate) {
+        if (serviceTemplate == null) {
+            return null;
+        }
+
+        serviceTemplate.setDataTypes(freeze(serviceTemplate.getDataTypes()));
+        serviceTemplate.setPolicyTypes(freeze(serviceTemplate.getPolicyTypes()));
+        if (serviceTemplate.getToscaTopologyTemplate() != null) {
+            serviceTemplate.getToscaTopologyTemplate().setPolicies(
+                    freeze(serviceTemplate.getToscaTopologyTemplate().getPolicies()));
+        }
+        return serviceTemplate;
+    }
+
+    /**
+     * Makes a list of entity maps unmodifiable.
+     *
+     * @param entityMaps the list of entity maps, keyed by entity name
+     *
+     * @return an unmodifiable copy of the list, holding unmodifiable copies of the maps
+     */
+    private static <T> List<Map<String, T>> freeze(final List<Map<String, T>> entityMaps) {
+        if (entityMaps == null) {
+            return null;
+        }
+
+        List<Map<String, T>> frozenMaps = new ArrayList<>(entityMaps.size());
+        for (Map<String, T> entityMap : entityMaps) {
+            frozenMaps.add(entityMap == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(entityMap)));
+        }
+        return Collections.unmodifiableList(frozenMaps);
+    }
+}
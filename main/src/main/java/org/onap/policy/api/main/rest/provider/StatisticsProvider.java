@@ -23,9 +23,14 @@
 
 package org.onap.policy.api.main.rest.provider;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.onap.policy.api.main.rest.AdmissionController;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics;
 import org.onap.policy.api.main.rest.ApiStatisticsManager;
+import org.onap.policy.api.main.rest.JsonResponseCache;
 import org.onap.policy.api.main.rest.StatisticsReport;
 import org.onap.policy.api.main.startstop.ApiActivator;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 
 /**
  * Class to fetch API statistics.
@@ -40,23 +45,55 @@ public class StatisticsProvider {
      * @return Report containing API statistics
      */
     public StatisticsReport fetchCurrentStatistics() {
-        final StatisticsReport report = new StatisticsReport();
+        return fetchCurrentStatistics(false);
+    }
+
+    /**
+     * Return the current API statistics.
+     *
+     * @param resetLatencies whether to clear the latency histograms once they are read
+     *
+     * @return Report containing API statistics
+     */
+    public StatisticsReport fetchCurrentStatistics(final boolean resetLatencies) {
+        final StatisticsReport report = ApiStatisticsManager.getSnapshot();
         report.setCode(ApiActivator.isAlive() ? 200 : 500);
-        report.setTotalApiCallCount(ApiStatisticsManager.getTotalApiCallCount());
-        report.setApiCallSuccessCount(ApiStatisticsManager.getApiCallSuccessCount());
-        report.setApiCallFailureCount(ApiStatisticsManager.getApiCallFailureCount());
-        report.setTotalPolicyGetCount(ApiStatisticsManager.getTotalPolicyGetCount());
-        report.setTotalPolicyPostCount(ApiStatisticsManager.getTotalPolicyPostCount());
-        report.setTotalPolicyTypeGetCount(ApiStatisticsManager.getTotalPolicyTypeGetCount());
-        report.setTotalPolicyTypePostCount(ApiStatisticsManager.getTotalPolicyTypePostCount());
-        report.setPolicyGetSuccessCount(ApiStatisticsManager.getPolicyGetSuccessCount());
-        report.setPolicyGetFailureCount(ApiStatisticsManager.getPolicyGetFailureCount());
-        report.setPolicyPostSuccessCount(ApiStatisticsManager.getPolicyPostSuccessCount());
-        report.setPolicyPostFailureCount(ApiStatisticsManager.getPolicyPostFailureCount());
-        report.setPolicyTypeGetSuccessCount(ApiStatisticsManager.getPolicyTypeGetSuccessCount());
-        report.setPolicyTypeGetFailureCount(ApiStatisticsManager.getPolicyTypeGetFailureCount());
-        report.setPolicyTypePostSuccessCount(ApiStatisticsManager.getPolicyTypePostSuccessCount());
-        report.setPolicyTypePostFailureCount(ApiStatisticsManager.getPolicyTypePostFailureCount());
+        report.setEndpointLatencies(ApiLatencyStatistics.getSnapshot(resetLatencies));
+
+        ApiCache<Pair<String, String>, ToscaServiceTemplate> policyTypeCache = ApiActivator.getPolicyTypeCache();
+        if (policyTypeCache != null) {
+            report.setPolicyTypeCacheHitCount(policyTypeCache.getHitCount());
+            report.setPolicyTypeCacheMissCount(policyTypeCache.getMissCount());
+            report.setPolicyTypeCacheEvictionCount(policyTypeCache.getEvictionCount());
+        }
+
+        PolicyCache policyCache = ApiActivator.getPolicyCache();
+        if (policyCache != null) {
+            report.setPolicyCacheHitCount(policyCache.getHitCount());
+            report.setPolicyCacheMissCount(policyCache.getMissCount());
+            report.setPolicyCacheEvictionCount(policyCache.getEvictionCount());
+        }
+
+        JsonResponseCache responseCache = ApiActivator.getResponseCache();
+        if (responseCache != null) {
+            report.setResponseCacheHitCount(responseCache.getHitCount());
+            report.setResponseCacheMissCount(responseCache.getMissCount());
+            report.setResponseCacheEvictionCount(responseCache.getEvictionCount());
+        }
+
+        AdmissionController admissionController = ApiActivator.getAdmissionController();
+        if (admissionController != null) {
+            report.setReadThrottledCount(admissionController.getReadThrottledCount());
+            report.setWriteThrottledCount(admissionController.getWriteThrottledCount());
+            report.setConcurrencyRejectedCount(admissionController.getConcurrencyRejectedCount());
+        }
+
+        report.setDatabaseConnectionCount(DatabaseConnectionPool.getConnectionCount());
+        report.setDatabaseConnectionActiveCount(DatabaseConnectionPool.getActiveConnectionCount());
+        report.setDatabaseConnectionIdleCount(DatabaseConnectionPool.getIdleConnectionCount());
+        report.setDatabaseConnectionWaitingCount(DatabaseConnectionPool.getWaitingCount());
+        report.setDatabaseConnectionExpiredCount(DatabaseConnectionPool.getExpiredConnectionCount());
+        report.setDatabaseConnectionLeakedCount(DatabaseConnectionPool.getLeakedConnectionCount());
         return report;
     }
 }
@@ -23,10 +23,28 @@
 
 package org.onap.policy.api.main.startstop;
 
+import java.nio.file.Paths;
+import org.apache.commons.lang3.tuple.Pair;
 import org.onap.policy.api.main.exception.PolicyApiException;
 import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.parameters.RestServerParameters;
+import org.onap.policy.api.main.rest.AdmissionController;
+import org.onap.policy.api.main.rest.ApiRequestExecutor;
 import org.onap.policy.api.main.rest.ApiRestServer;
+import org.onap.policy.api.main.rest.JsonResponseCache;
+import org.onap.policy.api.main.rest.provider.ApiCache;
+import org.onap.policy.api.main.rest.provider.ApiSnapshot;
+import org.onap.policy.api.main.rest.provider.DatabasePoolCustomizer;
+import org.onap.policy.api.main.rest.provider.DeployedPolicyIndex;
+import org.onap.policy.api.main.rest.provider.PolicyCache;
+import org.onap.policy.api.main.rest.provider.PolicyModelsProviderPool;
+import org.onap.policy.api.main.rest.provider.PolicyReferenceIndex;
+import org.onap.policy.api.main.rest.provider.ReadOnlyDatabase;
+import org.onap.policy.api.main.rest.provider.ReadinessMonitor;
+import org.onap.policy.api.main.rest.provider.ServiceTemplateFreezer;
 import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,12 +56,42 @@ public class ApiActivator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiActivator.class);
 
+    // Time given to a background startup to stop when the service is terminated
+    private static final long STARTUP_STOP_TIMEOUT_MS = 10000L;
+
     private final ApiParameterGroup apiParameterGroup;
 
     private static boolean alive = false;
 
+    private static volatile boolean starting = false;
+
+    private static volatile boolean restoringSnapshot = false;
+
+    private static volatile PolicyModelsProviderPool providerPool;
+
+    private static volatile ApiCache<Pair<String, String>, ToscaServiceTemplate> policyTypeCache;
+
+    private static volatile PolicyCache policyCache;
+
+    private static volatile JsonResponseCache responseCache;
+
+    private static volatile ReadOnlyDatabase readOnlyDatabase;
+
+    private static volatile DeployedPolicyIndex deployedPolicyIndex;
+
+    private static volatile PolicyReferenceIndex policyReferenceIndex;
+
+    private static volatile ApiRequestExecutor requestExecutor;
+
+    private static volatile AdmissionController admissionController;
+
+    private static volatile ReadinessMonitor readinessMonitor;
+
     private ApiRestServer restServer;
 
+    // Loads the database and caches after the rest server is started, in fast startup mode
+    private Thread startupThread;
+
     /**
      * Instantiate the activator for policy api as a complete service.
      *
@@ -51,6 +99,7 @@ public class ApiActivator {
      */
     public ApiActivator(final ApiParameterGroup apiParameterGroup) {
         this.apiParameterGroup = apiParameterGroup;
+        DatabasePoolCustomizer.setPoolParameters(apiParameterGroup.getDatabasePoolParameters());
     }
 
     /**
@@ -59,13 +108,184 @@ public class ApiActivator {
      * @throws PolicyApiException on errors in initializing the service
      */
     public void initialize() throws PolicyApiException {
+        initialize(new StartupTimer());
+    }
+
+    /**
+     * Initialize api as a complete service, timing the phases of the startup.
+     *
+     * <p>In fast startup mode the rest server is started first and the rest of the service is loaded in the
+     * background. The health check reports "starting" and the other requests are refused until it is loaded. The
+     * preloaded policy types are written first, checked against the database through the read-only database.
+     *
+     * @param timer the startup timer
+     * @throws PolicyApiException on errors in initializing the service
+     */
+    public void initialize(final StartupTimer timer) throws PolicyApiException {
         LOGGER.debug("Policy api starting as a service . . .");
+        if (apiParameterGroup.isFastStartup()) {
+            ApiActivator.setStarting(true);
+            registerToParameterService(apiParameterGroup);
+            startRequestExecutor();
+            createAdmissionController();
+            startApiRestServer();
+            ApiActivator.setAlive(true);
+            startReadinessMonitor();
+            timer.phaseDone("rest server");
+            LOGGER.info("Policy api listening after {}, loading in the background", timer);
+
+            startupThread = new Thread(() -> completeStartup(timer), "policy-api-startup");
+            startupThread.setDaemon(true);
+            startupThread.start();
+            return;
+        }
+
+        setReadOnlyDatabase(new ReadOnlyDatabase(apiParameterGroup.getDatabaseProviderParameters()));
+        new ApiDatabaseInitializer().initializeApiDatabase(apiParameterGroup.getDatabaseProviderParameters(),
+                readOnlyDatabase);
+        timer.phaseDone("policy type preload");
+        startProviderPool();
+        timer.phaseDone("provider pool");
+        createCaches();
+        startDeployedPolicyIndex();
+        timer.phaseDone("caches and indexes");
+        startRequestExecutor();
+        createAdmissionController();
         startApiRestServer();
+        timer.phaseDone("rest server");
         registerToParameterService(apiParameterGroup);
         ApiActivator.setAlive(true);
+        startReadinessMonitor();
         LOGGER.debug("Policy api started as a service");
     }
 
+    /**
+     * Loads the database, caches and indexes, and warms up the rest server, in fast startup mode. The service stops
+     * being alive if this fails. The loading stops between phases if the service is terminated meanwhile.
+     *
+     * @param timer the startup timer
+     */
+    private void completeStartup(final StartupTimer timer) {
+        try {
+            setReadOnlyDatabase(new ReadOnlyDatabase(apiParameterGroup.getDatabaseProviderParameters()));
+            new ApiDatabaseInitializer().initializeApiDatabase(apiParameterGroup.getDatabaseProviderParameters(),
+                    readOnlyDatabase);
+            timer.phaseDone("policy type preload");
+            checkNotTerminated();
+            startProviderPool();
+            timer.phaseDone("provider pool");
+            checkNotTerminated();
+            createCaches();
+            startDeployedPolicyIndex();
+            timer.phaseDone("caches and indexes");
+            checkNotTerminated();
+            restServer.warmUp();
+            timer.phaseDone("rest resources");
+            ApiActivator.setStarting(false);
+            LOGGER.info("Policy api ready in {}", timer);
+        } catch (final InterruptedException exp) {
+            LOGGER.info("Policy api terminated while loading");
+            ApiActivator.setStarting(false);
+        } catch (final Exception exp) {
+            LOGGER.error("Policy api failed to load, used parameters are {}", apiParameterGroup, exp);
+            ApiActivator.setAlive(false);
+            ApiActivator.setStarting(false);
+        }
+    }
+
+    /**
+     * Checks whether the service is being terminated during a background startup.
+     *
+     * @throws InterruptedException if the startup thread is interrupted
+     */
+    private static void checkNotTerminated() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException("policy api terminated");
+        }
+    }
+
+    /**
+     * Creates the pool of database providers leased by the REST calls.
+     *
+     * @throws PolicyApiException if the providers cannot be created
+     */
+    private void startProviderPool() throws PolicyApiException {
+        final PolicyModelsProviderPool pool = new PolicyModelsProviderPool(
+                apiParameterGroup.getDatabaseProviderParameters(), apiParameterGroup.getProviderPoolSize(),
+                apiParameterGroup.getProviderLeaseTimeout());
+        try {
+            pool.start();
+        } catch (final PfModelException exp) {
+            pool.close();
+            throw new PolicyApiException("Failed to create database provider pool", exp);
+        }
+        setProviderPool(pool);
+    }
+
+    /**
+     * Creates the in-memory caches in front of the database.
+     */
+    private void createCaches() {
+        setPolicyTypeCache(new ApiCache<>(apiParameterGroup.getCacheMaxEntries(),
+                apiParameterGroup.getCacheTimeToLive(), new ServiceTemplateFreezer()));
+        setPolicyCache(new PolicyCache(apiParameterGroup.getCacheMaxEntries(),
+                apiParameterGroup.getCacheTimeToLive()));
+        setResponseCache(new JsonResponseCache(apiParameterGroup.getCacheMaxEntries(),
+                apiParameterGroup.getCacheTimeToLive()));
+        setPolicyReferenceIndex(new PolicyReferenceIndex());
+    }
+
+    /**
+     * Builds the index of deployed policies and schedules its rebuilds, restoring the caches and indexes from the
+     * snapshot file first if one is configured.
+     */
+    private void startDeployedPolicyIndex() {
+        final DeployedPolicyIndex index =
+                new DeployedPolicyIndex(apiParameterGroup.getDeployedPolicyIndexRefreshInterval());
+        setDeployedPolicyIndex(index);
+        if (apiParameterGroup.getSnapshotFile() != null) {
+            setRestoringSnapshot(true);
+            try {
+                new ApiSnapshot(Paths.get(apiParameterGroup.getSnapshotFile())).restore(policyTypeCache, policyCache,
+                        policyReferenceIndex, index);
+            } finally {
+                setRestoringSnapshot(false);
+            }
+        }
+        index.start();
+    }
+
+    /**
+     * Creates the executor processing REST requests off the server threads.
+     */
+    private void startRequestExecutor() {
+        final RestServerParameters restServerParameters = apiParameterGroup.getRestServerParameters();
+        final ApiRequestExecutor executor = new ApiRequestExecutor(restServerParameters.getExecutionMode(),
+                restServerParameters.getMinThreads(), restServerParameters.getMaxThreads(),
+                restServerParameters.getQueueSize());
+        LOGGER.debug("Processing requests on {} threads", executor.getExecutionMode());
+        setRequestExecutor(executor);
+    }
+
+    /**
+     * Creates the admission control applied to REST requests before they are processed.
+     */
+    private void createAdmissionController() {
+        final RestServerParameters restServerParameters = apiParameterGroup.getRestServerParameters();
+        setAdmissionController(new AdmissionController(restServerParameters.getReadRateLimit(),
+                restServerParameters.getReadBurst(), restServerParameters.getWriteRateLimit(),
+                restServerParameters.getWriteBurst(), restServerParameters.getMaxConcurrentRequests()));
+    }
+
+    /**
+     * Starts the checks answering the readiness probes.
+     */
+    private void startReadinessMonitor() {
+        final ReadinessMonitor monitor = new ReadinessMonitor(apiParameterGroup.getReadinessCheckInterval());
+        setReadinessMonitor(monitor);
+        monitor.start();
+    }
+
     /**
      * Starts the api rest server using configuration parameters.
      *
@@ -73,13 +293,30 @@ public class ApiActivator {
      */
     private void startApiRestServer() throws PolicyApiException {
         apiParameterGroup.getRestServerParameters().setName(apiParameterGroup.getName());
-        restServer = new ApiRestServer(apiParameterGroup.getRestServerParameters());
+        restServer =
+                new ApiRestServer(apiParameterGroup.getRestServerParameters(), apiParameterGroup.isFastStartup());
         if (!restServer.start()) {
             throw new PolicyApiException(
                     "Failed to start api rest server. Check log for more details...");
         }
     }
 
+    /**
+     * Saves the caches and indexes to the snapshot file, if one is configured, so that the next start is warm.
+     */
+    public void saveSnapshot() {
+        if (apiParameterGroup.getSnapshotFile() == null || policyTypeCache == null || policyCache == null
+                || deployedPolicyIndex == null) {
+            return;
+        }
+        try {
+            new ApiSnapshot(Paths.get(apiParameterGroup.getSnapshotFile())).save(policyTypeCache, policyCache,
+                    deployedPolicyIndex);
+        } catch (final PfModelException exp) {
+            LOGGER.warn("Failed to save the snapshot of policy api", exp);
+        }
+    }
+
     /**
      * Terminate policy api.
      *
@@ -87,11 +324,56 @@ public class ApiActivator {
      */
     public void terminate() throws PolicyApiException {
         try {
+            // Stop a background startup between its phases, so that nothing it creates is left open
+            if (startupThread != null) {
+                startupThread.interrupt();
+                startupThread.join(STARTUP_STOP_TIMEOUT_MS);
+                if (startupThread.isAlive()) {
+                    LOGGER.warn("Policy api background startup did not stop within {} ms", STARTUP_STOP_TIMEOUT_MS);
+                }
+                startupThread = null;
+            }
+
             deregisterToParameterService(apiParameterGroup);
             ApiActivator.setAlive(false);
 
+            if (readinessMonitor != null) {
+                readinessMonitor.close();
+                setReadinessMonitor(null);
+            }
+
             // Stop the api rest server
             restServer.stop();
+            setAdmissionController(null);
+
+            if (requestExecutor != null) {
+                requestExecutor.close();
+                setRequestExecutor(null);
+            }
+
+            setPolicyTypeCache(null);
+            setPolicyCache(null);
+            setResponseCache(null);
+            setPolicyReferenceIndex(null);
+
+            if (deployedPolicyIndex != null) {
+                deployedPolicyIndex.close();
+                setDeployedPolicyIndex(null);
+            }
+
+            if (readOnlyDatabase != null) {
+                readOnlyDatabase.close();
+                setReadOnlyDatabase(null);
+            }
+
+            // Close the pooled database providers
+            if (providerPool != null) {
+                providerPool.close();
+                setProviderPool(null);
+            }
+        } catch (final InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            throw new PolicyApiException("Policy api service termination interrupted", exp);
         } catch (final Exception exp) {
             throw new PolicyApiException("Policy api service termination failed", exp);
         }
@@ -141,4 +423,220 @@ public class ApiActivator {
     public static void setAlive(final boolean status) {
         alive = status;
     }
+
+    /**
+     * Returns whether the api service is listening but still loading, in fast startup mode.
+     *
+     * @return the starting status
+     */
+    public static boolean isStarting() {
+        return starting;
+    }
+
+    /**
+     * Change the starting status of api service.
+     *
+     * @param status the status
+     */
+    private static void setStarting(final boolean status) {
+        starting = status;
+    }
+
+    /**
+     * Returns whether the caches and indexes of the api service are being restored from the snapshot file.
+     *
+     * @return the restoring status
+     */
+    public static boolean isRestoringSnapshot() {
+        return restoringSnapshot;
+    }
+
+    /**
+     * Change the restoring status of api service.
+     *
+     * @param status the status
+     */
+    private static void setRestoringSnapshot(final boolean status) {
+        restoringSnapshot = status;
+    }
+
+    /**
+     * Returns the pool of database providers of the running api service.
+     *
+     * @return the provider pool, or {@code null} if the service is not running
+     */
+    public static PolicyModelsProviderPool getProviderPool() {
+        return providerPool;
+    }
+
+    /**
+     * Change the pool of database providers of the api service.
+     *
+     * @param pool the provider pool
+     */
+    private static void setProviderPool(final PolicyModelsProviderPool pool) {
+        providerPool = pool;
+    }
+
+    /**
+     * Returns the cache of policy type queries keyed by policy type name and version.
+     *
+     * @return the policy type cache, or {@code null} if the service is not running
+     */
+    public static ApiCache<Pair<String, String>, ToscaServiceTemplate> getPolicyTypeCache() {
+        return policyTypeCache;
+    }
+
+    /**
+     * Change the cache of policy type queries.
+     *
+     * @param cache the policy type cache
+     */
+    private static void setPolicyTypeCache(final ApiCache<Pair<String, String>, ToscaServiceTemplate> cache) {
+        policyTypeCache = cache;
+    }
+
+    /**
+     * Returns the cache of policies and of the latest version of each policy.
+     *
+     * @return the policy cache, or {@code null} if the service is not running
+     */
+    public static PolicyCache getPolicyCache() {
+        return policyCache;
+    }
+
+    /**
+     * Change the cache of policies.
+     *
+     * @param cache the policy cache
+     */
+    private static void setPolicyCache(final PolicyCache cache) {
+        policyCache = cache;
+    }
+
+    /**
+     * Returns the cache of encoded GET responses.
+     *
+     * @return the response cache, or {@code null} if the service is not running
+     */
+    public static JsonResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Change the cache of encoded GET responses.
+     *
+     * @param cache the response cache
+     */
+    private static void setResponseCache(final JsonResponseCache cache) {
+        responseCache = cache;
+    }
+
+    /**
+     * Returns the direct JPA access used for exports and paged queries.
+     *
+     * @return the read-only database, or {@code null} if the service is not running
+     */
+    public static ReadOnlyDatabase getReadOnlyDatabase() {
+        return readOnlyDatabase;
+    }
+
+    /**
+     * Change the direct JPA access used for exports and paged queries.
+     *
+     * @param database the read-only database
+     */
+    private static void setReadOnlyDatabase(final ReadOnlyDatabase database) {
+        readOnlyDatabase = database;
+    }
+
+    /**
+     * Returns the index of the pdp groups deploying each policy.
+     *
+     * @return the deployed policy index, or {@code null} if the service is not running
+     */
+    public static DeployedPolicyIndex getDeployedPolicyIndex() {
+        return deployedPolicyIndex;
+    }
+
+    /**
+     * Change the index of the pdp groups deploying each policy.
+     *
+     * @param index the deployed policy index
+     */
+    private static void setDeployedPolicyIndex(final DeployedPolicyIndex index) {
+        deployedPolicyIndex = index;
+    }
+
+    /**
+     * Returns the index of the policies referencing each policy type.
+     *
+     * @return the policy reference index, or {@code null} if the service is not running
+     */
+    public static PolicyReferenceIndex getPolicyReferenceIndex() {
+        return policyReferenceIndex;
+    }
+
+    /**
+     * Change the index of the policies referencing each policy type.
+     *
+     * @param index the policy reference index
+     */
+    private static void setPolicyReferenceIndex(final PolicyReferenceIndex index) {
+        policyReferenceIndex = index;
+    }
+
+    /**
+     * Returns the executor processing REST requests off the server threads.
+     *
+     * @return the request executor, or {@code null} if the service is not running
+     */
+    public static ApiRequestExecutor getRequestExecutor() {
+        return requestExecutor;
+    }
+
+    /**
+     * Change the executor processing REST requests off the server threads.
+     *
+     * @param executor the request executor
+     */
+    private static void setRequestExecutor(final ApiRequestExecutor executor) {
+        requestExecutor = executor;
+    }
+
+    /**
+     * Returns the admission control applied to REST requests.
+     *
+     * @return the admission controller, or {@code null} if the service is not running
+     */
+    public static AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Change the admission control applied to REST requests.
+     *
+     * @param controller the admission controller
+     */
+    private static void setAdmissionController(final AdmissionController controller) {
+        admissionController = controller;
+    }
+
+    /**
+     * Returns the checks answering the readiness probes.
+     *
+     * @return the readiness monitor, or {@code null} if the service is not running
+     */
+    public static ReadinessMonitor getReadinessMonitor() {
+        return readinessMonitor;
+    }
+
+    /**
+     * Change the checks answering the readiness probes.
+     *
+     * @param monitor the readiness monitor
+     */
+    private static void setReadinessMonitor(final ReadinessMonitor monitor) {
+        readinessMonitor = monitor;
+    }
 }
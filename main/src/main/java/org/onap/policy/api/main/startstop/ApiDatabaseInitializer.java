@@ -23,8 +23,22 @@
 package org.onap.policy.api.main.startstop;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 import org.onap.policy.api.main.exception.PolicyApiException;
+import org.onap.policy.api.main.rest.provider.ReadOnlyDatabase;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
@@ -40,12 +54,18 @@ import org.slf4j.LoggerFactory;
 /**
  * This class creates initial policy types in the database.
  *
+ * <p>The preloaded policy types are decoded in parallel and looked up, by name and version, among the policy types
+ * already in the database. Only the policy types that are missing are written, so that restarting the service
+ * against a populated database does not re-create them. A preloaded policy type that changes must change version.
+ *
  * @author Chenfei Gao (cgao@research.att.com)
  */
 public class ApiDatabaseInitializer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiDatabaseInitializer.class);
 
+    private static final String TOSCA_DEFINITIONS_VERSION = "tosca_simple_yaml_1_0_0";
+
     private StandardCoder standardCoder;
     private PolicyModelsProviderFactory factory;
 
@@ -79,39 +99,202 @@ public class ApiDatabaseInitializer {
      * Initializes database by preloading policy types.
      *
      * @param policyModelsProviderParameters the database parameters
+     * @param database the read-only database the stored policy types are looked up in
+     * @return the number of policy types written
      * @throws PolicyApiException in case of errors.
      */
-    public void initializeApiDatabase(final PolicyModelsProviderParameters policyModelsProviderParameters)
-            throws PolicyApiException {
+    public int initializeApiDatabase(final PolicyModelsProviderParameters policyModelsProviderParameters,
+            final ReadOnlyDatabase database) throws PolicyApiException {
+
+        Map<String, ToscaPolicyType> preloadedTypes = decodePolicyTypes();
+        Set<String> storedKeys = fetchStoredKeys(database, preloadedTypes.values());
+
+        Map<String, ToscaPolicyType> changedTypes = new LinkedHashMap<>();
+        for (Map.Entry<String, ToscaPolicyType> entry : preloadedTypes.entrySet()) {
+            if (!storedKeys.contains(entry.getKey())) {
+                addWithAncestors(entry.getValue(), preloadedTypes, changedTypes);
+            }
+        }
+        if (changedTypes.isEmpty()) {
+            LOGGER.debug("All {} preloaded policy types are already in DB", preloadedTypes.size());
+            return 0;
+        }
+
+        ToscaServiceTemplate policyTypes = new ToscaServiceTemplate();
+        policyTypes.setPolicyTypes(new ArrayList<>());
+        policyTypes.setToscaDefinitionsVersion(TOSCA_DEFINITIONS_VERSION);
+        for (ToscaPolicyType policyType : changedTypes.values()) {
+            policyTypes.getPolicyTypes().add(Collections.singletonMap(policyType.getName(), policyType));
+        }
 
         try (PolicyModelsProvider databaseProvider =
                 factory.createPolicyModelsProvider(policyModelsProviderParameters)) {
-            ToscaServiceTemplate policyTypes = new ToscaServiceTemplate();
-            policyTypes.setPolicyTypes(new ArrayList<Map<String,ToscaPolicyType>>());
-            policyTypes.setToscaDefinitionsVersion("tosca_simple_yaml_1_0_0");
-            for (String pt : PRELOAD_POLICYTYPES) {
-                String policyTypeAsString = ResourceUtils.getResourceAsString(pt);
-                if (policyTypeAsString == null) {
-                    throw new PolicyApiException("Preloading policy type cannot be found: " + pt);
-                }
-                ToscaServiceTemplate singlePolicyType = standardCoder.decode(policyTypeAsString,
-                        ToscaServiceTemplate.class);
-                if (singlePolicyType == null) {
-                    throw new PolicyApiException("Error deserializing policy type from file: " + pt);
-                }
-                // Consolidate policy types
-                for (Map<String, ToscaPolicyType> eachPolicyType : singlePolicyType.getPolicyTypes()) {
-                    policyTypes.getPolicyTypes().add(eachPolicyType);
-                }
-            }
             ToscaServiceTemplate createdPolicyTypes = databaseProvider.createPolicyTypes(policyTypes);
             if (createdPolicyTypes == null) {
                 throw new PolicyApiException("Error preloading policy types: " + policyTypes);
             } else {
-                LOGGER.debug("Created initial policy types in DB - {}", createdPolicyTypes);
+                LOGGER.debug("Created {} of {} initial policy types in DB - {}", changedTypes.size(),
+                        preloadedTypes.size(), createdPolicyTypes);
+            }
+        } catch (final PfModelException exp) {
+            throw new PolicyApiException(exp);
+        }
+        return changedTypes.size();
+    }
+
+    /**
+     * Reads and decodes the preloaded policy type resources, one task per resource.
+     *
+     * @return the preloaded policy types, keyed by name and version
+     * @throws PolicyApiException if a resource cannot be read or decoded
+     */
+    private Map<String, ToscaPolicyType> decodePolicyTypes() throws PolicyApiException {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(PRELOAD_POLICYTYPES.length, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Callable<List<ToscaPolicyType>>> tasks = new ArrayList<>(PRELOAD_POLICYTYPES.length);
+            for (String pt : PRELOAD_POLICYTYPES) {
+                tasks.add(() -> decodePolicyTypes(pt));
+            }
+
+            // Consolidate policy types, the same policy type may be defined by several resources
+            Map<String, ToscaPolicyType> policyTypes = new LinkedHashMap<>();
+            for (Future<List<ToscaPolicyType>> future : executor.invokeAll(tasks)) {
+                for (ToscaPolicyType policyType : future.get()) {
+                    policyTypes.put(key(policyType.getName(), policyType.getVersion()), policyType);
+                }
+            }
+            return policyTypes;
+
+        } catch (final InterruptedException exp) {
+            Thread.currentThread().interrupt();
+            throw new PolicyApiException("Interrupted while decoding preloaded policy types", exp);
+
+        } catch (final ExecutionException exp) {
+            if (exp.getCause() instanceof PolicyApiException) {
+                throw (PolicyApiException) exp.getCause();
             }
-        } catch (final PfModelException | CoderException exp) {
+            throw new PolicyApiException(exp.getCause());
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Reads and decodes a preloaded policy type resource.
+     *
+     * @param pt the resource
+     * @return the policy types of the resource, with their names set
+     * @throws PolicyApiException if the resource cannot be read or decoded
+     */
+    private List<ToscaPolicyType> decodePolicyTypes(final String pt) throws PolicyApiException {
+        String policyTypeAsString = ResourceUtils.getResourceAsString(pt);
+        if (policyTypeAsString == null) {
+            throw new PolicyApiException("Preloading policy type cannot be found: " + pt);
+        }
+
+        ToscaServiceTemplate singlePolicyType;
+        try {
+            singlePolicyType = standardCoder.decode(policyTypeAsString, ToscaServiceTemplate.class);
+        } catch (final CoderException exp) {
             throw new PolicyApiException(exp);
         }
+        if (singlePolicyType == null) {
+            throw new PolicyApiException("Error deserializing policy type from file: " + pt);
+        }
+
+        List<ToscaPolicyType> policyTypes = new ArrayList<>();
+        for (Map<String, ToscaPolicyType> eachPolicyType : singlePolicyType.getPolicyTypes()) {
+            for (Map.Entry<String, ToscaPolicyType> entry : eachPolicyType.entrySet()) {
+                entry.getValue().setName(entry.getKey());
+                policyTypes.add(entry.getValue());
+            }
+        }
+        return policyTypes;
+    }
+
+    /**
+     * Looks up which preloaded policy types are already in the database. Only the names and versions of the policy
+     * types named like a preloaded policy type are read.
+     *
+     * @param database the read-only database
+     * @param preloadedTypes the preloaded policy types
+     * @return the keys of the stored policy types, by name and version, empty if the policy types cannot be read
+     */
+    private Set<String> fetchStoredKeys(final ReadOnlyDatabase database,
+            final Collection<ToscaPolicyType> preloadedTypes) {
+
+        Set<String> names = new HashSet<>();
+        for (ToscaPolicyType policyType : preloadedTypes) {
+            names.add(policyType.getName());
+        }
+
+        Set<String> keys = new HashSet<>();
+        try {
+            EntityManager entityManager = database.createEntityManager();
+            try {
+                for (Object[] row : entityManager
+                        .createQuery("SELECT e.key.name, e.key.version FROM JpaToscaPolicyType e "
+                                + "WHERE e.key.name IN :names", Object[].class)
+                        .setParameter("names", names).getResultList()) {
+                    keys.add(key((String) row[0], (String) row[1]));
+                }
+            } finally {
+                entityManager.close();
+            }
+        } catch (final PersistenceException exp) {
+            // Write all the preloaded policy types, as before
+            LOGGER.warn("cannot read the policy types in DB, preloading all policy types", exp);
+            keys.clear();
+        }
+        return keys;
+    }
+
+    /**
+     * Adds a policy type to the policy types to write, with the preloaded policy types it derives from, so that the
+     * written service template is complete.
+     *
+     * @param policyType the policy type
+     * @param preloadedTypes the preloaded policy types
+     * @param changedTypes the policy types to write
+     */
+    private static void addWithAncestors(final ToscaPolicyType policyType,
+            final Map<String, ToscaPolicyType> preloadedTypes, final Map<String, ToscaPolicyType> changedTypes) {
+        ToscaPolicyType current = policyType;
+        while (current != null
+                && changedTypes.putIfAbsent(key(current.getName(), current.getVersion()), current) == null) {
+            current = findByName(current.getDerivedFrom(), preloadedTypes);
+        }
+    }
+
+    /**
+     * Finds a preloaded policy type by name.
+     *
+     * @param name the name of the policy type, may be {@code null}
+     * @param policyTypes the preloaded policy types
+     * @return the first policy type with the name, {@code null} if there is none
+     */
+    private static ToscaPolicyType findByName(final String name, final Map<String, ToscaPolicyType> policyTypes) {
+        if (name == null) {
+            return null;
+        }
+        for (ToscaPolicyType policyType : policyTypes.values()) {
+            if (name.equals(policyType.getName())) {
+                return policyType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the key of a policy type.
+     *
+     * @param name the name of the policy type
+     * @param version the version of the policy type
+     * @return the key, by name and version
+     */
+    private static String key(final String name, final String version) {
+        return name + ":" + version;
     }
 }
@@ -50,6 +50,7 @@ public class Main {
      * @param args the command line arguments
      */
     public Main(final String[] args) {
+        final StartupTimer timer = new StartupTimer();
         final String argumentString = Arrays.toString(args);
         LOGGER.info("Starting policy api service with arguments - {}", argumentString);
 
@@ -78,20 +79,14 @@ public class Main {
             return;
         }
 
-        // Initialize database
-        try {
-            new ApiDatabaseInitializer().initializeApiDatabase(parameterGroup.getDatabaseProviderParameters());
-        } catch (final PolicyApiException e) {
-            LOGGER.error("Preloading policy types into DB failed", e);
-            return;
-        }
+        timer.phaseDone("parameters");
 
         // Now, create the activator for the policy api service
         activator = new ApiActivator(parameterGroup);
 
         // Start the activator
         try {
-            activator.initialize();
+            activator.initialize(timer);
         } catch (final PolicyApiException e) {
             LOGGER.error("start of policy api service failed, used parameters are {} ", argumentString, e);
             return;
@@ -99,7 +94,7 @@ public class Main {
 
         // Add a shutdown hook to shut everything down in an orderly manner
         Runtime.getRuntime().addShutdownHook(new PolicyApiShutdownHookClass());
-        LOGGER.info("Started policy api service");
+        LOGGER.info("Started policy api service in {}", timer);
     }
 
     /**
@@ -139,6 +134,9 @@ public class Main {
         @Override
         public void run() {
             try {
+                // Save the caches for a warm restart
+                activator.saveSnapshot();
+
                 // Shutdown the policy api service and wait for everything to stop
                 activator.terminate();
             } catch (final PolicyApiException e) {
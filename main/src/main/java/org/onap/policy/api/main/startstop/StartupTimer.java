@@ -0,0 +1,80 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.startstop;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class to time the phases of the startup of the api service, so that their breakdown can be logged.
+ */
+public class StartupTimer {
+
+    private final long startTime = System.nanoTime();
+    private long phaseStartTime = startTime;
+
+    // Duration in milliseconds of each completed phase, in order
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Records the end of a phase, which started at the end of the previous phase.
+     *
+     * @param phase the name of the phase
+     */
+    public synchronized void phaseDone(final String phase) {
+        final long now = System.nanoTime();
+        phases.put(phase, TimeUnit.NANOSECONDS.toMillis(now - phaseStartTime));
+        phaseStartTime = now;
+    }
+
+    /**
+     * Returns the time since the startup began.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Returns the durations of the completed phases.
+     *
+     * @return the duration in milliseconds of each phase, in order
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(getElapsedTime()).append(" ms (");
+        String separator = "";
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            builder.append(separator).append(phase.getKey()).append(' ').append(phase.getValue()).append(" ms");
+            separator = ", ";
+        }
+        return builder.append(')').toString();
+    }
+}
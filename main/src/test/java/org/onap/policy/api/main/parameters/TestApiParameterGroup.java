@@ -25,6 +25,7 @@ package org.onap.policy.api.main.parameters;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -115,4 +116,122 @@ public class TestApiParameterGroup {
                         .contains("\"org.onap.policy.models.provider.PolicyModelsProviderParameters\" INVALID, "
                                         + "parameter group has status INVALID"));
     }
+
+    @Test
+    public void testApiParameterGroup_ProviderPool() {
+        final RestServerParameters restServerParameters = commonTestData.getRestServerParameters(false, PORT);
+        final PolicyModelsProviderParameters databaseProviderParameters =
+                commonTestData.getDatabaseProviderParameters(false);
+        final ApiParameterGroup apiParameters = new ApiParameterGroup(
+                        CommonTestData.API_GROUP_NAME, restServerParameters, databaseProviderParameters);
+        assertEquals(ApiParameterGroup.DEFAULT_PROVIDER_POOL_SIZE, apiParameters.getProviderPoolSize());
+        assertEquals(ApiParameterGroup.DEFAULT_PROVIDER_LEASE_TIMEOUT, apiParameters.getProviderLeaseTimeout());
+
+        apiParameters.setProviderPoolSize(8);
+        apiParameters.setProviderLeaseTimeout(1000L);
+        assertTrue(apiParameters.validate().isValid());
+        assertEquals(8, apiParameters.getProviderPoolSize());
+        assertEquals(1000L, apiParameters.getProviderLeaseTimeout());
+
+        apiParameters.setProviderPoolSize(-1);
+        apiParameters.setProviderLeaseTimeout(-1L);
+        final GroupValidationResult validationResult = apiParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult()
+                        .contains("field \"providerPoolSize\" type \"int\" value \"-1\" INVALID"));
+        assertTrue(validationResult.getResult()
+                        .contains("field \"providerLeaseTimeout\" type \"long\" value \"-1\" INVALID"));
+    }
+
+    @Test
+    public void testApiParameterGroup_ImportBatchSize() {
+        final RestServerParameters restServerParameters = commonTestData.getRestServerParameters(false, PORT);
+        final PolicyModelsProviderParameters databaseProviderParameters =
+                commonTestData.getDatabaseProviderParameters(false);
+        final ApiParameterGroup apiParameters = new ApiParameterGroup(
+                        CommonTestData.API_GROUP_NAME, restServerParameters, databaseProviderParameters);
+        assertEquals(ApiParameterGroup.DEFAULT_IMPORT_BATCH_SIZE, apiParameters.getImportBatchSize());
+        assertEquals(ApiParameterGroup.DEFAULT_MAX_IMPORT_BATCH_SIZE, apiParameters.getMaxImportBatchSize());
+
+        apiParameters.setImportBatchSize(100);
+        apiParameters.setMaxImportBatchSize(1000);
+        assertTrue(apiParameters.validate().isValid());
+        assertEquals(100, apiParameters.getImportBatchSize());
+        assertEquals(1000, apiParameters.getMaxImportBatchSize());
+
+        apiParameters.setImportBatchSize(2000);
+        GroupValidationResult validationResult = apiParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult().contains("must not be greater than maxImportBatchSize"));
+
+        apiParameters.setMaxImportBatchSize(-1);
+        validationResult = apiParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult()
+                        .contains("field \"maxImportBatchSize\" type \"int\" value \"-1\" INVALID"));
+    }
+
+    @Test
+    public void testApiParameterGroup_SnapshotFile() {
+        final RestServerParameters restServerParameters = commonTestData.getRestServerParameters(false, PORT);
+        final PolicyModelsProviderParameters databaseProviderParameters =
+                commonTestData.getDatabaseProviderParameters(false);
+        final ApiParameterGroup apiParameters = new ApiParameterGroup(
+                        CommonTestData.API_GROUP_NAME, restServerParameters, databaseProviderParameters);
+        assertNull(apiParameters.getSnapshotFile());
+
+        apiParameters.setSnapshotFile("/var/lib/policy-api/snapshot");
+        assertTrue(apiParameters.validate().isValid());
+        assertEquals("/var/lib/policy-api/snapshot", apiParameters.getSnapshotFile());
+
+        apiParameters.setSnapshotFile(" ");
+        final GroupValidationResult validationResult = apiParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult().contains("snapshotFile"));
+    }
+
+    @Test
+    public void testApiParameterGroup_DatabasePool() {
+        final RestServerParameters restServerParameters = commonTestData.getRestServerParameters(false, PORT);
+        final PolicyModelsProviderParameters databaseProviderParameters =
+                commonTestData.getDatabaseProviderParameters(false);
+        final ApiParameterGroup apiParameters = new ApiParameterGroup(
+                        CommonTestData.API_GROUP_NAME, restServerParameters, databaseProviderParameters);
+        DatabasePoolParameters poolParameters = apiParameters.getDatabasePoolParameters();
+        assertEquals(DatabasePoolParameters.DEFAULT_MAX_POOL_SIZE, poolParameters.getMaxPoolSize());
+        assertEquals(DatabasePoolParameters.DEFAULT_MIN_IDLE, poolParameters.getMinIdle());
+        assertEquals(DatabasePoolParameters.DEFAULT_MAX_LIFETIME, poolParameters.getMaxLifetime());
+        assertNull(poolParameters.getValidationQuery());
+        assertEquals(0, poolParameters.getLeakDetectionThreshold());
+
+        poolParameters = new DatabasePoolParameters();
+        poolParameters.setMaxPoolSize(20);
+        poolParameters.setMinIdle(5);
+        poolParameters.setValidationQuery("SELECT 1");
+        poolParameters.setLeakDetectionThreshold(60000);
+        apiParameters.setDatabasePoolParameters(poolParameters);
+        assertTrue(apiParameters.validate().isValid());
+        assertEquals(20, apiParameters.getDatabasePoolParameters().getMaxPoolSize());
+
+        // Idle connections can all be closed
+        poolParameters.setMinIdle(0);
+        assertTrue(apiParameters.validate().isValid());
+        assertEquals(0, poolParameters.getMinIdle());
+
+        poolParameters.setMinIdle(30);
+        poolParameters.setMaxLifetime(-1);
+        poolParameters.setValidationQuery(" ");
+        final GroupValidationResult validationResult = apiParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult().contains("must not be more than maxPoolSize"));
+        assertTrue(validationResult.getResult().contains("field \"maxLifetime\" type \"long\" value \"-1\" INVALID"));
+        assertTrue(validationResult.getResult().contains("validationQuery"));
+
+        // The connections are split between the read and write pools
+        poolParameters = new DatabasePoolParameters();
+        poolParameters.setMaxPoolSize(1);
+        poolParameters.setMinIdle(1);
+        apiParameters.setDatabasePoolParameters(poolParameters);
+        assertTrue(apiParameters.validate().getResult().contains("split between the read and write pools"));
+    }
 }
@@ -23,9 +23,13 @@
 package org.onap.policy.api.main.parameters;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.onap.policy.api.main.parameters.RestServerParameters.ExecutionMode;
+import org.onap.policy.common.parameters.GroupValidationResult;
 
 public class TestRestServerParameters {
 
@@ -43,4 +47,64 @@ public class TestRestServerParameters {
         assertEquals(22, restServerParameters.getPort());
         assertEquals("password", restServerParameters.getPassword());
     }
+
+    @Test
+    public void testExecutionParameters() {
+        assertEquals(ExecutionMode.PLATFORM, restServerParameters.getExecutionMode());
+        assertEquals(RestServerParameters.DEFAULT_MIN_THREADS, restServerParameters.getMinThreads());
+        assertEquals(RestServerParameters.DEFAULT_MAX_THREADS, restServerParameters.getMaxThreads());
+        assertEquals(RestServerParameters.DEFAULT_QUEUE_SIZE, restServerParameters.getQueueSize());
+
+        restServerParameters.setExecutionMode(ExecutionMode.VIRTUAL);
+        restServerParameters.setMinThreads(2);
+        restServerParameters.setMaxThreads(64);
+        restServerParameters.setQueueSize(1000);
+        assertTrue(restServerParameters.validate().isValid());
+        assertEquals(ExecutionMode.VIRTUAL, restServerParameters.getExecutionMode());
+        assertEquals(2, restServerParameters.getMinThreads());
+        assertEquals(64, restServerParameters.getMaxThreads());
+        assertEquals(1000, restServerParameters.getQueueSize());
+
+        restServerParameters.setMinThreads(128);
+        GroupValidationResult validationResult = restServerParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult().contains("must not be less than minThreads"));
+
+        restServerParameters.setMinThreads(-1);
+        restServerParameters.setMaxThreads(-1);
+        restServerParameters.setQueueSize(-1);
+        validationResult = restServerParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult().contains("field \"minThreads\" type \"int\" value \"-1\" INVALID"));
+        assertTrue(validationResult.getResult().contains("field \"maxThreads\" type \"int\" value \"-1\" INVALID"));
+        assertTrue(validationResult.getResult().contains("field \"queueSize\" type \"int\" value \"-1\" INVALID"));
+    }
+
+    @Test
+    public void testAdmissionParameters() {
+        assertEquals(0, restServerParameters.getReadRateLimit());
+        assertEquals(0, restServerParameters.getReadBurst());
+        assertEquals(0, restServerParameters.getWriteRateLimit());
+        assertEquals(0, restServerParameters.getWriteBurst());
+        assertEquals(0, restServerParameters.getMaxConcurrentRequests());
+
+        restServerParameters.setReadRateLimit(100);
+        restServerParameters.setWriteRateLimit(10);
+        restServerParameters.setWriteBurst(20);
+        restServerParameters.setMaxConcurrentRequests(50);
+        assertTrue(restServerParameters.validate().isValid());
+        assertEquals(100, restServerParameters.getReadBurst());
+        assertEquals(20, restServerParameters.getWriteBurst());
+        assertEquals(50, restServerParameters.getMaxConcurrentRequests());
+
+        restServerParameters.setReadRateLimit(-1);
+        restServerParameters.setWriteBurst(-1);
+        restServerParameters.setMaxConcurrentRequests(-1);
+        GroupValidationResult validationResult = restServerParameters.validate();
+        assertFalse(validationResult.isValid());
+        assertTrue(validationResult.getResult().contains("field \"readRateLimit\" type \"int\" value \"-1\" INVALID"));
+        assertTrue(validationResult.getResult().contains("field \"writeBurst\" type \"int\" value \"-1\" INVALID"));
+        assertTrue(validationResult.getResult()
+                .contains("field \"maxConcurrentRequests\" type \"int\" value \"-1\" INVALID"));
+    }
 }
@@ -0,0 +1,82 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.onap.policy.api.main.rest.AdmissionController.RequestClass;
+
+/**
+ * This class performs unit test of {@link AdmissionController}.
+ */
+public class TestAdmissionController {
+
+    @Test
+    public void testRateLimits() {
+        AdmissionController controller = new AdmissionController(1, 2, 1, 1, 0);
+
+        assertEquals(0, controller.tryAcquireRate("user1", RequestClass.READ));
+        assertEquals(0, controller.tryAcquireRate("user1", RequestClass.READ));
+        assertTrue(controller.tryAcquireRate("user1", RequestClass.READ) > 0);
+
+        // Each user and class has its own bucket
+        assertEquals(0, controller.tryAcquireRate("user2", RequestClass.READ));
+        assertEquals(0, controller.tryAcquireRate("user1", RequestClass.WRITE));
+        assertTrue(controller.tryAcquireRate("user1", RequestClass.WRITE) > 0);
+
+        assertEquals(3, controller.getBucketCount());
+        assertEquals(1, controller.getReadThrottledCount());
+        assertEquals(1, controller.getWriteThrottledCount());
+    }
+
+    @Test
+    public void testUnlimited() {
+        AdmissionController controller = new AdmissionController(0, 0, 0, 0, 0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, controller.tryAcquireRate("user1", RequestClass.WRITE));
+            assertTrue(controller.tryAcquireConcurrency());
+        }
+        assertEquals(0, controller.getBucketCount());
+        assertEquals(0, controller.getConcurrentRequests());
+        assertEquals(0, controller.getWriteThrottledCount());
+    }
+
+    @Test
+    public void testConcurrency() {
+        AdmissionController controller = new AdmissionController(0, 0, 0, 0, 2);
+        assertEquals(2, controller.getMaxConcurrentRequests());
+
+        assertTrue(controller.tryAcquireConcurrency());
+        assertTrue(controller.tryAcquireConcurrency());
+        assertEquals(2, controller.getConcurrentRequests());
+        assertFalse(controller.tryAcquireConcurrency());
+        assertEquals(1, controller.getConcurrencyRejectedCount());
+
+        controller.releaseConcurrency();
+        assertEquals(1, controller.getConcurrentRequests());
+        assertTrue(controller.tryAcquireConcurrency());
+    }
+}
@@ -0,0 +1,114 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+
+/**
+ * This class performs unit test of {@link ApiLatencyStatistics}.
+ */
+public class TestApiLatencyStatistics {
+
+    private static final String ENDPOINT = "GET /policy/api/v1/policytypes";
+
+    @After
+    public void tearDown() {
+        ApiLatencyStatistics.resetAllStatistics();
+    }
+
+    @Test
+    public void testPhases() throws InterruptedException {
+
+        ApiLatencyStatistics.startRequest();
+        ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, TimeUnit.MILLISECONDS.toNanos(5));
+        ApiLatencyStatistics.startValidation();
+        // Database time spent while validating is not counted as validation
+        ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, TimeUnit.SECONDS.toNanos(10));
+        ApiLatencyStatistics.stopValidation();
+        ApiLatencyStatistics.addPhaseTime(Phase.SERIALIZATION, TimeUnit.MILLISECONDS.toNanos(2));
+        Thread.sleep(1);
+        ApiLatencyStatistics.finishRequest(ENDPOINT);
+
+        // A request is recorded once
+        ApiLatencyStatistics.finishRequest(ENDPOINT);
+
+        Map<String, LatencyReport> phases = ApiLatencyStatistics.getSnapshot(false).get(ENDPOINT);
+        assertEquals(1, phases.get("total").getCount());
+        assertTrue(phases.get("total").getMax() >= 1000);
+        assertEquals(10005000, phases.get("database").getMax());
+        assertTrue(phases.get("validation").getMax() < 1000000);
+        assertEquals(2000, phases.get("serialization").getMax());
+    }
+
+    @Test
+    public void testResetOnRead() {
+
+        ApiLatencyStatistics.startRequest();
+        ApiLatencyStatistics.finishRequest(ENDPOINT);
+
+        assertEquals(1, ApiLatencyStatistics.getSnapshot(true).get(ENDPOINT).get("total").getCount());
+        assertEquals(0, ApiLatencyStatistics.getSnapshot(false).get(ENDPOINT).get("total").getCount());
+    }
+
+    @Test
+    public void testHandOverRequest() throws InterruptedException {
+
+        ApiLatencyStatistics.startRequest();
+        Thread thread = new Thread(ApiLatencyStatistics.handOverRequest(() -> {
+            ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, TimeUnit.MILLISECONDS.toNanos(3));
+            ApiLatencyStatistics.finishRequest(ENDPOINT);
+        }));
+        thread.start();
+        thread.join();
+
+        // The request is no longer timed on the thread that handed it over
+        ApiLatencyStatistics.finishRequest(ENDPOINT);
+
+        Map<String, LatencyReport> phases = ApiLatencyStatistics.getSnapshot(false).get(ENDPOINT);
+        assertEquals(1, phases.get("total").getCount());
+        assertEquals(3000, phases.get("database").getMax());
+    }
+
+    @Test
+    public void testPhaseNamesIgnoreLocale() {
+
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            ApiLatencyStatistics.startRequest();
+            ApiLatencyStatistics.finishRequest(ENDPOINT);
+
+            assertTrue(ApiLatencyStatistics.getSnapshot(false).get(ENDPOINT).containsKey("validation"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
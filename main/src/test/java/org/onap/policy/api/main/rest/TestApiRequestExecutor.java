@@ -0,0 +1,145 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.onap.policy.api.main.parameters.RestServerParameters.ExecutionMode;
+
+/**
+ * This class performs unit test of {@link ApiRequestExecutor}.
+ */
+public class TestApiRequestExecutor {
+
+    private ApiRequestExecutor executor;
+
+    @After
+    public void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    public void testLoadShedding() throws InterruptedException {
+
+        executor = new ApiRequestExecutor(ExecutionMode.PLATFORM, 1, 1, 1);
+        assertEquals(ExecutionMode.PLATFORM, executor.getExecutionMode());
+        assertEquals(1, executor.getMaxThreads());
+        assertEquals(1, executor.getQueueSize());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(2);
+        Runnable blockingTask = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            completed.countDown();
+        };
+
+        // One request runs, one waits in the queue and the next one is rejected
+        assertTrue(executor.submit(blockingTask));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(executor.submit(completed::countDown));
+        assertFalse(executor.submit(completed::countDown));
+
+        assertEquals(1, executor.getActiveCount());
+        assertEquals(1, executor.getQueueDepth());
+        assertEquals(1, executor.getRejectedCount());
+
+        release.countDown();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void testThreadPoolGrowth() throws InterruptedException {
+
+        executor = new ApiRequestExecutor(ExecutionMode.PLATFORM, 1, 3, 1);
+
+        // Threads are started up to the maximum before requests are queued
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(executor.submit(() -> awaitRelease(started, release)));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(3, executor.getThreadPoolSize());
+        assertEquals(0, executor.getQueueDepth());
+
+        assertTrue(executor.submit(() -> { }));
+        assertEquals(1, executor.getQueueDepth());
+        assertFalse(executor.submit(() -> { }));
+        release.countDown();
+    }
+
+    @Test
+    public void testVirtualThreads() throws InterruptedException {
+
+        // Virtual threads are used when the JDK provides them, platform threads otherwise
+        executor = new ApiRequestExecutor(ExecutionMode.VIRTUAL, 1, 2, 1);
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(executor.submit(() -> awaitRelease(started, release)));
+        assertTrue(executor.submit(() -> awaitRelease(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(2, executor.getActiveCount());
+
+        // Two requests run and one more is admitted in either mode, the next one is rejected
+        assertTrue(executor.submit(() -> awaitRelease(new CountDownLatch(1), release)));
+        assertFalse(executor.submit(() -> { }));
+        assertEquals(1, executor.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testClose() {
+
+        executor = new ApiRequestExecutor(ExecutionMode.PLATFORM, 2, 2, 4);
+        executor.close();
+
+        // Requests arriving while the server stops are rejected
+        assertFalse(executor.submit(() -> { }));
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    private void awaitRelease(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
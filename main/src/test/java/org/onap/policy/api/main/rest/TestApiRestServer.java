@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -33,7 +34,13 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -54,6 +61,8 @@ import org.junit.Test;
 import org.onap.policy.api.main.exception.PolicyApiException;
 import org.onap.policy.api.main.parameters.CommonTestData;
 import org.onap.policy.api.main.parameters.RestServerParameters;
+import org.onap.policy.api.main.rest.provider.PolicyExporter;
+import org.onap.policy.api.main.startstop.ApiActivator;
 import org.onap.policy.api.main.startstop.Main;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
 import org.onap.policy.common.gson.GsonMessageBodyHandler;
@@ -61,7 +70,11 @@ import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.network.NetworkUtil;
 import org.onap.policy.common.utils.resources.ResourceUtils;
 import org.onap.policy.models.errors.concepts.ErrorResponse;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
 import org.onap.policy.models.tosca.legacy.concepts.LegacyGuardPolicyInput;
 import org.onap.policy.models.tosca.legacy.concepts.LegacyOperationalPolicy;
 import org.slf4j.Logger;
@@ -81,6 +94,8 @@ public class TestApiRestServer {
     private static final String NAME = "Policy API";
 
     private static final String HEALTHCHECK_ENDPOINT = "healthcheck";
+    private static final String LIVENESS_ENDPOINT = "healthcheck/liveness";
+    private static final String READINESS_ENDPOINT = "healthcheck/readiness";
     private static final String STATISTICS_ENDPOINT = "statistics";
 
     private static final String POLICYTYPES = "policytypes";
@@ -105,6 +120,11 @@ public class TestApiRestServer {
     private static final String POLICYTYPES_TCA_POLICIES_VCPE_LATEST = "policytypes/"
         + "onap.policies.monitoring.cdap.tca.hi.lo.app/versions/1.0.0/policies/onap.restart.tca/versions/latest";
 
+    private static final String POLICIES = "policies";
+    private static final String POLICIES_FETCH = "policies/fetch";
+    private static final String EXPORT = "export";
+    private static final String IMPORT = "import";
+
     private static final String GUARD_POLICIES =
             "policytypes/onap.policies.controlloop.Guard/versions/1.0.0/policies";
     private static final String GUARD_POLICIES_VDNS_FL_LATEST =
@@ -213,6 +233,50 @@ public class TestApiRestServer {
         }
     }
 
+    @Test
+    public void testLivenessAndReadiness() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            Response rawResponse = sendHttpRequest(LIVENESS_ENDPOINT).get();
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            validateHealthCheckReport(NAME, SELF, true, 200, ALIVE, rawResponse.readEntity(HealthCheckReport.class));
+
+            // The deployed policy index may still be loading in the background
+            for (int attempt = 0; attempt < 50; attempt++) {
+                rawResponse = sendHttpRequest(READINESS_ENDPOINT).get();
+                if (rawResponse.getStatus() == Response.Status.OK.getStatusCode()) {
+                    break;
+                }
+                Thread.sleep(100);
+            }
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            validateHealthCheckReport(NAME, SELF, true, 200, "ready", rawResponse.readEntity(HealthCheckReport.class));
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testLivenessAndReadinessNotAlive() {
+
+        assertThatCode(() -> {
+            port = NetworkUtil.allocPort();
+            final RestServerParameters restServerParams = new CommonTestData().getRestServerParameters(false, port);
+            restServerParams.setName(CommonTestData.API_GROUP_NAME);
+            restServer = new ApiRestServer(restServerParams);
+            restServer.start();
+
+            Response rawResponse = sendHttpRequest(LIVENESS_ENDPOINT).get();
+            assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), rawResponse.getStatus());
+            validateHealthCheckReport(NAME, SELF, false, 503, NOT_ALIVE,
+                    rawResponse.readEntity(HealthCheckReport.class));
+
+            rawResponse = sendHttpRequest(READINESS_ENDPOINT).get();
+            assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), rawResponse.getStatus());
+            validateHealthCheckReport(NAME, SELF, false, 503, NOT_ALIVE,
+                    rawResponse.readEntity(HealthCheckReport.class));
+        }).doesNotThrowAnyException();
+    }
+
     @Test
     public void testHttpsHealthCheckSuccess() {
 
@@ -358,6 +422,54 @@ public class TestApiRestServer {
         }).doesNotThrowAnyException();
     }
 
+    @Test
+    public void testListPolicyTypesPaged() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            for (String resrcName : toscaPolicyTypeResourceNames) {
+                Response rawResponse = createResource(POLICYTYPES, resrcName, true);
+                assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            }
+
+            Response rawResponse = readResource(POLICYTYPES + "?offset=1&limit=1", true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            List<Map<String, ToscaPolicyType>> policyTypes =
+                    rawResponse.readEntity(ToscaServiceTemplate.class).getPolicyTypes();
+            assertEquals(1, policyTypes.size());
+
+            rawResponse = readResource(POLICYTYPES + "?fields=derived_from", true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            policyTypes = rawResponse.readEntity(ToscaServiceTemplate.class).getPolicyTypes();
+            assertEquals(3, policyTypes.size());
+            ToscaPolicyType policyType = policyTypes.get(1).get("onap.policies.monitoring.cdap.tca.hi.lo.app");
+            assertEquals("1.0.0", policyType.getVersion());
+            assertEquals("onap.policies.Monitoring", policyType.getDerivedFrom());
+            assertNull(policyType.getDescription());
+            assertNull(policyType.getProperties());
+
+            rawResponse = readResource(POLICYTYPES + "?offset=3", true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            assertTrue(rawResponse.readEntity(ToscaServiceTemplate.class).getPolicyTypes().isEmpty());
+
+            rawResponse = readResource(POLICYTYPES + "?offset=-1", true);
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            ErrorResponse error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("offset must not be negative", error.getErrorMessage());
+
+            rawResponse = readResource(POLICYTYPES + "?limit=0", true);
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("limit must be a positive integer", error.getErrorMessage());
+
+            rawResponse = readResource(POLICYTYPES + "?fields=name,properties", true);
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("field properties is not one of [name, version, derived_from, description]",
+                    error.getErrorMessage());
+        }).doesNotThrowAnyException();
+    }
+
     @Test
     public void testDeletePolicyType() {
 
@@ -428,6 +540,64 @@ public class TestApiRestServer {
         }).doesNotThrowAnyException();
     }
 
+    @Test
+    public void testListPoliciesPaged() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            Response rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?limit=1", true);
+            assertEquals(Response.Status.NOT_FOUND.getStatusCode(), rawResponse.getStatus());
+            ErrorResponse error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("policy type with ID onap.policies.monitoring.cdap.tca.hi.lo.app:1.0.0 does not exist",
+                    error.getErrorMessage());
+
+            rawResponse = createResource(POLICYTYPES, toscaPolicyTypeResourceNames[0], true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            for (String resrcName : new String[] {toscaPolicyResourceNames[0], toscaPolicyResourceNames[1]}) {
+                rawResponse = createResource(POLICYTYPES_TCA_POLICIES, resrcName, true);
+                assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            }
+
+            rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?offset=1&limit=1", true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            List<Map<String, ToscaPolicy>> policies =
+                    rawResponse.readEntity(ToscaServiceTemplate.class).getToscaTopologyTemplate().getPolicies();
+            assertEquals(1, policies.size());
+            assertNotNull(policies.get(0).get("onap.scaleout.tca").getProperties());
+
+            rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?fields=name,type", true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            policies = rawResponse.readEntity(ToscaServiceTemplate.class).getToscaTopologyTemplate().getPolicies();
+            assertEquals(2, policies.size());
+            ToscaPolicy policy = policies.get(0).get("onap.restart.tca");
+            assertEquals("1.0.0", policy.getVersion());
+            assertEquals("onap.policies.monitoring.cdap.tca.hi.lo.app", policy.getType());
+            assertNull(policy.getTypeVersion());
+            assertNull(policy.getProperties());
+
+            rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?offset=2", true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            assertTrue(rawResponse.readEntity(ToscaServiceTemplate.class).getToscaTopologyTemplate().getPolicies()
+                    .isEmpty());
+
+            rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?offset=-1", true);
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("offset must not be negative", error.getErrorMessage());
+
+            rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?limit=0", true);
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("limit must be a positive integer", error.getErrorMessage());
+
+            rawResponse = readResource(POLICYTYPES_TCA_POLICIES + "?fields=name,properties", true);
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("field properties is not one of [name, version, type, type_version, description]",
+                    error.getErrorMessage());
+        }).doesNotThrowAnyException();
+    }
+
     @Test
     public void testDeletePolicies() {
 
@@ -442,6 +612,148 @@ public class TestApiRestServer {
         }).doesNotThrowAnyException();
     }
 
+    @Test
+    public void testCreatePolicyBatch() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            Response rawResponse = createPolicyBatch(toscaPolicyResourceNames[0], toscaPolicyResourceNames[1]);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            PolicyCreationResult[] results = rawResponse.readEntity(PolicyCreationResult[].class);
+            assertEquals(2, results.length);
+            for (PolicyCreationResult result : results) {
+                assertEquals(Response.Status.NOT_FOUND.getStatusCode(), result.getCode());
+                assertEquals("policy type with ID onap.policies.monitoring.cdap.tca.hi.lo.app:1.0.0 does not exist",
+                        result.getMessage());
+            }
+
+            rawResponse = createResource(POLICYTYPES, toscaPolicyTypeResourceNames[0], true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            rawResponse = createPolicyBatch(toscaPolicyResourceNames[0], toscaPolicyResourceNames[1]);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            results = rawResponse.readEntity(PolicyCreationResult[].class);
+            assertEquals(2, results.length);
+            assertEquals("onap.restart.tca", results[0].getPolicyId());
+            assertEquals("onap.scaleout.tca", results[1].getPolicyId());
+            for (PolicyCreationResult result : results) {
+                assertEquals(Response.Status.OK.getStatusCode(), result.getCode());
+            }
+
+            rawResponse = sendHttpRequest(POLICIES).post(Entity.entity(new ToscaServiceTemplate(),
+                    MediaType.APPLICATION_JSON));
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            ErrorResponse error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("no policies specified", error.getErrorMessage());
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testFetchPolicies() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            Response rawResponse = createResource(POLICYTYPES, toscaPolicyTypeResourceNames[0], true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            for (String resrcName : new String[] {toscaPolicyResourceNames[0], toscaPolicyResourceNames[1]}) {
+                rawResponse = createResource(POLICYTYPES_TCA_POLICIES, resrcName, true);
+                assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            }
+
+            rawResponse = fetchPolicies(new ToscaPolicyIdentifier("onap.scaleout.tca", "1.0.0"),
+                    new ToscaPolicyIdentifier("onap.restart.tca", "1.0.0"));
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            List<Map<String, ToscaPolicy>> policies =
+                    rawResponse.readEntity(ToscaServiceTemplate.class).getToscaTopologyTemplate().getPolicies();
+            assertEquals(2, policies.size());
+            assertEquals(Collections.singleton("onap.scaleout.tca"), policies.get(0).keySet());
+            assertEquals(Collections.singleton("onap.restart.tca"), policies.get(1).keySet());
+
+            rawResponse = fetchPolicies(new ToscaPolicyIdentifier("onap.restart.tca", "1.0.0"),
+                    new ToscaPolicyIdentifier("onap.restart.tca", "2.0.0"));
+            assertEquals(Response.Status.NOT_FOUND.getStatusCode(), rawResponse.getStatus());
+            ErrorResponse error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("policies with IDs onap.restart.tca:2.0.0 do not exist", error.getErrorMessage());
+
+            rawResponse = fetchPolicies();
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            error = rawResponse.readEntity(ErrorResponse.class);
+            assertEquals("no policy identifiers specified", error.getErrorMessage());
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testExportPolicies() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            Response rawResponse = sendHttpRequest(EXPORT).accept(PolicyExporter.NDJSON_TYPE).get();
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            assertTrue(rawResponse.readEntity(String.class).isEmpty());
+
+            rawResponse = createResource(POLICYTYPES, toscaPolicyTypeResourceNames[0], true);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            for (String resrcName : new String[] {toscaPolicyResourceNames[0], toscaPolicyResourceNames[1]}) {
+                rawResponse = createResource(POLICYTYPES_TCA_POLICIES, resrcName, true);
+                assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            }
+
+            rawResponse = sendHttpRequest(EXPORT).accept(PolicyExporter.NDJSON_TYPE).get();
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            assertEquals(PolicyExporter.NDJSON_TYPE, rawResponse.getMediaType().toString());
+            String[] lines = rawResponse.readEntity(String.class).split("\\n");
+            assertEquals(7, lines.length);
+            ToscaServiceTemplate line = standardCoder.decode(lines[0], ToscaServiceTemplate.class);
+            assertEquals(Collections.singleton("onap.datatypes.monitoring.metricsPerEventName"),
+                    line.getDataTypes().get(0).keySet());
+            line = standardCoder.decode(lines[3], ToscaServiceTemplate.class);
+            assertEquals(Collections.singleton("onap.policies.Monitoring"), line.getPolicyTypes().get(0).keySet());
+            line = standardCoder.decode(lines[4], ToscaServiceTemplate.class);
+            assertEquals(Collections.singleton("onap.policies.monitoring.cdap.tca.hi.lo.app"),
+                    line.getPolicyTypes().get(0).keySet());
+            line = standardCoder.decode(lines[5], ToscaServiceTemplate.class);
+            assertEquals(Collections.singleton("onap.restart.tca"),
+                    line.getToscaTopologyTemplate().getPolicies().get(0).keySet());
+            line = standardCoder.decode(lines[6], ToscaServiceTemplate.class);
+            assertEquals(Collections.singleton("onap.scaleout.tca"),
+                    line.getToscaTopologyTemplate().getPolicies().get(0).keySet());
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testImportPolicies() {
+
+        assertThatCode(() -> {
+            main = startApiService(true);
+            String policyTypeLine = standardCoder.encode(standardCoder.decode(
+                    ResourceUtils.getResourceAsString(toscaPolicyTypeResourceNames[0]), ToscaServiceTemplate.class));
+
+            Response rawResponse = sendHttpRequest(IMPORT).accept(PolicyExporter.NDJSON_TYPE)
+                    .post(Entity.entity(policyTypeLine + "\n", PolicyExporter.NDJSON_TYPE));
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            String[] lines = rawResponse.readEntity(String.class).split("\\n");
+            ImportProgress summary = standardCoder.decode(lines[lines.length - 1], ImportProgress.class);
+            assertTrue(summary.isComplete());
+            assertEquals(3, summary.getDataTypesCreated());
+            assertEquals(2, summary.getPolicyTypesCreated());
+            assertEquals(0, summary.getBatchesFailed());
+
+            // The status and the summary tell that a batch failed
+            rawResponse = sendHttpRequest(IMPORT).accept(PolicyExporter.NDJSON_TYPE)
+                    .post(Entity.entity(policyTypeLine + "\nnot json\n", PolicyExporter.NDJSON_TYPE));
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+            lines = rawResponse.readEntity(String.class).split("\\n");
+            summary = standardCoder.decode(lines[lines.length - 1], ImportProgress.class);
+            assertTrue(summary.isComplete());
+            assertEquals(2, summary.getPolicyTypesCreated());
+            assertEquals(1, summary.getItemsFailed());
+            assertEquals(1, summary.getBatchesFailed());
+
+            rawResponse = sendHttpRequest(IMPORT + "?batchSize=0").accept(PolicyExporter.NDJSON_TYPE)
+                    .post(Entity.entity(policyTypeLine + "\n", PolicyExporter.NDJSON_TYPE));
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawResponse.getStatus());
+        }).doesNotThrowAnyException();
+    }
+
     @Test
     public void testCreateGuardPolicies() {
 
@@ -581,6 +893,84 @@ public class TestApiRestServer {
         }).doesNotThrowAnyException();
     }
 
+    @Test
+    public void testFastStartup() {
+
+        assertThatCode(() -> {
+            port = NetworkUtil.allocPort();
+            COMMON_TEST_DATA.makeParameters("src/test/resources/parameters/ApiConfigParameters_FastStartup.json",
+                    "src/test/resources/parameters/ApiConfigParameters_FastStartupXXX.json", port);
+            main = new Main(new String[] {"-c",
+                "src/test/resources/parameters/ApiConfigParameters_FastStartupXXX.json"});
+
+            // The server listens before the database is loaded, requests are refused until it is
+            Response rawResponse = readResource(POLICYTYPES, true);
+            boolean refused = false;
+            for (int attempt = 0; attempt < 100
+                    && rawResponse.getStatus() == Response.Status.SERVICE_UNAVAILABLE.getStatusCode(); attempt++) {
+                refused = true;
+                assertEquals("1", rawResponse.getHeaderString("Retry-After"));
+                assertEquals("service is starting", rawResponse.readEntity(ErrorResponse.class).getErrorMessage());
+                Thread.sleep(100);
+                rawResponse = readResource(POLICYTYPES, true);
+            }
+            assertTrue(refused);
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            validateHealthCheckReport(NAME, SELF, true, 200, ALIVE,
+                    sendHttpRequest(HEALTHCHECK_ENDPOINT).get(HealthCheckReport.class));
+
+            // The API description is built on warm-up rather than before the server listens
+            rawResponse = sendHttpUrlRequest("http://localhost:" + port + "/swagger.json").get();
+            assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            assertTrue(rawResponse.readEntity(String.class).contains("/policy/api/v1/policytypes"));
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void testLoadShedding() {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final Runnable blockedRequest = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            assertThatCode(() -> {
+                main = startApiService(true);
+
+                // Occupy every thread and queue slot, the next request is shed
+                final ApiRequestExecutor requestExecutor = ApiActivator.getRequestExecutor();
+                int queued = 0;
+                while (requestExecutor.submit(blockedRequest)) {
+                    queued++;
+                }
+                assertEquals(requestExecutor.getMaxThreads() + requestExecutor.getQueueSize(), queued);
+
+                final long failureCount = ApiStatisticsManager.getPolicyTypeGetFailureCount();
+                Response rawResponse = readResource(POLICYTYPES, true);
+                assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), rawResponse.getStatus());
+                ErrorResponse error = rawResponse.readEntity(ErrorResponse.class);
+                assertEquals("too many requests are waiting to be processed, retry later", error.getErrorMessage());
+                assertEquals(failureCount + 1, ApiStatisticsManager.getPolicyTypeGetFailureCount());
+
+                // A shed delete is counted as a failed delete of its target
+                final long deleteFailureCount = ApiStatisticsManager.getPolicyTypeDeleteFailureCount();
+                rawResponse = deleteResource(POLICYTYPES_TCA_VERSION, true);
+                assertEquals(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), rawResponse.getStatus());
+                assertEquals(deleteFailureCount + 1, ApiStatisticsManager.getPolicyTypeDeleteFailureCount());
+
+                release.countDown();
+                rawResponse = readResource(POLICYTYPES, true);
+                assertEquals(Response.Status.OK.getStatusCode(), rawResponse.getStatus());
+            }).doesNotThrowAnyException();
+        } finally {
+            release.countDown();
+        }
+    }
+
     @Test
     public void testHttpsCreatePolicies() {
 
@@ -636,6 +1026,35 @@ public class TestApiRestServer {
         return invocationBuilder.post(entity);
     }
 
+    private Response createPolicyBatch(String... resourceNames) throws Exception {
+
+        List<Map<String, ToscaPolicy>> policies = new ArrayList<>();
+        for (String resourceName : resourceNames) {
+            ToscaServiceTemplate rawServiceTemplate = standardCoder.decode(
+                    ResourceUtils.getResourceAsString(resourceName), ToscaServiceTemplate.class);
+            for (Map<String, ToscaPolicy> policyBlock : rawServiceTemplate.getToscaTopologyTemplate().getPolicies()) {
+                policyBlock.values().forEach(policy -> policy.setTypeVersion("1.0.0"));
+                policies.add(policyBlock);
+            }
+        }
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(policies);
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion("tosca_simple_yaml_1_0_0");
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+
+        Entity<ToscaServiceTemplate> entity = Entity.entity(serviceTemplate, MediaType.APPLICATION_JSON);
+        return sendHttpRequest(POLICIES).post(entity);
+    }
+
+    private Response fetchPolicies(ToscaPolicyIdentifier... policyIdentifiers) throws Exception {
+
+        Entity<List<ToscaPolicyIdentifier>> entity =
+                Entity.entity(Arrays.asList(policyIdentifiers), MediaType.APPLICATION_JSON);
+        return sendHttpRequest(POLICIES_FETCH).post(entity);
+    }
+
     private Response createGuardPolicy(String endpoint, String resourceName, boolean http) throws Exception {
 
         LegacyGuardPolicyInput rawGuardPolicy = standardCoder.decode(
@@ -724,6 +1143,11 @@ public class TestApiRestServer {
 
     private Invocation.Builder sendHttpRequest(final String endpoint) throws Exception {
 
+        return sendHttpUrlRequest("http://localhost:" + port + "/policy/api/v1/" + endpoint);
+    }
+
+    private Invocation.Builder sendHttpUrlRequest(final String url) throws Exception {
+
         final ClientConfig clientConfig = new ClientConfig();
 
         final HttpAuthenticationFeature feature = HttpAuthenticationFeature.basic("healthcheck", "zb!XztG34");
@@ -734,7 +1158,7 @@ public class TestApiRestServer {
         client.property(ClientProperties.METAINF_SERVICES_LOOKUP_DISABLE, "true");
         client.register(GsonMessageBodyHandler.class);
 
-        final WebTarget webTarget = client.target("http://localhost:" + port + "/policy/api/v1/" + endpoint);
+        final WebTarget webTarget = client.target(url);
 
         final Invocation.Builder invocationBuilder = webTarget.request(MediaType.APPLICATION_JSON);
 
@@ -24,8 +24,14 @@ package org.onap.policy.api.main.rest;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.HttpMethod;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.Result;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.Target;
 
 public class TestApiStatisticsManager {
 
@@ -42,4 +48,45 @@ public class TestApiStatisticsManager {
         assertEquals(1, ApiStatisticsManager.updatePolicyTypePostFailureCount());
     }
 
+    @Test
+    public void testUpdateApiCallCount() {
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.POST, Result.SUCCESS);
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.POST, Result.FAILURE);
+        ApiStatisticsManager.updateApiCallCount(Target.OTHER, HttpMethod.GET, Result.SUCCESS);
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.DELETE, Result.FAILURE);
+
+        StatisticsReport report = ApiStatisticsManager.getSnapshot();
+        assertEquals(5, report.getTotalApiCallCount());
+        assertEquals(3, report.getApiCallSuccessCount());
+        assertEquals(2, report.getApiCallFailureCount());
+        assertEquals(1, report.getTotalPolicyGetCount());
+        assertEquals(1, report.getPolicyGetSuccessCount());
+        assertEquals(0, report.getTotalPolicyPostCount());
+        assertEquals(2, report.getTotalPolicyTypePostCount());
+        assertEquals(1, report.getPolicyTypePostSuccessCount());
+        assertEquals(1, report.getPolicyTypePostFailureCount());
+        assertEquals(0, report.getTotalPolicyTypeGetCount());
+        assertEquals(1, report.getTotalPolicyDeleteCount());
+        assertEquals(1, report.getPolicyDeleteFailureCount());
+        assertEquals(0, report.getTotalPolicyTypeDeleteCount());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int count = 0; count < 10000; count++) {
+                    ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        assertEquals(80000, ApiStatisticsManager.getTotalApiCallCount());
+        assertEquals(80000, ApiStatisticsManager.getPolicyGetSuccessCount());
+    }
+
 }
@@ -0,0 +1,148 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import org.junit.Test;
+import org.onap.policy.api.main.rest.JsonResponseCache.CachedResponse;
+import org.onap.policy.common.gson.GsonMessageBodyHandler;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * This class performs unit test of {@link JsonResponseCache}.
+ */
+public class TestJsonResponseCache {
+
+    private static final String POLICY_TYPE = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String POLICY_TYPE_VERSION = "1.0.0";
+    private static final String POLICY_NAME = "onap.restart.tca";
+
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    @Test
+    public void testPaths() {
+
+        assertEquals("/policytypes", JsonResponseCache.policyTypesPath(null, null));
+        assertEquals("/policytypes/" + POLICY_TYPE, JsonResponseCache.policyTypesPath(POLICY_TYPE, null));
+        assertEquals("/policytypes/" + POLICY_TYPE + "/versions/1.0.0",
+                JsonResponseCache.policyTypesPath(POLICY_TYPE, POLICY_TYPE_VERSION));
+        assertEquals("/policytypes/" + POLICY_TYPE + "/versions/1.0.0/policies",
+                JsonResponseCache.policiesPath(POLICY_TYPE, POLICY_TYPE_VERSION));
+        assertEquals("/policytypes/" + POLICY_TYPE + "/versions/1.0.0/policies/" + POLICY_NAME + "/versions/latest",
+                JsonResponseCache.policiesPath(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, "latest"));
+        assertEquals("/policytypes", JsonResponseCache.pagedPath("/policytypes", null, null, null));
+        assertEquals("/policytypes?offset=10&limit=null&fields=name",
+                JsonResponseCache.pagedPath("/policytypes", 10, null, "name"));
+    }
+
+    @Test
+    public void testEncoding() throws Exception {
+
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion("tosca_simple_yaml_1_0_0");
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new GsonMessageBodyHandler().writeTo(serviceTemplate, ToscaServiceTemplate.class,
+                ToscaServiceTemplate.class, null, MediaType.APPLICATION_JSON_TYPE, null, expected);
+
+        JsonResponseCache cache = new JsonResponseCache(10, 60000L);
+        assertNull(cache.getEntityTag("/policytypes"));
+        CachedResponse response = cache.get("/policytypes", () -> fetch(serviceTemplate));
+        assertArrayEquals(expected.toByteArray(), response.getBody());
+        assertSame(response, cache.get("/policytypes", () -> fetch(serviceTemplate)));
+        assertEquals(1, fetchCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(response.getEntityTag(), cache.getEntityTag("/policytypes"));
+        assertFalse(response.getEntityTag().isWeak());
+
+        // the entity tag follows the content
+        serviceTemplate.setToscaDefinitionsVersion("tosca_simple_yaml_1_1_0");
+        cache.policyTypesChanged();
+        assertNotEquals(response.getEntityTag(), cache.get("/policytypes", () -> fetch(serviceTemplate))
+                .getEntityTag());
+
+        assertNull(cache.get("/policytypes/dummy", () -> null));
+    }
+
+    @Test
+    public void testIsNotModified() {
+
+        EntityTag entityTag = new EntityTag("abc");
+        assertFalse(JsonResponseCache.isNotModified(null, entityTag));
+        assertFalse(JsonResponseCache.isNotModified("\"abc\"", null));
+        assertFalse(JsonResponseCache.isNotModified("\"xyz\"", entityTag));
+        assertTrue(JsonResponseCache.isNotModified("\"abc\"", entityTag));
+        assertTrue(JsonResponseCache.isNotModified("\"xyz\", W/\"abc\"", entityTag));
+        assertTrue(JsonResponseCache.isNotModified("*", entityTag));
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+
+        JsonResponseCache cache = new JsonResponseCache(10, 60000L);
+        String typePath = JsonResponseCache.policyTypesPath(POLICY_TYPE, POLICY_TYPE_VERSION);
+        String policyPath = JsonResponseCache.policiesPath(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, null);
+        String otherPolicyPath = JsonResponseCache.policiesPath("dummy", POLICY_TYPE_VERSION, POLICY_NAME, null);
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+
+        cache.get(typePath, () -> fetch(serviceTemplate));
+        cache.get(policyPath, () -> fetch(serviceTemplate));
+        cache.get(otherPolicyPath, () -> fetch(serviceTemplate));
+        assertEquals(3, fetchCount.get());
+
+        // policies of other policy types stay cached
+        cache.policiesChanged(POLICY_TYPE, POLICY_TYPE_VERSION);
+        cache.get(typePath, () -> fetch(serviceTemplate));
+        cache.get(policyPath, () -> fetch(serviceTemplate));
+        cache.get(otherPolicyPath, () -> fetch(serviceTemplate));
+        assertEquals(4, fetchCount.get());
+
+        // policies stay cached when policy types change
+        cache.policyTypesChanged();
+        cache.get(typePath, () -> fetch(serviceTemplate));
+        cache.get(policyPath, () -> fetch(serviceTemplate));
+        assertEquals(5, fetchCount.get());
+
+        cache.policiesChanged();
+        cache.get(typePath, () -> fetch(serviceTemplate));
+        cache.get(policyPath, () -> fetch(serviceTemplate));
+        cache.get(otherPolicyPath, () -> fetch(serviceTemplate));
+        assertEquals(7, fetchCount.get());
+    }
+
+    private Object fetch(ToscaServiceTemplate serviceTemplate) {
+        fetchCount.incrementAndGet();
+        return serviceTemplate;
+    }
+}
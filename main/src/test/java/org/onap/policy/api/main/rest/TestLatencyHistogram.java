@@ -0,0 +1,88 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class performs unit test of {@link LatencyHistogram}.
+ */
+public class TestLatencyHistogram {
+
+    @Test
+    public void testPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getSnapshot(false).getP99());
+
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        LatencyReport report = histogram.getSnapshot(false);
+        assertEquals(1000, report.getCount());
+        assertEquals(500500, report.getSum());
+        assertEquals(1000, report.getMax());
+        assertWithinPrecision(500, report.getP50());
+        assertWithinPrecision(900, report.getP90());
+        assertWithinPrecision(990, report.getP99());
+        assertWithinPrecision(999, report.getP999());
+    }
+
+    @Test
+    public void testReset() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyReport report = histogram.getSnapshot(true);
+        assertEquals(3, report.getCount());
+        assertEquals(10 + (1L << 32) - 1, report.getSum());
+        assertEquals((1L << 32) - 1, report.getMax());
+
+        report = histogram.getSnapshot(false);
+        assertEquals(0, report.getCount());
+        assertEquals(0, report.getSum());
+        assertEquals(0, report.getMax());
+    }
+
+    @Test
+    public void testBuckets() {
+
+        for (long value = 0; value < 100000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value);
+        }
+    }
+
+    private void assertWithinPrecision(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual,
+                actual >= expected && actual <= expected + expected / 32);
+    }
+}
@@ -0,0 +1,85 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.onap.policy.api.main.rest.ApiLatencyStatistics.Phase;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.HttpMethod;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.Result;
+import org.onap.policy.api.main.rest.ApiStatisticsManager.Target;
+
+/**
+ * This class performs unit test of {@link PrometheusMetricsWriter}.
+ */
+public class TestPrometheusMetricsWriter {
+
+    @After
+    public void tearDown() {
+        ApiStatisticsManager.resetAllStatistics();
+        ApiLatencyStatistics.resetAllStatistics();
+    }
+
+    @Test
+    public void testWriteAll() throws Exception {
+        ApiStatisticsManager.resetAllStatistics();
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY, HttpMethod.GET, Result.SUCCESS);
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.POST, Result.FAILURE);
+        ApiStatisticsManager.updateApiCallCount(Target.POLICY_TYPE, HttpMethod.POST, Result.FAILURE);
+
+        ApiLatencyStatistics.startRequest();
+        ApiLatencyStatistics.addPhaseTime(Phase.DATABASE, TimeUnit.MILLISECONDS.toNanos(3));
+        ApiLatencyStatistics.finishRequest("GET /policy/api/v1/\"quoted\"");
+
+        StringWriter output = new StringWriter();
+        new PrometheusMetricsWriter(output).writeAll();
+        String metrics = output.toString();
+
+        assertTrue(metrics.contains("# TYPE policy_api_calls_total counter\n"));
+        assertTrue(metrics.contains("policy_api_calls_total{result=\"success\"} 1\n"));
+        assertTrue(metrics.contains("policy_api_calls_total{result=\"failure\"} 2\n"));
+        assertTrue(metrics.contains(
+                "policy_api_requests_total{target=\"policy\",method=\"GET\",result=\"success\"} 1\n"));
+        assertTrue(metrics.contains(
+                "policy_api_requests_total{target=\"policy_type\",method=\"POST\",result=\"failure\"} 2\n"));
+
+        assertTrue(metrics.contains("# TYPE policy_api_request_latency_microseconds summary\n"));
+        assertTrue(metrics.contains("policy_api_request_latency_microseconds_count{"
+                + "endpoint=\"GET /policy/api/v1/\\\"quoted\\\"\",phase=\"database\"} 1\n"));
+        assertTrue(metrics.contains("policy_api_request_latency_microseconds_sum{"
+                + "endpoint=\"GET /policy/api/v1/\\\"quoted\\\"\",phase=\"database\"} 3000\n"));
+        assertTrue(metrics.contains("phase=\"database\",quantile=\"0.99\"}"));
+
+        assertTrue(metrics.contains("policy_api_jvm_memory_used_bytes{area=\"heap\"} "));
+        assertTrue(metrics.contains("policy_api_jvm_threads "));
+
+        // The caches and the provider pool are only reported when the activator is running
+        assertFalse(metrics.contains("policy_api_cache_hits_total"));
+        assertFalse(metrics.contains("policy_api_db_pool_size"));
+    }
+}
@@ -0,0 +1,182 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+
+/**
+ * This class performs unit test of {@link ApiCache}.
+ */
+public class TestApiCache {
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @Test
+    public void testReadThrough() throws PfModelException {
+
+        ApiCache<String, String> cache = new ApiCache<>(10, 60000L);
+        assertEquals("value-a", cache.get("a", () -> load("a")));
+        assertEquals("value-a", cache.get("a", () -> load("a")));
+        assertEquals(1, loadCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals("value-a", cache.get("a", () -> load("a")));
+        assertEquals(2, loadCount.get());
+
+        // null values are not cached
+        assertNull(cache.get("b", () -> null));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGetAll() throws PfModelException {
+
+        ApiCache<String, String> cache = new ApiCache<>(10, 60000L);
+        cache.get("b", () -> load("b"));
+
+        Map<String, String> values = cache.getAll(Arrays.asList("a", "b", "c", "missing"), this::loadAll);
+        assertEquals(Arrays.asList("a", "b", "c"), Arrays.asList(values.keySet().toArray()));
+        assertEquals("value-c", values.get("c"));
+        // one load for "b" and one batch for the others
+        assertEquals(2, loadCount.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(3, cache.size());
+
+        // all present, the loader is not called
+        cache.getAll(Arrays.asList("a", "c"), this::loadAll);
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testSizeEviction() throws PfModelException {
+
+        ApiCache<String, String> cache = new ApiCache<>(2, 60000L);
+        cache.get("a", () -> load("a"));
+        cache.get("b", () -> load("b"));
+        cache.get("a", () -> load("a"));
+        cache.get("c", () -> load("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        // "b" was the least recently used entry
+        cache.get("b", () -> load("b"));
+        assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    public void testTimeEviction() throws PfModelException, InterruptedException {
+
+        ApiCache<String, String> cache = new ApiCache<>(10, 1L);
+        cache.get("a", () -> load("a"));
+        Thread.sleep(10);
+        cache.get("a", () -> load("a"));
+        assertEquals(2, loadCount.get());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testFrozenValues() throws PfModelException {
+
+        ApiCache<String, ToscaServiceTemplate> cache = new ApiCache<>(10, 60000L, new ServiceTemplateFreezer());
+        ToscaServiceTemplate loaded = new ToscaServiceTemplate();
+        loaded.setToscaTopologyTemplate(new ToscaTopologyTemplate());
+        loaded.getToscaTopologyTemplate().setPolicies(new ArrayList<>());
+
+        ToscaServiceTemplate returned = cache.get("a", () -> loaded);
+        assertSame(loaded, returned);
+        assertSame(returned, cache.get("a", () -> null));
+        List<Map<String, ToscaPolicy>> policies = returned.getToscaTopologyTemplate().getPolicies();
+        assertThatThrownBy(() -> policies.add(new HashMap<>())).isInstanceOf(UnsupportedOperationException.class);
+
+        ToscaServiceTemplate stored = new ToscaServiceTemplate();
+        stored.setPolicyTypes(new ArrayList<>());
+        stored.getPolicyTypes().add(new HashMap<>());
+        cache.put("b", stored);
+        Map<String, ToscaPolicyType> policyTypes = cache.peek("b").getPolicyTypes().get(0);
+        assertThatThrownBy(() -> policyTypes.put("type", new ToscaPolicyType()))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertSame(stored, cache.getAll(Arrays.asList("b"), keys -> new HashMap<>()).get("b"));
+    }
+
+    @Test
+    public void testRestore() {
+
+        ApiCache<String, String> cache = new ApiCache<>(10, 60000L);
+        cache.restore("a", "value-a");
+        assertEquals("value-a", cache.peek("a"));
+
+        // An entry already in the cache is kept
+        cache.restore("a", "other");
+        assertEquals("value-a", cache.peek("a"));
+    }
+
+    @Test
+    public void testLoadRacingInvalidation() throws PfModelException {
+
+        ApiCache<String, String> cache = new ApiCache<>(10, 60000L);
+        cache.get("a", () -> {
+            cache.invalidateAll();
+            return load("a");
+        });
+        assertEquals(0, cache.size());
+    }
+
+    private Map<String, String> loadAll(Collection<String> keys) {
+        loadCount.incrementAndGet();
+        Map<String, String> values = new HashMap<>();
+        for (String key : keys) {
+            if (!"missing".equals(key)) {
+                values.put(key, "value-" + key);
+            }
+        }
+        return values;
+    }
+
+    private String load(String key) {
+        loadCount.incrementAndGet();
+        return "value-" + key;
+    }
+}
@@ -0,0 +1,194 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyTypeIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to perform unit testing of {@link ApiSnapshot}.
+ */
+public class TestApiSnapshot {
+
+    private static final String POLICY_TYPE_ID = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String POLICY_ID = "onap.restart.tca";
+
+    private static ApiParameterGroup apiParamGroup;
+    private static PolicyTypeProvider policyTypeProvider;
+    private static PolicyProvider policyProvider;
+    private static ToscaServiceTemplate createdPolicyType;
+    private static ToscaServiceTemplate createdPolicy;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Creates a policy type and one of its policies.
+     *
+     * @throws Exception if the policies cannot be created
+     */
+    @BeforeClass
+    public static void setupParameters() throws Exception {
+
+        StandardCoder standardCoder = new StandardCoder();
+        PolicyModelsProviderParameters providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:snapshotdb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+        apiParamGroup = new ApiParameterGroup("ApiGroup", null, providerParams);
+        ParameterService.register(apiParamGroup, true);
+        policyTypeProvider = new PolicyTypeProvider();
+        policyProvider = new PolicyProvider();
+
+        createdPolicyType = policyTypeProvider.createPolicyType(standardCoder
+                .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class));
+        ToscaServiceTemplate serviceTemplate =
+                standardCoder.decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        serviceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next()
+                .setTypeVersion("1.0.0");
+        createdPolicy = policyProvider.createPolicy(POLICY_TYPE_ID, "1.0.0", serviceTemplate);
+    }
+
+    /**
+     * Closes up DB connections and deregisters API parameter group.
+     *
+     * @throws Exception if the providers cannot be closed
+     */
+    @AfterClass
+    public static void tearDown() throws Exception {
+
+        policyTypeProvider.close();
+        policyProvider.close();
+        ParameterService.deregister(apiParamGroup);
+    }
+
+    @Test
+    public void testSaveAndRestore() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("snapshot");
+        ApiSnapshot snapshot = new ApiSnapshot(file);
+
+        ApiCache<Pair<String, String>, ToscaServiceTemplate> policyTypeCache = new ApiCache<>(10, 60000L);
+        policyTypeCache.put(Pair.of(POLICY_TYPE_ID, "1.0.0"), createdPolicyType);
+        policyTypeCache.put(Pair.of(null, null), createdPolicyType);
+        PolicyCache policyCache = new PolicyCache(10, 60000L);
+        policyCache.policiesCreated(POLICY_TYPE_ID, "1.0.0", createdPolicy);
+        snapshot.save(policyTypeCache, policyCache, DeployedPolicyIndex.of(Collections.singletonList(
+                makePdpGroup())));
+
+        // Database unchanged, everything is restored
+        ApiCache<Pair<String, String>, ToscaServiceTemplate> restoredTypes = new ApiCache<>(10, 60000L);
+        PolicyCache restoredPolicies = new PolicyCache(10, 60000L);
+        PolicyReferenceIndex referenceIndex = new PolicyReferenceIndex();
+        DeployedPolicyIndex deployedIndex = new DeployedPolicyIndex(60000L);
+        assertTrue(snapshot.restore(restoredTypes, restoredPolicies, referenceIndex, deployedIndex));
+        assertNotNull(restoredTypes.peek(Pair.of(POLICY_TYPE_ID, "1.0.0")));
+        assertNotNull(restoredTypes.peek(Pair.of(null, null)));
+        assertEquals(POLICY_ID, restoredPolicies.getPolicy(POLICY_TYPE_ID, "1.0.0", POLICY_ID, "1.0.0", () -> null)
+                .getToscaTopologyTemplate().getPolicies().get(0).keySet().iterator().next());
+        assertTrue(referenceIndex.isLoaded());
+        assertEquals(Collections.singleton(Pair.of(POLICY_ID, "1.0.0")),
+                referenceIndex.getPolicies(POLICY_TYPE_ID, "1.0.0"));
+        assertTrue(deployedIndex.isLoaded());
+        assertEquals("group", deployedIndex.getPdpGroups().get(0).getName());
+
+        // The restored pdp groups do not decide whether a policy can be deleted
+        assertNull(deployedIndex.getReferencingGroups(POLICY_ID, "1.0.0", null, null));
+
+        // Database changed, only the entries still in the database are restored
+        policyProvider.deletePolicy(POLICY_TYPE_ID, "1.0.0", POLICY_ID, "1.0.0");
+        restoredTypes = new ApiCache<>(10, 60000L);
+        restoredPolicies = new PolicyCache(10, 60000L);
+        referenceIndex = new PolicyReferenceIndex();
+        assertTrue(snapshot.restore(restoredTypes, restoredPolicies, referenceIndex, deployedIndex));
+        assertNotNull(restoredTypes.peek(Pair.of(POLICY_TYPE_ID, "1.0.0")));
+        assertNull(restoredTypes.peek(Pair.of(null, null)));
+        assertNull(restoredPolicies.getPolicy(POLICY_TYPE_ID, "1.0.0", POLICY_ID, "1.0.0", () -> null));
+        assertTrue(referenceIndex.getPolicies(POLICY_TYPE_ID, "1.0.0").isEmpty());
+    }
+
+    @Test
+    public void testRestoreUnusable() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("snapshot");
+        ApiSnapshot snapshot = new ApiSnapshot(file);
+        PolicyReferenceIndex referenceIndex = new PolicyReferenceIndex();
+        DeployedPolicyIndex deployedIndex = new DeployedPolicyIndex(60000L);
+
+        assertFalse(snapshot.restore(new ApiCache<>(10, 60000L), new PolicyCache(10, 60000L), referenceIndex,
+                deployedIndex));
+
+        Files.write(file, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        assertFalse(snapshot.restore(new ApiCache<>(10, 60000L), new PolicyCache(10, 60000L), referenceIndex,
+                deployedIndex));
+        assertFalse(referenceIndex.isLoaded());
+        assertFalse(deployedIndex.isLoaded());
+    }
+
+    private static PdpGroup makePdpGroup() {
+
+        PdpSubGroup pdpSubGroup = new PdpSubGroup();
+        pdpSubGroup.setPdpType("xacml");
+        pdpSubGroup.setSupportedPolicyTypes(Collections.singletonList(
+                new ToscaPolicyTypeIdentifier(POLICY_TYPE_ID, "1.0.0")));
+        pdpSubGroup.setPdpInstances(Collections.emptyList());
+        pdpSubGroup.setPolicies(Collections.singletonList(new ToscaPolicyIdentifier(POLICY_ID, "1.0.0")));
+
+        PdpGroup pdpGroup = new PdpGroup();
+        pdpGroup.setName("group");
+        pdpGroup.setVersion("1.0.0");
+        pdpGroup.setPdpGroupState(PdpState.ACTIVE);
+        pdpGroup.setPdpSubgroups(Collections.singletonList(pdpSubGroup));
+        return pdpGroup;
+    }
+}
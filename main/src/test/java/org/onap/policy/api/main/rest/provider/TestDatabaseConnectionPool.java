@@ -0,0 +1,83 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Base64;
+import org.junit.After;
+import org.junit.Test;
+import org.onap.policy.api.main.parameters.DatabasePoolParameters;
+import org.onap.policy.models.provider.PolicyModelsProvider;
+import org.onap.policy.models.provider.PolicyModelsProviderFactory;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+
+/**
+ * Class to perform unit test of {@link DatabaseConnectionPool} and {@link DatabasePoolCustomizer}.
+ */
+public class TestDatabaseConnectionPool {
+
+    /**
+     * Restores the default pool parameters.
+     */
+    @After
+    public void tearDown() {
+        DatabasePoolCustomizer.setPoolParameters(new DatabasePoolParameters());
+    }
+
+    @Test
+    public void testConnectionPool() throws Exception {
+        DatabasePoolParameters poolParameters = new DatabasePoolParameters();
+        poolParameters.setMaxPoolSize(3);
+        poolParameters.setMinIdle(1);
+        poolParameters.setMaxLifetime(1);
+        poolParameters.setValidationQuery("SELECT 1");
+        poolParameters.setLeakDetectionThreshold(60000);
+        DatabasePoolCustomizer.setPoolParameters(poolParameters);
+
+        PolicyModelsProviderParameters providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:connectionpooldb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+
+        try (PolicyModelsProvider databaseProvider =
+                new PolicyModelsProviderFactory().createPolicyModelsProvider(providerParams)) {
+            databaseProvider.getPdpGroups(null);
+            assertTrue(DatabaseConnectionPool.getConnectionCount() > 0);
+            assertTrue(DatabaseConnectionPool.getIdleConnectionCount() > 0);
+
+            // Connections older than the 1 ms lifetime are replaced when they are leased again
+            long expiredCount = DatabaseConnectionPool.getExpiredConnectionCount();
+            Thread.sleep(10);
+            databaseProvider.getPdpGroups(null);
+            assertTrue(DatabaseConnectionPool.getExpiredConnectionCount() > expiredCount);
+
+            assertEquals(0, DatabaseConnectionPool.getActiveConnectionCount());
+            assertEquals(0, DatabaseConnectionPool.getWaitingCount());
+            assertEquals(0, DatabaseConnectionPool.getLeakedConnectionCount());
+        }
+    }
+}
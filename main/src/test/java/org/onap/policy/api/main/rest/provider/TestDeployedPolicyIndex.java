@@ -0,0 +1,152 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.onap.policy.models.pdp.concepts.Pdp;
+import org.onap.policy.models.pdp.concepts.PdpGroup;
+import org.onap.policy.models.pdp.concepts.PdpSubGroup;
+import org.onap.policy.models.pdp.enums.PdpState;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyTypeIdentifier;
+
+/**
+ * Class to perform unit testing of {@link DeployedPolicyIndex}.
+ */
+public class TestDeployedPolicyIndex {
+
+    private static final String POLICY_TYPE = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String POLICY_TYPE_VERSION = "1.0.0";
+
+    @Test
+    public void testGetDeployments() {
+
+        DeployedPolicyIndex index = new DeployedPolicyIndex(1000L);
+        assertFalse(index.isLoaded());
+        assertTrue(index.getDeployments("onap.restart.tca", POLICY_TYPE, POLICY_TYPE_VERSION).isEmpty());
+
+        index.update(Arrays.asList(
+                makePdpGroup("active", PdpState.ACTIVE, PdpState.ACTIVE, "onap.restart.tca", "onap.scaleout.tca"),
+                makePdpGroup("passive", PdpState.PASSIVE, PdpState.ACTIVE, "onap.restart.tca"),
+                makePdpGroup("idle", PdpState.ACTIVE, PdpState.PASSIVE, "onap.restart.tca")));
+        assertTrue(index.isLoaded());
+
+        // Policy names are compared ignoring case, only active groups with an active pdp are indexed
+        List<DeployedPolicyIndex.Deployment> deployments =
+                index.getDeployments("ONAP.Restart.TCA", POLICY_TYPE, POLICY_TYPE_VERSION);
+        assertEquals(1, deployments.size());
+        assertEquals(Pair.of("active", "1.0.0"), deployments.get(0).getPdpGroup());
+        assertEquals(new ToscaPolicyIdentifier("onap.restart.tca", "1.0.0"), deployments.get(0).getPolicy());
+
+        assertTrue(index.getDeployments("onap.restart.tca", "dummy", POLICY_TYPE_VERSION).isEmpty());
+        assertTrue(index.getDeployments("dummy", POLICY_TYPE, POLICY_TYPE_VERSION).isEmpty());
+
+        index.invalidate();
+        assertFalse(index.isLoaded());
+        index.close();
+    }
+
+    @Test
+    public void testGetReferencingGroups() {
+
+        DeployedPolicyIndex index = new DeployedPolicyIndex(1000L);
+        assertNull(index.getReferencingGroups("onap.restart.tca", "1.0.0", null, null));
+
+        index.update(Arrays.asList(
+                makePdpGroup("active", PdpState.ACTIVE, PdpState.ACTIVE, "onap.restart.tca"),
+                makePdpGroup("passive", PdpState.PASSIVE, PdpState.PASSIVE, "onap.restart.tca")));
+
+        // Pdp groups reference their policies whatever their state
+        assertEquals(Arrays.asList(Pair.of("active", "1.0.0"), Pair.of("passive", "1.0.0")),
+                index.getReferencingGroups("onap.restart.tca", "1.0.0", null, null));
+        assertEquals(2, index.getReferencingGroups("onap.restart.tca", "1.0.0", POLICY_TYPE,
+                POLICY_TYPE_VERSION).size());
+        assertTrue(index.getReferencingGroups("onap.restart.tca", "1.0.0", "dummy", "1.0.0").isEmpty());
+        assertTrue(index.getReferencingGroups("onap.restart.tca", "2.0.0", null, null).isEmpty());
+        assertTrue(index.getReferencingGroups("ONAP.Restart.TCA", "1.0.0", null, null).isEmpty());
+
+        index.invalidate();
+        assertNull(index.getReferencingGroups("onap.restart.tca", "1.0.0", null, null));
+    }
+
+    @Test
+    public void testRestore() {
+
+        DeployedPolicyIndex index = new DeployedPolicyIndex(1000L);
+        index.restore(Collections.singletonList(
+                makePdpGroup("active", PdpState.ACTIVE, PdpState.ACTIVE, "onap.restart.tca")));
+
+        // Restored pdp groups serve deployments but not the references deciding deletions
+        assertTrue(index.isLoaded());
+        assertEquals(1, index.getDeployments("onap.restart.tca", POLICY_TYPE, POLICY_TYPE_VERSION).size());
+        assertNull(index.getReferencingGroups("onap.restart.tca", "1.0.0", null, null));
+
+        index.update(Collections.singletonList(
+                makePdpGroup("active", PdpState.ACTIVE, PdpState.ACTIVE, "onap.restart.tca")));
+        assertEquals(Collections.singletonList(Pair.of("active", "1.0.0")),
+                index.getReferencingGroups("onap.restart.tca", "1.0.0", null, null));
+    }
+
+    @Test
+    public void testOf() {
+
+        DeployedPolicyIndex index = DeployedPolicyIndex.of(Collections.singletonList(
+                makePdpGroup("active", PdpState.ACTIVE, PdpState.ACTIVE, "onap.scaleout.tca")));
+        assertTrue(index.isLoaded());
+        assertEquals(1, index.getDeployments("onap.scaleout.tca", POLICY_TYPE, POLICY_TYPE_VERSION).size());
+    }
+
+    private PdpGroup makePdpGroup(String name, PdpState groupState, PdpState pdpState, String... policyNames) {
+
+        Pdp pdp = new Pdp();
+        pdp.setInstanceId(name + "-pdp");
+        pdp.setPdpState(pdpState);
+
+        PdpSubGroup pdpSubGroup = new PdpSubGroup();
+        pdpSubGroup.setPdpType("xacml");
+        pdpSubGroup.setSupportedPolicyTypes(Collections.singletonList(
+                new ToscaPolicyTypeIdentifier(POLICY_TYPE, POLICY_TYPE_VERSION)));
+        pdpSubGroup.setPdpInstances(Collections.singletonList(pdp));
+        ToscaPolicyIdentifier[] policies = new ToscaPolicyIdentifier[policyNames.length];
+        for (int i = 0; i < policyNames.length; i++) {
+            policies[i] = new ToscaPolicyIdentifier(policyNames[i], "1.0.0");
+        }
+        pdpSubGroup.setPolicies(Arrays.asList(policies));
+
+        PdpGroup pdpGroup = new PdpGroup();
+        pdpGroup.setName(name);
+        pdpGroup.setVersion("1.0.0");
+        pdpGroup.setPdpGroupState(groupState);
+        pdpGroup.setPdpSubgroups(Collections.singletonList(pdpSubGroup));
+        return pdpGroup;
+    }
+}
@@ -0,0 +1,183 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+
+/**
+ * This class performs unit test of {@link PolicyCache}.
+ */
+public class TestPolicyCache {
+
+    private static final String POLICY_TYPE = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String POLICY_TYPE_VERSION = "1.0.0";
+    private static final String POLICY_NAME = "onap.restart.tca";
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @Test
+    public void testGetPolicy() throws PfModelException {
+
+        PolicyCache cache = new PolicyCache(10, 60000L);
+        ToscaServiceTemplate template = makeServiceTemplate(POLICY_NAME, "1.0.0");
+
+        assertEquals(template, cache.getPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, "1.0.0",
+                () -> load(template)));
+        assertEquals(template, cache.getPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, "1.0.0",
+                () -> load(template)));
+        assertEquals(1, loadCount.get());
+        assertEquals(1, cache.getHitCount());
+
+        // a cached policy of another policy type is not returned
+        assertNull(cache.getPolicy("dummy", POLICY_TYPE_VERSION, POLICY_NAME, "1.0.0",
+                () -> load(new ToscaServiceTemplate())));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testGetPolicies() throws PfModelException {
+
+        PolicyCache cache = new PolicyCache(10, 60000L);
+        ToscaServiceTemplate version1 = makeServiceTemplate(POLICY_NAME, "1.0.0");
+        cache.getPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, "1.0.0", () -> load(version1));
+
+        ToscaServiceTemplate allPolicies = makeServiceTemplate(POLICY_NAME, "2.0.0");
+        allPolicies.getToscaTopologyTemplate().getPolicies()
+                .addAll(makeServiceTemplate("other", "1.0.0").getToscaTopologyTemplate().getPolicies());
+        List<Pair<String, String>> policyIds =
+                Arrays.asList(Pair.of(POLICY_NAME, "2.0.0"), Pair.of(POLICY_NAME, "1.0.0"), Pair.of("dummy", "1.0.0"));
+        Map<Pair<String, String>, ToscaServiceTemplate> policies = cache.getPolicies(policyIds, missingIds -> {
+            assertEquals(2, missingIds.size());
+            return load(allPolicies);
+        });
+
+        assertEquals(Arrays.asList(Pair.of(POLICY_NAME, "2.0.0"), Pair.of(POLICY_NAME, "1.0.0")),
+                new ArrayList<>(policies.keySet()));
+        assertEquals("2.0.0", getVersion(policies.get(Pair.of(POLICY_NAME, "2.0.0"))));
+        assertEquals(version1, policies.get(Pair.of(POLICY_NAME, "1.0.0")));
+        assertEquals(2, loadCount.get());
+
+        // the batch loaded policy is now served by exact version lookups
+        cache.getPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, "2.0.0", () -> load(version1));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testLatestIndexOnCreate() throws PfModelException {
+
+        PolicyCache cache = new PolicyCache(10, 60000L);
+        ToscaServiceTemplate version1 = makeServiceTemplate(POLICY_NAME, "1.0.0");
+        cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version1));
+
+        cache.policiesCreated(POLICY_TYPE, POLICY_TYPE_VERSION, makeServiceTemplate(POLICY_NAME, "2.0.0"));
+        ToscaServiceTemplate latest =
+                cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version1));
+        assertEquals(1, loadCount.get());
+        assertEquals("2.0.0", getVersion(latest));
+
+        // the created policy is also served by exact version lookups
+        cache.getPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, "2.0.0", () -> load(version1));
+        assertEquals(1, loadCount.get());
+
+        // an older version does not move the index back
+        cache.policiesCreated(POLICY_TYPE, POLICY_TYPE_VERSION, makeServiceTemplate(POLICY_NAME, "1.5.0"));
+        latest = cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version1));
+        assertEquals("2.0.0", getVersion(latest));
+    }
+
+    @Test
+    public void testLatestIndexOnDelete() throws PfModelException {
+
+        PolicyCache cache = new PolicyCache(10, 60000L);
+        ToscaServiceTemplate version1 = makeServiceTemplate(POLICY_NAME, "1.0.0");
+        ToscaServiceTemplate version2 = makeServiceTemplate(POLICY_NAME, "2.0.0");
+        cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version2));
+
+        // deleting an older version keeps the index
+        cache.policyDeleted(POLICY_NAME, "1.0.0");
+        cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version1));
+        assertEquals(1, loadCount.get());
+
+        // deleting the indexed version reloads it
+        cache.policyDeleted(POLICY_NAME, "2.0.0");
+        ToscaServiceTemplate latest =
+                cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version1));
+        assertEquals(2, loadCount.get());
+        assertEquals("1.0.0", getVersion(latest));
+
+        cache.invalidatePolicy(POLICY_NAME);
+        cache.getLatestPolicy(POLICY_TYPE, POLICY_TYPE_VERSION, POLICY_NAME, () -> load(version1));
+        assertEquals(3, loadCount.get());
+    }
+
+    @Test
+    public void testCompareVersions() {
+
+        assertEquals(0, PolicyCache.compareVersions("1.0.0", "1.0.0"));
+        assertEquals(0, PolicyCache.compareVersions("1", "1.0.0"));
+        assertTrue(PolicyCache.compareVersions("1.10.0", "1.9.0") > 0);
+        assertTrue(PolicyCache.compareVersions("1.0.0", "2.0.0") < 0);
+        assertTrue(PolicyCache.compareVersions("1.0.b", "1.0.a") > 0);
+    }
+
+    private ToscaServiceTemplate load(ToscaServiceTemplate template) {
+        loadCount.incrementAndGet();
+        return template;
+    }
+
+    private String getVersion(ToscaServiceTemplate template) {
+        return template.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next().getVersion();
+    }
+
+    private ToscaServiceTemplate makeServiceTemplate(String name, String version) {
+        ToscaPolicy policy = new ToscaPolicy();
+        policy.setName(name);
+        policy.setVersion(version);
+        policy.setType(POLICY_TYPE);
+        policy.setTypeVersion(POLICY_TYPE_VERSION);
+
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(
+                new ArrayList<>(Collections.singletonList(Collections.singletonMap(name, policy))));
+
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion("tosca_simple_yaml_1_0_0");
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+}
@@ -0,0 +1,187 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to perform unit testing of {@link PolicyDirectory}.
+ */
+public class TestPolicyDirectory {
+
+    private static final String POLICY_TYPE_ID = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String OTHER_POLICY_RESOURCE = "policies/vDNS.policy.monitoring.input.tosca.json";
+
+    private static ApiParameterGroup apiParamGroup;
+    private static PolicyTypeProvider policyTypeProvider;
+    private static PolicyProvider policyProvider;
+
+    /**
+     * Creates a policy type and two of its policies.
+     *
+     * @throws Exception if the policies cannot be created
+     */
+    @BeforeClass
+    public static void setupParameters() throws Exception {
+
+        StandardCoder standardCoder = new StandardCoder();
+        PolicyModelsProviderParameters providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:directorydb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+        apiParamGroup = new ApiParameterGroup("ApiGroup", null, providerParams);
+        ParameterService.register(apiParamGroup, true);
+        policyTypeProvider = new PolicyTypeProvider();
+        policyProvider = new PolicyProvider();
+
+        policyTypeProvider.createPolicyType(standardCoder
+                .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class));
+        for (String resource : new String[] {POLICY_RESOURCE, OTHER_POLICY_RESOURCE}) {
+            ToscaServiceTemplate serviceTemplate =
+                    standardCoder.decode(ResourceUtils.getResourceAsString(resource), ToscaServiceTemplate.class);
+            serviceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next()
+                    .setTypeVersion("1.0.0");
+            policyProvider.createPolicy(POLICY_TYPE_ID, "1.0.0", serviceTemplate);
+        }
+    }
+
+    /**
+     * Closes up DB connections and deregisters API parameter group.
+     *
+     * @throws Exception if the providers cannot be closed
+     */
+    @AfterClass
+    public static void tearDown() throws Exception {
+
+        policyTypeProvider.close();
+        policyProvider.close();
+        ParameterService.deregister(apiParamGroup);
+    }
+
+    @Test
+    public void testListPolicyTypes() throws Exception {
+
+        try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+            List<Map<String, ToscaPolicyType>> policyTypes =
+                    policyDirectory.listPolicyTypes(null, null, null).getPolicyTypes();
+            int policyTypeCount = policyTypes.size();
+            assertTrue(policyTypeCount >= 2);
+
+            List<Map<String, ToscaPolicyType>> page = policyDirectory.listPolicyTypes(1, 1, null).getPolicyTypes();
+            assertEquals(1, page.size());
+            assertEquals(policyTypes.get(1).keySet(), page.get(0).keySet());
+
+            page = policyDirectory.listPolicyTypes(0, null, "name,version").getPolicyTypes();
+            assertEquals(policyTypeCount, page.size());
+            ToscaPolicyType policyType = page.get(0).values().iterator().next();
+            assertNotNull(policyType.getVersion());
+            assertNull(policyType.getProperties());
+
+            assertTrue(policyDirectory.listPolicyTypes(policyTypeCount, null, null).getPolicyTypes().isEmpty());
+        }
+    }
+
+    @Test
+    public void testListPolicies() throws Exception {
+
+        try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+            List<Map<String, ToscaPolicy>> policies = policyDirectory
+                    .listPolicies(POLICY_TYPE_ID, "1.0.0", null, null, null).getToscaTopologyTemplate().getPolicies();
+            assertEquals(2, policies.size());
+            assertNotNull(policies.get(0).get("onap.restart.tca").getProperties());
+
+            policies = policyDirectory.listPolicies(POLICY_TYPE_ID, "1.0.0", 1, 1, "name,type")
+                    .getToscaTopologyTemplate().getPolicies();
+            assertEquals(1, policies.size());
+            ToscaPolicy policy = policies.get(0).get("onap.scaleout.tca");
+            assertEquals("1.0.0", policy.getVersion());
+            assertEquals(POLICY_TYPE_ID, policy.getType());
+            assertNull(policy.getTypeVersion());
+            assertNull(policy.getProperties());
+
+            assertTrue(policyDirectory.listPolicies(POLICY_TYPE_ID, "1.0.0", 2, null, null)
+                    .getToscaTopologyTemplate().getPolicies().isEmpty());
+
+            assertThatThrownBy(() -> {
+                policyDirectory.listPolicies("dummy", "1.0.0", null, null, "name");
+            }).hasMessage("policy type with ID dummy:1.0.0 does not exist");
+        }
+    }
+
+    @Test
+    public void testGetPolicies() throws Exception {
+
+        try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+            List<Map<String, ToscaPolicy>> policies = policyDirectory.getPolicies(Arrays.asList(
+                    Pair.of("onap.scaleout.tca", "1.0.0"), Pair.of("onap.restart.tca", "1.0.0"),
+                    Pair.of("onap.restart.tca", "2.0.0"), Pair.of("dummy", "1.0.0")))
+                    .getToscaTopologyTemplate().getPolicies();
+            assertEquals(2, policies.size());
+            assertNotNull(policies.get(0).get("onap.restart.tca").getProperties());
+            assertNotNull(policies.get(1).get("onap.scaleout.tca").getProperties());
+        }
+    }
+
+    @Test
+    public void testInvalidParameters() throws Exception {
+
+        try (PolicyDirectory policyDirectory = new PolicyDirectory()) {
+            assertThatThrownBy(() -> {
+                policyDirectory.listPolicyTypes(-1, null, null);
+            }).hasMessage("offset must not be negative");
+
+            assertThatThrownBy(() -> {
+                policyDirectory.listPolicies(POLICY_TYPE_ID, "1.0.0", null, 0, null);
+            }).hasMessage("limit must be a positive integer");
+
+            assertThatThrownBy(() -> {
+                policyDirectory.listPolicies(POLICY_TYPE_ID, "1.0.0", null, null, "name,properties");
+            }).hasMessage("field properties is not one of [name, version, type, type_version, description]");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringWriter;
+import java.util.Base64;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to perform unit testing of {@link PolicyExporter}.
+ */
+public class TestPolicyExporter {
+
+    private static final String POLICY_TYPE_ID = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String OTHER_POLICY_RESOURCE = "policies/vDNS.policy.monitoring.input.tosca.json";
+
+    private static PolicyModelsProviderParameters providerParams;
+    private static ApiParameterGroup apiParamGroup;
+    private static PolicyTypeProvider policyTypeProvider;
+    private static PolicyProvider policyProvider;
+    private static StandardCoder standardCoder;
+
+    /**
+     * Creates a policy type and two of its policies.
+     *
+     * @throws Exception if the policies cannot be created
+     */
+    @BeforeClass
+    public static void setupParameters() throws Exception {
+
+        standardCoder = new StandardCoder();
+        providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:exportdb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+        apiParamGroup = new ApiParameterGroup("ApiGroup", null, providerParams);
+        ParameterService.register(apiParamGroup, true);
+        policyTypeProvider = new PolicyTypeProvider();
+        policyProvider = new PolicyProvider();
+
+        policyTypeProvider.createPolicyType(standardCoder
+                .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class));
+        policyProvider.createPolicy(POLICY_TYPE_ID, "1.0.0", standardCoder
+                .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class));
+        policyProvider.createPolicy(POLICY_TYPE_ID, "1.0.0", standardCoder
+                .decode(ResourceUtils.getResourceAsString(OTHER_POLICY_RESOURCE), ToscaServiceTemplate.class));
+    }
+
+    /**
+     * Closes up DB connections and deregisters API parameter group.
+     *
+     * @throws Exception if the providers cannot be closed
+     */
+    @AfterClass
+    public static void tearDown() throws Exception {
+
+        policyTypeProvider.close();
+        policyProvider.close();
+        ParameterService.deregister(apiParamGroup);
+    }
+
+    @Test
+    public void testExportAll() throws Exception {
+
+        StringWriter writer = new StringWriter();
+        long count;
+        // A page size of one makes every entity start a new page
+        try (ReadOnlyDatabase database = new ReadOnlyDatabase(providerParams)) {
+            count = new PolicyExporter(database, 1).exportAll(writer);
+        }
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(count, lines.length);
+        // Three data types, two policy types and two policies
+        assertEquals(7, count);
+
+        ToscaServiceTemplate firstLine = standardCoder.decode(lines[0], ToscaServiceTemplate.class);
+        assertEquals(1, firstLine.getDataTypes().size());
+        assertNotNull(firstLine.getDataTypes().get(0).get("onap.datatypes.monitoring.metricsPerEventName"));
+        assertNull(firstLine.getPolicyTypes());
+
+        ToscaServiceTemplate policyTypeLine = standardCoder.decode(lines[3], ToscaServiceTemplate.class);
+        assertEquals(1, policyTypeLine.getPolicyTypes().size());
+        assertNull(policyTypeLine.getDataTypes());
+        assertNull(policyTypeLine.getToscaTopologyTemplate());
+
+        ToscaServiceTemplate restartPolicy = standardCoder.decode(lines[lines.length - 2], ToscaServiceTemplate.class);
+        assertNotNull(restartPolicy.getToscaTopologyTemplate().getPolicies().get(0).get("onap.restart.tca"));
+        ToscaServiceTemplate scaleoutPolicy = standardCoder.decode(lines[lines.length - 1], ToscaServiceTemplate.class);
+        assertNotNull(scaleoutPolicy.getToscaTopologyTemplate().getPolicies().get(0).get("onap.scaleout.tca"));
+    }
+
+    @Test
+    public void testExportAllPolicies() throws Exception {
+
+        StringWriter writer = new StringWriter();
+        long count;
+        try (ReadOnlyDatabase database = new ReadOnlyDatabase(providerParams)) {
+            count = new PolicyExporter(database).exportAll(writer);
+        }
+
+        // Without a running activator, the export opens a dedicated database with the registered parameters
+        StringWriter otherWriter = new StringWriter();
+        assertEquals(count, PolicyExporter.exportAllPolicies(otherWriter));
+        assertEquals(writer.toString(), otherWriter.toString());
+    }
+}
@@ -0,0 +1,188 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.rest.ImportProgress;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Class to perform unit testing of {@link PolicyImporter}.
+ */
+public class TestPolicyImporter {
+
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String OTHER_POLICY_RESOURCE = "policies/vDNS.policy.monitoring.input.tosca.json";
+
+    private static ApiParameterGroup apiParamGroup;
+    private static PolicyProvider policyProvider;
+    private static StandardCoder standardCoder;
+
+    /**
+     * Initializes parameters.
+     *
+     * @throws Exception if the providers cannot be created
+     */
+    @BeforeClass
+    public static void setupParameters() throws Exception {
+
+        standardCoder = new StandardCoder();
+        PolicyModelsProviderParameters providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:importdb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+        apiParamGroup = new ApiParameterGroup("ApiGroup", null, providerParams);
+        ParameterService.register(apiParamGroup, true);
+        policyProvider = new PolicyProvider();
+    }
+
+    /**
+     * Closes up DB connections and deregisters API parameter group.
+     *
+     * @throws Exception if the providers cannot be closed
+     */
+    @AfterClass
+    public static void tearDown() throws Exception {
+
+        policyProvider.close();
+        ParameterService.deregister(apiParamGroup);
+    }
+
+    @Test
+    public void testImportStream() throws Exception {
+
+        // The vDNS policy has no policy type version, it is rejected like the lines that hold no service template
+        String stream = toLine(POLICY_TYPE_RESOURCE) + toLine(POLICY_RESOURCE) + "not json\n\n{}\n"
+                + toLine(OTHER_POLICY_RESOURCE);
+
+        List<ImportProgress> reports = new ArrayList<>();
+        ImportProgress progress = new PolicyImporter(2)
+                .importStream(new BufferedReader(new StringReader(stream)), reports::add);
+
+        assertEquals(7, progress.getItemsRead());
+        assertEquals(3, progress.getDataTypesCreated());
+        assertEquals(2, progress.getPolicyTypesCreated());
+        assertEquals(1, progress.getPoliciesCreated());
+        assertEquals(3, progress.getItemsFailed());
+        assertEquals(1, progress.getBatchesFailed());
+        assertTrue(progress.isComplete());
+
+        // One report for the policy types, one for the policies and the final one
+        assertEquals(3, reports.size());
+        assertTrue(reports.get(0).getBatchErrors().isEmpty());
+        assertEquals(3, reports.get(1).getBatchErrors().size());
+        assertEquals("line 3 is not a valid service template", reports.get(1).getBatchErrors().get(0));
+        assertEquals("line 5 holds no data type, policy type or policy", reports.get(1).getBatchErrors().get(1));
+        assertTrue(reports.get(1).getBatchErrors().get(2).startsWith("policy onap.scaleout.tca:1.0.0 "));
+        assertFalse(reports.get(1).isComplete());
+        assertTrue(reports.get(2).getBatchErrors().isEmpty());
+        assertTrue(reports.get(2).isComplete());
+
+        assertFalse(policyProvider.fetchPolicies("onap.policies.monitoring.cdap.tca.hi.lo.app", "1.0.0",
+                "onap.restart.tca", "1.0.0").getToscaTopologyTemplate().getPolicies().isEmpty());
+    }
+
+    @Test
+    public void testBatchSizeCountsEntities() throws Exception {
+
+        // Both policy types in a single block fill a batch of two on their own
+        ToscaServiceTemplate serviceTemplate = standardCoder
+                .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        Map<String, ToscaPolicyType> policyTypeBlock = serviceTemplate.getPolicyTypes().get(0);
+        policyTypeBlock.putAll(serviceTemplate.getPolicyTypes().get(1));
+        serviceTemplate.getPolicyTypes().remove(1);
+        String stream = standardCoder.encode(serviceTemplate) + "\n" + toLine(POLICY_RESOURCE);
+
+        List<ImportProgress> reports = new ArrayList<>();
+        ImportProgress progress = new PolicyImporter(2)
+                .importStream(new BufferedReader(new StringReader(stream)), reports::add);
+
+        assertEquals(6, progress.getItemsRead());
+        assertEquals(2, progress.getPolicyTypesCreated());
+        assertEquals(1, progress.getPoliciesCreated());
+        assertEquals(0, progress.getItemsFailed());
+
+        // One report for the policy types and the final one for the policy
+        assertEquals(2, reports.size());
+        assertEquals(2, reports.get(0).getPolicyTypesCreated());
+        assertEquals(0, reports.get(0).getPoliciesCreated());
+        assertTrue(reports.get(1).isComplete());
+    }
+
+    @Test
+    public void testDataTypes() throws Exception {
+
+        // Data types come on their own lines before the policy types in an export
+        ToscaServiceTemplate policyTypeLine = standardCoder
+                .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        ToscaServiceTemplate dataTypeLine = new ToscaServiceTemplate();
+        dataTypeLine.setToscaDefinitionsVersion(policyTypeLine.getToscaDefinitionsVersion());
+        dataTypeLine.setDataTypes(policyTypeLine.getDataTypes());
+        policyTypeLine.setDataTypes(null);
+        String stream = standardCoder.encode(dataTypeLine) + "\n" + standardCoder.encode(policyTypeLine) + "\n";
+
+        ImportProgress progress = new PolicyImporter(1)
+                .importStream(new BufferedReader(new StringReader(stream)), batchProgress -> { });
+        assertEquals(5, progress.getItemsRead());
+        assertEquals(3, progress.getDataTypesCreated());
+        assertEquals(2, progress.getPolicyTypesCreated());
+        assertEquals(0, progress.getItemsFailed());
+
+        // The database only creates data types with policy types
+        List<ImportProgress> reports = new ArrayList<>();
+        progress = new PolicyImporter(1).importStream(
+                new BufferedReader(new StringReader(standardCoder.encode(dataTypeLine) + "\n")), reports::add);
+        assertEquals(3, progress.getItemsRead());
+        assertEquals(0, progress.getDataTypesCreated());
+        assertEquals(3, progress.getItemsFailed());
+        assertEquals(1, reports.size());
+        assertTrue(reports.get(0).getBatchErrors().get(0).startsWith("data types could not be created"));
+    }
+
+    private String toLine(String resource) throws Exception {
+        ToscaServiceTemplate serviceTemplate =
+                standardCoder.decode(ResourceUtils.getResourceAsString(resource), ToscaServiceTemplate.class);
+        return standardCoder.encode(serviceTemplate) + "\n";
+    }
+}
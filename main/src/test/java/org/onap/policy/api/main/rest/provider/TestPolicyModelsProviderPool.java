@@ -0,0 +1,120 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Base64;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.provider.PolicyModelsProvider;
+import org.onap.policy.models.provider.PolicyModelsProviderFactory;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+
+/**
+ * This class performs unit test of {@link PolicyModelsProviderPool}.
+ */
+public class TestPolicyModelsProviderPool {
+
+    private PolicyModelsProviderParameters providerParams;
+    private PolicyModelsProviderPool pool;
+
+    /**
+     * Initializes parameters and the pool.
+     *
+     * @throws PfModelException the PfModel parsing exception
+     */
+    @Before
+    public void setupPool() throws PfModelException {
+
+        providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:testdb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+        pool = new PolicyModelsProviderPool(providerParams, 2, 100L);
+        pool.start();
+    }
+
+    /**
+     * Closes the pool.
+     */
+    @After
+    public void tearDown() {
+
+        pool.close();
+    }
+
+    @Test
+    public void testLeaseAndRelease() throws PfModelException {
+
+        assertEquals(2, pool.getPoolSize());
+        assertEquals(2, pool.getIdleCount());
+
+        PolicyModelsProvider first = pool.lease();
+        PolicyModelsProvider second = pool.lease();
+        assertNotSame(first, second);
+        assertEquals(0, pool.getIdleCount());
+
+        assertThatThrownBy(() -> pool.lease())
+                .hasMessage("no database provider became available within 100 ms");
+
+        assertTrue(pool.release(first));
+        assertSame(first, pool.lease());
+        assertTrue(pool.release(first));
+        assertTrue(pool.release(second));
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testReleaseForeignProvider() throws PfModelException {
+
+        try (PolicyModelsProvider foreign = new PolicyModelsProviderFactory()
+                .createPolicyModelsProvider(providerParams)) {
+            assertFalse(pool.release(foreign));
+        }
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testClose() throws PfModelException {
+
+        PolicyModelsProvider leased = pool.lease();
+        pool.close();
+        assertEquals(0, pool.getIdleCount());
+
+        assertThatThrownBy(() -> pool.lease()).hasMessage("database provider pool is closed");
+
+        // leased providers are closed rather than pooled when returned after close
+        assertTrue(pool.release(leased));
+        assertEquals(0, pool.getIdleCount());
+    }
+}
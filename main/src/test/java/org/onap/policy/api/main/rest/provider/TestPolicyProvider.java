@@ -24,18 +24,24 @@ package org.onap.policy.api.main.rest.provider;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.rest.PolicyCreationResult;
 import org.onap.policy.common.parameters.ParameterService;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 
 /**
@@ -52,6 +58,7 @@ public class TestPolicyProvider {
     private static StandardCoder standardCoder;
 
     private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String OTHER_POLICY_RESOURCE = "policies/vDNS.policy.monitoring.input.tosca.json";
     private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json";
     private static final String POLICY_RESOURCE_WITH_BAD_POLICYTYPE_ID = "policies/vCPE.policy.bad.policytypeid.json";
     private static final String POLICY_RESOURCE_WITH_BAD_POLICYTYPE_VERSION =
@@ -115,6 +122,74 @@ public class TestPolicyProvider {
         }).hasMessage("policy with ID dummy:null and type dummy:dummy does not exist");
     }
 
+    @Test
+    public void testFetchPolicyList() throws Exception {
+
+        assertThatThrownBy(() -> {
+            policyProvider.fetchPolicies(Collections.emptyList());
+        }).hasMessage("no policy identifiers specified");
+
+        assertThatThrownBy(() -> {
+            policyProvider.fetchPolicies(Collections.singletonList(new ToscaPolicyIdentifier()));
+        }).hasMessageContaining("must specify an ID and a version");
+
+        String policyTypeString = ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE);
+        policyTypeProvider.createPolicyType(standardCoder.decode(policyTypeString, ToscaServiceTemplate.class));
+        for (String resource : Arrays.asList(POLICY_RESOURCE, OTHER_POLICY_RESOURCE)) {
+            String policyString = ResourceUtils.getResourceAsString(resource);
+            policyProvider.createPolicy("onap.policies.monitoring.cdap.tca.hi.lo.app", "1.0.0",
+                    standardCoder.decode(policyString, ToscaServiceTemplate.class));
+        }
+
+        ToscaServiceTemplate serviceTemplate = policyProvider.fetchPolicies(Arrays.asList(
+                new ToscaPolicyIdentifier("onap.scaleout.tca", "1.0.0"),
+                new ToscaPolicyIdentifier("onap.restart.tca", "1.0.0")));
+        assertEquals(2, serviceTemplate.getToscaTopologyTemplate().getPolicies().size());
+        assertEquals("onap.scaleout.tca",
+                serviceTemplate.getToscaTopologyTemplate().getPolicies().get(0).keySet().iterator().next());
+
+        assertThatThrownBy(() -> {
+            policyProvider.fetchPolicies(Arrays.asList(new ToscaPolicyIdentifier("onap.restart.tca", "1.0.0"),
+                    new ToscaPolicyIdentifier("dummy", "1.0.0")));
+        }).hasMessage("policies with IDs dummy:1.0.0 do not exist");
+    }
+
+    @Test
+    public void testCreatePolicies() throws Exception {
+
+        assertThatThrownBy(() -> {
+            policyProvider.createPolicies(new ToscaServiceTemplate());
+        }).hasMessage("no policies specified");
+
+        String policyTypeString = ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE);
+        policyTypeProvider.createPolicyType(standardCoder.decode(policyTypeString, ToscaServiceTemplate.class));
+
+        // vCPE is valid, vDNS has no policy type version and the last policy is of a policy type that does not exist
+        ToscaServiceTemplate body = standardCoder.decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE),
+                ToscaServiceTemplate.class);
+        ToscaServiceTemplate otherTemplate = standardCoder
+                .decode(ResourceUtils.getResourceAsString(OTHER_POLICY_RESOURCE), ToscaServiceTemplate.class);
+        ToscaServiceTemplate dummyTemplate = standardCoder.decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE),
+                ToscaServiceTemplate.class);
+        dummyTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next().setType("dummy");
+        body.getToscaTopologyTemplate().getPolicies().addAll(otherTemplate.getToscaTopologyTemplate().getPolicies());
+        body.getToscaTopologyTemplate().getPolicies().addAll(dummyTemplate.getToscaTopologyTemplate().getPolicies());
+
+        List<PolicyCreationResult> results = policyProvider.createPolicies(body);
+        assertEquals(3, results.size());
+        assertEquals("onap.restart.tca", results.get(0).getPolicyId());
+        assertEquals(200, results.get(0).getCode());
+        assertEquals("onap.scaleout.tca", results.get(1).getPolicyId());
+        assertEquals(400, results.get(1).getCode());
+        assertEquals("dummy", results.get(2).getPolicyTypeId());
+        assertEquals(404, results.get(2).getCode());
+        assertEquals("policy type with ID dummy:1.0.0 does not exist", results.get(2).getMessage());
+
+        ToscaServiceTemplate serviceTemplate = policyProvider.fetchPolicies(
+                Collections.singletonList(new ToscaPolicyIdentifier("onap.restart.tca", "1.0.0")));
+        assertEquals(1, serviceTemplate.getToscaTopologyTemplate().getPolicies().size());
+    }
+
     @Test
     public void testFetchDeployedPolicies() {
 
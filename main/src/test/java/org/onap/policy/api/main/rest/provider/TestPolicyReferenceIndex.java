@@ -0,0 +1,125 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+
+/**
+ * Class to perform unit testing of {@link PolicyReferenceIndex}.
+ */
+public class TestPolicyReferenceIndex {
+
+    private static final String POLICY_TYPE = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    private static final String OTHER_POLICY_TYPE = "onap.policies.optimization.AffinityPolicy";
+
+    private PolicyReferenceIndex index;
+
+    /**
+     * Builds an index holding one policy of the tca policy type.
+     */
+    @Before
+    public void setupIndex() {
+        Map<Pair<String, String>, Pair<String, String>> policyTypes = new HashMap<>();
+        policyTypes.put(Pair.of("onap.restart.tca", "1.0.0"), Pair.of(POLICY_TYPE, "1.0.0"));
+
+        index = new PolicyReferenceIndex();
+        assertFalse(index.isLoaded());
+        index.update(policyTypes);
+        assertTrue(index.isLoaded());
+    }
+
+    @Test
+    public void testPoliciesCreated() throws Exception {
+
+        index.policiesCreated(makeServiceTemplate(makePolicy("onap.scaleout.tca", "1.0.0", POLICY_TYPE),
+                makePolicy("onap.affinity", "1.0.0", OTHER_POLICY_TYPE)));
+
+        assertEquals(2, index.getPolicies(POLICY_TYPE, "1.0.0").size());
+        assertEquals(Collections.singleton(Pair.of("onap.affinity", "1.0.0")),
+                index.getPolicies(OTHER_POLICY_TYPE, "1.0.0"));
+        assertTrue(index.getPolicies(POLICY_TYPE, "2.0.0").isEmpty());
+
+        // A template without policies leaves the index as it is
+        index.policiesCreated(new ToscaServiceTemplate());
+        assertEquals(2, index.getPolicies(POLICY_TYPE, "1.0.0").size());
+    }
+
+    @Test
+    public void testPolicyDeleted() throws Exception {
+
+        index.policyDeleted("onap.restart.tca", "2.0.0");
+        assertEquals(Collections.singleton(Pair.of("onap.restart.tca", "1.0.0")),
+                index.getPolicies(POLICY_TYPE, "1.0.0"));
+
+        index.policyDeleted("onap.restart.tca", "1.0.0");
+        assertTrue(index.getPolicies(POLICY_TYPE, "1.0.0").isEmpty());
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        index.invalidate();
+        assertFalse(index.isLoaded());
+
+        // Changes are ignored until the index is built again
+        index.policiesCreated(makeServiceTemplate(makePolicy("onap.scaleout.tca", "1.0.0", POLICY_TYPE)));
+        index.policyDeleted("onap.restart.tca", "1.0.0");
+        assertFalse(index.isLoaded());
+    }
+
+    private ToscaPolicy makePolicy(String name, String version, String type) {
+        ToscaPolicy policy = new ToscaPolicy();
+        policy.setName(name);
+        policy.setVersion(version);
+        policy.setType(type);
+        policy.setTypeVersion("1.0.0");
+        return policy;
+    }
+
+    private ToscaServiceTemplate makeServiceTemplate(ToscaPolicy... policies) {
+        ToscaTopologyTemplate topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(new ArrayList<>());
+        for (ToscaPolicy policy : policies) {
+            Map<String, ToscaPolicy> policyMap = new LinkedHashMap<>();
+            policyMap.put(policy.getName(), policy);
+            topologyTemplate.getPolicies().add(policyMap);
+        }
+        ToscaServiceTemplate serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+}
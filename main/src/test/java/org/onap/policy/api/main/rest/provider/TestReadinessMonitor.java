@@ -0,0 +1,139 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.rest.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onap.policy.api.main.rest.JsonResponseCache;
+import org.onap.policy.api.main.startstop.ApiActivator;
+
+/**
+ * Class to perform unit test of {@link ReadinessMonitor}.
+ */
+public class TestReadinessMonitor {
+
+    /**
+     * Clears the activator state that a service run by another test may have left.
+     *
+     * @throws Exception if the state cannot be cleared
+     */
+    @Before
+    public void setUp() throws Exception {
+        resetActivator();
+    }
+
+    /**
+     * Clears the activator state set by the tests, so that other tests do not use it.
+     *
+     * @throws Exception if the state cannot be cleared
+     */
+    @After
+    public void tearDown() throws Exception {
+        resetActivator();
+    }
+
+    @Test
+    public void testNotChecked() {
+        try (ReadinessMonitor monitor = new ReadinessMonitor(1000)) {
+            assertEquals(Arrays.asList("caches not created", "deployed policy index not loaded", "not checked yet"),
+                    monitor.getProblems());
+            assertFalse(monitor.isReady());
+        }
+    }
+
+    @Test
+    public void testNoDatabase() {
+        try (ReadinessMonitor monitor = new ReadinessMonitor(1000)) {
+            monitor.start();
+            assertEquals(Arrays.asList("caches not created", "deployed policy index not loaded",
+                    "database not connected"), monitor.getProblems());
+            assertFalse(monitor.isReady());
+        }
+    }
+
+    @Test
+    public void testStartup() throws Exception {
+        try (ReadinessMonitor monitor = new ReadinessMonitor(1000)) {
+            setActivatorField("starting", true);
+            setActivatorField("restoringSnapshot", true);
+            assertEquals(Arrays.asList("starting", "caches not created", "restoring snapshot"),
+                    monitor.getProblems().subList(0, 3));
+
+            // Warmed up caches and a loaded index leave only the problems of the checks
+            setActivatorField("starting", false);
+            setActivatorField("restoringSnapshot", false);
+            setActivatorField("policyTypeCache", new ApiCache<>(10, 1000L));
+            setActivatorField("policyCache", new PolicyCache(10, 1000L));
+            setActivatorField("responseCache", new JsonResponseCache(10, 1000L));
+            setActivatorField("deployedPolicyIndex", DeployedPolicyIndex.of(Collections.emptyList()));
+            monitor.start();
+            assertEquals(Collections.singletonList("database not connected"), monitor.getProblems());
+        }
+    }
+
+    @Test
+    public void testOutOfDate() throws Exception {
+        ReadinessMonitor monitor = new ReadinessMonitor(10);
+        monitor.check();
+        Thread.sleep(50);
+        assertTrue(monitor.getProblems().contains("readiness checks out of date"));
+
+        monitor.check();
+        assertFalse(monitor.getProblems().contains("readiness checks out of date"));
+    }
+
+    @Test
+    public void testClose() {
+        ReadinessMonitor monitor = new ReadinessMonitor(1000);
+        monitor.close();
+        monitor.start();
+        monitor.close();
+        monitor.close();
+        assertTrue(monitor.getProblems().contains("database not connected"));
+    }
+
+    private static void resetActivator() throws Exception {
+        for (Field field : ApiActivator.class.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            // Synthetic fields, such as those of the coverage agent, are not activator state
+            if (Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) {
+                setActivatorField(field.getName(), field.getType() == boolean.class ? Boolean.FALSE : null);
+            }
+        }
+    }
+
+    private static void setActivatorField(final String name, final Object value) throws Exception {
+        Field field = ApiActivator.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(null, value);
+    }
+}
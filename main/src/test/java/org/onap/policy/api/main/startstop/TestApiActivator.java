@@ -22,6 +22,7 @@
 package org.onap.policy.api.main.startstop;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -51,4 +52,25 @@ public class TestApiActivator {
         assertEquals(CommonTestData.API_GROUP_NAME, activator.getParameterGroup().getName());
         activator.terminate();
     }
+
+    @Test
+    public void testApiActivatorFastStartup() throws Exception {
+        COMMON_TEST_DATA.makeParameters("src/test/resources/parameters/ApiConfigParameters.json",
+                        "src/test/resources/parameters/ApiConfigParametersXXX.json", NetworkUtil.allocPort());
+        final String[] apiConfigParameters = { "-c", "src/test/resources/parameters/ApiConfigParametersXXX.json" };
+        final ApiCommandLineArguments arguments = new ApiCommandLineArguments(apiConfigParameters);
+        final ApiParameterGroup parGroup = new ApiParameterHandler().getParameters(arguments);
+        parGroup.setFastStartup(true);
+        final ApiActivator activator = new ApiActivator(parGroup);
+        final StartupTimer timer = new StartupTimer();
+        activator.initialize(timer);
+        assertTrue(ApiActivator.isAlive());
+        assertTrue(timer.getPhases().containsKey("rest server"));
+
+        // terminate waits for the background startup
+        activator.terminate();
+        assertFalse(ApiActivator.isStarting());
+        assertTrue(timer.getPhases().containsKey("caches and indexes"));
+        assertFalse(ApiActivator.isAlive());
+    }
 }
@@ -0,0 +1,99 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.startstop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Base64;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.onap.policy.api.main.rest.provider.ReadOnlyDatabase;
+import org.onap.policy.models.provider.PolicyModelsProvider;
+import org.onap.policy.models.provider.PolicyModelsProviderFactory;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+
+/**
+ * Class to perform unit test of {@link ApiDatabaseInitializer}.
+ */
+public class TestApiDatabaseInitializer {
+
+    private static final String POLICY_TYPE_ID = "onap.policies.controlloop.Operational";
+
+    private static PolicyModelsProviderParameters providerParams;
+
+    // Keeps the in-memory database open between the initializations
+    private static PolicyModelsProvider databaseProvider;
+
+    private static ReadOnlyDatabase database;
+
+    /**
+     * Opens the database.
+     *
+     * @throws Exception if the database cannot be opened
+     */
+    @BeforeClass
+    public static void setupDatabase() throws Exception {
+        providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:initializerdb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptTest");
+        databaseProvider = new PolicyModelsProviderFactory().createPolicyModelsProvider(providerParams);
+        database = new ReadOnlyDatabase(providerParams);
+    }
+
+    /**
+     * Closes the database.
+     *
+     * @throws Exception if the database cannot be closed
+     */
+    @AfterClass
+    public static void tearDown() throws Exception {
+        database.close();
+        databaseProvider.close();
+    }
+
+    @Test
+    public void testInitializeApiDatabase() throws Exception {
+        ApiDatabaseInitializer initializer = new ApiDatabaseInitializer();
+
+        assertTrue(initializer.initializeApiDatabase(providerParams, database) > 0);
+        assertEquals("Operational Policy for Control Loops", getPolicyType().getDescription());
+
+        // Stored policy types are not written again
+        assertEquals(0, initializer.initializeApiDatabase(providerParams, database));
+
+        // A missing policy type is written back
+        databaseProvider.deletePolicyType(POLICY_TYPE_ID, "1.0.0");
+        assertEquals(1, initializer.initializeApiDatabase(providerParams, database));
+        assertEquals("Operational Policy for Control Loops", getPolicyType().getDescription());
+    }
+
+    private static ToscaPolicyType getPolicyType() throws Exception {
+        return databaseProvider.getPolicyTypes(POLICY_TYPE_ID, "1.0.0").getPolicyTypes().get(0).get(POLICY_TYPE_ID);
+    }
+}
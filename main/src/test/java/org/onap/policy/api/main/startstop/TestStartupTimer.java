@@ -0,0 +1,49 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.startstop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Class to perform unit test of {@link StartupTimer}.
+ */
+public class TestStartupTimer {
+
+    @Test
+    public void testPhases() throws Exception {
+        StartupTimer timer = new StartupTimer();
+        timer.phaseDone("parameters");
+        Thread.sleep(20);
+        timer.phaseDone("rest server");
+
+        assertEquals(Arrays.asList("parameters", "rest server"), new ArrayList<>(timer.getPhases().keySet()));
+        assertTrue(timer.getPhases().get("rest server") >= 20);
+        assertTrue(timer.getElapsedTime() >= timer.getPhases().get("rest server"));
+        assertTrue(timer.toString().matches("\\d+ ms \\(parameters \\d+ ms, rest server \\d+ ms\\)"));
+    }
+}
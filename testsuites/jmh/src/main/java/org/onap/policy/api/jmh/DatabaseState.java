@@ -0,0 +1,115 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.jmh;
+
+import java.util.Base64;
+import org.onap.policy.api.main.parameters.ApiParameterGroup;
+import org.onap.policy.api.main.rest.provider.PolicyProvider;
+import org.onap.policy.api.main.rest.provider.PolicyTypeProvider;
+import org.onap.policy.common.parameters.ParameterService;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.provider.PolicyModelsProviderParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark state holding an in-memory H2 database loaded with a policy type and a policy, and the providers
+ * reading it.
+ *
+ * <p>The API is not started, so the providers use their own database provider and no cache; the benchmarks
+ * measure the database round trip of every call.
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+
+    public static final String POLICY_TYPE_ID = "onap.policies.monitoring.cdap.tca.hi.lo.app";
+    public static final String POLICY_TYPE_VERSION = "1.0.0";
+    public static final String POLICY_ID = "onap.restart.tca";
+    public static final String POLICY_VERSION = "1.0.0";
+
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+
+    private ApiParameterGroup apiParamGroup;
+    private PolicyTypeProvider policyTypeProvider;
+    private PolicyProvider policyProvider;
+    private ToscaServiceTemplate policy;
+
+    /**
+     * Creates the database and loads the policy type and the policy.
+     *
+     * @throws PfModelException if the database cannot be loaded
+     * @throws CoderException if a resource cannot be decoded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws PfModelException, CoderException {
+        PolicyModelsProviderParameters providerParams = new PolicyModelsProviderParameters();
+        providerParams.setDatabaseDriver("org.h2.Driver");
+        providerParams.setDatabaseUrl("jdbc:h2:mem:benchmarkdb");
+        providerParams.setDatabaseUser("policy");
+        providerParams.setDatabasePassword(Base64.getEncoder().encodeToString("P01icY".getBytes()));
+        providerParams.setPersistenceUnit("ToscaConceptBenchmark");
+        apiParamGroup = new ApiParameterGroup("ApiGroup", null, providerParams);
+        ParameterService.register(apiParamGroup, true);
+
+        StandardCoder standardCoder = new StandardCoder();
+        policyTypeProvider = new PolicyTypeProvider();
+        policyTypeProvider.createPolicyType(standardCoder.decode(
+                ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class));
+
+        policy = standardCoder.decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        policyProvider = new PolicyProvider();
+        policyProvider.createPolicy(POLICY_TYPE_ID, POLICY_TYPE_VERSION, policy);
+    }
+
+    /**
+     * Closes the providers, which drops the in-memory database.
+     *
+     * @throws PfModelException if a provider cannot be closed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws PfModelException {
+        policyProvider.close();
+        policyTypeProvider.close();
+        ParameterService.deregister(apiParamGroup);
+    }
+
+    public PolicyTypeProvider getPolicyTypeProvider() {
+        return policyTypeProvider;
+    }
+
+    public PolicyProvider getPolicyProvider() {
+        return policyProvider;
+    }
+
+    public ToscaServiceTemplate getPolicy() {
+        return policy;
+    }
+}
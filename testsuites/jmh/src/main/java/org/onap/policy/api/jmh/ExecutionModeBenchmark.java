@@ -0,0 +1,126 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.jmh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.onap.policy.api.main.parameters.RestServerParameters;
+import org.onap.policy.api.main.parameters.RestServerParameters.ExecutionMode;
+import org.onap.policy.api.main.rest.ApiRequestExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the request executor in each execution mode under a blocking database workload.
+ *
+ * <p>Each operation is a burst of requests that each hold a database connection for a fixed latency, the
+ * connections being limited like the database provider pool. The default executor sizes of
+ * {@link RestServerParameters} are used. Virtual threads are only used on a JDK providing them, otherwise the
+ * executor logs a warning and the VIRTUAL runs measure platform threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final int BURST_SIZE = 200;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ExecutionMode executionMode;
+
+    @Param({"16", "64"})
+    private int databaseConnections;
+
+    @Param({"2"})
+    private long databaseLatencyMillis;
+
+    private ApiRequestExecutor executor;
+    private Semaphore connections;
+
+    /**
+     * Creates the executor.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = new ApiRequestExecutor(executionMode, RestServerParameters.DEFAULT_MIN_THREADS,
+                RestServerParameters.DEFAULT_MAX_THREADS, RestServerParameters.DEFAULT_QUEUE_SIZE);
+        connections = new Semaphore(databaseConnections);
+    }
+
+    /**
+     * Stops the executor.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    /**
+     * Processes a burst of requests and waits for all of them.
+     *
+     * @return the number of rejected requests, the burst fits in the queue so it should stay at zero
+     *
+     * @throws InterruptedException if the benchmark is interrupted
+     */
+    @Benchmark
+    public long blockingRequests() throws InterruptedException {
+        CountDownLatch completed = new CountDownLatch(BURST_SIZE);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            if (!executor.submit(() -> queryDatabase(completed))) {
+                completed.countDown();
+            }
+        }
+        completed.await();
+        return executor.getRejectedCount();
+    }
+
+    private void queryDatabase(final CountDownLatch completed) {
+        try {
+            connections.acquire();
+            try {
+                Thread.sleep(databaseLatencyMillis);
+            } finally {
+                connections.release();
+            }
+        } catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        } finally {
+            completed.countDown();
+        }
+    }
+}
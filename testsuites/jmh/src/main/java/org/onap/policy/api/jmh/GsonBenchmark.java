@@ -0,0 +1,93 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.MediaType;
+import org.onap.policy.common.gson.GsonMessageBodyHandler;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the JSON encoding and decoding of the bundled policies and policy types, with the message body
+ * handler of the REST server.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GsonBenchmark {
+
+    @Param({"policies/vCPE.policy.monitoring.input.tosca.json", "policies/vDNS.policy.monitoring.input.tosca.json",
+        "policies/vFirewall.policy.monitoring.input.tosca.json",
+        "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.json"})
+    private String resource;
+
+    private final GsonMessageBodyHandler handler = new GsonMessageBodyHandler();
+
+    private byte[] json;
+    private ToscaServiceTemplate serviceTemplate;
+
+    /**
+     * Reads the resource and decodes it once for the encoding benchmark.
+     *
+     * @throws IOException if the resource cannot be decoded
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = ResourceUtils.getResourceAsString(resource).getBytes(StandardCharsets.UTF_8);
+        serviceTemplate = decode();
+    }
+
+    @Benchmark
+    public ToscaServiceTemplate decode() throws IOException {
+        return (ToscaServiceTemplate) handler.readFrom(Object.class, ToscaServiceTemplate.class, null,
+                MediaType.APPLICATION_JSON_TYPE, null, new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(json.length);
+        handler.writeTo(serviceTemplate, ToscaServiceTemplate.class, ToscaServiceTemplate.class, null,
+                MediaType.APPLICATION_JSON_TYPE, null, output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,79 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * ONAP Policy API
+ * ================================================================================
+ * Copyright (C) 2019 AT&T Intellectual Property. All rights reserved.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.jmh;
+
+import static org.onap.policy.api.jmh.DatabaseState.POLICY_ID;
+import static org.onap.policy.api.jmh.DatabaseState.POLICY_TYPE_ID;
+import static org.onap.policy.api.jmh.DatabaseState.POLICY_TYPE_VERSION;
+import static org.onap.policy.api.jmh.DatabaseState.POLICY_VERSION;
+
+import java.util.concurrent.TimeUnit;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the policy and policy type providers.
+ *
+ * <p>The providers share one database connection, so the benchmarks run single threaded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderBenchmark {
+
+    @Benchmark
+    public ToscaServiceTemplate fetchPolicies(final DatabaseState state) throws PfModelException {
+        return state.getPolicyProvider().fetchPolicies(POLICY_TYPE_ID, POLICY_TYPE_VERSION, POLICY_ID,
+                POLICY_VERSION);
+    }
+
+    @Benchmark
+    public ToscaServiceTemplate fetchLatestPolicies(final DatabaseState state) throws PfModelException {
+        return state.getPolicyProvider().fetchLatestPolicies(POLICY_TYPE_ID, POLICY_TYPE_VERSION, POLICY_ID);
+    }
+
+    @Benchmark
+    public ToscaServiceTemplate createPolicy(final DatabaseState state) throws PfModelException {
+        // Creating the same policy again rewrites its database rows
+        return state.getPolicyProvider().createPolicy(POLICY_TYPE_ID, POLICY_TYPE_VERSION, state.getPolicy());
+    }
+
+    @Benchmark
+    public ToscaServiceTemplate fetchPolicyTypes(final DatabaseState state) throws PfModelException {
+        return state.getPolicyTypeProvider().fetchPolicyTypes(POLICY_TYPE_ID, POLICY_TYPE_VERSION);
+    }
+
+    @Benchmark
+    public ToscaServiceTemplate fetchAllPolicyTypes(final DatabaseState state) throws PfModelException {
+        return state.getPolicyTypeProvider().fetchPolicyTypes(null, null);
+    }
+}
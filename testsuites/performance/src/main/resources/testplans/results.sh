@@ -26,9 +26,70 @@ if [[ ! -f $LOGFILE ]]; then
 fi
 
 echo "File being processed: " $LOGFILE
-RES=$(awk -F "," 'NR>1 { total += $15 } END { print total/NR }' $LOGFILE)
-echo "Average Latency: " $RES
-LC=$(awk 'END{print NR}' $LOGFILE)
+
+# Locate the columns by name, their position depends on the JMeter save configuration
+HEADER=$(head -1 $LOGFILE)
+column() {
+  echo "$HEADER" | tr ',' '\n' | grep -n -x "$1" | cut -d: -f1
+}
+TS=$(column timeStamp)
+ELAPSED=$(column elapsed)
+LABEL=$(column label)
+SUCCESS=$(column success)
+if [[ -z $TS || -z $ELAPSED || -z $LABEL || -z $SUCCESS ]]; then
+  echo "The file '$LOGFILE' is not a JMeter CSV log with field names."
+  exit 1
+fi
+
+SAMPLES=$(mktemp)
+trap 'rm -f $SAMPLES' EXIT
+
+# One "label,elapsed,success,start,end" line per sample
+awk -F "," -v ts=$TS -v el=$ELAPSED -v lb=$LABEL -v ok=$SUCCESS \
+  'NR>1 { print $lb "," $el "," $ok "," $ts "," ($ts + $el) }' $LOGFILE > $SAMPLES
+
+START=$(awk -F "," 'NR==1 || $4<min { min=$4 } END { print min }' $SAMPLES)
+END=$(awk -F "," '$5>max { max=$5 } END { print max }' $SAMPLES)
+LC=$(awk 'END { print NR }' $SAMPLES)
+DURATION=$(awk -v s=$START -v e=$END 'BEGIN { d=(e-s)/1000; print (d>0 ? d : 1) }')
+
 echo "Total Requests:" $LC
-echo "Requests/sec:" $((LC/5))
+echo "Test Duration (s):" $DURATION
+echo
+
+# Reads "label,elapsed,success" lines sorted by label then elapsed and prints one line per label with
+# throughput, latency percentiles (nearest rank, in ms) and error rate
+report() {
+  awk -F "," -v duration=$DURATION '
+    function rank(p) {
+      r = int((p * n + 99) / 100)
+      return (r < 1 ? 1 : r)
+    }
+    function flush() {
+      if (n == 0) {
+        return
+      }
+      printf "%-45s %8d %10.2f %8.1f %7d %7d %7d %7d %7d %7.2f%%\n", label, n, n / duration, sum / n,
+        v[rank(50)], v[rank(90)], v[rank(95)], v[rank(99)], v[n], errors * 100 / n
+    }
+    $1 != label {
+      flush()
+      label = $1
+      n = 0
+      sum = 0
+      errors = 0
+    }
+    {
+      v[++n] = $2
+      sum += $2
+      if ($3 != "true") {
+        errors++
+      }
+    }
+    END { flush() }'
+}
 
+printf "%-45s %8s %10s %8s %7s %7s %7s %7s %7s %8s\n" "Label" "Samples" "Req/sec" "Average" \
+  "p50" "p90" "p95" "p99" "Max" "Errors"
+sort -t "," -k1,1 -k2,2n $SAMPLES | report
+awk -F "," '{ print "All Requests," $2 "," $3 }' $SAMPLES | sort -t "," -k2,2n | report